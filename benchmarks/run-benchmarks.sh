@@ -0,0 +1,29 @@
+#!/usr/bin/env bash
+#
+# Executa os benchmarks JMH e grava o resultado em JSON, para comparar execuções.
+#
+# Uso (a partir da raiz do repositório ou de benchmarks/):
+#   benchmarks/run-benchmarks.sh                       # todos os benchmarks
+#   benchmarks/run-benchmarks.sh PedidoServiceBenchmark # filtro (regex do JMH)
+#   benchmarks/run-benchmarks.sh -f 1 -wi 2 -i 3 Frete  # opções extras do JMH
+#
+# Resultados: benchmarks/results/<data-hora>.json (profiler de GC/alocação habilitado).
+set -euo pipefail
+
+DIR_BENCH="$(cd "$(dirname "$0")" && pwd)"
+DIR_RAIZ="$(dirname "$DIR_BENCH")"
+DIR_RESULTADOS="$DIR_BENCH/results"
+
+mkdir -p "$DIR_RESULTADOS"
+
+# 1. Instala o projeto principal no repositório local (dependência dos benchmarks)
+mvn -B -q -f "$DIR_RAIZ/pom.xml" install -DskipTests
+
+# 2. Gera benchmarks/target/benchmarks.jar
+mvn -B -q -f "$DIR_BENCH/pom.xml" package
+
+# 3. Executa com o profiler de GC (bytes alocados por operação)
+ARQUIVO="$DIR_RESULTADOS/$(date +%Y%m%d-%H%M%S).json"
+java -jar "$DIR_BENCH/target/benchmarks.jar" -prof gc -rf json -rff "$ARQUIVO" "$@"
+
+echo "Resultados gravados em $ARQUIVO"
@@ -0,0 +1,91 @@
+package br.edu.ifsp.bra.livraria.benchmark;
+
+import br.edu.ifsp.bra.livraria.entity.Cliente;
+import br.edu.ifsp.bra.livraria.entity.Endereco;
+import br.edu.ifsp.bra.livraria.repository.IndicePerfilCliente;
+import br.edu.ifsp.bra.livraria.service.CalculadoraDescontoService;
+import br.edu.ifsp.bra.livraria.service.CalculadoraFreteService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo isolado de RN01 (CalculadoraDescontoService) e RN02 (CalculadoraFreteService).
+ *
+ * Cada invocação percorre todas as combinações (27 UFs × 4 perfis), para que o
+ * resultado não dependa de um único ramo bem previsto pelo processador.
+ * Os tempos são por combinação (OperationsPerInvocation).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CalculadorasBenchmark {
+
+    private static final int COMBINACOES = 27 * 4;
+    private static final double VALOR_PEDIDO = 1000.0;
+
+    private Cliente[] clientes;
+    private Endereco[] enderecos;
+    private CalculadoraDescontoService descontoSemIndice;
+    private CalculadoraDescontoService descontoComIndice;
+    private CalculadoraFreteService frete;
+
+    @Setup
+    public void setup() {
+        clientes = DadosBenchmark.clientesPorPerfil();
+        enderecos = DadosBenchmark.enderecosPorUf();
+
+        IndicePerfilCliente indice = new IndicePerfilCliente();
+        for (Cliente cliente : clientes) {
+            indice.registrar(cliente);
+        }
+        descontoSemIndice = new CalculadoraDescontoService();
+        descontoComIndice = new CalculadoraDescontoService(indice);
+        frete = new CalculadoraFreteService();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COMBINACOES)
+    public void descontoPorTempoDeVinculo(Blackhole bh) {
+        for (Endereco ignored : enderecos) {
+            for (Cliente cliente : clientes) {
+                bh.consume(descontoSemIndice.calcularDesconto(cliente, VALOR_PEDIDO));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COMBINACOES)
+    public void descontoPorIndiceDePerfis(Blackhole bh) {
+        for (Endereco ignored : enderecos) {
+            for (Cliente cliente : clientes) {
+                bh.consume(descontoComIndice.calcularDesconto(cliente, VALOR_PEDIDO));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COMBINACOES)
+    public void frete(Blackhole bh) {
+        for (Endereco endereco : enderecos) {
+            for (int i = 0; i < clientes.length; i++) {
+                bh.consume(frete.calcularFrete(endereco, VALOR_PEDIDO));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COMBINACOES)
+    public void descontoMaisFrete(Blackhole bh) {
+        for (Endereco endereco : enderecos) {
+            for (Cliente cliente : clientes) {
+                double desconto = descontoComIndice.calcularDesconto(cliente, VALOR_PEDIDO);
+                bh.consume(frete.calcularFrete(endereco, VALOR_PEDIDO - desconto));
+            }
+        }
+    }
+}
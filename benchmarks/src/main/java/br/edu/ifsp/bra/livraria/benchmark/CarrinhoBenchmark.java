@@ -0,0 +1,86 @@
+package br.edu.ifsp.bra.livraria.benchmark;
+
+import br.edu.ifsp.bra.livraria.api.dto.CarrinhoAlteracaoDTO;
+import br.edu.ifsp.bra.livraria.entity.Cliente;
+import br.edu.ifsp.bra.livraria.entity.Endereco;
+import br.edu.ifsp.bra.livraria.entity.ItemCarrinho;
+import br.edu.ifsp.bra.livraria.entity.UF;
+import br.edu.ifsp.bra.livraria.repository.ClienteRepositoryInMemory;
+import br.edu.ifsp.bra.livraria.repository.IndicePerfilCliente;
+import br.edu.ifsp.bra.livraria.service.CalculadoraDescontoService;
+import br.edu.ifsp.bra.livraria.service.CalculadoraFreteService;
+import br.edu.ifsp.bra.livraria.service.CarrinhoService;
+import br.edu.ifsp.bra.livraria.service.CatalogoLivros;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de alterar a quantidade de um item do carrinho: sessão no servidor
+ * com totais incrementais (CarrinhoService) contra o recálculo do carrinho
+ * inteiro que um cliente sem sessão faria a cada alteração (soma dos
+ * subtotais, RN01 e RN02).
+ *
+ * O tempo de alterarQuantidade inclui a busca da sessão no cache e a cópia
+ * da linha alterada para o CarrinhoAlteracaoDTO devolvido; deve ficar
+ * constante de 10 para 100 linhas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CarrinhoBenchmark {
+
+    @Param({"10", "100"})
+    public int linhas;
+
+    private CarrinhoService carrinhos;
+    private CalculadoraDescontoService desconto;
+    private CalculadoraFreteService frete;
+    private Cliente cliente;
+    private Endereco endereco;
+    private List<ItemCarrinho> itens;
+    private String id;
+    private int proxima;
+
+    @Setup
+    public void setup() {
+        ClienteRepositoryInMemory clientes = new ClienteRepositoryInMemory(new IndicePerfilCliente());
+        desconto = new CalculadoraDescontoService();
+        frete = new CalculadoraFreteService();
+        carrinhos = new CarrinhoService(null, clientes, desconto, frete, CatalogoLivros.vazio(),
+                Duration.ofHours(1), Long.MAX_VALUE, linhas, Ticker.systemTicker());
+
+        cliente = clientes.findById(3L).orElseThrow();
+        endereco = DadosBenchmark.endereco("MG");
+        itens = DadosBenchmark.carrinho(linhas);
+        id = carrinhos.abrir(cliente.getId(), endereco).getId();
+        for (ItemCarrinho item : itens) {
+            carrinhos.adicionarItem(id, item);
+        }
+    }
+
+    @Benchmark
+    public CarrinhoAlteracaoDTO alterarQuantidade() {
+        int i = proxima++ % linhas;
+        return carrinhos.alterarQuantidade(id, "Livro " + i, 1 + (proxima & 3)).orElseThrow();
+    }
+
+    @Benchmark
+    public long recalculoCompleto() {
+        int i = proxima++ % linhas;
+        itens.get(i).setQuantidade(1 + (proxima & 3));
+        long valorItens = 0;
+        for (ItemCarrinho item : itens) {
+            valorItens += item.getSubtotalCentavos();
+        }
+        long descontoCentavos = desconto.calcularDescontoCentavos(cliente, valorItens);
+        long freteCentavos = frete.calcularFreteCentavos(UF.MG, endereco.getCep(), valorItens - descontoCentavos);
+        return valorItens - descontoCentavos + freteCentavos;
+    }
+}
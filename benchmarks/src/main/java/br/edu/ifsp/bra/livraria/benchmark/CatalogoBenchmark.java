@@ -0,0 +1,84 @@
+package br.edu.ifsp.bra.livraria.benchmark;
+
+import br.edu.ifsp.bra.livraria.entity.Livro;
+import br.edu.ifsp.bra.livraria.service.CatalogoLivros;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busca por ISBN no CatalogoLivros, com até um milhão de títulos.
+ *
+ * Os ISBNs consultados são Strings distintas das chaves do catálogo (como
+ * as que chegam no JSON da requisição) e sorteados a cada chamada, para que
+ * a medição inclua o hash da chave e as falhas de cache de um índice grande.
+ *
+ *  - buscar: ISBN já normalizado (só dígitos);
+ *  - buscarComHifens: ISBN formatado (978-85-...), normalizado na busca;
+ *  - hashMap: referência, HashMap&lt;String, Livro&gt; com o ISBN normalizado.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class CatalogoBenchmark {
+
+    private static final int CONSULTAS = 1 << 16;
+
+    @Param({"1000", "1000000"})
+    public int livros;
+
+    private CatalogoLivros catalogo;
+    private Map<String, Livro> hashMap;
+    private String[] isbns;
+    private String[] isbnsComHifens;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        List<Livro> lista = new ArrayList<>(livros);
+        for (int i = 0; i < livros; i++) {
+            lista.add(new Livro(isbn(i), "Livro " + (i % 50_000), 1990 + i % 10_000));
+        }
+        catalogo = new CatalogoLivros(false, lista);
+        hashMap = new HashMap<>();
+        for (Livro livro : lista) {
+            hashMap.put(livro.getIsbn(), livro);
+        }
+
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        isbns = new String[CONSULTAS];
+        isbnsComHifens = new String[CONSULTAS];
+        for (int i = 0; i < CONSULTAS; i++) {
+            String isbn = isbn(aleatorio.nextInt(livros));
+            isbns[i] = new String(isbn.toCharArray());
+            isbnsComHifens[i] = isbn.substring(0, 3) + "-" + isbn.substring(3, 5) + "-"
+                    + isbn.substring(5, 12) + "-" + isbn.substring(12);
+        }
+    }
+
+    private static String isbn(int i) {
+        return String.format("97885%08d", i);
+    }
+
+    @Benchmark
+    public Livro buscar() {
+        return catalogo.buscar(isbns[ThreadLocalRandom.current().nextInt(CONSULTAS)]);
+    }
+
+    @Benchmark
+    public Livro buscarComHifens() {
+        return catalogo.buscar(isbnsComHifens[ThreadLocalRandom.current().nextInt(CONSULTAS)]);
+    }
+
+    @Benchmark
+    public Livro hashMap() {
+        return hashMap.get(isbns[ThreadLocalRandom.current().nextInt(CONSULTAS)]);
+    }
+}
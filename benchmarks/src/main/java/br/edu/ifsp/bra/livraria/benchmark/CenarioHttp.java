@@ -0,0 +1,124 @@
+package br.edu.ifsp.bra.livraria.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Cenário de teste lido de um arquivo .http (formato do REST Client/Thunder
+ * Client, como o test.http da raiz): a requisição já montada, pronta para ser
+ * reenviada quantas vezes for preciso.
+ *
+ * Cada bloco começa com "### título" e traz, depois dos comentários (# ou //),
+ * a linha "MÉTODO URL", os cabeçalhos até a primeira linha em branco e o corpo
+ * até o próximo bloco. Blocos sem requisição (só documentação) e passos que
+ * dependem de outra resposta (URL ou corpo com {{variável}}) são ignorados.
+ */
+final class CenarioHttp {
+
+    private static final Set<String> METODOS = Set.of("GET", "POST", "PUT", "DELETE", "PATCH");
+
+    private final String nome;
+    private final HttpRequest requisicao;
+
+    private CenarioHttp(String nome, HttpRequest requisicao) {
+        this.nome = nome;
+        this.requisicao = requisicao;
+    }
+
+    String getNome() {
+        return nome;
+    }
+
+    HttpRequest getRequisicao() {
+        return requisicao;
+    }
+
+    /**
+     * Lê os cenários do arquivo, na ordem em que aparecem.
+     *
+     * @param urlBase   substitui "http://localhost:8080" nas URLs (null → mantém)
+     * @param timeout   timeout de cada requisição
+     * @param ignorados recebe o título dos blocos ignorados
+     */
+    static List<CenarioHttp> ler(Path arquivo, String urlBase, Duration timeout, List<String> ignorados) throws IOException {
+        List<String> linhas = Files.readAllLines(arquivo, StandardCharsets.UTF_8);
+        List<CenarioHttp> cenarios = new ArrayList<>();
+        int i = 0;
+        while (i < linhas.size()) {
+            if (!linhas.get(i).startsWith("###")) {
+                i++;
+                continue;
+            }
+            int fim = i + 1;
+            while (fim < linhas.size() && !linhas.get(fim).startsWith("###")) {
+                fim++;
+            }
+            String titulo = linhas.get(i).substring(3).trim();
+            CenarioHttp cenario = bloco(titulo, linhas.subList(i + 1, fim), urlBase, timeout);
+            if (cenario != null) {
+                cenarios.add(cenario);
+            } else {
+                ignorados.add(titulo);
+            }
+            i = fim;
+        }
+        return cenarios;
+    }
+
+    private static CenarioHttp bloco(String titulo, List<String> linhas, String urlBase, Duration timeout) {
+        int i = 0;
+        while (i < linhas.size() && comentarioOuVazia(linhas.get(i))) {
+            i++;
+        }
+        if (i == linhas.size()) {
+            return null;
+        }
+        String[] linhaRequisicao = linhas.get(i++).trim().split("\\s+");
+        if (linhaRequisicao.length < 2 || !METODOS.contains(linhaRequisicao[0])) {
+            return null;
+        }
+        String metodo = linhaRequisicao[0];
+        String url = linhaRequisicao[1];
+        if (urlBase != null && url.startsWith("http://localhost:8080")) {
+            url = urlBase + url.substring("http://localhost:8080".length());
+        }
+
+        HttpRequest.Builder construtor = HttpRequest.newBuilder().timeout(timeout);
+        for (; i < linhas.size() && !linhas.get(i).isBlank(); i++) {
+            String cabecalho = linhas.get(i);
+            int separador = cabecalho.indexOf(':');
+            if (separador > 0 && !comentarioOuVazia(cabecalho)) {
+                construtor.header(cabecalho.substring(0, separador).trim(), cabecalho.substring(separador + 1).trim());
+            }
+        }
+
+        StringBuilder corpo = new StringBuilder();
+        for (; i < linhas.size(); i++) {
+            if (corpo.length() > 0 || !linhas.get(i).isBlank()) {
+                corpo.append(linhas.get(i)).append('\n');
+            }
+        }
+        String texto = corpo.toString().strip();
+        if (url.contains("{{") || texto.contains("{{")) {
+            return null;
+        }
+
+        HttpRequest.BodyPublisher publicador = texto.isEmpty()
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(texto.getBytes(StandardCharsets.UTF_8));
+        return new CenarioHttp(titulo, construtor.uri(URI.create(url)).method(metodo, publicador).build());
+    }
+
+    private static boolean comentarioOuVazia(String linha) {
+        String aparada = linha.trim();
+        return aparada.isEmpty() || aparada.startsWith("#") || aparada.startsWith("//");
+    }
+}
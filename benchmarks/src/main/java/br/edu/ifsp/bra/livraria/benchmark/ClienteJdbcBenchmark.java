@@ -0,0 +1,110 @@
+package br.edu.ifsp.bra.livraria.benchmark;
+
+import br.edu.ifsp.bra.livraria.entity.Cliente;
+import br.edu.ifsp.bra.livraria.repository.ClienteRepositoryJdbc;
+import br.edu.ifsp.bra.livraria.repository.IndicePerfilCliente;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latência de ClienteRepositoryJdbc sobre H2 em memória (pool HikariCP), com
+ * 100 mil clientes, com e sem o cache próximo (tamanhoCache = 0).
+ *
+ *  - findById: um cliente sorteado; com cache (aquecido no setup), só acertos;
+ *  - findAllById: 100 clientes sorteados numa chamada (consulta IN);
+ *  - findById100Vezes: os mesmos 100 clientes, um findById por vez (N+1),
+ *    como referência para findAllById.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClienteJdbcBenchmark {
+
+    private static final int CLIENTES = 100_000;
+    private static final int POR_LOTE = 100;
+
+    @Param({"0", "200000"})
+    public long tamanhoCache;
+
+    private HikariDataSource dataSource;
+    private ClienteRepositoryJdbc repositorio;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+        // Primeira instância só cria a tabela (e os clientes 1 a 4)
+        new ClienteRepositoryJdbc(jdbc, new IndicePerfilCliente(), 0, Duration.ZERO, 500, Ticker.systemTicker());
+        List<Object[]> linhas = new ArrayList<>();
+        for (long id = 5; id <= CLIENTES; id++) {
+            linhas.add(new Object[]{id, "Cliente " + id, "c" + id + "@email.com",
+                    Date.valueOf(LocalDate.of(2010, 1, 1).plusDays(id % 5000))});
+        }
+        jdbc.batchUpdate("MERGE INTO cliente (id, nome, email, data_cadastro) KEY (id) VALUES (?, ?, ?, ?)", linhas);
+
+        repositorio = new ClienteRepositoryJdbc(jdbc, new IndicePerfilCliente(), tamanhoCache,
+                Duration.ofMinutes(10), 500, Ticker.systemTicker());
+
+        // Cache já aquecido: com cache, a medição é só de acertos
+        if (tamanhoCache > 0) {
+            List<Long> ids = new ArrayList<>(CLIENTES);
+            for (long id = 1; id <= CLIENTES; id++) {
+                ids.add(id);
+            }
+            repositorio.findAllById(ids);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    @Benchmark
+    public Optional<Cliente> findById() {
+        return repositorio.findById(1L + ThreadLocalRandom.current().nextInt(CLIENTES));
+    }
+
+    @Benchmark
+    public Map<Long, Cliente> findAllById() {
+        return repositorio.findAllById(sortearIds());
+    }
+
+    @Benchmark
+    public int findById100Vezes() {
+        int encontrados = 0;
+        for (Long id : sortearIds()) {
+            if (repositorio.findById(id).isPresent()) {
+                encontrados++;
+            }
+        }
+        return encontrados;
+    }
+
+    private static List<Long> sortearIds() {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        List<Long> ids = new ArrayList<>(POR_LOTE);
+        for (int i = 0; i < POR_LOTE; i++) {
+            ids.add(1L + aleatorio.nextInt(CLIENTES));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,58 @@
+package br.edu.ifsp.bra.livraria.benchmark;
+
+import br.edu.ifsp.bra.livraria.entity.Cliente;
+import br.edu.ifsp.bra.livraria.entity.Endereco;
+import br.edu.ifsp.bra.livraria.entity.ItemCarrinho;
+import br.edu.ifsp.bra.livraria.entity.PerfilCliente;
+import br.edu.ifsp.bra.livraria.entity.UF;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Massa de dados compartilhada pelos benchmarks.
+ *
+ * Os clientes de exemplo seguem os mesmos ids de ClienteRepositoryInMemory:
+ * 1 = BÁSICO, 2 = BRONZE, 3 = PRATA, 4 = OURO.
+ */
+final class DadosBenchmark {
+
+    private DadosBenchmark() {}
+
+    /** Um cliente representante de cada perfil da RN01, na ordem do enum. */
+    static Cliente[] clientesPorPerfil() {
+        LocalDate hoje = LocalDate.now();
+        PerfilCliente[] perfis = PerfilCliente.values();
+        Cliente[] clientes = new Cliente[perfis.length];
+        for (int i = 0; i < perfis.length; i++) {
+            // meio do intervalo do perfil (ex.: PRATA → 3 anos e 6 meses)
+            LocalDate cadastro = hoje.minusYears(perfis[i].getAnosMinimos()).minusMonths(6);
+            clientes[i] = new Cliente((long) (i + 1), "Cliente " + perfis[i], perfis[i] + "@email.com", cadastro);
+        }
+        return clientes;
+    }
+
+    /** Um endereço para cada UF, na ordem do enum. */
+    static Endereco[] enderecosPorUf() {
+        UF[] ufs = UF.values();
+        Endereco[] enderecos = new Endereco[ufs.length];
+        for (int i = 0; i < ufs.length; i++) {
+            enderecos[i] = endereco(ufs[i].name());
+        }
+        return enderecos;
+    }
+
+    static Endereco endereco(String uf) {
+        return new Endereco("Rua Benchmark", "100", "Centro", "Cidade", uf, "01000-000");
+    }
+
+    /** Carrinho com a quantidade de linhas pedida e preços variados. */
+    static List<ItemCarrinho> carrinho(int linhas) {
+        List<ItemCarrinho> itens = new ArrayList<>(linhas);
+        for (int i = 0; i < linhas; i++) {
+            itens.add(new ItemCarrinho("Livro " + i, 1 + (i % 3), 19.90 + (i % 50)));
+        }
+        return itens;
+    }
+}
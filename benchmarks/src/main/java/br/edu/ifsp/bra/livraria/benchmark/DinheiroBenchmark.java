@@ -0,0 +1,80 @@
+package br.edu.ifsp.bra.livraria.benchmark;
+
+import br.edu.ifsp.bra.livraria.entity.Cliente;
+import br.edu.ifsp.bra.livraria.entity.Dinheiro;
+import br.edu.ifsp.bra.livraria.entity.Endereco;
+import br.edu.ifsp.bra.livraria.entity.ItemCarrinho;
+import br.edu.ifsp.bra.livraria.repository.IndicePerfilCliente;
+import br.edu.ifsp.bra.livraria.service.CalculadoraDescontoService;
+import br.edu.ifsp.bra.livraria.service.CalculadoraFreteService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cálculo de preço (itens → RN01 → RN02 → total) em ponto fixo (centavos,
+ * como em PedidoService) comparado ao caminho anterior em double.
+ *
+ * Rodar com -prof gc para confirmar que nenhum dos dois aloca por operação.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DinheiroBenchmark {
+
+    // Fatores do caminho em double, equivalentes a PerfilCliente.PRATA e região SUDESTE
+    private static final double FATOR_DESCONTO = 0.05;
+    private static final double FATOR_FRETE = 0.05;
+
+    @Param({"1", "10", "1000"})
+    public int linhas;
+
+    private CalculadoraDescontoService desconto;
+    private CalculadoraFreteService frete;
+    private Cliente cliente;
+    private Endereco endereco;
+    private List<ItemCarrinho> itens;
+
+    @Setup
+    public void setup() {
+        // Perfil vindo do índice: sem LocalDate.now() por chamada, isolando a aritmética
+        IndicePerfilCliente indice = new IndicePerfilCliente();
+        cliente = new Cliente(3L, "Prata", "prata@email.com", LocalDate.now().minusYears(3));
+        indice.registrar(cliente);
+        desconto = new CalculadoraDescontoService(indice);
+        frete = new CalculadoraFreteService();
+        endereco = DadosBenchmark.endereco("RJ");
+        itens = DadosBenchmark.carrinho(linhas);
+    }
+
+    @Benchmark
+    public long centavos() {
+        long valorItens = 0;
+        for (ItemCarrinho item : itens) {
+            valorItens = Math.addExact(valorItens, item.getSubtotalCentavos());
+        }
+        long valorComDesconto = valorItens - desconto.calcularDescontoCentavos(cliente, valorItens);
+        return valorComDesconto + frete.calcularFreteCentavos(endereco, valorComDesconto);
+    }
+
+    @Benchmark
+    public double pontoFlutuante() {
+        double valorItens = 0;
+        for (ItemCarrinho item : itens) {
+            valorItens += item.getQuantidade() * item.getPrecoUnitario();
+        }
+        double valorComDesconto = valorItens - valorItens * FATOR_DESCONTO;
+        return valorComDesconto + valorComDesconto * FATOR_FRETE;
+    }
+
+    /** Apenas conversão: custo de expor centavos como reais no JSON. */
+    @Benchmark
+    public double conversaoParaReais() {
+        return Dinheiro.paraReais(centavos());
+    }
+}
@@ -0,0 +1,79 @@
+package br.edu.ifsp.bra.livraria.benchmark;
+
+import br.edu.ifsp.bra.livraria.entity.ItemCarrinho;
+import br.edu.ifsp.bra.livraria.service.EstoqueLivros;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contenção na reserva de estoque durante uma "venda relâmpago": 8 threads
+ * reservam (e liberam em seguida, para o estoque não acabar) carrinhos de 3
+ * linhas sorteadas entre os títulos quentes, em ordem aleatória.
+ *
+ *  - reservarELiberar: EstoqueLivros, um lock por livro travado em ordem de ISBN;
+ *  - lockGlobal: as mesmas chamadas serializadas por um único lock, como
+ *    referência do que seria um estoque sem locks por livro.
+ *
+ * Com quentes=1 todas as threads disputam o mesmo livro nos dois casos; com
+ * mais títulos, só o lockGlobal continua serializando tudo.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class EstoqueBenchmark {
+
+    private static final int CARRINHOS = 1024;
+    private static final int LINHAS = 3;
+
+    @Param({"1", "8", "256"})
+    private int quentes;
+
+    private final Object lockGlobal = new Object();
+    private EstoqueLivros estoque;
+    private List<List<ItemCarrinho>> carrinhos;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        estoque = new EstoqueLivros();
+        String[] isbns = new String[quentes];
+        for (int i = 0; i < quentes; i++) {
+            isbns[i] = String.valueOf(9788500000000L + i * 7L);
+            estoque.definirDisponivel(isbns[i], Long.MAX_VALUE / 4);
+        }
+
+        Random aleatorio = new Random(42);
+        carrinhos = new ArrayList<>(CARRINHOS);
+        for (int c = 0; c < CARRINHOS; c++) {
+            List<ItemCarrinho> itens = new ArrayList<>(LINHAS);
+            for (int l = 0; l < LINHAS; l++) {
+                itens.add(new ItemCarrinho(isbns[aleatorio.nextInt(quentes)], 1 + aleatorio.nextInt(2)));
+            }
+            carrinhos.add(itens);
+        }
+    }
+
+    @Benchmark
+    public void reservarELiberar() {
+        List<ItemCarrinho> itens = carrinhos.get(ThreadLocalRandom.current().nextInt(CARRINHOS));
+        estoque.reservar(itens);
+        estoque.liberar(itens);
+    }
+
+    @Benchmark
+    public void lockGlobal() {
+        List<ItemCarrinho> itens = carrinhos.get(ThreadLocalRandom.current().nextInt(CARRINHOS));
+        synchronized (lockGlobal) {
+            estoque.reservar(itens);
+            estoque.liberar(itens);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package br.edu.ifsp.bra.livraria.benchmark;
+
+import br.edu.ifsp.bra.livraria.entity.Endereco;
+import br.edu.ifsp.bra.livraria.repository.ClienteRepositoryInMemory;
+import br.edu.ifsp.bra.livraria.repository.IndicePerfilCliente;
+import br.edu.ifsp.bra.livraria.repository.PedidoRepositoryInMemory;
+import br.edu.ifsp.bra.livraria.service.CalculadoraDescontoService;
+import br.edu.ifsp.bra.livraria.service.CalculadoraFreteService;
+import br.edu.ifsp.bra.livraria.service.FormatoExportacao;
+import br.edu.ifsp.bra.livraria.service.PedidoExportacaoService;
+import br.edu.ifsp.bra.livraria.service.PedidoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão da exportação de pedidos (PedidoExportacaoService) por formato.
+ *
+ * Cada operação exporta todos os pedidos do repositório para um
+ * OutputStream que apenas conta os bytes. O contador auxiliar "bytes" sai
+ * em bytes/s: dividido por 1.000.000, dá a vazão em MB/s.
+ * O profiler de GC mostra a alocação por pedido (gc.alloc.rate.norm / pedidos).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExportacaoBenchmark {
+
+    @Param({"NDJSON", "CSV"})
+    public FormatoExportacao formato;
+
+    @Param({"100000"})
+    public int pedidos;
+
+    private PedidoExportacaoService exportacaoService;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Vazao {
+        public long bytes;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        PedidoRepositoryInMemory pedidoRepository = new PedidoRepositoryInMemory();
+        IndicePerfilCliente indice = new IndicePerfilCliente();
+        PedidoService pedidoService = new PedidoService.Construtor(
+                        new CalculadoraDescontoService(indice),
+                        new CalculadoraFreteService(),
+                        new ClienteRepositoryInMemory(indice))
+                .pedidoRepository(pedidoRepository)
+                .construir();
+
+        Endereco[] enderecos = DadosBenchmark.enderecosPorUf();
+        for (int i = 0; i < pedidos; i++) {
+            pedidoService.processarPedido(1L + i % 4, enderecos[i % enderecos.length],
+                    DadosBenchmark.carrinho(1 + i % 5), "PIX");
+        }
+        exportacaoService = new PedidoExportacaoService(pedidoRepository, new ObjectMapper(), 1000);
+    }
+
+    @Benchmark
+    public long exportar(Vazao vazao) throws IOException {
+        ContadorBytes saida = new ContadorBytes();
+        long exportados = exportacaoService.exportar(formato, 0, saida);
+        vazao.bytes += saida.bytes;
+        return exportados;
+    }
+
+    /** Descarta a saída, contando os bytes. */
+    private static final class ContadorBytes extends OutputStream {
+        long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
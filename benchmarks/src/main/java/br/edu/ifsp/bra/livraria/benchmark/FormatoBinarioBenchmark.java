@@ -0,0 +1,109 @@
+package br.edu.ifsp.bra.livraria.benchmark;
+
+import br.edu.ifsp.bra.livraria.api.dto.PedidoRequestDTO;
+import br.edu.ifsp.bra.livraria.entity.Pedido;
+import br.edu.ifsp.bra.livraria.repository.ClienteRepositoryInMemory;
+import br.edu.ifsp.bra.livraria.repository.IndicePerfilCliente;
+import br.edu.ifsp.bra.livraria.service.CalculadoraDescontoService;
+import br.edu.ifsp.bra.livraria.service.CalculadoraFreteService;
+import br.edu.ifsp.bra.livraria.service.PedidoService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.cfg.MapperBuilder;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de POST /api/pedidos no fio, em JSON, Smile e CBOR: leitura do
+ * PedidoRequestDTO (e de um lote de 100), e escrita do Pedido de resposta.
+ *
+ * Os bytes de cada mensagem, por formato, são impressos no início do trial.
+ * Rodar com -prof gc para ver a alocação por mensagem.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FormatoBinarioBenchmark {
+
+    private static final int TAMANHO_LOTE = 100;
+    private static final TypeReference<List<PedidoRequestDTO>> LOTE = new TypeReference<>() {};
+
+    @Param({"json", "smile", "cbor"})
+    public String formato;
+
+    private ObjectReader leitorPedido;
+    private ObjectReader leitorLote;
+    private ObjectWriter escritor;
+    private byte[] requisicao;
+    private byte[] lote;
+    private Pedido pedido;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        MapperBuilder<?, ?> builder = switch (formato) {
+            case "smile" -> SmileMapper.builder();
+            case "cbor" -> CBORMapper.builder();
+            default -> JsonMapper.builder();
+        };
+        // Mesma configuração do ObjectMapper do Spring Boot
+        ObjectMapper mapper = builder.findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+        leitorPedido = mapper.readerFor(PedidoRequestDTO.class);
+        leitorLote = mapper.readerFor(LOTE);
+        escritor = mapper.writer();
+
+        PedidoRequestDTO dto = new PedidoRequestDTO();
+        dto.setClienteId(3L);
+        dto.setEnderecoEntrega(DadosBenchmark.endereco("RJ"));
+        dto.setItens(DadosBenchmark.carrinho(3));
+        dto.setFormaPagamento("PIX");
+        List<PedidoRequestDTO> dtos = new ArrayList<>(TAMANHO_LOTE);
+        for (int i = 0; i < TAMANHO_LOTE; i++) {
+            dtos.add(dto);
+        }
+        requisicao = escritor.writeValueAsBytes(dto);
+        lote = escritor.writeValueAsBytes(dtos);
+
+        IndicePerfilCliente indice = new IndicePerfilCliente();
+        PedidoService pedidoService = new PedidoService.Construtor(
+                        new CalculadoraDescontoService(indice),
+                        new CalculadoraFreteService(),
+                        new ClienteRepositoryInMemory(indice))
+                .construir();
+        pedido = pedidoService.processarPedido(3L, dto.getEnderecoEntrega(), dto.getItens(), "PIX");
+
+        System.out.printf("%nBytes (%s): requisição=%d, lote de %d=%d, resposta=%d%n",
+                formato, requisicao.length, TAMANHO_LOTE, lote.length, escritor.writeValueAsBytes(pedido).length);
+    }
+
+    @Benchmark
+    public PedidoRequestDTO lerRequisicao() throws IOException {
+        return leitorPedido.readValue(requisicao);
+    }
+
+    @Benchmark
+    public List<PedidoRequestDTO> lerLote() throws IOException {
+        return leitorLote.readValue(lote);
+    }
+
+    @Benchmark
+    public byte[] escreverResposta() throws IOException {
+        return escritor.writeValueAsBytes(pedido);
+    }
+}
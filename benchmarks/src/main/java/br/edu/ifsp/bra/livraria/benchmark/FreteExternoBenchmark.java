@@ -0,0 +1,91 @@
+package br.edu.ifsp.bra.livraria.benchmark;
+
+import br.edu.ifsp.bra.livraria.entity.Endereco;
+import br.edu.ifsp.bra.livraria.entity.ItemCarrinho;
+import br.edu.ifsp.bra.livraria.entity.Pedido;
+import br.edu.ifsp.bra.livraria.repository.ClienteRepositoryInMemory;
+import br.edu.ifsp.bra.livraria.repository.IndicePerfilCliente;
+import br.edu.ifsp.bra.livraria.service.CalculadoraDescontoService;
+import br.edu.ifsp.bra.livraria.service.CalculadoraFreteService;
+import br.edu.ifsp.bra.livraria.service.PedidoService;
+import br.edu.ifsp.bra.livraria.service.TabelaFrete;
+import br.edu.ifsp.bra.livraria.service.frete.CotacaoFreteExterna;
+import br.edu.ifsp.bra.livraria.service.frete.CotadorFreteHttp;
+import br.edu.ifsp.bra.livraria.service.frete.ServidorFreteStub;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latência de processarPedido com o frete cotado no serviço externo
+ * (ServidorFreteStub local, timeout de 50 ms, circuito com 5 falhas e 1 s de
+ * espera), com CEPs sorteados entre 200 faixas.
+ *
+ *  - rapido: serviço respondendo sem atraso (após o aquecimento, quase tudo
+ *    sai do cache de cotações);
+ *  - lento: serviço levando 1 s por resposta; o pedido nunca espera mais que
+ *    o timeout, e com o circuito aberto usa a RN02 direto;
+ *  - fora: serviço respondendo 503.
+ *
+ * Modo SampleTime: os percentis mostram o teto de latência, não só a média.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FreteExternoBenchmark {
+
+    private static final int ENDERECOS = 1024;
+    private static final int FAIXAS = 200;
+
+    @Param({"rapido", "lento", "fora"})
+    public String cenario;
+
+    private ServidorFreteStub servidor;
+    private PedidoService pedidoService;
+    private Endereco[] enderecos;
+    private List<ItemCarrinho> itens;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        servidor = ServidorFreteStub.iniciar(0);
+        servidor.setAtrasoMs("lento".equals(cenario) ? 1000 : 0);
+        servidor.setFalhar("fora".equals(cenario));
+
+        Duration timeout = Duration.ofMillis(50);
+        CotacaoFreteExterna cotacao = new CotacaoFreteExterna(new CotadorFreteHttp(servidor.getUrl(), timeout),
+                timeout, Duration.ofMinutes(5), 10_000, 5, Duration.ofSeconds(1), System::nanoTime);
+
+        IndicePerfilCliente indice = new IndicePerfilCliente();
+        pedidoService = new PedidoService.Construtor(
+                        new CalculadoraDescontoService(indice),
+                        new CalculadoraFreteService(TabelaFrete.carregarPadrao(), cotacao),
+                        new ClienteRepositoryInMemory(indice))
+                .pedidoRepository(new PedidoRepositoryDescartavel())
+                .construir();
+
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        enderecos = new Endereco[ENDERECOS];
+        for (int i = 0; i < ENDERECOS; i++) {
+            enderecos[i] = DadosBenchmark.endereco("RJ");
+            enderecos[i].setCep(String.format("%03d00-000", 200 + aleatorio.nextInt(FAIXAS)));
+        }
+        itens = DadosBenchmark.carrinho(3);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        servidor.close();
+    }
+
+    @Benchmark
+    public Pedido processarPedido() {
+        Endereco endereco = enderecos[ThreadLocalRandom.current().nextInt(ENDERECOS)];
+        return pedidoService.processarPedido(3L, endereco, itens, "PIX");
+    }
+}
@@ -0,0 +1,282 @@
+package br.edu.ifsp.bra.livraria.benchmark;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gerador de carga: reenvia os cenários do test.http (CT01...) contra uma
+ * instância em execução, a uma taxa fixa, e imprime vazão e percentis de
+ * latência por cenário.
+ *
+ *  - Carga em malha aberta: a i-ésima requisição tem horário previsto
+ *    inicio + i / taxa, e é disparada nesse horário mesmo que as anteriores
+ *    ainda não tenham respondido (até --conexoes simultâneas; acima disso
+ *    o disparo espera uma vaga, e a espera entra na latência).
+ *  - Latência medida a partir do horário previsto, não do envio efetivo:
+ *    quando o servidor (ou o próprio gerador) atrasa, o tempo de espera
+ *    entra na medida, em vez de sumir (omissão coordenada). A coluna
+ *    "serviço p99" mostra a latência do envio à resposta, sem a correção.
+ *  - Cenários alternados em rodízio, na ordem do arquivo; uma thread por
+ *    requisição em andamento (threads virtuais no Java 21+; no 17, um pool
+ *    de --conexoes threads de plataforma).
+ *  - Histogramas HdrHistogram (3 dígitos significativos) por cenário.
+ *    As requisições do aquecimento não são registradas.
+ *
+ * Respostas 4xx/5xx contam na latência e aparecem na coluna de status (CT14,
+ * por exemplo, espera 400). Falhas de conexão e timeouts contam como erro e
+ * também entram nos histogramas, com o tempo decorrido até a falha: um
+ * servidor que só responde por timeout não pode sair com percentis baixos.
+ *
+ * Uso (aplicação no ar, na raiz do projeto):
+ *   java -cp benchmarks/target/benchmarks.jar br.edu.ifsp.bra.livraria.benchmark.GeradorCarga \
+ *        --arquivo=test.http --url=http://localhost:8080 --taxa=200 --duracao=30 \
+ *        --aquecimento=5 --conexoes=256 --timeout-ms=10000 --cenarios=CT01,CT12
+ */
+public class GeradorCarga {
+
+    private static final AtomicReference<String> primeiroErro = new AtomicReference<>();
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> opcoes = opcoes(args);
+        Path arquivo = Path.of(opcoes.getOrDefault("arquivo", "test.http"));
+        String url = opcoes.get("url");
+        double taxa = Double.parseDouble(opcoes.getOrDefault("taxa", "100"));
+        long duracaoSegundos = Long.parseLong(opcoes.getOrDefault("duracao", "30"));
+        long aquecimentoSegundos = Long.parseLong(opcoes.getOrDefault("aquecimento", "5"));
+        int conexoes = Integer.parseInt(opcoes.getOrDefault("conexoes", "256"));
+        Duration timeout = Duration.ofMillis(Long.parseLong(opcoes.getOrDefault("timeout-ms", "10000")));
+        if (taxa <= 0 || duracaoSegundos <= 0 || aquecimentoSegundos < 0 || conexoes <= 0) {
+            throw new IllegalArgumentException("taxa, duracao e conexoes devem ser positivos; aquecimento, não negativo.");
+        }
+
+        List<String> ignorados = new ArrayList<>();
+        List<CenarioHttp> cenarios = filtrar(CenarioHttp.ler(arquivo, url, timeout, ignorados), opcoes.get("cenarios"));
+        if (cenarios.isEmpty()) {
+            throw new IllegalArgumentException("Nenhum cenário executável em " + arquivo);
+        }
+        System.out.printf("Cenários: %d (ignorados: %d, com {{variável}} ou sem requisição)%n", cenarios.size(), ignorados.size());
+        System.out.printf("Taxa: %.1f req/s em malha aberta, %d s de aquecimento + %d s de medição, até %d conexões%n%n",
+                taxa, aquecimentoSegundos, duracaoSegundos, conexoes);
+
+        Medicao[] medicoes = new Medicao[cenarios.size()];
+        for (int i = 0; i < medicoes.length; i++) {
+            medicoes[i] = new Medicao(cenarios.get(i));
+        }
+        long atrasoMaximoDisparo = executar(medicoes, taxa, aquecimentoSegundos, duracaoSegundos, conexoes, timeout);
+        imprimir(medicoes, duracaoSegundos, atrasoMaximoDisparo);
+    }
+
+    /** Dispara as requisições nos horários previstos e espera as pendentes. Devolve o maior atraso de disparo (ns). */
+    private static long executar(Medicao[] medicoes, double taxa, long aquecimentoSegundos, long duracaoSegundos,
+                                 int conexoes, Duration timeout) throws InterruptedException {
+        HttpClient cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+        Semaphore vagas = new Semaphore(conexoes);
+        ExecutorService executor = executorRequisicoes(conexoes);
+
+        long inicio = System.nanoTime();
+        long inicioMedicao = inicio + TimeUnit.SECONDS.toNanos(aquecimentoSegundos);
+        long fim = inicioMedicao + TimeUnit.SECONDS.toNanos(duracaoSegundos);
+        double intervalo = 1_000_000_000.0 / taxa;
+        long atrasoMaximo = 0;
+
+        for (long i = 0; ; i++) {
+            long previsto = inicio + Math.round(i * intervalo);
+            if (previsto >= fim) {
+                break;
+            }
+            long espera;
+            while ((espera = previsto - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(espera);
+            }
+            atrasoMaximo = Math.max(atrasoMaximo, -espera);
+
+            // A vaga é obtida antes de criar a tarefa: no máximo "conexoes" threads
+            // ficam em andamento, e o atraso da espera já conta a partir de previsto
+            vagas.acquire();
+            Medicao medicao = medicoes[(int) (i % medicoes.length)];
+            boolean registrar = previsto >= inicioMedicao;
+            try {
+                executor.execute(() -> enviar(cliente, vagas, medicao, previsto, registrar));
+            } catch (RuntimeException ex) {
+                vagas.release();
+                throw ex;
+            }
+        }
+
+        executor.shutdown();
+        if (!executor.awaitTermination(timeout.toMillis() + 5_000, TimeUnit.MILLISECONDS)) {
+            System.err.println("Requisições ainda pendentes ao fim da espera; resultados parciais.");
+            executor.shutdownNow();
+        }
+        return atrasoMaximo;
+    }
+
+    /** Envia a requisição e devolve a vaga obtida pelo disparo. */
+    private static void enviar(HttpClient cliente, Semaphore vagas, Medicao medicao, long previsto, boolean registrar) {
+        long envio = System.nanoTime();
+        try {
+            HttpResponse<Void> resposta = cliente.send(medicao.cenario.getRequisicao(), HttpResponse.BodyHandlers.discarding());
+            long agora = System.nanoTime();
+            if (registrar) {
+                medicao.registrar(resposta.statusCode(), agora - previsto, agora - envio);
+            }
+        } catch (IOException ex) {
+            // Inclui HttpTimeoutException: registrada no tempo decorrido (≈ --timeout-ms)
+            long agora = System.nanoTime();
+            if (registrar) {
+                medicao.registrarErro(agora - previsto, agora - envio);
+                primeiroErro.compareAndSet(null, ex.toString());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            vagas.release();
+        }
+    }
+
+    private static void imprimir(Medicao[] medicoes, long duracaoSegundos, long atrasoMaximoDisparo) {
+        System.out.printf("%-44s %8s %9s %9s %9s %9s %9s %11s  %s%n",
+                "Cenário", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "máx ms", "erros", "serviço p99", "status");
+        Histogram total = new Histogram(3);
+        Histogram totalServico = new Histogram(3);
+        long erros = 0;
+        for (Medicao medicao : medicoes) {
+            linha(resumir(medicao.cenario.getNome()), medicao.resposta, medicao.servico, medicao.erros.get(),
+                    duracaoSegundos, medicao.status());
+            total.add(medicao.resposta);
+            totalServico.add(medicao.servico);
+            erros += medicao.erros.get();
+        }
+        System.out.println();
+        linha("Total", total, totalServico, erros, duracaoSegundos, "");
+        if (primeiroErro.get() != null) {
+            System.out.printf("%nPrimeiro erro: %s%n", primeiroErro.get());
+        }
+        if (atrasoMaximoDisparo > TimeUnit.MILLISECONDS.toNanos(10)) {
+            System.out.printf("%nAviso: o gerador chegou a disparar %.1f ms atrasado (já incluído nas latências).%n",
+                    atrasoMaximoDisparo / 1e6);
+        }
+    }
+
+    private static void linha(String nome, Histogram resposta, Histogram servico, long erros,
+                              long duracaoSegundos, String status) {
+        System.out.printf("%-44s %8.1f %9.2f %9.2f %9.2f %9.2f %9d %11.2f  %s%n",
+                nome,
+                (double) resposta.getTotalCount() / duracaoSegundos,
+                resposta.getValueAtPercentile(50) / 1000.0,
+                resposta.getValueAtPercentile(99) / 1000.0,
+                resposta.getValueAtPercentile(99.9) / 1000.0,
+                resposta.getMaxValue() / 1000.0,
+                erros,
+                servico.getValueAtPercentile(99) / 1000.0,
+                status);
+    }
+
+    private static String resumir(String nome) {
+        return nome.length() <= 44 ? nome : nome.substring(0, 43) + "…";
+    }
+
+    private static List<CenarioHttp> filtrar(List<CenarioHttp> cenarios, String filtro) {
+        if (filtro == null || filtro.isBlank()) {
+            return cenarios;
+        }
+        List<CenarioHttp> selecionados = new ArrayList<>();
+        for (CenarioHttp cenario : cenarios) {
+            for (String prefixo : filtro.split(",")) {
+                if (cenario.getNome().startsWith(prefixo.trim())) {
+                    selecionados.add(cenario);
+                    break;
+                }
+            }
+        }
+        return selecionados;
+    }
+
+    private static Map<String, String> opcoes(String[] args) {
+        Map<String, String> opcoes = new HashMap<>();
+        for (String arg : args) {
+            int igual = arg.indexOf('=');
+            if (!arg.startsWith("--") || igual < 0) {
+                throw new IllegalArgumentException("Opção inválida (use --nome=valor): " + arg);
+            }
+            opcoes.put(arg.substring(2, igual), arg.substring(igual + 1));
+        }
+        return opcoes;
+    }
+
+    // Uma thread por requisição: virtual no Java 21+; no 17, pool fixo de plataforma
+    // (o semáforo de executar já limita as tarefas em andamento ao mesmo número)
+    private static ExecutorService executorRequisicoes(int conexoes) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            System.err.println("Threads virtuais exigem Java 21+ (JVM atual: " + Runtime.version()
+                    + "). Usando threads de plataforma.");
+            return Executors.newFixedThreadPool(conexoes, tarefa -> {
+                Thread thread = new Thread(tarefa, "gerador-carga");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /** Histogramas (em microssegundos) e contagem de status de um cenário. */
+    private static final class Medicao {
+
+        private final CenarioHttp cenario;
+        private final Histogram resposta = new ConcurrentHistogram(3);
+        private final Histogram servico = new ConcurrentHistogram(3);
+        private final AtomicLong erros = new AtomicLong();
+        private final Map<Integer, Long> porStatus = new TreeMap<>();
+
+        Medicao(CenarioHttp cenario) {
+            this.cenario = cenario;
+        }
+
+        void registrar(int status, long respostaNanos, long servicoNanos) {
+            resposta.recordValue(TimeUnit.NANOSECONDS.toMicros(respostaNanos));
+            servico.recordValue(TimeUnit.NANOSECONDS.toMicros(servicoNanos));
+            synchronized (porStatus) {
+                porStatus.merge(status, 1L, Long::sum);
+            }
+        }
+
+        /** Falha de conexão ou timeout: conta como erro e entra nos histogramas. */
+        void registrarErro(long respostaNanos, long servicoNanos) {
+            resposta.recordValue(TimeUnit.NANOSECONDS.toMicros(respostaNanos));
+            servico.recordValue(TimeUnit.NANOSECONDS.toMicros(servicoNanos));
+            erros.incrementAndGet();
+        }
+
+        String status() {
+            StringBuilder texto = new StringBuilder();
+            synchronized (porStatus) {
+                for (Map.Entry<Integer, Long> entrada : porStatus.entrySet()) {
+                    texto.append(texto.length() > 0 ? " " : "").append(entrada.getKey()).append('×').append(entrada.getValue());
+                }
+            }
+            return texto.toString();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package br.edu.ifsp.bra.livraria.benchmark;
+
+import br.edu.ifsp.bra.livraria.api.dto.PedidoRequestDTO;
+import br.edu.ifsp.bra.livraria.entity.Pedido;
+import br.edu.ifsp.bra.livraria.repository.ClienteRepositoryInMemory;
+import br.edu.ifsp.bra.livraria.repository.IndicePerfilCliente;
+import br.edu.ifsp.bra.livraria.service.CalculadoraDescontoService;
+import br.edu.ifsp.bra.livraria.service.CalculadoraFreteService;
+import br.edu.ifsp.bra.livraria.service.IdempotenciaPedidoService;
+import br.edu.ifsp.bra.livraria.service.IdempotenciaPedidoService.RespostaIdempotente;
+import br.edu.ifsp.bra.livraria.service.PedidoService;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * POST /api/pedidos com Idempotency-Key sob tempestade de repetições.
+ *
+ * Cada operação envia o mesmo pedido com uma chave sorteada entre "chaves"
+ * valores: com poucas chaves, quase tudo é repetição (acerto no cache ou
+ * coalescência com a requisição em andamento); com 1.000.000 de chaves,
+ * quase tudo é primeira tentativa e o cache passa a remover entradas.
+ *
+ * semChave é a referência: processarPedido sem idempotência.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class IdempotenciaBenchmark {
+
+    @Param({"16", "1024", "1000000"})
+    public int chaves;
+
+    private PedidoService pedidoService;
+    private IdempotenciaPedidoService idempotencia;
+    private PedidoRequestDTO dto;
+    private String[] valores;
+
+    @Setup
+    public void setup() {
+        IndicePerfilCliente indice = new IndicePerfilCliente();
+        pedidoService = new PedidoService.Construtor(
+                        new CalculadoraDescontoService(indice),
+                        new CalculadoraFreteService(),
+                        new ClienteRepositoryInMemory(indice))
+                .pedidoRepository(new PedidoRepositoryDescartavel())
+                .construir();
+        // 8 MB de respostas: com 1.000.000 de chaves o limite é atingido e há remoções
+        idempotencia = new IdempotenciaPedidoService(
+                JsonMapper.builder().findAndAddModules().build(), new SimpleMeterRegistry(), 3600, 8L * 1024 * 1024);
+
+        dto = new PedidoRequestDTO();
+        dto.setClienteId(3L);
+        dto.setEnderecoEntrega(DadosBenchmark.endereco("RJ"));
+        dto.setItens(DadosBenchmark.carrinho(3));
+        dto.setFormaPagamento("PIX");
+
+        valores = new String[chaves];
+        for (int i = 0; i < chaves; i++) {
+            valores[i] = "chave-" + i;
+        }
+    }
+
+    @Benchmark
+    public RespostaIdempotente comChave() {
+        String chave = valores[ThreadLocalRandom.current().nextInt(chaves)];
+        return idempotencia.executar(chave, dto, this::processar);
+    }
+
+    @Benchmark
+    public Pedido semChave() {
+        return processar();
+    }
+
+    private Pedido processar() {
+        return pedidoService.processarPedido(dto.getClienteId(), dto.getEnderecoEntrega(), dto.getItens(), dto.getFormaPagamento());
+    }
+}
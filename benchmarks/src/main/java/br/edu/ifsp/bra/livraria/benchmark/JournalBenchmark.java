@@ -0,0 +1,74 @@
+package br.edu.ifsp.bra.livraria.benchmark;
+
+import br.edu.ifsp.bra.livraria.entity.Pedido;
+import br.edu.ifsp.bra.livraria.repository.journal.ModoDurabilidade;
+import br.edu.ifsp.bra.livraria.repository.journal.PedidoRepositoryJournal;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Vazão de gravação do journal de pedidos com vários escritores concorrentes,
+ * em cada modo de durabilidade. No modo LOTE, o ganho vem de um único fsync
+ * por lote drenado (group commit).
+ *
+ * O diretório do journal é criado em java.io.tmpdir; para medir um disco
+ * específico, use -Djava.io.tmpdir=... (ou -jvmArgs no JMH).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(32)
+@State(Scope.Benchmark)
+public class JournalBenchmark {
+
+    @Param({"SINCRONO", "LOTE", "ASSINCRONO"})
+    public ModoDurabilidade modo;
+
+    private Path diretorio;
+    private PedidoRepositoryJournal repositorio;
+    private Pedido modelo;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        diretorio = Files.createTempDirectory("journal-bench");
+        repositorio = new PedidoRepositoryJournal(diretorio.toString(), modo, 64L * 1024 * 1024, 10);
+
+        modelo = new Pedido();
+        modelo.setCliente(DadosBenchmark.clientesPorPerfil()[2]);
+        modelo.setEnderecoEntrega(DadosBenchmark.endereco("RJ"));
+        modelo.setItens(DadosBenchmark.carrinho(3));
+        modelo.setValorItens(150.0);
+        modelo.setValorTotal(150.0);
+        modelo.setFormaPagamento("PIX");
+        modelo.setStatus("EM_PROCESSAMENTO");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        repositorio.close();
+        try (Stream<Path> arquivos = Files.walk(diretorio)) {
+            arquivos.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public Pedido gravarPedido() {
+        Pedido pedido = new Pedido();
+        pedido.setCliente(modelo.getCliente());
+        pedido.setEnderecoEntrega(modelo.getEnderecoEntrega());
+        pedido.setItens(modelo.getItens());
+        pedido.setValorItens(modelo.getValorItens());
+        pedido.setValorTotal(modelo.getValorTotal());
+        pedido.setFormaPagamento(modelo.getFormaPagamento());
+        pedido.setStatus(modelo.getStatus());
+        return repositorio.save(pedido);
+    }
+}
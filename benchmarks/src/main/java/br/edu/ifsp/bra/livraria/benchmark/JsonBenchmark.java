@@ -0,0 +1,79 @@
+package br.edu.ifsp.bra.livraria.benchmark;
+
+import br.edu.ifsp.bra.livraria.api.dto.PedidoRequestDTO;
+import br.edu.ifsp.bra.livraria.entity.Pedido;
+import br.edu.ifsp.bra.livraria.repository.ClienteRepositoryInMemory;
+import br.edu.ifsp.bra.livraria.repository.IndicePerfilCliente;
+import br.edu.ifsp.bra.livraria.service.CalculadoraDescontoService;
+import br.edu.ifsp.bra.livraria.service.CalculadoraFreteService;
+import br.edu.ifsp.bra.livraria.service.PedidoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do binding JSON (Jackson) na borda da API:
+ * leitura de PedidoRequestDTO e escrita do Pedido de resposta.
+ *
+ * O ObjectMapper é configurado como o do Spring Boot
+ * (módulos do classpath, datas ISO-8601 em vez de timestamps).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int linhas;
+
+    private ObjectReader leitorRequisicao;
+    private ObjectWriter escritorPedido;
+
+    private byte[] requisicaoJson;
+    private Pedido pedido;
+
+    @Setup
+    public void setup() throws IOException {
+        ObjectMapper mapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        leitorRequisicao = mapper.readerFor(PedidoRequestDTO.class);
+        escritorPedido = mapper.writerFor(Pedido.class);
+
+        PedidoRequestDTO dto = new PedidoRequestDTO();
+        dto.setClienteId(4L);
+        dto.setEnderecoEntrega(DadosBenchmark.endereco("SC"));
+        dto.setItens(DadosBenchmark.carrinho(linhas));
+        dto.setFormaPagamento("CREDITO");
+        requisicaoJson = mapper.writeValueAsBytes(dto);
+
+        IndicePerfilCliente indice = new IndicePerfilCliente();
+        PedidoService pedidoService = new PedidoService.Construtor(
+                        new CalculadoraDescontoService(indice),
+                        new CalculadoraFreteService(),
+                        new ClienteRepositoryInMemory(indice))
+                .construir();
+        pedido = pedidoService.processarPedido(
+                dto.getClienteId(), dto.getEnderecoEntrega(), dto.getItens(), dto.getFormaPagamento());
+    }
+
+    @Benchmark
+    public PedidoRequestDTO lerRequisicao() throws IOException {
+        return leitorRequisicao.readValue(requisicaoJson);
+    }
+
+    @Benchmark
+    public byte[] escreverPedido() throws IOException {
+        return escritorPedido.writeValueAsBytes(pedido);
+    }
+}
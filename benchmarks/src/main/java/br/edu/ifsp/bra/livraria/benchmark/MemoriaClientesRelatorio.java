@@ -0,0 +1,96 @@
+package br.edu.ifsp.bra.livraria.benchmark;
+
+import br.edu.ifsp.bra.livraria.entity.Cliente;
+import br.edu.ifsp.bra.livraria.repository.ClienteRepository;
+import br.edu.ifsp.bra.livraria.repository.ClienteRepositoryCompacto;
+import br.edu.ifsp.bra.livraria.repository.ClienteRepositoryInMemory;
+import br.edu.ifsp.bra.livraria.repository.IndicePerfilCliente;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Relatório de memória por cliente: ClienteRepositoryInMemory (ConcurrentHashMap)
+ * versus ClienteRepositoryCompacto, dentro e fora do heap.
+ *
+ * Não é um benchmark JMH: carrega N clientes em cada implementação e mede
+ * o heap retido após GC e os buffers diretos (fora do heap).
+ *
+ * Cada repositório é medido como roda na aplicação, com o perfil RN01:
+ * ClienteRepositoryInMemory classifica cada cliente no IndicePerfilCliente
+ * (a linha "só o índice" mostra essa parcela), enquanto
+ * ClienteRepositoryCompacto guarda o perfil nos próprios registros e não usa
+ * o índice.
+ *
+ * Uso:
+ *   java -Xmx4g -cp benchmarks/target/benchmarks.jar \
+ *        br.edu.ifsp.bra.livraria.benchmark.MemoriaClientesRelatorio [quantidade]
+ */
+public class MemoriaClientesRelatorio {
+
+    private static Object retido;
+
+    public static void main(String[] args) {
+        int quantidade = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        System.out.printf("Clientes: %,d%n%n", quantidade);
+        System.out.printf("%-40s %14s %14s %12s%n", "Implementação", "Heap (MB)", "Fora heap (MB)", "Bytes/cliente");
+
+        medir("Só o IndicePerfilCliente", quantidade, indice -> new ClienteRepository() {
+            @Override
+            public Optional<Cliente> findById(Long id) {
+                return Optional.empty();
+            }
+
+            @Override
+            public Cliente save(Cliente cliente) {
+                indice.registrar(cliente);
+                return cliente;
+            }
+        });
+        medir("ConcurrentHashMap (InMemory) + índice", quantidade, ClienteRepositoryInMemory::new);
+        medir("Compacto (heap)", quantidade, indice -> new ClienteRepositoryCompacto(false));
+        medir("Compacto (off-heap)", quantidade, indice -> new ClienteRepositoryCompacto(true));
+    }
+
+    private static void medir(String nome, int quantidade, Function<IndicePerfilCliente, ClienteRepository> fabrica) {
+        retido = null;
+        long heapAntes = heapUsado();
+        long diretoAntes = memoriaDireta();
+
+        IndicePerfilCliente indice = new IndicePerfilCliente();
+        ClienteRepository repositorio = fabrica.apply(indice);
+        LocalDate base = LocalDate.of(2010, 1, 1);
+        for (int i = 1; i <= quantidade; i++) {
+            repositorio.save(new Cliente((long) i, "Cliente " + i, "cliente" + i + "@email.com", base.plusDays(i % 5000)));
+        }
+        retido = new Object[] {repositorio, indice};
+
+        long heap = heapUsado() - heapAntes;
+        long direto = memoriaDireta() - diretoAntes;
+        System.out.printf("%-40s %14.1f %14.1f %12.1f%n", nome,
+                heap / 1048576.0, direto / 1048576.0, (double) (heap + direto) / quantidade);
+    }
+
+    private static long heapUsado() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long memoriaDireta() {
+        return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> pool.getName().equals("direct"))
+                .mapToLong(BufferPoolMXBean::getMemoryUsed)
+                .sum();
+    }
+}
@@ -0,0 +1,103 @@
+package br.edu.ifsp.bra.livraria.benchmark;
+
+import br.edu.ifsp.bra.livraria.entity.Endereco;
+import br.edu.ifsp.bra.livraria.entity.ItemCarrinho;
+import br.edu.ifsp.bra.livraria.entity.Pedido;
+import br.edu.ifsp.bra.livraria.repository.ClienteRepositoryInMemory;
+import br.edu.ifsp.bra.livraria.repository.IndicePerfilCliente;
+import br.edu.ifsp.bra.livraria.repository.PedidoRepository;
+import br.edu.ifsp.bra.livraria.repository.journal.ModoDurabilidade;
+import br.edu.ifsp.bra.livraria.repository.journal.PedidoRepositoryJournal;
+import br.edu.ifsp.bra.livraria.service.CalculadoraDescontoService;
+import br.edu.ifsp.bra.livraria.service.CalculadoraFreteService;
+import br.edu.ifsp.bra.livraria.service.MetricasPedido;
+import br.edu.ifsp.bra.livraria.service.PedidoService;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Custo das métricas de MetricasPedido sobre processarPedido.
+ *
+ * O custo das métricas é um valor absoluto por pedido: a diferença de ns/op
+ * entre "256" e "desabilitadas" no cenário descartavel. Dividido pelo ns/op
+ * do cenário journal, dá a fração da vazão consumida (critério: menos de 1%).
+ *
+ * amostragem:
+ *  - desabilitadas: referência, sem métricas;
+ *  - 256: configuração padrão;
+ *  - 1: cronometra todos os pedidos, para mostrar o custo sem amostragem.
+ *
+ * repositorio:
+ *  - descartavel: apenas CPU (o pedido não é retido), para isolar o custo;
+ *  - journal: PedidoRepositoryJournal em modo ASSINCRONO, como na aplicação.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(3)
+@State(Scope.Benchmark)
+public class MetricasBenchmark {
+
+    @Param({"desabilitadas", "256", "1"})
+    public String amostragem;
+
+    @Param({"descartavel", "journal"})
+    public String repositorio;
+
+    private Path diretorio;
+    private PedidoRepository pedidoRepository;
+    private PedidoService pedidoService;
+    private Endereco endereco;
+    private List<ItemCarrinho> itens;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        MetricasPedido metricas = "desabilitadas".equals(amostragem)
+                ? MetricasPedido.desabilitadas()
+                : new MetricasPedido(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT), Integer.parseInt(amostragem));
+
+        if ("journal".equals(repositorio)) {
+            diretorio = Files.createTempDirectory("metricas-bench");
+            pedidoRepository = new PedidoRepositoryJournal(
+                    diretorio.toString(), ModoDurabilidade.ASSINCRONO, 64L * 1024 * 1024, 10);
+        } else {
+            pedidoRepository = new PedidoRepositoryDescartavel();
+        }
+
+        IndicePerfilCliente indice = new IndicePerfilCliente();
+        pedidoService = new PedidoService.Construtor(
+                        new CalculadoraDescontoService(indice),
+                        new CalculadoraFreteService(),
+                        new ClienteRepositoryInMemory(indice))
+                .pedidoRepository(pedidoRepository)
+                .metricas(metricas)
+                .construir();
+        endereco = DadosBenchmark.endereco("RJ");
+        itens = DadosBenchmark.carrinho(10);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (pedidoRepository instanceof PedidoRepositoryJournal journal) {
+            journal.close();
+            try (Stream<Path> arquivos = Files.walk(diretorio)) {
+                arquivos.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+    }
+
+    @Benchmark
+    public Pedido processarPedido() {
+        return pedidoService.processarPedido(3L, endereco, itens, "PIX");
+    }
+}
@@ -0,0 +1,40 @@
+package br.edu.ifsp.bra.livraria.benchmark;
+
+import br.edu.ifsp.bra.livraria.entity.Pedido;
+import br.edu.ifsp.bra.livraria.repository.PedidoRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Atribui ids como os repositórios reais, mas não retém os pedidos: o
+ * crescimento do repositório (e o GC decorrente) não entra na medição.
+ */
+final class PedidoRepositoryDescartavel implements PedidoRepository {
+
+    private final AtomicLong sequencia = new AtomicLong();
+
+    @Override
+    public long reservarId() {
+        return sequencia.incrementAndGet();
+    }
+
+    @Override
+    public Optional<Pedido> findById(Long id) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Pedido save(Pedido pedido) {
+        if (pedido.getId() == null) {
+            pedido.setId(sequencia.incrementAndGet());
+        }
+        return pedido;
+    }
+
+    @Override
+    public List<Pedido> findAposId(long aposId, int limite) {
+        return List.of();
+    }
+}
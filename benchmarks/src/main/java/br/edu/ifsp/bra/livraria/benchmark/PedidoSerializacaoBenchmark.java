@@ -0,0 +1,72 @@
+package br.edu.ifsp.bra.livraria.benchmark;
+
+import br.edu.ifsp.bra.livraria.api.dto.PedidoResumoDTO;
+import br.edu.ifsp.bra.livraria.entity.Pedido;
+import br.edu.ifsp.bra.livraria.repository.ClienteRepositoryInMemory;
+import br.edu.ifsp.bra.livraria.repository.IndicePerfilCliente;
+import br.edu.ifsp.bra.livraria.service.CalculadoraDescontoService;
+import br.edu.ifsp.bra.livraria.service.CalculadoraFreteService;
+import br.edu.ifsp.bra.livraria.service.PedidoService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de serializar a resposta de POST /api/pedidos: o Pedido completo
+ * (introspecção do Jackson, com cliente, endereço e itens) contra a visão
+ * RESUMO (PedidoResumoDTO, nomes de campo pré-codificados).
+ *
+ * O tamanho de cada resposta, em bytes, é impresso no início do trial.
+ * Rodar com -prof gc para ver os bytes alocados por resposta.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PedidoSerializacaoBenchmark {
+
+    @Param({"3", "20"})
+    public int itens;
+
+    private ObjectWriter escritor;
+    private Pedido pedido;
+    private PedidoResumoDTO resumo;
+
+    @Setup(Level.Trial)
+    public void setup() throws JsonProcessingException {
+        // Mesma configuração de datas do ObjectMapper do Spring Boot
+        escritor = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writer();
+
+        IndicePerfilCliente indice = new IndicePerfilCliente();
+        PedidoService pedidoService = new PedidoService.Construtor(
+                        new CalculadoraDescontoService(indice),
+                        new CalculadoraFreteService(),
+                        new ClienteRepositoryInMemory(indice))
+                .construir();
+        pedido = pedidoService.processarPedido(3L, DadosBenchmark.endereco("RJ"), DadosBenchmark.carrinho(itens), "PIX");
+        resumo = new PedidoResumoDTO(pedido);
+
+        System.out.printf("%nBytes por resposta (%d itens): completo=%d, resumo=%d%n",
+                itens, escritor.writeValueAsBytes(pedido).length, escritor.writeValueAsBytes(resumo).length);
+    }
+
+    @Benchmark
+    public byte[] completo() throws JsonProcessingException {
+        return escritor.writeValueAsBytes(pedido);
+    }
+
+    @Benchmark
+    public byte[] resumo() throws JsonProcessingException {
+        return escritor.writeValueAsBytes(resumo);
+    }
+}
@@ -0,0 +1,56 @@
+package br.edu.ifsp.bra.livraria.benchmark;
+
+import br.edu.ifsp.bra.livraria.entity.Endereco;
+import br.edu.ifsp.bra.livraria.entity.ItemCarrinho;
+import br.edu.ifsp.bra.livraria.entity.Pedido;
+import br.edu.ifsp.bra.livraria.repository.ClienteRepositoryInMemory;
+import br.edu.ifsp.bra.livraria.repository.IndicePerfilCliente;
+import br.edu.ifsp.bra.livraria.service.CalculadoraDescontoService;
+import br.edu.ifsp.bra.livraria.service.CalculadoraFreteService;
+import br.edu.ifsp.bra.livraria.service.PedidoService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de PedidoService.processarPedido de ponta a ponta
+ * (busca do cliente, valor dos itens, RN01, RN02 e montagem do Pedido).
+ *
+ * O parâmetro linhas cobre desde o pedido de um item até carrinhos grandes.
+ * Os pedidos não são retidos (PedidoRepositoryDescartavel): com o repositório
+ * em memória, o heap cresceria a cada invocação e o GC distorceria a medição.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PedidoServiceBenchmark {
+
+    @Param({"1", "10", "1000", "10000"})
+    public int linhas;
+
+    private PedidoService pedidoService;
+    private Endereco endereco;
+    private List<ItemCarrinho> itens;
+
+    @Setup
+    public void setup() {
+        IndicePerfilCliente indice = new IndicePerfilCliente();
+        pedidoService = new PedidoService.Construtor(
+                        new CalculadoraDescontoService(indice),
+                        new CalculadoraFreteService(),
+                        new ClienteRepositoryInMemory(indice))
+                .pedidoRepository(new PedidoRepositoryDescartavel())
+                .construir();
+        endereco = DadosBenchmark.endereco("RJ");
+        itens = DadosBenchmark.carrinho(linhas);
+    }
+
+    @Benchmark
+    public Pedido processarPedido() {
+        return pedidoService.processarPedido(3L, endereco, itens, "PIX");
+    }
+}
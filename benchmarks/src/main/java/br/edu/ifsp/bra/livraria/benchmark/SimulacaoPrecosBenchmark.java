@@ -0,0 +1,69 @@
+package br.edu.ifsp.bra.livraria.benchmark;
+
+import br.edu.ifsp.bra.livraria.api.dto.SimulacaoPrecosDTO;
+import br.edu.ifsp.bra.livraria.entity.PerfilCliente;
+import br.edu.ifsp.bra.livraria.entity.RegiaoFrete;
+import br.edu.ifsp.bra.livraria.entity.UF;
+import br.edu.ifsp.bra.livraria.service.CalculadoraFreteService;
+import br.edu.ifsp.bra.livraria.service.TabelaFrete;
+import br.edu.ifsp.bra.livraria.service.simulacao.HistoricoPedidos;
+import br.edu.ifsp.bra.livraria.service.simulacao.RegrasDesconto;
+import br.edu.ifsp.bra.livraria.service.simulacao.SimuladorPrecos;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tempo de uma simulação de preços (SimuladorPrecos) sobre 1 e 10 milhões de
+ * pedidos já carregados em HistoricoPedidos, com uma thread e com todos os
+ * núcleos (paralelismo 0). Não inclui a leitura do repositório.
+ *
+ * O histórico de 10 milhões ocupa ~100 MB; a montagem sobe o heap para
+ * -Xmx2g no fork.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class SimulacaoPrecosBenchmark {
+
+    @Param({"1000000", "10000000"})
+    public int pedidos;
+
+    @Param({"1", "0"})
+    public int paralelismo;
+
+    private HistoricoPedidos historico;
+    private SimuladorPrecos simulador;
+    private RegrasDesconto desconto;
+    private TabelaFrete frete;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random aleatorio = new Random(42);
+        HistoricoPedidos.Construtor construtor = new HistoricoPedidos.Construtor(pedidos);
+        for (int i = 0; i < pedidos; i++) {
+            construtor.adicionar(UF.fromOrdinal(aleatorio.nextInt(UF.quantidade())), aleatorio.nextInt(15),
+                    1_000 + aleatorio.nextInt(100_000));
+        }
+        historico = construtor.construir();
+        simulador = new SimuladorPrecos(new PedidoRepositoryDescartavel(), new CalculadoraFreteService(),
+                paralelismo, 10_000);
+        desconto = new RegrasDesconto(Map.of(PerfilCliente.OURO, 12.0), Map.of(PerfilCliente.OURO, 6));
+        frete = new TabelaFrete(Map.of(RegiaoFrete.SP, 0.0, RegiaoFrete.SUDESTE, 4.0, RegiaoFrete.OUTRAS_REGIOES, 9.0));
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        simulador.encerrar();
+    }
+
+    @Benchmark
+    public SimulacaoPrecosDTO simular() {
+        return simulador.simular(historico, desconto, frete);
+    }
+}
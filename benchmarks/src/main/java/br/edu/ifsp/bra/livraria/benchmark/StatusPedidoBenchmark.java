@@ -0,0 +1,76 @@
+package br.edu.ifsp.bra.livraria.benchmark;
+
+import br.edu.ifsp.bra.livraria.entity.Pedido;
+import br.edu.ifsp.bra.livraria.entity.StatusPedido;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Contenção nas transições RN03: todas as threads atuam sobre o mesmo pedido.
+ *
+ * Cada operação avança o pedido corrente um passo no ciclo
+ * EM_PROCESSAMENTO → CONFIRMADO → ENTREGUE; quem encontra o pedido ENTREGUE
+ * o substitui por um novo. Assim, a cada passo várias threads disputam a
+ * mesma transição e apenas uma vence.
+ *
+ *  - compareAndSet: Pedido.tentarTransitar (sem locks);
+ *  - sincronizado: a mesma regra com synchronized no pedido, como referência.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class StatusPedidoBenchmark {
+
+    private final AtomicReference<Pedido> pedidoCas = new AtomicReference<>(novoPedido());
+    private final AtomicReference<Pedido> pedidoSincronizado = new AtomicReference<>(novoPedido());
+
+    @Benchmark
+    public boolean compareAndSet() {
+        Pedido pedido = pedidoCas.get();
+        StatusPedido proximo = proximo(pedido.getStatusPedido());
+        if (proximo == null) {
+            return pedidoCas.compareAndSet(pedido, novoPedido());
+        }
+        return pedido.tentarTransitar(proximo);
+    }
+
+    @Benchmark
+    public boolean sincronizado() {
+        Pedido pedido = pedidoSincronizado.get();
+        synchronized (pedido) {
+            StatusPedido atual = pedido.getStatusPedido();
+            StatusPedido proximo = proximo(atual);
+            if (proximo == null) {
+                return pedidoSincronizado.compareAndSet(pedido, novoPedido());
+            }
+            if (!atual.permiteTransicaoPara(proximo)) {
+                return false;
+            }
+            pedido.setStatusPedido(proximo);
+            return true;
+        }
+    }
+
+    private static StatusPedido proximo(StatusPedido atual) {
+        switch (atual) {
+            case EM_PROCESSAMENTO:
+                return StatusPedido.CONFIRMADO;
+            case CONFIRMADO:
+                return StatusPedido.ENTREGUE;
+            default:
+                return null;
+        }
+    }
+
+    private static Pedido novoPedido() {
+        Pedido pedido = new Pedido();
+        pedido.setStatusPedido(StatusPedido.EM_PROCESSAMENTO);
+        return pedido;
+    }
+}
@@ -0,0 +1,95 @@
+package br.edu.ifsp.bra.livraria.benchmark;
+
+import br.edu.ifsp.bra.livraria.api.dto.VendasRecentesDTO;
+import br.edu.ifsp.bra.livraria.entity.PerfilCliente;
+import br.edu.ifsp.bra.livraria.entity.UF;
+import br.edu.ifsp.bra.livraria.service.VendasRecentes;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de VendasRecentes.
+ *
+ *  - registrar: 8 threads somando pedidos (UF, perfil e forma aleatórios) no
+ *    mesmo balde corrente; a vazão agregada deve ficar muito acima de
+ *    50 mil pedidos/s, sem cair com o número de threads;
+ *  - consultar: janela de 60 minutos com todos os 361 baldes preenchidos,
+ *    para mostrar o custo O(baldes) da consulta.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VendasRecentesBenchmark {
+
+    private static final String[] FORMAS = {"PIX", "CREDITO", "DEBITO", "BOLETO"};
+    private static final PerfilCliente[] PERFIS = PerfilCliente.values();
+
+    private VendasRecentes vendas;
+    private VendasRecentes vendasPreenchidas;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        vendas = new VendasRecentes(10, 60);
+
+        RelogioAjustavel relogio = new RelogioAjustavel();
+        vendasPreenchidas = new VendasRecentes(relogio, 10, 60);
+        for (int balde = 0; balde <= 360; balde++) {
+            for (int i = 0; i < 100; i++) {
+                vendasPreenchidas.registrar(UF.values()[i % UF.quantidade()], PERFIS[i % 4],
+                        FORMAS[i % FORMAS.length], 10_000, 500, 700);
+            }
+            relogio.millis += 10_000;
+        }
+        relogio.millis -= 10_000;
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void registrar() {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        int i = aleatorio.nextInt(1 << 16);
+        vendas.registrar(UF.fromOrdinal(i % UF.quantidade()), PERFIS[i & 3],
+                FORMAS[(i >>> 2) & 3], 10_000 + i, 500, 700);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public VendasRecentesDTO consultar60Minutos() {
+        return vendasPreenchidas.consultar(60);
+    }
+
+    /** Relógio parado, avançado apenas no setup. */
+    private static final class RelogioAjustavel extends Clock {
+        long millis = 1_000_000_000L;
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
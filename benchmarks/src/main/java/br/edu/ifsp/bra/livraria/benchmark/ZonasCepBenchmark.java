@@ -0,0 +1,70 @@
+package br.edu.ifsp.bra.livraria.benchmark;
+
+import br.edu.ifsp.bra.livraria.entity.UF;
+import br.edu.ifsp.bra.livraria.service.TabelaFrete;
+import br.edu.ifsp.bra.livraria.service.frete.IndiceZonasCep;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão da resolução de CEP em zona de frete (IndiceZonasCep) com dezenas de
+ * milhares de faixas, comparada ao acesso direto da RN02 por UF.
+ *
+ * Os CEPs consultados (formato "01310-100") são sorteados em todo o
+ * intervalo coberto, então parte deles cai em buracos entre faixas.
+ * Rodar com -prof gc para confirmar que a consulta não aloca.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ZonasCepBenchmark {
+
+    private static final int CONSULTAS = 4096;
+
+    @Param({"1000", "50000"})
+    public int faixas;
+
+    private IndiceZonasCep indice;
+    private TabelaFrete tabela;
+    private String[] ceps;
+    private int proxima;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        Random aleatorio = new Random(42);
+        int passo = 99_000_000 / faixas;
+        StringBuilder arquivo = new StringBuilder();
+        for (int i = 0; i < faixas; i++) {
+            int inicio = 1_000_000 + i * passo;
+            int fim = inicio + passo / 2 + aleatorio.nextInt(passo / 2);
+            arquivo.append(String.format("%08d;%08d;SP;Z%d;%d%n", inicio, fim, i % 20, i % 20));
+        }
+        indice = IndiceZonasCep.carregar(new StringReader(arquivo.toString()));
+        tabela = TabelaFrete.carregarPadrao();
+
+        ceps = new String[CONSULTAS];
+        for (int i = 0; i < CONSULTAS; i++) {
+            int cep = 1_000_000 + aleatorio.nextInt(99_000_000);
+            ceps[i] = String.format("%05d-%03d", cep / 1000, cep % 1000);
+        }
+    }
+
+    @Benchmark
+    public int zonaCep() {
+        String cep = ceps[proxima++ & (CONSULTAS - 1)];
+        return indice.pontosBase(UF.SP, cep);
+    }
+
+    @Benchmark
+    public int somenteUf() {
+        String cep = ceps[proxima++ & (CONSULTAS - 1)];
+        return tabela.pontosBase(UF.SP) + cep.length();
+    }
+}
@@ -5,6 +5,7 @@ import br.edu.ifsp.bra.livraria.service.CalculadoraDescontoService;
 import br.edu.ifsp.bra.livraria.service.CalculadoraFreteService;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import java.time.LocalDate;
 
@@ -13,8 +14,10 @@ import java.time.LocalDate;
  *
  * - Inicializa o Spring Boot (necessário para testes de sistema via Thunder Client).
  * - Executa demonstrações manuais de RN01 e RN02 (comportamento preservado).
+ * - Habilita rotinas agendadas (ex.: reclassificação diária de perfis RN01).
  */
 @SpringBootApplication
+@EnableScheduling
 public class Application {
 
     public static void main(String[] args) {
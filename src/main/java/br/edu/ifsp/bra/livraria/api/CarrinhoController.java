@@ -0,0 +1,129 @@
+package br.edu.ifsp.bra.livraria.api;
+
+import br.edu.ifsp.bra.livraria.api.dto.CarrinhoAlteracaoDTO;
+import br.edu.ifsp.bra.livraria.api.dto.CarrinhoDTO;
+import br.edu.ifsp.bra.livraria.api.dto.CarrinhoRequestDTO;
+import br.edu.ifsp.bra.livraria.entity.Endereco;
+import br.edu.ifsp.bra.livraria.entity.ItemCarrinho;
+import br.edu.ifsp.bra.livraria.entity.Pedido;
+import br.edu.ifsp.bra.livraria.service.CarrinhoService;
+import br.edu.ifsp.bra.livraria.service.EstoqueInsuficienteException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Controller dos carrinhos mantidos no servidor (ver CarrinhoService): a loja
+ * altera um item por vez e recebe os totais correntes (RN01 e RN02) e a linha
+ * alterada em cada resposta, e no fim transforma o carrinho em pedido. A
+ * lista completa de itens vem só de GET /api/carrinhos/{id}.
+ *
+ * Itens são identificados pelo ISBN (ou pelo título, se o item não tiver
+ * ISBN). Carrinho inexistente ou expirado por inatividade → 404.
+ */
+@RestController
+@RequestMapping("/api/carrinhos")
+public class CarrinhoController {
+
+    private final CarrinhoService carrinhoService;
+
+    public CarrinhoController(CarrinhoService carrinhoService) {
+        this.carrinhoService = carrinhoService;
+    }
+
+    /**
+     * Abre um carrinho vazio. O endereço é opcional (sem ele, frete 0).
+     */
+    @PostMapping
+    public ResponseEntity<CarrinhoDTO> abrir(@RequestBody CarrinhoRequestDTO dto) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(carrinhoService.abrir(dto.getClienteId(), dto.getEnderecoEntrega()));
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        }
+    }
+
+    @GetMapping("/{id}")
+    public CarrinhoDTO consultar(@PathVariable("id") String id) {
+        return existente(id, () -> carrinhoService.consultar(id));
+    }
+
+    /**
+     * Adiciona o item (ou soma a quantidade, se o livro já estiver no carrinho).
+     */
+    @PostMapping("/{id}/itens")
+    public CarrinhoAlteracaoDTO adicionarItem(@PathVariable("id") String id, @RequestBody ItemCarrinho item) {
+        return existente(id, () -> carrinhoService.adicionarItem(id, item));
+    }
+
+    /**
+     * Nova quantidade do item (0 remove).
+     */
+    @PutMapping("/{id}/itens/{chave}")
+    public CarrinhoAlteracaoDTO alterarQuantidade(@PathVariable("id") String id,
+                                                  @PathVariable("chave") String chave,
+                                                  @RequestParam("quantidade") int quantidade) {
+        return existente(id, () -> carrinhoService.alterarQuantidade(id, chave, quantidade));
+    }
+
+    @DeleteMapping("/{id}/itens/{chave}")
+    public CarrinhoAlteracaoDTO removerItem(@PathVariable("id") String id, @PathVariable("chave") String chave) {
+        return existente(id, () -> carrinhoService.removerItem(id, chave));
+    }
+
+    /**
+     * Define o endereço de entrega (recalcula o frete).
+     */
+    @PutMapping("/{id}/endereco")
+    public CarrinhoAlteracaoDTO definirEndereco(@PathVariable("id") String id, @RequestBody Endereco endereco) {
+        return existente(id, () -> carrinhoService.definirEndereco(id, endereco));
+    }
+
+    /**
+     * Fecha o carrinho: cria o pedido como POST /api/pedidos e descarta o
+     * carrinho. Pedido recusado (400, ou 409 sem estoque) mantém o carrinho.
+     */
+    @PostMapping("/{id}/pedido")
+    public ResponseEntity<Pedido> fecharPedido(@PathVariable("id") String id,
+                                               @RequestParam("formaPagamento") String formaPagamento) {
+        try {
+            Pedido pedido = carrinhoService.fecharPedido(id, formaPagamento)
+                    .orElseThrow(() -> naoEncontrado(id));
+            return ResponseEntity.status(HttpStatus.CREATED).body(pedido);
+
+        } catch (EstoqueInsuficienteException ex) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, ex.getMessage(), ex);
+        } catch (ResponseStatusException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> descartar(@PathVariable("id") String id) {
+        if (!carrinhoService.descartar(id)) {
+            throw naoEncontrado(id);
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    private static <T> T existente(String id, Supplier<Optional<T>> operacao) {
+        Optional<T> carrinho;
+        try {
+            carrinho = operacao.get();
+        } catch (IllegalArgumentException | ArithmeticException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        }
+        return carrinho.orElseThrow(() -> naoEncontrado(id));
+    }
+
+    private static ResponseStatusException naoEncontrado(String id) {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "Carrinho não encontrado: " + id);
+    }
+}
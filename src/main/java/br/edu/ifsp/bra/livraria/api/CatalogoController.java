@@ -0,0 +1,62 @@
+package br.edu.ifsp.bra.livraria.api;
+
+import br.edu.ifsp.bra.livraria.api.dto.CatalogoVersaoDTO;
+import br.edu.ifsp.bra.livraria.api.dto.LivroDTO;
+import br.edu.ifsp.bra.livraria.entity.Dinheiro;
+import br.edu.ifsp.bra.livraria.entity.Livro;
+import br.edu.ifsp.bra.livraria.service.CatalogoLivros;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Controller do catálogo de livros: consulta por ISBN e recarga completa.
+ */
+@RestController
+@RequestMapping("/api/catalogo")
+public class CatalogoController {
+
+    private final CatalogoLivros catalogo;
+
+    public CatalogoController(CatalogoLivros catalogo) {
+        this.catalogo = catalogo;
+    }
+
+    @GetMapping
+    public CatalogoVersaoDTO consultarVersao() {
+        CatalogoLivros.Versao versao = catalogo.getVersao();
+        return new CatalogoVersaoDTO(versao.getNumero(), versao.getLivros());
+    }
+
+    @GetMapping("/{isbn}")
+    public Livro buscarLivro(@PathVariable("isbn") String isbn) {
+        Livro livro = catalogo.buscar(isbn);
+        if (livro == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Livro não encontrado no catálogo: " + isbn);
+        }
+        return livro;
+    }
+
+    /**
+     * Substitui o catálogo inteiro pela lista enviada. Pedidos em andamento
+     * terminam com a versão anterior; os seguintes usam a nova.
+     * Lista inválida (ISBN repetido, preço não positivo...) → 400, sem alterar o catálogo.
+     */
+    @PutMapping
+    public CatalogoVersaoDTO recarregar(@RequestBody List<LivroDTO> livros) {
+        try {
+            List<Livro> novos = new ArrayList<>(livros.size());
+            for (LivroDTO dto : livros) {
+                novos.add(new Livro(dto.getIsbn(), dto.getTitulo(), Dinheiro.deReais(dto.getPreco())));
+            }
+            CatalogoLivros.Versao versao = catalogo.recarregar(novos);
+            return new CatalogoVersaoDTO(versao.getNumero(), versao.getLivros());
+
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package br.edu.ifsp.bra.livraria.api;
+
+import br.edu.ifsp.bra.livraria.entity.PerfilCliente;
+import br.edu.ifsp.bra.livraria.repository.PerfisClientes;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Controller de consultas sobre clientes, para relatórios.
+ */
+@RestController
+@RequestMapping("/api/clientes")
+public class ClienteController {
+
+    private final PerfisClientes perfisClientes;
+
+    public ClienteController(PerfisClientes perfisClientes) {
+        this.perfisClientes = perfisClientes;
+    }
+
+    /**
+     * Quantidade de clientes em cada perfil da RN01.
+     */
+    @GetMapping("/perfis/distribuicao")
+    public Map<PerfilCliente, Long> distribuicaoPorPerfil() {
+        return perfisClientes.distribuicao();
+    }
+}
@@ -0,0 +1,43 @@
+package br.edu.ifsp.bra.livraria.api;
+
+import br.edu.ifsp.bra.livraria.api.dto.EstoqueDTO;
+import br.edu.ifsp.bra.livraria.service.EstoqueLivros;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Controller do estoque de livros: consulta e reposição por ISBN.
+ */
+@RestController
+@RequestMapping("/api/estoque")
+public class EstoqueController {
+
+    private final EstoqueLivros estoque;
+
+    public EstoqueController(EstoqueLivros estoque) {
+        this.estoque = estoque;
+    }
+
+    @GetMapping("/{isbn}")
+    public EstoqueDTO consultar(@PathVariable("isbn") String isbn) {
+        EstoqueDTO saldo = estoque.consultar(isbn);
+        if (saldo == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Livro sem estoque cadastrado: " + isbn);
+        }
+        return saldo;
+    }
+
+    /**
+     * Define os exemplares disponíveis do livro (usa apenas o campo disponivel
+     * do corpo). Reservas de pedidos em andamento não mudam.
+     */
+    @PutMapping("/{isbn}")
+    public EstoqueDTO definirDisponivel(@PathVariable("isbn") String isbn, @RequestBody EstoqueDTO dto) {
+        try {
+            return estoque.definirDisponivel(isbn, dto.getDisponivel());
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        }
+    }
+}
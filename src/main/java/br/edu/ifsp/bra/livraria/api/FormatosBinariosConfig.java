@@ -0,0 +1,37 @@
+package br.edu.ifsp.bra.livraria.api;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Formatos binários para integradores de alto volume, negociados por
+ * Content-Type (requisição) e Accept (resposta) em todos os endpoints que
+ * usam Jackson, inclusive POST /api/pedidos e /api/pedidos/lote:
+ *
+ *  - application/x-jackson-smile (Smile): nomes de campo repetidos viram
+ *    referências de 1 byte, o que rende mais em lotes;
+ *  - application/cbor (CBOR, RFC 8949), para quem prefere um padrão.
+ *
+ * Sem estes beans o Spring MVC já registraria os dois conversores, mas com
+ * um ObjectMapper próprio, sem a configuração do Spring Boot (datas sairiam
+ * como vetores, não em ISO-8601). Aqui eles partem do mesmo
+ * Jackson2ObjectMapperBuilder do JSON, e os campos são os mesmos nos três formatos.
+ */
+@Configuration
+public class FormatosBinariosConfig {
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter conversorSmile(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter conversorCbor(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
@@ -0,0 +1,50 @@
+package br.edu.ifsp.bra.livraria.api;
+
+import br.edu.ifsp.bra.livraria.entity.RegiaoFrete;
+import br.edu.ifsp.bra.livraria.service.CalculadoraFreteService;
+import br.edu.ifsp.bra.livraria.service.TabelaFrete;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+
+/**
+ * Controller de administração da tabela de frete (RN02).
+ *
+ * Permite consultar e substituir os percentuais por região sem
+ * reiniciar a aplicação.
+ */
+@RestController
+@RequestMapping("/api/frete/tabela")
+public class FreteController {
+
+    private final CalculadoraFreteService calculadoraFrete;
+
+    public FreteController(CalculadoraFreteService calculadoraFrete) {
+        this.calculadoraFrete = calculadoraFrete;
+    }
+
+    @GetMapping
+    public Map<RegiaoFrete, Double> consultarTabela() {
+        return calculadoraFrete.getTabela().getPercentuaisPorRegiao();
+    }
+
+    /**
+     * Substitui a tabela vigente. Todas as regiões devem ser informadas.
+     *
+     * Exemplo de corpo: {"SP": 0, "SUDESTE": 6, "OUTRAS_REGIOES": 9}
+     */
+    @PutMapping
+    public ResponseEntity<Map<RegiaoFrete, Double>> atualizarTabela(@RequestBody Map<RegiaoFrete, Double> percentuais) {
+        try {
+            TabelaFrete novaTabela = new TabelaFrete(percentuais);
+            calculadoraFrete.atualizarTabela(novaTabela);
+            return ResponseEntity.ok(novaTabela.getPercentuaisPorRegiao());
+
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        }
+    }
+}
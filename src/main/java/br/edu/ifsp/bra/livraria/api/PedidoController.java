@@ -1,12 +1,37 @@
 package br.edu.ifsp.bra.livraria.api;
 
+import br.edu.ifsp.bra.livraria.api.dto.PedidoLoteResultadoDTO;
 import br.edu.ifsp.bra.livraria.api.dto.PedidoRequestDTO;
+import br.edu.ifsp.bra.livraria.api.dto.PedidoResumoDTO;
+import br.edu.ifsp.bra.livraria.api.dto.PedidoStatusDTO;
+import br.edu.ifsp.bra.livraria.api.dto.VisaoPedido;
 import br.edu.ifsp.bra.livraria.entity.Pedido;
+import br.edu.ifsp.bra.livraria.entity.StatusPedido;
+import br.edu.ifsp.bra.livraria.entity.TransicaoStatusInvalidaException;
+import br.edu.ifsp.bra.livraria.service.ConflitoIdempotenciaException;
+import br.edu.ifsp.bra.livraria.service.EstoqueInsuficienteException;
+import br.edu.ifsp.bra.livraria.service.FormatoExportacao;
+import br.edu.ifsp.bra.livraria.service.IdempotenciaPedidoService;
+import br.edu.ifsp.bra.livraria.service.IdempotenciaPedidoService.RespostaIdempotente;
+import br.edu.ifsp.bra.livraria.service.PedidoAssincronoService;
+import br.edu.ifsp.bra.livraria.service.PedidoExportacaoService;
+import br.edu.ifsp.bra.livraria.service.PedidoLoteService;
+import br.edu.ifsp.bra.livraria.service.PedidoNdjsonService;
 import br.edu.ifsp.bra.livraria.service.PedidoService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Controller responsável por expor o caso de uso
@@ -20,12 +45,27 @@ import org.springframework.web.server.ResponseStatusException;
 public class PedidoController {
 
     private final PedidoService pedidoService;
+    private final PedidoLoteService pedidoLoteService;
+    private final PedidoAssincronoService pedidoAssincronoService;
+    private final IdempotenciaPedidoService idempotenciaService;
+    private final PedidoNdjsonService pedidoNdjsonService;
+    private final PedidoExportacaoService pedidoExportacaoService;
 
     /**
      * PedidoService é injetado pelo Spring (necessário anotar PedidoService com @Service).
      */
-    public PedidoController(PedidoService pedidoService) {
+    public PedidoController(PedidoService pedidoService,
+                            PedidoLoteService pedidoLoteService,
+                            PedidoAssincronoService pedidoAssincronoService,
+                            IdempotenciaPedidoService idempotenciaService,
+                            PedidoNdjsonService pedidoNdjsonService,
+                            PedidoExportacaoService pedidoExportacaoService) {
         this.pedidoService = pedidoService;
+        this.pedidoLoteService = pedidoLoteService;
+        this.pedidoAssincronoService = pedidoAssincronoService;
+        this.idempotenciaService = idempotenciaService;
+        this.pedidoNdjsonService = pedidoNdjsonService;
+        this.pedidoExportacaoService = pedidoExportacaoService;
     }
 
     /**
@@ -39,9 +79,19 @@ public class PedidoController {
      *  - RN01: aplica desconto conforme perfil do cliente
      *  - RN02: calcula frete conforme estado
      *  - RN03: define status inicial do pedido
+     *  - reserva o estoque dos itens com ISBN (sem estoque → 409)
+     *
+     * visao=resumo (ou o cabeçalho X-Visao: resumo) devolve só id, status,
+     * totais e quantidade de itens (PedidoResumoDTO), em vez do Pedido inteiro.
+     *
+     * Corpo e resposta também em Smile ou CBOR, por Content-Type e Accept
+     * (ver FormatosBinariosConfig).
      */
     @PostMapping
-    public ResponseEntity<Pedido> criarPedido(@RequestBody PedidoRequestDTO dto) {
+    public ResponseEntity<?> criarPedido(@RequestBody PedidoRequestDTO dto,
+                                         @RequestParam(value = "visao", required = false) String visao,
+                                         @RequestHeader(value = "X-Visao", required = false) String visaoCabecalho) {
+        VisaoPedido visaoPedido = visao(visao, visaoCabecalho);
         try {
             Pedido pedido = pedidoService.processarPedido(
                     dto.getClienteId(),
@@ -49,11 +99,233 @@ public class PedidoController {
                     dto.getItens(),
                     dto.getFormaPagamento()
             );
-            return ResponseEntity.status(HttpStatus.CREATED).body(pedido);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .header(HttpHeaders.VARY, "X-Visao")
+                    .body(corpo(pedido, visaoPedido));
 
+        } catch (EstoqueInsuficienteException ex) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, ex.getMessage(), ex);
         } catch (RuntimeException ex) {
             // Exemplo: "Cliente não encontrado: X" vindo do PedidoService
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Mesmo caso de uso de criarPedido, para requisições com o cabeçalho
+     * Idempotency-Key: repetições com a mesma chave (e o mesmo corpo) devolvem
+     * a resposta original, com Idempotent-Replayed: true, sem criar outro pedido.
+     *
+     * Mesma chave com outro corpo → 422. Guarda-se o pedido, não a resposta:
+     * cada requisição (primeira ou repetição) é serializada conforme seu
+     * Accept e sua visão, como em criarPedido.
+     */
+    @PostMapping(headers = "Idempotency-Key")
+    public ResponseEntity<?> criarPedidoIdempotente(@RequestHeader("Idempotency-Key") String chave,
+                                                    @RequestBody PedidoRequestDTO dto,
+                                                    @RequestParam(value = "visao", required = false) String visao,
+                                                    @RequestHeader(value = "X-Visao", required = false) String visaoCabecalho) {
+        VisaoPedido visaoPedido = visao(visao, visaoCabecalho);
+        try {
+            RespostaIdempotente resposta = idempotenciaService.executar(chave, dto,
+                    () -> pedidoService.processarPedido(
+                            dto.getClienteId(),
+                            dto.getEnderecoEntrega(),
+                            dto.getItens(),
+                            dto.getFormaPagamento()));
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .header("Idempotent-Replayed", String.valueOf(resposta.isRepetida()))
+                    .header(HttpHeaders.VARY, "X-Visao")
+                    .body(corpo(resposta.getPedido(), visaoPedido));
+
+        } catch (ConflitoIdempotenciaException ex) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, ex.getMessage(), ex);
+        } catch (EstoqueInsuficienteException ex) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, ex.getMessage(), ex);
+        } catch (RuntimeException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Endpoint de lote: recebe um array de pedidos e processa todos
+     * em uma única chamada HTTP, em paralelo.
+     *
+     * A resposta traz um resultado por posição do lote (sucesso com o pedido
+     * ou erro com a mensagem), de modo que um carrinho inválido não
+     * invalida os demais.
+     */
+    @PostMapping("/lote")
+    public ResponseEntity<List<PedidoLoteResultadoDTO>> criarPedidosEmLote(@RequestBody List<PedidoRequestDTO> dtos) {
+        try {
+            return ResponseEntity.ok(pedidoLoteService.processarLote(dtos));
+
+        } catch (IllegalArgumentException ex) {
+            // Lote vazio ou acima do tamanho máximo
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Importação em massa: corpo em NDJSON, um PedidoRequestDTO por linha.
+     *
+     * Cada linha é processada assim que chega e o resultado correspondente
+     * (PedidoImportacaoResultadoDTO) é devolvido também em NDJSON, na mesma
+     * ordem, sem carregar a entrada nem a saída inteiras em memória.
+     * Erros de uma linha não interrompem as demais.
+     */
+    @PostMapping(value = "/ndjson",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importarPedidos(InputStream entrada, HttpServletResponse resposta) throws IOException {
+        resposta.setStatus(HttpStatus.OK.value());
+        resposta.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        resposta.setCharacterEncoding("UTF-8");
+        pedidoNdjsonService.importar(entrada, resposta.getOutputStream());
+    }
+
+    /**
+     * Exportação de todos os pedidos em NDJSON (padrão) ou CSV (formato=csv),
+     * em ordem de id, escrita por páginas direto na resposta.
+     *
+     * aposId retoma a exportação após o último id recebido. Formato desconhecido → 400.
+     */
+    @GetMapping("/exportacao")
+    public void exportarPedidos(@RequestParam(value = "formato", defaultValue = "ndjson") String formato,
+                                @RequestParam(value = "aposId", defaultValue = "0") long aposId,
+                                HttpServletResponse resposta) throws IOException {
+        FormatoExportacao formatoExportacao;
+        try {
+            formatoExportacao = FormatoExportacao.deNome(formato);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        }
+
+        resposta.setStatus(HttpStatus.OK.value());
+        resposta.setContentType(formatoExportacao.getTipoConteudo());
+        resposta.setCharacterEncoding("UTF-8");
+        resposta.setHeader("Content-Disposition", "attachment; filename=\"" + formatoExportacao.getNomeArquivo() + "\"");
+        pedidoExportacaoService.exportar(formatoExportacao, aposId, resposta.getOutputStream());
+    }
+
+    /**
+     * Submissão assíncrona: reserva o id, enfileira o processamento e responde
+     * 202 de imediato, com Location apontando para o status do pedido.
+     *
+     * Erros de negócio (cliente inexistente, carrinho vazio, UF inválida)
+     * aparecem depois, na situação ERRO do status. Fila cheia → 503.
+     */
+    @PostMapping("/assincrono")
+    public ResponseEntity<PedidoStatusDTO> submeterPedido(@RequestBody PedidoRequestDTO dto) {
+        try {
+            PedidoStatusDTO status = pedidoAssincronoService.submeter(dto);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/pedidos/" + status.getId() + "/status"))
+                    .body(status);
+
+        } catch (RejectedExecutionException ex) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Polling da submissão assíncrona (404 se o id não existir).
+     */
+    @GetMapping("/{id}/status")
+    public ResponseEntity<PedidoStatusDTO> consultarStatus(@PathVariable("id") Long id) {
+        return pedidoAssincronoService.consultarStatus(id)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Pedido não encontrado: " + id));
+    }
+
+    /**
+     * Stream (Server-Sent Events) da submissão assíncrona: um evento "status"
+     * por mudança de situação; o stream é encerrado após CONCLUIDO ou ERRO.
+     */
+    @GetMapping(value = "/{id}/status/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter acompanharStatus(@PathVariable("id") Long id) {
+        SseEmitter emitter = new SseEmitter(60_000L);
+        boolean existe = pedidoAssincronoService.acompanhar(id, status -> {
+            try {
+                emitter.send(SseEmitter.event().name("status").data(status, MediaType.APPLICATION_JSON));
+                if (status.getSituacao().isFinal()) {
+                    emitter.complete();
+                }
+            } catch (IOException ex) {
+                emitter.completeWithError(ex);
+            }
+        });
+        if (!existe) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Pedido não encontrado: " + id);
+        }
+        return emitter;
+    }
+
+    /**
+     * Consulta um pedido registrado (404 se o id não existir), na visão
+     * completa ou resumida (visao / X-Visao, como em criarPedido).
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<?> buscarPedido(@PathVariable("id") Long id,
+                                          @RequestParam(value = "visao", required = false) String visao,
+                                          @RequestHeader(value = "X-Visao", required = false) String visaoCabecalho) {
+        VisaoPedido visaoPedido = visao(visao, visaoCabecalho);
+        return pedidoService.buscarPedido(id)
+                .map(pedido -> ResponseEntity.ok()
+                        .header(HttpHeaders.VARY, "X-Visao")
+                        .body(corpo(pedido, visaoPedido)))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Pedido não encontrado: " + id));
+    }
+
+    /**
+     * RN03 - Pagamento autorizado: EM_PROCESSAMENTO → CONFIRMADO.
+     */
+    @PutMapping("/{id}/confirmar")
+    public ResponseEntity<Pedido> confirmarPedido(@PathVariable("id") Long id) {
+        return transitar(id, StatusPedido.CONFIRMADO);
+    }
+
+    /**
+     * RN03 - Pagamento não autorizado: EM_PROCESSAMENTO → CANCELADO.
+     */
+    @PutMapping("/{id}/cancelar-por-pagamento-nao-autorizado")
+    public ResponseEntity<Pedido> cancelarPedido(@PathVariable("id") Long id) {
+        return transitar(id, StatusPedido.CANCELADO);
+    }
+
+    /**
+     * RN03 - Entrega realizada: CONFIRMADO → ENTREGUE.
+     */
+    @PutMapping("/{id}/entregar")
+    public ResponseEntity<Pedido> entregarPedido(@PathVariable("id") Long id) {
+        return transitar(id, StatusPedido.ENTREGUE);
+    }
+
+    /**
+     * 404 se o pedido não existir; 409 se o status atual não permitir a transição
+     * (inclusive quando outra requisição concorrente já a aplicou).
+     */
+    private ResponseEntity<Pedido> transitar(Long id, StatusPedido destino) {
+        try {
+            return pedidoService.transitarPedido(id, destino)
+                    .map(ResponseEntity::ok)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Pedido não encontrado: " + id));
+
+        } catch (TransicaoStatusInvalidaException ex) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, ex.getMessage(), ex);
+        }
+    }
+
+    /** Visão pedida (o parâmetro prevalece sobre o cabeçalho); desconhecida → 400. */
+    private static VisaoPedido visao(String parametro, String cabecalho) {
+        try {
+            return VisaoPedido.deNome(parametro != null ? parametro : cabecalho);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        }
+    }
+
+    private static Object corpo(Pedido pedido, VisaoPedido visao) {
+        return visao == VisaoPedido.RESUMO ? new PedidoResumoDTO(pedido) : pedido;
+    }
+}
@@ -0,0 +1,38 @@
+package br.edu.ifsp.bra.livraria.api;
+
+import br.edu.ifsp.bra.livraria.api.dto.SimulacaoPrecosDTO;
+import br.edu.ifsp.bra.livraria.api.dto.SimulacaoPrecosRequestDTO;
+import br.edu.ifsp.bra.livraria.service.simulacao.SimuladorPrecos;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Controller de simulação de preços: impacto na receita de mudar os
+ * descontos (RN01) ou os percentuais de frete (RN02), calculado sobre todo o
+ * histórico de pedidos. Nada é alterado; para aplicar uma nova tabela de
+ * frete, ver FreteController.
+ */
+@RestController
+@RequestMapping("/api/simulacoes")
+public class SimulacaoController {
+
+    private final SimuladorPrecos simulador;
+
+    public SimulacaoController(SimuladorPrecos simulador) {
+        this.simulador = simulador;
+    }
+
+    /**
+     * Exemplo de corpo: {"descontos": {"OURO": 12}, "frete": {"SUDESTE": 4}}.
+     * Regra inválida (percentual fora de 0 a 100, anos mínimos fora de ordem) → 400.
+     */
+    @PostMapping("/precos")
+    public SimulacaoPrecosDTO simularPrecos(@RequestBody SimulacaoPrecosRequestDTO dto) {
+        try {
+            return simulador.simular(dto.getDescontos(), dto.getAnosMinimos(), dto.getFrete());
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package br.edu.ifsp.bra.livraria.api;
+
+import br.edu.ifsp.bra.livraria.api.dto.VendasRecentesDTO;
+import br.edu.ifsp.bra.livraria.service.VendasRecentes;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Controller dos painéis de operação: vendas em tempo real por UF,
+ * perfil de cliente (RN01) e forma de pagamento.
+ */
+@RestController
+@RequestMapping("/api/vendas")
+public class VendasController {
+
+    private final VendasRecentes vendasRecentes;
+
+    public VendasController(VendasRecentes vendasRecentes) {
+        this.vendasRecentes = vendasRecentes;
+    }
+
+    /**
+     * Agregados dos últimos "minutos" minutos (padrão 5; ex.: 1, 5 ou 60).
+     * Fora de 1 até a janela máxima configurada → 400.
+     */
+    @GetMapping("/recentes")
+    public VendasRecentesDTO consultarRecentes(@RequestParam(value = "minutos", defaultValue = "5") int minutos) {
+        try {
+            return vendasRecentes.consultar(minutos);
+
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        }
+    }
+}
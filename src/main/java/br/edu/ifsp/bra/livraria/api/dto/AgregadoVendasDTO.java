@@ -0,0 +1,56 @@
+package br.edu.ifsp.bra.livraria.api.dto;
+
+import br.edu.ifsp.bra.livraria.entity.Dinheiro;
+
+/**
+ * Pedidos, receita (soma de valorTotal) e médias de desconto e frete de um
+ * recorte de VendasRecentesDTO. Valores em reais.
+ */
+public class AgregadoVendasDTO {
+
+    private long pedidos;
+    private double receita;
+    private double descontoMedio;
+    private double freteMedio;
+
+    public AgregadoVendasDTO() {}
+
+    public AgregadoVendasDTO(long pedidos, long receitaCentavos, long descontoMedioCentavos, long freteMedioCentavos) {
+        this.pedidos = pedidos;
+        this.receita = Dinheiro.paraReais(receitaCentavos);
+        this.descontoMedio = Dinheiro.paraReais(descontoMedioCentavos);
+        this.freteMedio = Dinheiro.paraReais(freteMedioCentavos);
+    }
+
+    public long getPedidos() {
+        return pedidos;
+    }
+
+    public void setPedidos(long pedidos) {
+        this.pedidos = pedidos;
+    }
+
+    public double getReceita() {
+        return receita;
+    }
+
+    public void setReceita(double receita) {
+        this.receita = receita;
+    }
+
+    public double getDescontoMedio() {
+        return descontoMedio;
+    }
+
+    public void setDescontoMedio(double descontoMedio) {
+        this.descontoMedio = descontoMedio;
+    }
+
+    public double getFreteMedio() {
+        return freteMedio;
+    }
+
+    public void setFreteMedio(double freteMedio) {
+        this.freteMedio = freteMedio;
+    }
+}
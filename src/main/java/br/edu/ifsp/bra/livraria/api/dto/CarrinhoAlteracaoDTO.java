@@ -0,0 +1,68 @@
+package br.edu.ifsp.bra.livraria.api.dto;
+
+import br.edu.ifsp.bra.livraria.entity.Dinheiro;
+import br.edu.ifsp.bra.livraria.entity.ItemCarrinho;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Resposta das alterações de um carrinho (/api/carrinhos/{id}/itens e
+ * /endereco): só a linha alterada e os totais correntes, de tamanho fixo
+ * qualquer que seja o carrinho. A lista completa de itens vem apenas de
+ * GET /api/carrinhos/{id} (CarrinhoDTO).
+ *
+ * item é null quando a linha foi removida (ou na troca de endereço, em que
+ * chave também é null).
+ */
+public class CarrinhoAlteracaoDTO {
+
+    private String id;
+    private String chave;
+    private ItemCarrinho item;
+    private int quantidadeItens;
+    private long valorItensCentavos;
+    private long descontoCentavos;
+    private long freteCentavos;
+
+    public CarrinhoAlteracaoDTO() {}
+
+    public CarrinhoAlteracaoDTO(String id, String chave, ItemCarrinho item, int quantidadeItens,
+                                long valorItensCentavos, long descontoCentavos, long freteCentavos) {
+        this.id = id;
+        this.chave = chave;
+        this.item = item;
+        this.quantidadeItens = quantidadeItens;
+        this.valorItensCentavos = valorItensCentavos;
+        this.descontoCentavos = descontoCentavos;
+        this.freteCentavos = freteCentavos;
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getChave() { return chave; }
+    public void setChave(String chave) { this.chave = chave; }
+
+    public ItemCarrinho getItem() { return item; }
+    public void setItem(ItemCarrinho item) { this.item = item; }
+
+    /** Linhas (itens distintos) no carrinho após a alteração. */
+    public int getQuantidadeItens() { return quantidadeItens; }
+    public void setQuantidadeItens(int quantidadeItens) { this.quantidadeItens = quantidadeItens; }
+
+    public double getValorItens() { return Dinheiro.paraReais(valorItensCentavos); }
+    public double getDesconto() { return Dinheiro.paraReais(descontoCentavos); }
+    public double getFrete() { return Dinheiro.paraReais(freteCentavos); }
+    public double getValorTotal() { return Dinheiro.paraReais(getValorTotalCentavos()); }
+
+    @JsonIgnore
+    public long getValorItensCentavos() { return valorItensCentavos; }
+
+    @JsonIgnore
+    public long getDescontoCentavos() { return descontoCentavos; }
+
+    @JsonIgnore
+    public long getFreteCentavos() { return freteCentavos; }
+
+    @JsonIgnore
+    public long getValorTotalCentavos() { return valorItensCentavos - descontoCentavos + freteCentavos; }
+}
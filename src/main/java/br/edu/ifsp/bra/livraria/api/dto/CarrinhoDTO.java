@@ -0,0 +1,74 @@
+package br.edu.ifsp.bra.livraria.api.dto;
+
+import br.edu.ifsp.bra.livraria.entity.Dinheiro;
+import br.edu.ifsp.bra.livraria.entity.Endereco;
+import br.edu.ifsp.bra.livraria.entity.ItemCarrinho;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.List;
+
+/**
+ * Estado de uma sessão de carrinho (/api/carrinhos): itens e totais
+ * correntes, calculados como PedidoService os calcularia (RN01 pelo perfil
+ * do cliente; RN02 pelo endereço, 0 enquanto não houver endereço).
+ *
+ * Cada item é identificado, em /api/carrinhos/{id}/itens/{chave}, pelo ISBN
+ * normalizado ou, sem ISBN, pelo título.
+ */
+public class CarrinhoDTO {
+
+    private String id;
+    private Long clienteId;
+    private String perfil;
+    private Endereco enderecoEntrega;
+    private List<ItemCarrinho> itens;
+    private long valorItensCentavos;
+    private long descontoCentavos;
+    private long freteCentavos;
+
+    public CarrinhoDTO() {}
+
+    public CarrinhoDTO(String id, Long clienteId, String perfil, Endereco enderecoEntrega, List<ItemCarrinho> itens,
+                       long valorItensCentavos, long descontoCentavos, long freteCentavos) {
+        this.id = id;
+        this.clienteId = clienteId;
+        this.perfil = perfil;
+        this.enderecoEntrega = enderecoEntrega;
+        this.itens = itens;
+        this.valorItensCentavos = valorItensCentavos;
+        this.descontoCentavos = descontoCentavos;
+        this.freteCentavos = freteCentavos;
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public Long getClienteId() { return clienteId; }
+    public void setClienteId(Long clienteId) { this.clienteId = clienteId; }
+
+    public String getPerfil() { return perfil; }
+    public void setPerfil(String perfil) { this.perfil = perfil; }
+
+    public Endereco getEnderecoEntrega() { return enderecoEntrega; }
+    public void setEnderecoEntrega(Endereco enderecoEntrega) { this.enderecoEntrega = enderecoEntrega; }
+
+    public List<ItemCarrinho> getItens() { return itens; }
+    public void setItens(List<ItemCarrinho> itens) { this.itens = itens; }
+
+    public double getValorItens() { return Dinheiro.paraReais(valorItensCentavos); }
+    public double getDesconto() { return Dinheiro.paraReais(descontoCentavos); }
+    public double getFrete() { return Dinheiro.paraReais(freteCentavos); }
+    public double getValorTotal() { return Dinheiro.paraReais(getValorTotalCentavos()); }
+
+    @JsonIgnore
+    public long getValorItensCentavos() { return valorItensCentavos; }
+
+    @JsonIgnore
+    public long getDescontoCentavos() { return descontoCentavos; }
+
+    @JsonIgnore
+    public long getFreteCentavos() { return freteCentavos; }
+
+    @JsonIgnore
+    public long getValorTotalCentavos() { return valorItensCentavos - descontoCentavos + freteCentavos; }
+}
@@ -0,0 +1,29 @@
+package br.edu.ifsp.bra.livraria.api.dto;
+
+import br.edu.ifsp.bra.livraria.entity.Endereco;
+
+/**
+ * Corpo de POST /api/carrinhos. O endereço de entrega é opcional na
+ * abertura (sem ele o frete fica 0 até PUT /api/carrinhos/{id}/endereco).
+ */
+public class CarrinhoRequestDTO {
+
+    private Long clienteId;
+    private Endereco enderecoEntrega;
+
+    public Long getClienteId() {
+        return clienteId;
+    }
+
+    public void setClienteId(Long clienteId) {
+        this.clienteId = clienteId;
+    }
+
+    public Endereco getEnderecoEntrega() {
+        return enderecoEntrega;
+    }
+
+    public void setEnderecoEntrega(Endereco enderecoEntrega) {
+        this.enderecoEntrega = enderecoEntrega;
+    }
+}
@@ -0,0 +1,33 @@
+package br.edu.ifsp.bra.livraria.api.dto;
+
+/**
+ * Versão vigente do catálogo e quantidade de livros.
+ */
+public class CatalogoVersaoDTO {
+
+    private long versao;
+    private int livros;
+
+    public CatalogoVersaoDTO() {}
+
+    public CatalogoVersaoDTO(long versao, int livros) {
+        this.versao = versao;
+        this.livros = livros;
+    }
+
+    public long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(long versao) {
+        this.versao = versao;
+    }
+
+    public int getLivros() {
+        return livros;
+    }
+
+    public void setLivros(int livros) {
+        this.livros = livros;
+    }
+}
@@ -0,0 +1,44 @@
+package br.edu.ifsp.bra.livraria.api.dto;
+
+/**
+ * Saldo de estoque de um livro: exemplares disponíveis para novos pedidos e
+ * exemplares reservados por pedidos ainda não entregues.
+ */
+public class EstoqueDTO {
+
+    private String isbn;
+    private long disponivel;
+    private long reservado;
+
+    public EstoqueDTO() {}
+
+    public EstoqueDTO(String isbn, long disponivel, long reservado) {
+        this.isbn = isbn;
+        this.disponivel = disponivel;
+        this.reservado = reservado;
+    }
+
+    public String getIsbn() {
+        return isbn;
+    }
+
+    public void setIsbn(String isbn) {
+        this.isbn = isbn;
+    }
+
+    public long getDisponivel() {
+        return disponivel;
+    }
+
+    public void setDisponivel(long disponivel) {
+        this.disponivel = disponivel;
+    }
+
+    public long getReservado() {
+        return reservado;
+    }
+
+    public void setReservado(long reservado) {
+        this.reservado = reservado;
+    }
+}
@@ -0,0 +1,111 @@
+package br.edu.ifsp.bra.livraria.api.dto;
+
+import br.edu.ifsp.bra.livraria.entity.Dinheiro;
+
+/**
+ * Receita, desconto e frete de um recorte de SimulacaoPrecosDTO com as regras
+ * atuais e com as candidatas, e a diferença de receita entre elas. Valores em reais.
+ */
+public class ImpactoPrecosDTO {
+
+    private long pedidos;
+    private double receitaAtual;
+    private double receitaSimulada;
+    private double diferencaReceita;
+    private double variacaoPercentual;
+    private double descontoAtual;
+    private double descontoSimulado;
+    private double freteAtual;
+    private double freteSimulado;
+
+    public ImpactoPrecosDTO() {}
+
+    public ImpactoPrecosDTO(long pedidos, long valorItensCentavos,
+                            long descontoAtualCentavos, long descontoSimuladoCentavos,
+                            long freteAtualCentavos, long freteSimuladoCentavos) {
+        long receitaAtualCentavos = valorItensCentavos - descontoAtualCentavos + freteAtualCentavos;
+        long receitaSimuladaCentavos = valorItensCentavos - descontoSimuladoCentavos + freteSimuladoCentavos;
+        this.pedidos = pedidos;
+        this.receitaAtual = Dinheiro.paraReais(receitaAtualCentavos);
+        this.receitaSimulada = Dinheiro.paraReais(receitaSimuladaCentavos);
+        this.diferencaReceita = Dinheiro.paraReais(receitaSimuladaCentavos - receitaAtualCentavos);
+        this.variacaoPercentual = receitaAtualCentavos == 0 ? 0
+                : Math.round((receitaSimuladaCentavos - receitaAtualCentavos) * 10000.0 / receitaAtualCentavos) / 100.0;
+        this.descontoAtual = Dinheiro.paraReais(descontoAtualCentavos);
+        this.descontoSimulado = Dinheiro.paraReais(descontoSimuladoCentavos);
+        this.freteAtual = Dinheiro.paraReais(freteAtualCentavos);
+        this.freteSimulado = Dinheiro.paraReais(freteSimuladoCentavos);
+    }
+
+    public long getPedidos() {
+        return pedidos;
+    }
+
+    public void setPedidos(long pedidos) {
+        this.pedidos = pedidos;
+    }
+
+    public double getReceitaAtual() {
+        return receitaAtual;
+    }
+
+    public void setReceitaAtual(double receitaAtual) {
+        this.receitaAtual = receitaAtual;
+    }
+
+    public double getReceitaSimulada() {
+        return receitaSimulada;
+    }
+
+    public void setReceitaSimulada(double receitaSimulada) {
+        this.receitaSimulada = receitaSimulada;
+    }
+
+    public double getDiferencaReceita() {
+        return diferencaReceita;
+    }
+
+    public void setDiferencaReceita(double diferencaReceita) {
+        this.diferencaReceita = diferencaReceita;
+    }
+
+    public double getVariacaoPercentual() {
+        return variacaoPercentual;
+    }
+
+    public void setVariacaoPercentual(double variacaoPercentual) {
+        this.variacaoPercentual = variacaoPercentual;
+    }
+
+    public double getDescontoAtual() {
+        return descontoAtual;
+    }
+
+    public void setDescontoAtual(double descontoAtual) {
+        this.descontoAtual = descontoAtual;
+    }
+
+    public double getDescontoSimulado() {
+        return descontoSimulado;
+    }
+
+    public void setDescontoSimulado(double descontoSimulado) {
+        this.descontoSimulado = descontoSimulado;
+    }
+
+    public double getFreteAtual() {
+        return freteAtual;
+    }
+
+    public void setFreteAtual(double freteAtual) {
+        this.freteAtual = freteAtual;
+    }
+
+    public double getFreteSimulado() {
+        return freteSimulado;
+    }
+
+    public void setFreteSimulado(double freteSimulado) {
+        this.freteSimulado = freteSimulado;
+    }
+}
@@ -0,0 +1,43 @@
+package br.edu.ifsp.bra.livraria.api.dto;
+
+/**
+ * Livro enviado em PUT /api/catalogo (preço em reais).
+ */
+public class LivroDTO {
+
+    private String isbn;
+    private String titulo;
+    private double preco;
+
+    public LivroDTO() {}
+
+    public LivroDTO(String isbn, String titulo, double preco) {
+        this.isbn = isbn;
+        this.titulo = titulo;
+        this.preco = preco;
+    }
+
+    public String getIsbn() {
+        return isbn;
+    }
+
+    public void setIsbn(String isbn) {
+        this.isbn = isbn;
+    }
+
+    public String getTitulo() {
+        return titulo;
+    }
+
+    public void setTitulo(String titulo) {
+        this.titulo = titulo;
+    }
+
+    public double getPreco() {
+        return preco;
+    }
+
+    public void setPreco(double preco) {
+        this.preco = preco;
+    }
+}
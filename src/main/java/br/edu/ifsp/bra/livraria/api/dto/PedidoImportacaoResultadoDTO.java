@@ -0,0 +1,87 @@
+package br.edu.ifsp.bra.livraria.api.dto;
+
+/**
+ * Resultado de uma linha enviada para /api/pedidos/ndjson.
+ *
+ * Cada linha não vazia da entrada gera exatamente um resultado, na mesma
+ * ordem: ou o id, o valor total e o status do pedido criado, ou o erro.
+ * A resposta é enxuta de propósito: em importações de gigabytes, devolver o
+ * pedido completo faria a resposta maior que a própria entrada.
+ */
+public class PedidoImportacaoResultadoDTO {
+
+    private long linha;
+    private boolean sucesso;
+    private Long pedidoId;
+    private Double valorTotal;
+    private String status;
+    private String erro;
+
+    public PedidoImportacaoResultadoDTO() {}
+
+    public static PedidoImportacaoResultadoDTO sucesso(long linha, Long pedidoId, double valorTotal, String status) {
+        PedidoImportacaoResultadoDTO resultado = new PedidoImportacaoResultadoDTO();
+        resultado.setLinha(linha);
+        resultado.setSucesso(true);
+        resultado.setPedidoId(pedidoId);
+        resultado.setValorTotal(valorTotal);
+        resultado.setStatus(status);
+        return resultado;
+    }
+
+    public static PedidoImportacaoResultadoDTO erro(long linha, String erro) {
+        PedidoImportacaoResultadoDTO resultado = new PedidoImportacaoResultadoDTO();
+        resultado.setLinha(linha);
+        resultado.setSucesso(false);
+        resultado.setErro(erro);
+        return resultado;
+    }
+
+    public long getLinha() {
+        return linha;
+    }
+
+    public void setLinha(long linha) {
+        this.linha = linha;
+    }
+
+    public boolean isSucesso() {
+        return sucesso;
+    }
+
+    public void setSucesso(boolean sucesso) {
+        this.sucesso = sucesso;
+    }
+
+    public Long getPedidoId() {
+        return pedidoId;
+    }
+
+    public void setPedidoId(Long pedidoId) {
+        this.pedidoId = pedidoId;
+    }
+
+    public Double getValorTotal() {
+        return valorTotal;
+    }
+
+    public void setValorTotal(Double valorTotal) {
+        this.valorTotal = valorTotal;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getErro() {
+        return erro;
+    }
+
+    public void setErro(String erro) {
+        this.erro = erro;
+    }
+}
@@ -0,0 +1,67 @@
+package br.edu.ifsp.bra.livraria.api.dto;
+
+import br.edu.ifsp.bra.livraria.entity.Pedido;
+
+/**
+ * Resultado individual de um item do lote enviado para /api/pedidos/lote.
+ *
+ * Cada posição do lote gera exatamente um resultado, na mesma ordem
+ * da requisição: ou o pedido processado, ou a mensagem de erro.
+ */
+public class PedidoLoteResultadoDTO {
+
+    private int indice;
+    private boolean sucesso;
+    private Pedido pedido;
+    private String erro;
+
+    public PedidoLoteResultadoDTO() {}
+
+    public static PedidoLoteResultadoDTO sucesso(int indice, Pedido pedido) {
+        PedidoLoteResultadoDTO resultado = new PedidoLoteResultadoDTO();
+        resultado.setIndice(indice);
+        resultado.setSucesso(true);
+        resultado.setPedido(pedido);
+        return resultado;
+    }
+
+    public static PedidoLoteResultadoDTO erro(int indice, String erro) {
+        PedidoLoteResultadoDTO resultado = new PedidoLoteResultadoDTO();
+        resultado.setIndice(indice);
+        resultado.setSucesso(false);
+        resultado.setErro(erro);
+        return resultado;
+    }
+
+    public int getIndice() {
+        return indice;
+    }
+
+    public void setIndice(int indice) {
+        this.indice = indice;
+    }
+
+    public boolean isSucesso() {
+        return sucesso;
+    }
+
+    public void setSucesso(boolean sucesso) {
+        this.sucesso = sucesso;
+    }
+
+    public Pedido getPedido() {
+        return pedido;
+    }
+
+    public void setPedido(Pedido pedido) {
+        this.pedido = pedido;
+    }
+
+    public String getErro() {
+        return erro;
+    }
+
+    public void setErro(String erro) {
+        this.erro = erro;
+    }
+}
@@ -0,0 +1,88 @@
+package br.edu.ifsp.bra.livraria.api.dto;
+
+import br.edu.ifsp.bra.livraria.entity.Dinheiro;
+import br.edu.ifsp.bra.livraria.entity.Pedido;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Visão RESUMO de um pedido: apenas os campos de que um cliente precisa logo
+ * após criar ou consultar o pedido, sem cliente, endereço e itens.
+ *
+ *   {"id":1,"status":"EM_PROCESSAMENTO","valorItens":300.00,"desconto":9.00,
+ *    "frete":23.28,"valorTotal":314.28,"quantidadeItens":2}
+ *
+ * Não copia o pedido: é só uma referência a ele, escrita pelo Serializador
+ * abaixo em vez da introspecção do Jackson. Os nomes dos campos são
+ * pré-codificados (SerializedString, já com aspas e em UTF-8) e os valores
+ * saem direto dos centavos, com duas casas, sem passar por double (em Smile
+ * e CBOR, que não guardam o texto do número, saem como double, como na visão
+ * completa). quantidadeItens é o número de linhas do carrinho.
+ */
+@JsonSerialize(using = PedidoResumoDTO.Serializador.class)
+public final class PedidoResumoDTO {
+
+    private final Pedido pedido;
+
+    public PedidoResumoDTO(Pedido pedido) {
+        this.pedido = pedido;
+    }
+
+    public Pedido getPedido() {
+        return pedido;
+    }
+
+    static final class Serializador extends StdSerializer<PedidoResumoDTO> {
+
+        private static final SerializedString ID = new SerializedString("id");
+        private static final SerializedString STATUS = new SerializedString("status");
+        private static final SerializedString VALOR_ITENS = new SerializedString("valorItens");
+        private static final SerializedString DESCONTO = new SerializedString("desconto");
+        private static final SerializedString FRETE = new SerializedString("frete");
+        private static final SerializedString VALOR_TOTAL = new SerializedString("valorTotal");
+        private static final SerializedString QUANTIDADE_ITENS = new SerializedString("quantidadeItens");
+
+        Serializador() {
+            super(PedidoResumoDTO.class);
+        }
+
+        @Override
+        public void serialize(PedidoResumoDTO resumo, JsonGenerator gerador, SerializerProvider provider) throws IOException {
+            Pedido pedido = resumo.pedido;
+            char[] numero = new char[24];
+
+            gerador.writeStartObject();
+            gerador.writeFieldName(ID);
+            if (pedido.getId() != null) {
+                gerador.writeNumber(pedido.getId());
+            } else {
+                gerador.writeNull();
+            }
+            gerador.writeFieldName(STATUS);
+            gerador.writeString(pedido.getStatus());
+            escreverDinheiro(gerador, VALOR_ITENS, pedido.getValorItensCentavos(), numero);
+            escreverDinheiro(gerador, DESCONTO, pedido.getDescontoCentavos(), numero);
+            escreverDinheiro(gerador, FRETE, pedido.getFreteCentavos(), numero);
+            escreverDinheiro(gerador, VALOR_TOTAL, pedido.getValorTotalCentavos(), numero);
+            gerador.writeFieldName(QUANTIDADE_ITENS);
+            gerador.writeNumber(pedido.getItens() != null ? pedido.getItens().size() : 0);
+            gerador.writeEndObject();
+        }
+
+        private static void escreverDinheiro(JsonGenerator gerador, SerializedString campo, long centavos,
+                                             char[] numero) throws IOException {
+            gerador.writeFieldName(campo);
+            if (!gerador.canWriteFormattedNumbers()) {
+                gerador.writeNumber(Dinheiro.paraReais(centavos));
+                return;
+            }
+            int inicio = Dinheiro.escrever(centavos, numero);
+            gerador.writeNumber(numero, inicio, numero.length - inicio);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package br.edu.ifsp.bra.livraria.api.dto;
+
+/**
+ * Resposta de /api/pedidos/{id}/status (e de cada evento do stream).
+ *
+ * statusPedido só é preenchido quando a situação é CONCLUIDO;
+ * erro, só quando é ERRO.
+ */
+public class PedidoStatusDTO {
+
+    private Long id;
+    private SituacaoSubmissao situacao;
+    private String statusPedido;
+    private String erro;
+
+    public PedidoStatusDTO() {}
+
+    public PedidoStatusDTO(Long id, SituacaoSubmissao situacao, String statusPedido, String erro) {
+        this.id = id;
+        this.situacao = situacao;
+        this.statusPedido = statusPedido;
+        this.erro = erro;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public SituacaoSubmissao getSituacao() {
+        return situacao;
+    }
+
+    public void setSituacao(SituacaoSubmissao situacao) {
+        this.situacao = situacao;
+    }
+
+    public String getStatusPedido() {
+        return statusPedido;
+    }
+
+    public void setStatusPedido(String statusPedido) {
+        this.statusPedido = statusPedido;
+    }
+
+    public String getErro() {
+        return erro;
+    }
+
+    public void setErro(String erro) {
+        this.erro = erro;
+    }
+}
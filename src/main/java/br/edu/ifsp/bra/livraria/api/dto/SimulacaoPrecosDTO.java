@@ -0,0 +1,85 @@
+package br.edu.ifsp.bra.livraria.api.dto;
+
+import java.util.Map;
+
+/**
+ * Resposta de POST /api/simulacoes/precos: impacto das regras candidatas sobre
+ * o histórico de pedidos, no total, por UF de entrega e por perfil RN01 (o
+ * perfil pelas regras atuais, na data de cada pedido).
+ *
+ * porUf traz apenas as UFs com pedidos; porPerfil traz todos os perfis.
+ */
+public class SimulacaoPrecosDTO {
+
+    private long pedidos;
+    private long pedidosIgnorados;
+    private long duracaoMs;
+    private ImpactoPrecosDTO total;
+    private Map<String, ImpactoPrecosDTO> porUf;
+    private Map<String, ImpactoPrecosDTO> porPerfil;
+
+    public SimulacaoPrecosDTO() {}
+
+    public SimulacaoPrecosDTO(long pedidos,
+                              long pedidosIgnorados,
+                              long duracaoMs,
+                              ImpactoPrecosDTO total,
+                              Map<String, ImpactoPrecosDTO> porUf,
+                              Map<String, ImpactoPrecosDTO> porPerfil) {
+        this.pedidos = pedidos;
+        this.pedidosIgnorados = pedidosIgnorados;
+        this.duracaoMs = duracaoMs;
+        this.total = total;
+        this.porUf = porUf;
+        this.porPerfil = porPerfil;
+    }
+
+    public long getPedidos() {
+        return pedidos;
+    }
+
+    public void setPedidos(long pedidos) {
+        this.pedidos = pedidos;
+    }
+
+    /** Pedidos cancelados, sem cliente ou com UF inválida, fora da simulação. */
+    public long getPedidosIgnorados() {
+        return pedidosIgnorados;
+    }
+
+    public void setPedidosIgnorados(long pedidosIgnorados) {
+        this.pedidosIgnorados = pedidosIgnorados;
+    }
+
+    public long getDuracaoMs() {
+        return duracaoMs;
+    }
+
+    public void setDuracaoMs(long duracaoMs) {
+        this.duracaoMs = duracaoMs;
+    }
+
+    public ImpactoPrecosDTO getTotal() {
+        return total;
+    }
+
+    public void setTotal(ImpactoPrecosDTO total) {
+        this.total = total;
+    }
+
+    public Map<String, ImpactoPrecosDTO> getPorUf() {
+        return porUf;
+    }
+
+    public void setPorUf(Map<String, ImpactoPrecosDTO> porUf) {
+        this.porUf = porUf;
+    }
+
+    public Map<String, ImpactoPrecosDTO> getPorPerfil() {
+        return porPerfil;
+    }
+
+    public void setPorPerfil(Map<String, ImpactoPrecosDTO> porPerfil) {
+        this.porPerfil = porPerfil;
+    }
+}
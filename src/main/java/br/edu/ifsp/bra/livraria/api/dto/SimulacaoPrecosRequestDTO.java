@@ -0,0 +1,44 @@
+package br.edu.ifsp.bra.livraria.api.dto;
+
+import br.edu.ifsp.bra.livraria.entity.PerfilCliente;
+import br.edu.ifsp.bra.livraria.entity.RegiaoFrete;
+
+import java.util.Map;
+
+/**
+ * Corpo de POST /api/simulacoes/precos: regras candidatas. Perfis e regiões
+ * não informados mantêm os valores vigentes.
+ *
+ * Exemplo: {"descontos": {"OURO": 12}, "anosMinimos": {"OURO": 6},
+ *           "frete": {"SUDESTE": 4}}
+ */
+public class SimulacaoPrecosRequestDTO {
+
+    private Map<PerfilCliente, Double> descontos;
+    private Map<PerfilCliente, Integer> anosMinimos;
+    private Map<RegiaoFrete, Double> frete;
+
+    public Map<PerfilCliente, Double> getDescontos() {
+        return descontos;
+    }
+
+    public void setDescontos(Map<PerfilCliente, Double> descontos) {
+        this.descontos = descontos;
+    }
+
+    public Map<PerfilCliente, Integer> getAnosMinimos() {
+        return anosMinimos;
+    }
+
+    public void setAnosMinimos(Map<PerfilCliente, Integer> anosMinimos) {
+        this.anosMinimos = anosMinimos;
+    }
+
+    public Map<RegiaoFrete, Double> getFrete() {
+        return frete;
+    }
+
+    public void setFrete(Map<RegiaoFrete, Double> frete) {
+        this.frete = frete;
+    }
+}
@@ -0,0 +1,18 @@
+package br.edu.ifsp.bra.livraria.api.dto;
+
+/**
+ * Situação de um pedido submetido por /api/pedidos/assincrono.
+ *
+ * Independe do status RN03: um pedido CONCLUIDO começa em EM_PROCESSAMENTO
+ * e segue o diagrama de estados normalmente.
+ */
+public enum SituacaoSubmissao {
+    NA_FILA,
+    PROCESSANDO,
+    CONCLUIDO,
+    ERRO;
+
+    public boolean isFinal() {
+        return this == CONCLUIDO || this == ERRO;
+    }
+}
@@ -0,0 +1,72 @@
+package br.edu.ifsp.bra.livraria.api.dto;
+
+import java.util.Map;
+
+/**
+ * Resposta de /api/vendas/recentes: agregados dos últimos "minutos" minutos,
+ * no total e por UF, perfil RN01 e forma de pagamento.
+ *
+ * Cada mapa traz apenas as chaves com pedidos na janela.
+ */
+public class VendasRecentesDTO {
+
+    private int minutos;
+    private AgregadoVendasDTO total;
+    private Map<String, AgregadoVendasDTO> porUf;
+    private Map<String, AgregadoVendasDTO> porPerfil;
+    private Map<String, AgregadoVendasDTO> porFormaPagamento;
+
+    public VendasRecentesDTO() {}
+
+    public VendasRecentesDTO(int minutos,
+                             AgregadoVendasDTO total,
+                             Map<String, AgregadoVendasDTO> porUf,
+                             Map<String, AgregadoVendasDTO> porPerfil,
+                             Map<String, AgregadoVendasDTO> porFormaPagamento) {
+        this.minutos = minutos;
+        this.total = total;
+        this.porUf = porUf;
+        this.porPerfil = porPerfil;
+        this.porFormaPagamento = porFormaPagamento;
+    }
+
+    public int getMinutos() {
+        return minutos;
+    }
+
+    public void setMinutos(int minutos) {
+        this.minutos = minutos;
+    }
+
+    public AgregadoVendasDTO getTotal() {
+        return total;
+    }
+
+    public void setTotal(AgregadoVendasDTO total) {
+        this.total = total;
+    }
+
+    public Map<String, AgregadoVendasDTO> getPorUf() {
+        return porUf;
+    }
+
+    public void setPorUf(Map<String, AgregadoVendasDTO> porUf) {
+        this.porUf = porUf;
+    }
+
+    public Map<String, AgregadoVendasDTO> getPorPerfil() {
+        return porPerfil;
+    }
+
+    public void setPorPerfil(Map<String, AgregadoVendasDTO> porPerfil) {
+        this.porPerfil = porPerfil;
+    }
+
+    public Map<String, AgregadoVendasDTO> getPorFormaPagamento() {
+        return porFormaPagamento;
+    }
+
+    public void setPorFormaPagamento(Map<String, AgregadoVendasDTO> porFormaPagamento) {
+        this.porFormaPagamento = porFormaPagamento;
+    }
+}
@@ -0,0 +1,28 @@
+package br.edu.ifsp.bra.livraria.api.dto;
+
+/**
+ * Visões da resposta de pedido, escolhidas pelo parâmetro visao ou pelo
+ * cabeçalho X-Visao (o parâmetro prevalece).
+ *
+ *  - COMPLETO: o Pedido inteiro (cliente, endereço e itens), como sempre foi;
+ *  - RESUMO: só id, status, totais e quantidade de itens (PedidoResumoDTO).
+ */
+public enum VisaoPedido {
+    COMPLETO,
+    RESUMO;
+
+    /**
+     * Visão pelo nome, sem diferenciar maiúsculas; nulo ou vazio → COMPLETO.
+     */
+    public static VisaoPedido deNome(String nome) {
+        if (nome == null || nome.isBlank()) {
+            return COMPLETO;
+        }
+        for (VisaoPedido visao : values()) {
+            if (visao.name().equalsIgnoreCase(nome.trim())) {
+                return visao;
+            }
+        }
+        throw new IllegalArgumentException("Visão de pedido não suportada: " + nome);
+    }
+}
@@ -1,6 +1,7 @@
 package br.edu.ifsp.bra.livraria.entity;
 
 import java.time.LocalDate;
+import java.time.ZoneId;
 
 public class Cliente {
     private Long id;
@@ -17,8 +18,42 @@ public class Cliente {
         this.dataCadastro = dataCadastro;
     }
 
+    /**
+     * Anos completos desde o cadastro (mesmo resultado de
+     * ChronoUnit.YEARS.between(dataCadastro, hoje)), sem alocar: a data de
+     * hoje vem de DiaCorrente e a diferença é calculada pelos campos.
+     */
     public long getTempoVinculoEmAnos() {
-        return java.time.temporal.ChronoUnit.YEARS.between(dataCadastro, LocalDate.now());
+        LocalDate hoje = DiaCorrente.hoje();
+        return (mesesPacotados(hoje) - mesesPacotados(dataCadastro)) / 32 / 12;
+    }
+
+    // Mês proléptico * 32 + dia: a divisão por 32 da diferença dá os meses
+    // completos, como em LocalDate.until
+    private static long mesesPacotados(LocalDate data) {
+        return (data.getYear() * 12L + data.getMonthValue() - 1) * 32L + data.getDayOfMonth();
+    }
+
+    /**
+     * Data de hoje no fuso padrão, recalculada só na virada do dia
+     * (LocalDate.now() aloca a cada chamada).
+     */
+    private static final class DiaCorrente {
+
+        private static volatile DiaCorrente atual = new DiaCorrente();
+
+        private final LocalDate data = LocalDate.now();
+        private final long validoAteMillis = data.plusDays(1).atStartOfDay(ZoneId.systemDefault())
+                .toInstant().toEpochMilli();
+
+        static LocalDate hoje() {
+            DiaCorrente dia = atual;
+            if (System.currentTimeMillis() >= dia.validoAteMillis) {
+                dia = new DiaCorrente();
+                atual = dia;
+            }
+            return dia.data;
+        }
     }
 
     // Getters e Setters
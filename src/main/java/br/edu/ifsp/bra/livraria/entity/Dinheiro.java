@@ -0,0 +1,103 @@
+package br.edu.ifsp.bra.livraria.entity;
+
+/**
+ * Aritmética monetária em ponto fixo: valores em centavos (long) e
+ * percentuais em pontos-base (int, 1% = 100 pontos-base).
+ *
+ * Evita o desvio de arredondamento de double (ex.: 0.1 + 0.2) sem o custo de
+ * alocação de BigDecimal: todas as operações são sobre primitivos.
+ *
+ * Regras de arredondamento:
+ *  - conversão de reais (double) para centavos: meio centavo para cima (HALF_UP);
+ *  - percentual sobre um valor (desconto RN01, frete RN02): o resultado é
+ *    arredondado para o centavo mais próximo, meio centavo para cima (HALF_UP).
+ */
+public final class Dinheiro {
+
+    public static final int PONTOS_BASE_100_PORCENTO = 10_000;
+
+    private Dinheiro() {}
+
+    /**
+     * Converte reais para centavos (ex.: 19.9 → 1990).
+     */
+    public static long deReais(double reais) {
+        if (Double.isNaN(reais) || Double.isInfinite(reais)) {
+            throw new IllegalArgumentException("Valor monetário inválido: " + reais);
+        }
+        return reais >= 0 ? Math.round(reais * 100) : -Math.round(-reais * 100);
+    }
+
+    /**
+     * Converte centavos para reais, para exibição/serialização (ex.: 1990 → 19.9).
+     */
+    public static double paraReais(long centavos) {
+        return centavos / 100.0;
+    }
+
+    /**
+     * Texto decimal exato com duas casas, para exportação (ex.: 1990 → "19.90", -5 → "-0.05").
+     */
+    public static String formatar(long centavos) {
+        return anexar(new StringBuilder(24), centavos).toString();
+    }
+
+    /**
+     * Mesmo texto de formatar, anexado a destino sem criar Strings intermediárias.
+     */
+    public static StringBuilder anexar(StringBuilder destino, long centavos) {
+        if (centavos < 0) {
+            destino.append('-');
+        }
+        long absoluto = Math.abs(centavos);
+        long resto = absoluto % 100;
+        return destino.append(absoluto / 100).append(resto < 10 ? ".0" : ".").append(resto);
+    }
+
+    /**
+     * Mesmo texto de formatar, escrito no fim de destino (ao menos 22
+     * posições), para geradores que aceitam char[]; devolve a posição onde o
+     * texto começa (o texto vai até destino.length).
+     */
+    public static int escrever(long centavos, char[] destino) {
+        long absoluto = Math.abs(centavos);
+        int posicao = destino.length;
+        destino[--posicao] = (char) ('0' + absoluto % 10);
+        absoluto /= 10;
+        destino[--posicao] = (char) ('0' + absoluto % 10);
+        absoluto /= 10;
+        destino[--posicao] = '.';
+        do {
+            destino[--posicao] = (char) ('0' + absoluto % 10);
+            absoluto /= 10;
+        } while (absoluto > 0);
+        if (centavos < 0) {
+            destino[--posicao] = '-';
+        }
+        return posicao;
+    }
+
+    /**
+     * Converte um percentual (ex.: 5.0 ou 2.5) para pontos-base (500 ou 250).
+     */
+    public static int pontosBase(double percentual) {
+        return (int) Math.round(percentual * 100);
+    }
+
+    /**
+     * Aplica um percentual, em pontos-base, sobre um valor em centavos,
+     * arredondando para o centavo mais próximo (HALF_UP).
+     */
+    public static long aplicarPercentual(long centavos, int pontosBase) {
+        long produto = Math.multiplyExact(Math.abs(centavos), (long) pontosBase);
+        long resultado = (produto + PONTOS_BASE_100_PORCENTO / 2) / PONTOS_BASE_100_PORCENTO;
+        return centavos < 0 ? -resultado : resultado;
+    }
+
+    /**
+     * Preço unitário × quantidade, com verificação de estouro.
+     */
+    public static long multiplicar(long centavos, int quantidade) {
+        return Math.multiplyExact(centavos, (long) quantidade);
+    }
+}
@@ -1,29 +1,49 @@
 package br.edu.ifsp.bra.livraria.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 public class ItemCarrinho {
+    private String isbn; // se informado, título e preço vêm do catálogo (CatalogoLivros)
     private String livroTitulo;
     private int quantidade;
-    private double precoUnitario;
+    private long precoUnitarioCentavos; // ponto fixo; JSON continua em reais
 
     public ItemCarrinho() {}
 
     public ItemCarrinho(String livroTitulo, int quantidade, double precoUnitario) {
         this.livroTitulo = livroTitulo;
         this.quantidade = quantidade;
-        this.precoUnitario = precoUnitario;
+        this.precoUnitarioCentavos = Dinheiro.deReais(precoUnitario);
+    }
+
+    public ItemCarrinho(String isbn, int quantidade) {
+        this.isbn = isbn;
+        this.quantidade = quantidade;
     }
 
     // Getters e Setters
+    public String getIsbn() { return isbn; }
+    public void setIsbn(String isbn) { this.isbn = isbn; }
+
     public String getLivroTitulo() { return livroTitulo; }
     public void setLivroTitulo(String livroTitulo) { this.livroTitulo = livroTitulo; }
 
     public int getQuantidade() { return quantidade; }
     public void setQuantidade(int quantidade) { this.quantidade = quantidade; }
 
-    public double getPrecoUnitario() { return precoUnitario; }
-    public void setPrecoUnitario(double precoUnitario) { this.precoUnitario = precoUnitario; }
+    public double getPrecoUnitario() { return Dinheiro.paraReais(precoUnitarioCentavos); }
+    public void setPrecoUnitario(double precoUnitario) { this.precoUnitarioCentavos = Dinheiro.deReais(precoUnitario); }
+
+    @JsonIgnore
+    public long getPrecoUnitarioCentavos() { return precoUnitarioCentavos; }
+    public void setPrecoUnitarioCentavos(long precoUnitarioCentavos) { this.precoUnitarioCentavos = precoUnitarioCentavos; }
 
     public double getSubtotal() {
-        return quantidade * precoUnitario;
+        return Dinheiro.paraReais(getSubtotalCentavos());
+    }
+
+    @JsonIgnore
+    public long getSubtotalCentavos() {
+        return Dinheiro.multiplicar(precoUnitarioCentavos, quantidade);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,49 @@
+package br.edu.ifsp.bra.livraria.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Livro do catálogo: ISBN (ou SKU), título e preço de venda.
+ *
+ * Imutável: um catálogo publicado (ver CatalogoLivros) nunca muda, e uma
+ * recarga cria novas instâncias apenas para os livros alterados.
+ */
+public final class Livro {
+
+    private final String isbn;
+    private final String titulo;
+    private final long precoCentavos;
+
+    public Livro(String isbn, String titulo, long precoCentavos) {
+        this.isbn = isbn;
+        this.titulo = titulo;
+        this.precoCentavos = precoCentavos;
+    }
+
+    public String getIsbn() { return isbn; }
+
+    public String getTitulo() { return titulo; }
+
+    public double getPreco() { return Dinheiro.paraReais(precoCentavos); }
+
+    @JsonIgnore
+    public long getPrecoCentavos() { return precoCentavos; }
+
+    /**
+     * Forma canônica da chave: sem hífens nem espaços e em maiúsculas
+     * (ex.: "978-85-7522-123-x" → "978857522123X").
+     */
+    public static String normalizarIsbn(String isbn) {
+        if (isbn == null) {
+            return null;
+        }
+        StringBuilder normalizado = new StringBuilder(isbn.length());
+        for (int i = 0; i < isbn.length(); i++) {
+            char c = isbn.charAt(i);
+            if (c != '-' && c != ' ') {
+                normalizado.append(Character.toUpperCase(c));
+            }
+        }
+        return normalizado.toString();
+    }
+}
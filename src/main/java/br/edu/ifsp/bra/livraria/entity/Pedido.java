@@ -1,20 +1,36 @@
 package br.edu.ifsp.bra.livraria.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 public class Pedido {
+
+    private static final VarHandle STATUS;
+
+    static {
+        try {
+            STATUS = MethodHandles.lookup().findVarHandle(Pedido.class, "status", StatusPedido.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     private Long id;
     private Cliente cliente;
     private Endereco enderecoEntrega;
     private List<ItemCarrinho> itens = new ArrayList<>();
-    private double valorItens;
-    private double desconto;
-    private double frete;
-    private double valorTotal;
+    // Valores monetários em centavos (ver Dinheiro); getters/setters em reais mantêm o JSON
+    private long valorItensCentavos;
+    private long descontoCentavos;
+    private long freteCentavos;
+    private long valorTotalCentavos;
     private String formaPagamento;
-    private String status; // RN03: EM_PROCESSAMENTO, CONFIRMADO, CANCELADO, ENTREGUE
+    private volatile StatusPedido status; // RN03: alterado por transitar (compare-and-set)
     private LocalDateTime dataCriacao;
 
     public Pedido() {
@@ -34,23 +50,79 @@ public class Pedido {
     public List<ItemCarrinho> getItens() { return itens; }
     public void setItens(List<ItemCarrinho> itens) { this.itens = itens; }
 
-    public double getValorItens() { return valorItens; }
-    public void setValorItens(double valorItens) { this.valorItens = valorItens; }
+    public double getValorItens() { return Dinheiro.paraReais(valorItensCentavos); }
+    public void setValorItens(double valorItens) { this.valorItensCentavos = Dinheiro.deReais(valorItens); }
+
+    public double getDesconto() { return Dinheiro.paraReais(descontoCentavos); }
+    public void setDesconto(double desconto) { this.descontoCentavos = Dinheiro.deReais(desconto); }
+
+    public double getFrete() { return Dinheiro.paraReais(freteCentavos); }
+    public void setFrete(double frete) { this.freteCentavos = Dinheiro.deReais(frete); }
+
+    public double getValorTotal() { return Dinheiro.paraReais(valorTotalCentavos); }
+    public void setValorTotal(double valorTotal) { this.valorTotalCentavos = Dinheiro.deReais(valorTotal); }
 
-    public double getDesconto() { return desconto; }
-    public void setDesconto(double desconto) { this.desconto = desconto; }
+    @JsonIgnore
+    public long getValorItensCentavos() { return valorItensCentavos; }
+    public void setValorItensCentavos(long valorItensCentavos) { this.valorItensCentavos = valorItensCentavos; }
 
-    public double getFrete() { return frete; }
-    public void setFrete(double frete) { this.frete = frete; }
+    @JsonIgnore
+    public long getDescontoCentavos() { return descontoCentavos; }
+    public void setDescontoCentavos(long descontoCentavos) { this.descontoCentavos = descontoCentavos; }
 
-    public double getValorTotal() { return valorTotal; }
-    public void setValorTotal(double valorTotal) { this.valorTotal = valorTotal; }
+    @JsonIgnore
+    public long getFreteCentavos() { return freteCentavos; }
+    public void setFreteCentavos(long freteCentavos) { this.freteCentavos = freteCentavos; }
+
+    @JsonIgnore
+    public long getValorTotalCentavos() { return valorTotalCentavos; }
+    public void setValorTotalCentavos(long valorTotalCentavos) { this.valorTotalCentavos = valorTotalCentavos; }
 
     public String getFormaPagamento() { return formaPagamento; }
     public void setFormaPagamento(String formaPagamento) { this.formaPagamento = formaPagamento; }
 
-    public String getStatus() { return status; }
-    public void setStatus(String status) { this.status = status; }
+    // Status como texto no JSON (contrato da API e do journal)
+    public String getStatus() { return status != null ? status.name() : null; }
+    public void setStatus(String status) { this.status = status != null ? StatusPedido.valueOf(status) : null; }
+
+    @JsonIgnore
+    public StatusPedido getStatusPedido() { return status; }
+
+    /**
+     * Define o status sem validar transições: apenas para o estado inicial
+     * e para reconstrução (journal). Mudanças de RN03 usam transitar.
+     */
+    public void setStatusPedido(StatusPedido status) { this.status = status; }
+
+    /**
+     * Aplica a transição para destino se o diagrama de estados a permitir a
+     * partir do status atual, sem locks: com chamadas concorrentes para o
+     * mesmo pedido, exatamente uma de cada par conflitante vence.
+     *
+     * @return true se a transição foi aplicada por esta chamada
+     */
+    public boolean tentarTransitar(StatusPedido destino) {
+        while (true) {
+            StatusPedido atual = status;
+            if (atual == null || !atual.permiteTransicaoPara(destino)) {
+                return false;
+            }
+            if (STATUS.compareAndSet(this, atual, destino)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Como tentarTransitar, mas lança exceção se a transição não for permitida.
+     *
+     * @throws TransicaoStatusInvalidaException se o status atual não permite ir para destino
+     */
+    public void transitar(StatusPedido destino) {
+        if (!tentarTransitar(destino)) {
+            throw new TransicaoStatusInvalidaException(id, status, destino);
+        }
+    }
 
     public LocalDateTime getDataCriacao() { return dataCriacao; }
     public void setDataCriacao(LocalDateTime dataCriacao) { this.dataCriacao = dataCriacao; }
@@ -0,0 +1,49 @@
+package br.edu.ifsp.bra.livraria.entity;
+
+/**
+ * Perfis de cliente definidos pela RN01, em ordem crescente de tempo de vínculo.
+ *
+ *  - BASICO  → < 1 ano     → 0%
+ *  - BRONZE  → [1, 3) anos → 3%
+ *  - PRATA   → [3, 5) anos → 5%
+ *  - OURO    → ≥ 5 anos    → 10%
+ */
+public enum PerfilCliente {
+    BASICO(0, 0),
+    BRONZE(1, 300),
+    PRATA(3, 500),
+    OURO(5, 1000);
+
+    private static final PerfilCliente[] VALORES = values();
+
+    private final int anosMinimos;
+    private final int pontosBaseDesconto;
+
+    PerfilCliente(int anosMinimos, int pontosBaseDesconto) {
+        this.anosMinimos = anosMinimos;
+        this.pontosBaseDesconto = pontosBaseDesconto;
+    }
+
+    public int getAnosMinimos() {
+        return anosMinimos;
+    }
+
+    /**
+     * Percentual de desconto em pontos-base (ex.: 300 para 3%).
+     */
+    public int getPontosBaseDesconto() {
+        return pontosBaseDesconto;
+    }
+
+    /**
+     * Classifica o cliente a partir dos anos completos de vínculo.
+     */
+    public static PerfilCliente paraAnosDeVinculo(long anosVinculo) {
+        for (int i = VALORES.length - 1; i > 0; i--) {
+            if (anosVinculo >= VALORES[i].anosMinimos) {
+                return VALORES[i];
+            }
+        }
+        return BASICO;
+    }
+}
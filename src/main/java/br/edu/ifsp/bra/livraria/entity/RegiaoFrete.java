@@ -0,0 +1,14 @@
+package br.edu.ifsp.bra.livraria.entity;
+
+/**
+ * Regiões de frete definidas pela RN02.
+ *
+ *  - SP              → frete isento
+ *  - SUDESTE         → RJ, MG, ES
+ *  - OUTRAS_REGIOES  → demais UFs do Brasil
+ */
+public enum RegiaoFrete {
+    SP,
+    SUDESTE,
+    OUTRAS_REGIOES
+}
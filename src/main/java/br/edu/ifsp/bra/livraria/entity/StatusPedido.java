@@ -0,0 +1,46 @@
+package br.edu.ifsp.bra.livraria.entity;
+
+/**
+ * RN03 - Estados do pedido (diagrama de estados / GE).
+ *
+ * Transições permitidas:
+ *  - EM_PROCESSAMENTO → CONFIRMADO (pagamento autorizado)
+ *  - EM_PROCESSAMENTO → CANCELADO  (pagamento não autorizado)
+ *  - CONFIRMADO       → ENTREGUE
+ *
+ * CANCELADO e ENTREGUE são finais.
+ *
+ * etapa ordena os estados ao longo do ciclo de vida: um estado só é
+ * alcançável a partir de estados de etapa menor.
+ */
+public enum StatusPedido {
+    EM_PROCESSAMENTO(0),
+    CONFIRMADO(1),
+    CANCELADO(2),
+    ENTREGUE(2);
+
+    private final int etapa;
+
+    StatusPedido(int etapa) {
+        this.etapa = etapa;
+    }
+
+    public int getEtapa() {
+        return etapa;
+    }
+
+    public boolean isFinal() {
+        return this == CANCELADO || this == ENTREGUE;
+    }
+
+    public boolean permiteTransicaoPara(StatusPedido destino) {
+        switch (this) {
+            case EM_PROCESSAMENTO:
+                return destino == CONFIRMADO || destino == CANCELADO;
+            case CONFIRMADO:
+                return destino == ENTREGUE;
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package br.edu.ifsp.bra.livraria.entity;
+
+/**
+ * Transição de status não permitida pelo diagrama de estados (RN03),
+ * ex.: CANCELADO → ENTREGUE, ou uma transição já aplicada por outra thread.
+ */
+public class TransicaoStatusInvalidaException extends RuntimeException {
+
+    private final StatusPedido atual;
+    private final StatusPedido destino;
+
+    public TransicaoStatusInvalidaException(Long pedidoId, StatusPedido atual, StatusPedido destino) {
+        super("Transição de status inválida para o pedido " + pedidoId + ": " + atual + " → " + destino);
+        this.atual = atual;
+        this.destino = destino;
+    }
+
+    public StatusPedido getAtual() {
+        return atual;
+    }
+
+    public StatusPedido getDestino() {
+        return destino;
+    }
+}
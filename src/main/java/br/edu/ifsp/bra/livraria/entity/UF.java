@@ -0,0 +1,96 @@
+package br.edu.ifsp.bra.livraria.entity;
+
+/**
+ * Unidades federativas do Brasil, já classificadas na região de frete da RN02.
+ *
+ * O ordinal de cada constante é usado como índice das tabelas de frete,
+ * por isso a ordem das constantes não deve ser alterada sem revisar quem
+ * persiste ou serializa esse ordinal.
+ */
+public enum UF {
+    AC(RegiaoFrete.OUTRAS_REGIOES),
+    AL(RegiaoFrete.OUTRAS_REGIOES),
+    AP(RegiaoFrete.OUTRAS_REGIOES),
+    AM(RegiaoFrete.OUTRAS_REGIOES),
+    BA(RegiaoFrete.OUTRAS_REGIOES),
+    CE(RegiaoFrete.OUTRAS_REGIOES),
+    DF(RegiaoFrete.OUTRAS_REGIOES),
+    ES(RegiaoFrete.SUDESTE),
+    GO(RegiaoFrete.OUTRAS_REGIOES),
+    MA(RegiaoFrete.OUTRAS_REGIOES),
+    MT(RegiaoFrete.OUTRAS_REGIOES),
+    MS(RegiaoFrete.OUTRAS_REGIOES),
+    MG(RegiaoFrete.SUDESTE),
+    PA(RegiaoFrete.OUTRAS_REGIOES),
+    PB(RegiaoFrete.OUTRAS_REGIOES),
+    PR(RegiaoFrete.OUTRAS_REGIOES),
+    PE(RegiaoFrete.OUTRAS_REGIOES),
+    PI(RegiaoFrete.OUTRAS_REGIOES),
+    RJ(RegiaoFrete.SUDESTE),
+    RN(RegiaoFrete.OUTRAS_REGIOES),
+    RS(RegiaoFrete.OUTRAS_REGIOES),
+    RO(RegiaoFrete.OUTRAS_REGIOES),
+    RR(RegiaoFrete.OUTRAS_REGIOES),
+    SC(RegiaoFrete.OUTRAS_REGIOES),
+    SP(RegiaoFrete.SP),
+    SE(RegiaoFrete.OUTRAS_REGIOES),
+    TO(RegiaoFrete.OUTRAS_REGIOES);
+
+    private static final UF[] VALORES = values();
+
+    /** Tabela 26x26 indexada pelas duas letras da sigla (A..Z). */
+    private static final UF[] POR_SIGLA = new UF[26 * 26];
+
+    static {
+        for (UF uf : VALORES) {
+            String sigla = uf.name();
+            POR_SIGLA[(sigla.charAt(0) - 'A') * 26 + (sigla.charAt(1) - 'A')] = uf;
+        }
+    }
+
+    private final RegiaoFrete regiao;
+
+    UF(RegiaoFrete regiao) {
+        this.regiao = regiao;
+    }
+
+    public RegiaoFrete getRegiao() {
+        return regiao;
+    }
+
+    /**
+     * Converte a sigla informada no endereço para a UF correspondente,
+     * aceitando maiúsculas ou minúsculas, sem alocar (não usa toUpperCase).
+     *
+     * @param sigla sigla com duas letras (ex.: "SP", "rj")
+     * @return a UF, ou null se a sigla não for de um estado brasileiro
+     */
+    public static UF fromSigla(String sigla) {
+        if (sigla == null || sigla.length() != 2) {
+            return null;
+        }
+        int primeira = indiceLetra(sigla.charAt(0));
+        int segunda = indiceLetra(sigla.charAt(1));
+        if (primeira < 0 || segunda < 0) {
+            return null;
+        }
+        return POR_SIGLA[primeira * 26 + segunda];
+    }
+
+    /**
+     * Devolve a UF pelo ordinal (usado por representações compactas).
+     */
+    public static UF fromOrdinal(int ordinal) {
+        return VALORES[ordinal];
+    }
+
+    public static int quantidade() {
+        return VALORES.length;
+    }
+
+    private static int indiceLetra(char c) {
+        if (c >= 'A' && c <= 'Z') return c - 'A';
+        if (c >= 'a' && c <= 'z') return c - 'a';
+        return -1;
+    }
+}
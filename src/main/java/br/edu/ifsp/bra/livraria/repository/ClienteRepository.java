@@ -1,6 +1,10 @@
 package br.edu.ifsp.bra.livraria.repository;
 
 import br.edu.ifsp.bra.livraria.entity.Cliente;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -11,4 +15,21 @@ import java.util.Optional;
 public interface ClienteRepository {
     Optional<Cliente> findById(Long id);
     Cliente save(Cliente cliente);
-}
\ No newline at end of file
+
+    /**
+     * Busca vários clientes de uma vez. Ids nulos ou inexistentes ficam fora
+     * do mapa devolvido.
+     *
+     * Implementação padrão: um findById por id distinto. Repositórios com
+     * banco (ClienteRepositoryJdbc) fazem uma única consulta por lote de ids.
+     */
+    default Map<Long, Cliente> findAllById(Collection<Long> ids) {
+        Map<Long, Cliente> clientes = new HashMap<>();
+        for (Long id : ids) {
+            if (id != null && !clientes.containsKey(id)) {
+                findById(id).ifPresent(cliente -> clientes.put(id, cliente));
+            }
+        }
+        return clientes;
+    }
+}
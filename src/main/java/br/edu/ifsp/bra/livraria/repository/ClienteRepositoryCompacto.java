@@ -0,0 +1,451 @@
+package br.edu.ifsp.bra.livraria.repository;
+
+import br.edu.ifsp.bra.livraria.entity.Cliente;
+import br.edu.ifsp.bra.livraria.entity.PerfilCliente;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Implementação compacta de ClienteRepository, para bases com dezenas de milhões
+ * de clientes.
+ *
+ * Em vez de um ConcurrentHashMap&lt;Long, Cliente&gt; (chave Long boxed, nó do mapa,
+ * objeto Cliente, LocalDate e duas Strings por cliente), os dados ficam em:
+ *
+ *  - tabela hash de endereçamento aberto com chaves long primitivas
+ *    (long[] chaves + int[] registros, sondagem linear);
+ *  - registros de tamanho fixo (24 bytes) em um ByteBuffer:
+ *      [0]  long id
+ *      [8]  int  dataCadastro (epoch-day)
+ *      [12] int  deslocamento de nome+email na arena
+ *      [16] int  tamanho do nome em bytes UTF-8 (-1 = nulo)
+ *      [20] int  tamanho do email em bytes UTF-8 (-1 = nulo)
+ *  - uma arena de strings (ByteBuffer) com nome e email em UTF-8;
+ *  - o perfil RN01 já classificado, um byte por registro (byte[] perfis),
+ *    e os índices de registro agrupados por dia do ano de cadastro (int[]
+ *    por dia), para a reclassificação diária dos aniversariantes.
+ *
+ * O repositório responde ele mesmo por PerfisClientes: com ele ativo, o
+ * IndicePerfilCliente não é criado, e nenhum cliente é duplicado em
+ * outra estrutura.
+ *
+ * Com offHeap=true os dois ByteBuffers são diretos (fora do heap), e o GC
+ * passa a enxergar apenas os vetores primitivos (tabela hash e perfis).
+ *
+ * findById materializa um Cliente novo a cada chamada; alterações no objeto
+ * devolvido só valem após um novo save. Um save de cliente existente grava
+ * nome/email no fim da arena (o espaço antigo não é reaproveitado).
+ *
+ * Como ClienteRepositoryInMemory, já começa com os clientes de exemplo 1 a 4.
+ *
+ * Limite: cada ByteBuffer comporta até 2 GB (≈ 89 milhões de registros).
+ */
+@Repository
+@ConditionalOnProperty(name = "livraria.clientes.armazenamento", havingValue = "compacto")
+public class ClienteRepositoryCompacto implements ClienteRepository, PerfisClientes {
+
+    static final int TAMANHO_REGISTRO = 24;
+
+    private static final int DESL_ID = 0;
+    private static final int DESL_DATA = 8;
+    private static final int DESL_ARENA = 12;
+    private static final int DESL_NOME = 16;
+    private static final int DESL_EMAIL = 20;
+
+    private static final int SEM_DATA = Integer.MIN_VALUE;
+    private static final byte SEM_PERFIL = 0;
+    private static final int NULO = -1;
+    private static final int CAPACIDADE_INICIAL = 1024;
+    private static final int CAPACIDADE_INICIAL_GRUPO = 4;
+
+    private final boolean offHeap;
+    private final StampedLock lock = new StampedLock();
+
+    // Tabela hash: registros[slot] = índice do registro + 1 (0 = slot livre)
+    private long[] chaves;
+    private int[] registros;
+
+    private ByteBuffer dados;
+    private ByteBuffer arena;
+    private int quantidade;
+    private long maiorId;
+
+    // perfis[registro] = IndicePerfilCliente.codigo do perfil (0 = sem data de cadastro)
+    private byte[] perfis;
+    private final long[] contagemPorPerfil = new long[PerfilCliente.values().length];
+
+    // Aniversariantes: aniversariantes[dia do ano][0 .. tamanhoAniversariantes[dia do ano]) = registros
+    private final int[][] aniversariantes = new int[IndicePerfilCliente.DIAS_DO_ANO][];
+    private final int[] tamanhoAniversariantes = new int[IndicePerfilCliente.DIAS_DO_ANO];
+
+    public ClienteRepositoryCompacto(@Value("${livraria.clientes.compacto.off-heap:true}") boolean offHeap) {
+        this.offHeap = offHeap;
+        this.chaves = new long[CAPACIDADE_INICIAL * 2];
+        this.registros = new int[CAPACIDADE_INICIAL * 2];
+        this.dados = alocar(CAPACIDADE_INICIAL * TAMANHO_REGISTRO);
+        this.arena = alocar(CAPACIDADE_INICIAL * 32);
+        this.perfis = new byte[CAPACIDADE_INICIAL];
+
+        // Mesmos clientes de exemplo de ClienteRepositoryInMemory (para RN01)
+        save(new Cliente(1L, "Cliente Básico", "basico@email.com", LocalDate.now().minusMonths(6)));
+        save(new Cliente(2L, "Cliente Bronze", "bronze@email.com", LocalDate.now().minusYears(2)));
+        save(new Cliente(3L, "Cliente Prata", "prata@email.com", LocalDate.now().minusYears(4)));
+        save(new Cliente(4L, "Cliente Ouro", "ouro@email.com", LocalDate.now().minusYears(7)));
+    }
+
+    @Override
+    public Optional<Cliente> findById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        long stamp = lock.readLock();
+        try {
+            int registro = localizar(id);
+            return registro < 0 ? Optional.empty() : Optional.of(materializar(registro));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public Cliente save(Cliente cliente) {
+        byte[] nome = codificar(cliente.getNome());
+        byte[] email = codificar(cliente.getEmail());
+        LocalDate dataCadastro = cliente.getDataCadastro();
+        byte perfil = dataCadastro != null
+                ? IndicePerfilCliente.codigo(IndicePerfilCliente.classificar(dataCadastro, LocalDate.now()))
+                : SEM_PERFIL;
+
+        long stamp = lock.writeLock();
+        try {
+            Long id = cliente.getId();
+            if (id == null) {
+                id = maiorId + 1;
+                cliente.setId(id);
+            }
+            int registro = localizar(id);
+            int dataAnterior = SEM_DATA;
+            if (registro < 0) {
+                registro = inserirChave(id);
+            } else {
+                dataAnterior = dados.getInt(registro * TAMANHO_REGISTRO + DESL_DATA);
+            }
+            gravarRegistro(registro, id, dataCadastro, nome, email);
+            atualizarPerfil(registro, dataAnterior, perfil);
+            maiorId = Math.max(maiorId, id);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return cliente;
+    }
+
+    @Override
+    public PerfilCliente perfil(Long clienteId) {
+        if (clienteId == null) {
+            return null;
+        }
+        long stamp = lock.readLock();
+        try {
+            int registro = localizar(clienteId);
+            return registro < 0 ? null : IndicePerfilCliente.perfilDoCodigo(perfis[registro]);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Reclassifica só os registros do grupo de aniversariantes do dia, lendo
+     * a data de cadastro do próprio registro.
+     */
+    @Override
+    public int reclassificarAniversariantes(LocalDate aniversario, LocalDate hoje) {
+        long stamp = lock.writeLock();
+        try {
+            int promovidos = 0;
+            for (int dia : IndicePerfilCliente.diasDoAniversario(aniversario)) {
+                int[] grupo = aniversariantes[dia];
+                for (int i = 0; i < tamanhoAniversariantes[dia]; i++) {
+                    int registro = grupo[i];
+                    LocalDate dataCadastro = LocalDate.ofEpochDay(dados.getInt(registro * TAMANHO_REGISTRO + DESL_DATA));
+                    byte novoPerfil = IndicePerfilCliente.codigo(IndicePerfilCliente.classificar(dataCadastro, hoje));
+                    if (novoPerfil != perfis[registro]) {
+                        contagemPorPerfil[perfis[registro] - 1]--;
+                        contagemPorPerfil[novoPerfil - 1]++;
+                        perfis[registro] = novoPerfil;
+                        promovidos++;
+                    }
+                }
+            }
+            return promovidos;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public Map<PerfilCliente, Long> distribuicao() {
+        Map<PerfilCliente, Long> distribuicao = new EnumMap<>(PerfilCliente.class);
+        long stamp = lock.readLock();
+        try {
+            for (PerfilCliente perfil : PerfilCliente.values()) {
+                distribuicao.put(perfil, contagemPorPerfil[perfil.ordinal()]);
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        return Collections.unmodifiableMap(distribuicao);
+    }
+
+    /**
+     * Quantidade de clientes armazenados.
+     */
+    public int quantidade() {
+        long stamp = lock.readLock();
+        try {
+            return quantidade;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Bytes reservados pela estrutura (tabela hash, registros, arena, perfis
+     * e grupos de aniversariantes); registros e arena ficam dentro ou fora do
+     * heap conforme offHeap.
+     */
+    public long bytesReservados() {
+        long stamp = lock.readLock();
+        try {
+            long total = (long) chaves.length * Long.BYTES
+                    + (long) registros.length * Integer.BYTES
+                    + dados.capacity()
+                    + arena.capacity()
+                    + perfis.length;
+            for (int[] grupo : aniversariantes) {
+                if (grupo != null) {
+                    total += (long) grupo.length * Integer.BYTES;
+                }
+            }
+            return total;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Média de bytes reservados por cliente armazenado.
+     */
+    public double bytesPorCliente() {
+        int total = quantidade();
+        return total == 0 ? 0.0 : (double) bytesReservados() / total;
+    }
+
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    // ========== TABELA HASH ==========
+
+    /** Índice do registro do id, ou -1 se ausente. Exige lock (leitura ou escrita). */
+    private int localizar(long id) {
+        int mascara = chaves.length - 1;
+        int slot = espalhar(id) & mascara;
+        while (true) {
+            int registro = registros[slot];
+            if (registro == 0) {
+                return -1;
+            }
+            if (chaves[slot] == id) {
+                return registro - 1;
+            }
+            slot = (slot + 1) & mascara;
+        }
+    }
+
+    /** Cria um novo registro para o id (ausente) e devolve seu índice. Exige lock de escrita. */
+    private int inserirChave(long id) {
+        // Fator de carga máximo de 50%: sondagens curtas mesmo com chaves sequenciais
+        if ((quantidade + 1) * 2 > chaves.length) {
+            redimensionarTabela(chaves.length * 2);
+        }
+        int registro = quantidade++;
+        garantirCapacidadeDados(quantidade);
+        colocar(chaves, registros, id, registro);
+        return registro;
+    }
+
+    private static void colocar(long[] chaves, int[] registros, long id, int registro) {
+        int mascara = chaves.length - 1;
+        int slot = espalhar(id) & mascara;
+        while (registros[slot] != 0) {
+            slot = (slot + 1) & mascara;
+        }
+        chaves[slot] = id;
+        registros[slot] = registro + 1;
+    }
+
+    private void redimensionarTabela(int novaCapacidade) {
+        long[] novasChaves = new long[novaCapacidade];
+        int[] novosRegistros = new int[novaCapacidade];
+        for (int slot = 0; slot < chaves.length; slot++) {
+            if (registros[slot] != 0) {
+                colocar(novasChaves, novosRegistros, chaves[slot], registros[slot] - 1);
+            }
+        }
+        chaves = novasChaves;
+        registros = novosRegistros;
+    }
+
+    /** Finalizador do MurmurHash3 (fmix64): espalha ids sequenciais pela tabela. */
+    private static int espalhar(long id) {
+        long h = id;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    // ========== REGISTROS E ARENA ==========
+
+    private void gravarRegistro(int registro, long id, LocalDate dataCadastro, byte[] nome, byte[] email) {
+        int deslocamentoArena = anexarNaArena(nome, email);
+        int base = registro * TAMANHO_REGISTRO;
+        dados.putLong(base + DESL_ID, id);
+        dados.putInt(base + DESL_DATA, dataCadastro != null ? (int) dataCadastro.toEpochDay() : SEM_DATA);
+        dados.putInt(base + DESL_ARENA, deslocamentoArena);
+        dados.putInt(base + DESL_NOME, nome != null ? nome.length : NULO);
+        dados.putInt(base + DESL_EMAIL, email != null ? email.length : NULO);
+    }
+
+    private Cliente materializar(int registro) {
+        int base = registro * TAMANHO_REGISTRO;
+        long id = dados.getLong(base + DESL_ID);
+        int epochDay = dados.getInt(base + DESL_DATA);
+        int deslocamento = dados.getInt(base + DESL_ARENA);
+        int tamanhoNome = dados.getInt(base + DESL_NOME);
+        int tamanhoEmail = dados.getInt(base + DESL_EMAIL);
+
+        String nome = decodificar(deslocamento, tamanhoNome);
+        String email = decodificar(deslocamento + Math.max(tamanhoNome, 0), tamanhoEmail);
+        LocalDate dataCadastro = epochDay == SEM_DATA ? null : LocalDate.ofEpochDay(epochDay);
+        return new Cliente(id, nome, email, dataCadastro);
+    }
+
+    private int anexarNaArena(byte[] nome, byte[] email) {
+        int tamanho = (nome != null ? nome.length : 0) + (email != null ? email.length : 0);
+        int deslocamento = arena.position();
+        if ((long) deslocamento + tamanho > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Arena de strings de clientes esgotada (limite de 2 GB).");
+        }
+        if (arena.remaining() < tamanho) {
+            arena = crescer(arena, deslocamento, deslocamento + tamanho);
+        }
+        if (nome != null) arena.put(nome);
+        if (email != null) arena.put(email);
+        return deslocamento;
+    }
+
+    private String decodificar(int deslocamento, int tamanho) {
+        if (tamanho == NULO) {
+            return null;
+        }
+        byte[] bytes = new byte[tamanho];
+        arena.get(deslocamento, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void garantirCapacidadeDados(int registrosNecessarios) {
+        long necessario = (long) registrosNecessarios * TAMANHO_REGISTRO;
+        if (necessario > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Capacidade máxima de clientes atingida.");
+        }
+        if (necessario > dados.capacity()) {
+            dados = crescer(dados, (registrosNecessarios - 1) * TAMANHO_REGISTRO, (int) necessario);
+        }
+        if (registrosNecessarios > perfis.length) {
+            perfis = Arrays.copyOf(perfis, Math.max(perfis.length * 2, registrosNecessarios));
+        }
+    }
+
+    /** Novo buffer com ao menos minimo bytes (dobrando), com os primeiros usado bytes copiados. */
+    private ByteBuffer crescer(ByteBuffer atual, int usado, int minimo) {
+        long novaCapacidade = Math.max((long) atual.capacity() * 2, minimo);
+        ByteBuffer novo = alocar((int) Math.min(novaCapacidade, Integer.MAX_VALUE - 8));
+        novo.put(0, atual, 0, usado);
+        novo.position(usado);
+        return novo;
+    }
+
+    private ByteBuffer alocar(int capacidade) {
+        return offHeap ? ByteBuffer.allocateDirect(capacidade) : ByteBuffer.allocate(capacidade);
+    }
+
+    private static byte[] codificar(String texto) {
+        return texto != null ? texto.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    // ========== PERFIS (RN01) ==========
+
+    /**
+     * Grava o perfil do registro, acertando a contagem por perfil e, se a data
+     * de cadastro mudou, o grupo de aniversariantes. dataAnterior = SEM_DATA
+     * para registro novo. Exige lock de escrita.
+     */
+    private void atualizarPerfil(int registro, int dataAnterior, byte perfil) {
+        if (perfis[registro] != SEM_PERFIL) {
+            contagemPorPerfil[perfis[registro] - 1]--;
+        }
+        if (perfil != SEM_PERFIL) {
+            contagemPorPerfil[perfil - 1]++;
+        }
+        perfis[registro] = perfil;
+
+        int data = dados.getInt(registro * TAMANHO_REGISTRO + DESL_DATA);
+        if (data != dataAnterior) {
+            if (dataAnterior != SEM_DATA) {
+                removerAniversariante(IndicePerfilCliente.diaDoAno(LocalDate.ofEpochDay(dataAnterior)), registro);
+            }
+            if (data != SEM_DATA) {
+                adicionarAniversariante(IndicePerfilCliente.diaDoAno(LocalDate.ofEpochDay(data)), registro);
+            }
+        }
+    }
+
+    private void adicionarAniversariante(int dia, int registro) {
+        int[] grupo = aniversariantes[dia];
+        int tamanho = tamanhoAniversariantes[dia];
+        if (grupo == null) {
+            grupo = aniversariantes[dia] = new int[CAPACIDADE_INICIAL_GRUPO];
+        } else if (tamanho == grupo.length) {
+            grupo = aniversariantes[dia] = Arrays.copyOf(grupo, tamanho + (tamanho >> 1));
+        }
+        grupo[tamanho] = registro;
+        tamanhoAniversariantes[dia] = tamanho + 1;
+    }
+
+    /** Troca o registro pelo último do grupo: a ordem dos aniversariantes não importa. */
+    private void removerAniversariante(int dia, int registro) {
+        int[] grupo = aniversariantes[dia];
+        int ultimo = tamanhoAniversariantes[dia] - 1;
+        for (int i = ultimo; i >= 0; i--) {
+            if (grupo[i] == registro) {
+                grupo[i] = grupo[ultimo];
+                tamanhoAniversariantes[dia] = ultimo;
+                return;
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package br.edu.ifsp.bra.livraria.repository;
 
 import br.edu.ifsp.bra.livraria.entity.Cliente;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -14,24 +15,33 @@ import java.util.concurrent.ConcurrentHashMap;
  * Esta classe é usada apenas para testes/demonstração,
  * permitindo que o PedidoService recupere clientes
  * sem necessidade de banco de dados real.
+ *
+ * Todo cliente gravado também é classificado no IndicePerfilCliente (RN01).
+ *
+ * Implementação padrão; para grandes volumes, ver ClienteRepositoryCompacto
+ * (livraria.clientes.armazenamento=compacto).
  */
 @Repository
+@ConditionalOnProperty(name = "livraria.clientes.armazenamento", havingValue = "memoria", matchIfMissing = true)
 public class ClienteRepositoryInMemory implements ClienteRepository {
 
     private final Map<Long, Cliente> banco = new ConcurrentHashMap<>();
+    private final IndicePerfilCliente indicePerfis;
+
+    public ClienteRepositoryInMemory(IndicePerfilCliente indicePerfis) {
+        this.indicePerfis = indicePerfis;
 
-    public ClienteRepositoryInMemory() {
         // Clientes de exemplo com diferentes tempos de vínculo (para RN01)
-        banco.put(1L, new Cliente(1L, "Cliente Básico", "basico@email.com",
+        save(new Cliente(1L, "Cliente Básico", "basico@email.com",
                 LocalDate.now().minusMonths(6))); // < 1 ano
 
-        banco.put(2L, new Cliente(2L, "Cliente Bronze", "bronze@email.com",
+        save(new Cliente(2L, "Cliente Bronze", "bronze@email.com",
                 LocalDate.now().minusYears(2))); // 1 a 3 anos
 
-        banco.put(3L, new Cliente(3L, "Cliente Prata", "prata@email.com",
+        save(new Cliente(3L, "Cliente Prata", "prata@email.com",
                 LocalDate.now().minusYears(4))); // 3 a 5 anos
 
-        banco.put(4L, new Cliente(4L, "Cliente Ouro", "ouro@email.com",
+        save(new Cliente(4L, "Cliente Ouro", "ouro@email.com",
                 LocalDate.now().minusYears(7))); // > 5 anos
     }
 
@@ -43,12 +53,15 @@ public class ClienteRepositoryInMemory implements ClienteRepository {
     @Override
     public Cliente save(Cliente cliente) {
         // Implementação simples para fins de teste:
-        // Se não houver id, gera um novo id apenas para armazenamento interno.
+        // Se não houver id, gera um novo id e o atribui ao cliente
+        // (o índice de perfis é chaveado pelo id).
         Long id = cliente.getId();
         if (id == null) {
             id = gerarNovoId();
+            cliente.setId(id);
         }
         banco.put(id, cliente);
+        indicePerfis.registrar(cliente);
         return cliente;
     }
 
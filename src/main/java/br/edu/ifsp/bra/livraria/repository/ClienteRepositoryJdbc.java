@@ -0,0 +1,245 @@
+package br.edu.ifsp.bra.livraria.repository;
+
+import br.edu.ifsp.bra.livraria.entity.Cliente;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementação de ClienteRepository em banco relacional (JdbcTemplate), para
+ * que os clientes sobrevivam a reinícios. Por padrão usa H2 em arquivo
+ * (spring.datasource.url); a tabela cliente é criada na primeira subida, já
+ * com os clientes de exemplo.
+ *
+ *  - findAllById transforma N buscas em consultas "id IN (...)" de até
+ *    tamanhoLoteIn ids cada (uma só para lotes comuns).
+ *  - Cache próximo (Caffeine) na frente de findById e findAllById, limitado
+ *    por quantidade e por TTL, com estatísticas no Micrometer
+ *    (cache="clientes"). Clientes inexistentes não ficam no cache.
+ *  - save grava no banco, avança a geração de gravações e só então invalida
+ *    a entrada do cache. Em findById, uma leitura concorrente que já tenha
+ *    carregado a versão antiga termina antes da invalidação (o Caffeine
+ *    serializa as duas na mesma chave). Em findAllById, a carga em lote não
+ *    é atômica por chave: cada cliente consultado só entra no cache se
+ *    nenhum save tiver avançado a geração desde o início da consulta
+ *    (verificado dentro do compute da chave). Assim, em nenhum dos dois
+ *    caminhos a versão antiga sobrevive ao save.
+ *
+ * Como nas demais implementações, todo cliente gravado é classificado no
+ * IndicePerfilCliente (RN01); na subida, os clientes já existentes no banco
+ * são classificados de uma vez.
+ */
+@Repository
+@ConditionalOnProperty(name = "livraria.clientes.armazenamento", havingValue = "jdbc")
+public class ClienteRepositoryJdbc implements ClienteRepository {
+
+    private static final String COLUNAS = "id, nome, email, data_cadastro";
+
+    private static final RowMapper<Cliente> MAPEADOR = (rs, linha) -> {
+        Date dataCadastro = rs.getDate("data_cadastro");
+        return new Cliente(rs.getLong("id"), rs.getString("nome"), rs.getString("email"),
+                dataCadastro != null ? dataCadastro.toLocalDate() : null);
+    };
+
+    private final JdbcTemplate jdbc;
+    private final IndicePerfilCliente indicePerfis;
+    private final Cache<Long, Cliente> cache; // null → sem cache
+    private final int tamanhoLoteIn;
+    private final AtomicLong maiorId;
+    private final AtomicLong geracaoGravacoes = new AtomicLong();
+
+    /**
+     * @param tamanhoMaximoCache clientes mantidos no cache (0 → sem cache)
+     * @param ttlCacheSegundos   tempo máximo de uma entrada no cache desde a carga
+     * @param tamanhoLoteIn      máximo de ids por consulta "IN" em findAllById
+     */
+    @Autowired
+    public ClienteRepositoryJdbc(JdbcTemplate jdbc,
+                                 IndicePerfilCliente indicePerfis,
+                                 MeterRegistry registry,
+                                 @Value("${livraria.clientes.jdbc.cache.tamanho-maximo:100000}") long tamanhoMaximoCache,
+                                 @Value("${livraria.clientes.jdbc.cache.ttl-segundos:60}") long ttlCacheSegundos,
+                                 @Value("${livraria.clientes.jdbc.tamanho-lote-in:500}") int tamanhoLoteIn) {
+        this(jdbc, indicePerfis, tamanhoMaximoCache, Duration.ofSeconds(ttlCacheSegundos), tamanhoLoteIn, Ticker.systemTicker());
+        if (cache != null) {
+            CaffeineCacheMetrics.monitor(registry, cache, "clientes");
+        }
+    }
+
+    /**
+     * Construtor usado nos testes de unidade e benchmarks: relógio do cache
+     * controlável, sem métricas.
+     */
+    public ClienteRepositoryJdbc(JdbcTemplate jdbc,
+                                 IndicePerfilCliente indicePerfis,
+                                 long tamanhoMaximoCache,
+                                 Duration ttlCache,
+                                 int tamanhoLoteIn,
+                                 Ticker relogioCache) {
+        if (tamanhoLoteIn <= 0) {
+            throw new IllegalArgumentException("tamanho-lote-in deve ser positivo: " + tamanhoLoteIn);
+        }
+        this.jdbc = jdbc;
+        this.indicePerfis = indicePerfis;
+        this.tamanhoLoteIn = tamanhoLoteIn;
+        this.cache = tamanhoMaximoCache <= 0 ? null : Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximoCache)
+                .expireAfterWrite(ttlCache)
+                .ticker(relogioCache)
+                .recordStats()
+                .build();
+
+        criarTabela();
+        this.maiorId = new AtomicLong(jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) FROM cliente", Long.class));
+        if (maiorId.get() == 0) {
+            inserirClientesDeExemplo();
+        }
+        jdbc.query("SELECT " + COLUNAS + " FROM cliente",
+                rs -> { indicePerfis.registrar(MAPEADOR.mapRow(rs, 0)); });
+    }
+
+    @Override
+    public Optional<Cliente> findById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache != null ? cache.get(id, this::consultar) : consultar(id));
+    }
+
+    @Override
+    public Map<Long, Cliente> findAllById(Collection<Long> ids) {
+        Set<Long> distintos = new LinkedHashSet<>(ids.size() * 2);
+        for (Long id : ids) {
+            if (id != null) {
+                distintos.add(id);
+            }
+        }
+        if (distintos.isEmpty()) {
+            return new HashMap<>();
+        }
+        if (cache == null) {
+            return consultarVarios(distintos);
+        }
+
+        // Com cache, só os ids ausentes vão ao banco (numa única chamada a consultarVarios)
+        Map<Long, Cliente> clientes = new HashMap<>(cache.getAllPresent(distintos));
+        if (clientes.size() == distintos.size()) {
+            return clientes;
+        }
+        Set<Long> ausentes = new LinkedHashSet<>(distintos);
+        ausentes.removeAll(clientes.keySet());
+
+        long geracao = geracaoGravacoes.get();
+        Map<Long, Cliente> consultados = consultarVarios(ausentes);
+        for (Map.Entry<Long, Cliente> consultado : consultados.entrySet()) {
+            // Um save durante a consulta pode já ter invalidado esta chave:
+            // nesse caso o resultado é devolvido, mas não entra no cache
+            cache.asMap().compute(consultado.getKey(), (id, atual) ->
+                    geracaoGravacoes.get() == geracao ? consultado.getValue() : atual);
+        }
+        clientes.putAll(consultados);
+        return clientes;
+    }
+
+    @Override
+    public Cliente save(Cliente cliente) {
+        Long id = cliente.getId();
+        if (id == null) {
+            id = maiorId.incrementAndGet();
+            cliente.setId(id);
+        } else {
+            long explicito = id;
+            maiorId.accumulateAndGet(explicito, Math::max);
+        }
+
+        // MERGE ... KEY (id): insere ou atualiza (sintaxe do H2)
+        jdbc.update("MERGE INTO cliente (" + COLUNAS + ") KEY (id) VALUES (?, ?, ?, ?)",
+                id, cliente.getNome(), cliente.getEmail(),
+                cliente.getDataCadastro() != null ? Date.valueOf(cliente.getDataCadastro()) : null);
+        if (cache != null) {
+            geracaoGravacoes.incrementAndGet(); // antes do invalidate: ver findAllById
+            cache.invalidate(id);
+        }
+
+        indicePerfis.registrar(cliente);
+        return cliente;
+    }
+
+    /**
+     * Estatísticas do cache (acertos, faltas, remoções), ou null se o cache estiver desligado.
+     */
+    public CacheStats estatisticasCache() {
+        return cache != null ? cache.stats() : null;
+    }
+
+    private Cliente consultar(Long id) {
+        List<Cliente> encontrados = jdbc.query("SELECT " + COLUNAS + " FROM cliente WHERE id = ?", MAPEADOR, id);
+        return encontrados.isEmpty() ? null : encontrados.get(0);
+    }
+
+    /** Uma consulta "IN" por bloco de até tamanhoLoteIn ids; ids inexistentes ficam fora do mapa. */
+    private Map<Long, Cliente> consultarVarios(Set<? extends Long> ids) {
+        Map<Long, Cliente> clientes = new HashMap<>(ids.size() * 2);
+        List<Long> bloco = new ArrayList<>(Math.min(ids.size(), tamanhoLoteIn));
+        for (Long id : ids) {
+            bloco.add(id);
+            if (bloco.size() == tamanhoLoteIn) {
+                consultarBloco(bloco, clientes);
+                bloco.clear();
+            }
+        }
+        if (!bloco.isEmpty()) {
+            consultarBloco(bloco, clientes);
+        }
+        return clientes;
+    }
+
+    private void consultarBloco(List<Long> ids, Map<Long, Cliente> clientes) {
+        String marcadores = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        jdbc.query("SELECT " + COLUNAS + " FROM cliente WHERE id IN (" + marcadores + ")",
+                rs -> {
+                    Cliente cliente = MAPEADOR.mapRow(rs, 0);
+                    clientes.put(cliente.getId(), cliente);
+                },
+                ids.toArray());
+    }
+
+    private void criarTabela() {
+        jdbc.execute("CREATE TABLE IF NOT EXISTS cliente ("
+                + "id BIGINT PRIMARY KEY, "
+                + "nome VARCHAR(255), "
+                + "email VARCHAR(255), "
+                + "data_cadastro DATE)");
+    }
+
+    // Mesmos clientes de exemplo de ClienteRepositoryInMemory (para RN01)
+    private void inserirClientesDeExemplo() {
+        save(new Cliente(1L, "Cliente Básico", "basico@email.com", LocalDate.now().minusMonths(6)));
+        save(new Cliente(2L, "Cliente Bronze", "bronze@email.com", LocalDate.now().minusYears(2)));
+        save(new Cliente(3L, "Cliente Prata", "prata@email.com", LocalDate.now().minusYears(4)));
+        save(new Cliente(4L, "Cliente Ouro", "ouro@email.com", LocalDate.now().minusYears(7)));
+    }
+}
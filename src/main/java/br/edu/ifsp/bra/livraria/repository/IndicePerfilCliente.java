@@ -0,0 +1,413 @@
+package br.edu.ifsp.bra.livraria.repository;
+
+import br.edu.ifsp.bra.livraria.entity.Cliente;
+import br.edu.ifsp.bra.livraria.entity.PerfilCliente;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Índice do perfil RN01 (BASICO, BRONZE, PRATA, OURO) de cada cliente,
+ * mantido ao lado do ClienteRepository.
+ *
+ * O perfil é calculado no cadastro (save) e guardado já classificado, de modo
+ * que o cálculo de desconto no caminho do pedido seja apenas uma consulta,
+ * sem relógio nem aritmética de datas.
+ *
+ * Como o perfil só muda no aniversário de cadastro, os clientes também ficam
+ * agrupados pelo dia/mês de cadastro. A reclassificação diária percorre apenas
+ * os aniversariantes do dia (ver reclassificarAniversariantes), e não a base inteira.
+ *
+ * Estruturas primitivas, no mesmo estilo de ClienteRepositoryCompacto, para
+ * não custar mais por cliente do que o byte de perfil que guarda:
+ *
+ *  - tabela hash de endereçamento aberto com chaves long primitivas
+ *    (long[] chaves + int[] datas de cadastro em epoch-day + byte[] perfis,
+ *    sondagem linear);
+ *  - um long[] de ids por dia do ano (366 grupos, 29/02 incluído).
+ *
+ * perfil() faz leitura otimista (StampedLock), sem bloquear os pedidos
+ * concorrentes; cadastros e reclassificação usam o lock de escrita.
+ *
+ * Não é criado com livraria.clientes.armazenamento=compacto:
+ * ClienteRepositoryCompacto guarda o perfil nos próprios registros.
+ */
+@Component
+@ConditionalOnExpression("'${livraria.clientes.armazenamento:memoria}' != 'compacto'")
+public class IndicePerfilCliente implements PerfisClientes {
+
+    private static final PerfilCliente[] PERFIS = PerfilCliente.values();
+
+    private static final byte LIVRE = 0;
+    private static final int CAPACIDADE_INICIAL = 1024;
+    private static final int CAPACIDADE_INICIAL_GRUPO = 4;
+
+    // Primeiro dia de cada mês num ano bissexto: 29/02 tem grupo próprio
+    private static final int[] INICIO_DO_MES = {0, 31, 60, 91, 121, 152, 182, 213, 244, 274, 305, 335};
+    static final int DIAS_DO_ANO = 366;
+    private static final int VINTE_E_NOVE_DE_FEVEREIRO = INICIO_DO_MES[1] + 28;
+
+    private final StampedLock lock = new StampedLock();
+
+    // Tabela hash: perfis[slot] = ordinal do perfil + 1 (0 = slot livre)
+    private long[] chaves = new long[CAPACIDADE_INICIAL * 2];
+    private int[] datas = new int[CAPACIDADE_INICIAL * 2];
+    private byte[] perfis = new byte[CAPACIDADE_INICIAL * 2];
+    private int quantidade;
+
+    // Aniversariantes: grupos[dia do ano][0 .. tamanhoGrupos[dia do ano]) = ids
+    private final long[][] grupos = new long[DIAS_DO_ANO][];
+    private final int[] tamanhoGrupos = new int[DIAS_DO_ANO];
+
+    private final long[] contagemPorPerfil = new long[PERFIS.length];
+
+    /**
+     * Classifica (ou reclassifica) o cliente com base na data de hoje.
+     */
+    public void registrar(Cliente cliente) {
+        registrar(cliente, LocalDate.now());
+    }
+
+    /**
+     * Classifica (ou reclassifica) o cliente na data de referência informada.
+     * Clientes sem data de cadastro ficam fora do índice.
+     */
+    public void registrar(Cliente cliente, LocalDate hoje) {
+        Long id = cliente.getId();
+        LocalDate dataCadastro = cliente.getDataCadastro();
+        if (id == null) {
+            throw new IllegalArgumentException("Cliente sem id não pode ser indexado.");
+        }
+        if (dataCadastro == null) {
+            remover(id);
+            return;
+        }
+        int epochDay = (int) dataCadastro.toEpochDay();
+        byte perfil = codigo(classificar(dataCadastro, hoje));
+
+        long stamp = lock.writeLock();
+        try {
+            int slot = localizar(id);
+            if (slot < 0) {
+                slot = inserirChave(id);
+                adicionarAoGrupo(diaDoAno(dataCadastro), id);
+            } else {
+                contagemPorPerfil[perfis[slot] - 1]--;
+                if (datas[slot] != epochDay) {
+                    removerDoGrupo(diaDoAno(LocalDate.ofEpochDay(datas[slot])), id);
+                    adicionarAoGrupo(diaDoAno(dataCadastro), id);
+                }
+            }
+            datas[slot] = epochDay;
+            perfis[slot] = perfil;
+            contagemPorPerfil[perfil - 1]++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Retira o cliente do índice (e da contagem por perfil).
+     */
+    public void remover(Long clienteId) {
+        if (clienteId == null) {
+            return;
+        }
+        long stamp = lock.writeLock();
+        try {
+            int slot = localizar(clienteId);
+            if (slot < 0) {
+                return;
+            }
+            contagemPorPerfil[perfis[slot] - 1]--;
+            removerDoGrupo(diaDoAno(LocalDate.ofEpochDay(datas[slot])), clienteId);
+            apagar(slot);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Perfil indexado do cliente, ou null se o cliente não estiver no índice.
+     */
+    @Override
+    public PerfilCliente perfil(Long clienteId) {
+        if (clienteId == null) {
+            return null;
+        }
+        long stamp = lock.tryOptimisticRead();
+        byte perfil = buscarPerfil(clienteId);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                perfil = buscarPerfil(clienteId);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return perfilDoCodigo(perfil);
+    }
+
+    /**
+     * Reclassifica apenas os clientes que fazem aniversário de cadastro na
+     * data informada, na data de referência hoje. Em anos não bissextos, quem
+     * foi cadastrado em 29/02 completa o ano em 01/03 (mesma regra de
+     * ChronoUnit.YEARS).
+     *
+     * @param aniversario dia cujos aniversariantes são reclassificados
+     * @param hoje        data de referência da classificação
+     * @return quantidade de clientes que mudaram de perfil
+     */
+    @Override
+    public int reclassificarAniversariantes(LocalDate aniversario, LocalDate hoje) {
+        long stamp = lock.writeLock();
+        try {
+            int promovidos = 0;
+            for (int dia : diasDoAniversario(aniversario)) {
+                promovidos += reclassificarGrupo(dia, hoje);
+            }
+            return promovidos;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Quantidade de clientes por perfil, para relatórios.
+     */
+    @Override
+    public Map<PerfilCliente, Long> distribuicao() {
+        Map<PerfilCliente, Long> distribuicao = new EnumMap<>(PerfilCliente.class);
+        long stamp = lock.readLock();
+        try {
+            for (PerfilCliente perfil : PERFIS) {
+                distribuicao.put(perfil, contagemPorPerfil[perfil.ordinal()]);
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        return Collections.unmodifiableMap(distribuicao);
+    }
+
+    /**
+     * Quantidade de clientes indexados.
+     */
+    public int quantidade() {
+        long stamp = lock.readLock();
+        try {
+            return quantidade;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Bytes reservados pelo índice (tabela hash e grupos de aniversariantes).
+     */
+    public long bytesReservados() {
+        long stamp = lock.readLock();
+        try {
+            long total = (long) chaves.length * (Long.BYTES + Integer.BYTES + Byte.BYTES);
+            for (long[] grupo : grupos) {
+                if (grupo != null) {
+                    total += (long) grupo.length * Long.BYTES;
+                }
+            }
+            return total;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // ========== TABELA HASH ==========
+
+    /** Slot do id, ou -1 se ausente. Exige lock (leitura ou escrita). */
+    private int localizar(long id) {
+        int mascara = chaves.length - 1;
+        int slot = espalhar(id) & mascara;
+        while (perfis[slot] != LIVRE) {
+            if (chaves[slot] == id) {
+                return slot;
+            }
+            slot = (slot + 1) & mascara;
+        }
+        return -1;
+    }
+
+    /**
+     * Perfil do id (ou LIVRE), tolerante a escritas concorrentes: sob leitura
+     * otimista os vetores podem ser de gerações diferentes, e o resultado só
+     * vale se validate() confirmar.
+     */
+    private byte buscarPerfil(long id) {
+        long[] chaves = this.chaves;
+        byte[] perfis = this.perfis;
+        if (chaves.length != perfis.length) {
+            return LIVRE;
+        }
+        int mascara = chaves.length - 1;
+        int slot = espalhar(id) & mascara;
+        for (int sondagens = 0; sondagens < chaves.length; sondagens++) {
+            byte perfil = perfis[slot];
+            if (perfil == LIVRE) {
+                return LIVRE;
+            }
+            if (chaves[slot] == id) {
+                return perfil;
+            }
+            slot = (slot + 1) & mascara;
+        }
+        return LIVRE;
+    }
+
+    /** Reserva um slot para o id (ausente); o chamador grava data e perfil. Exige lock de escrita. */
+    private int inserirChave(long id) {
+        // Fator de carga máximo de 50%: sondagens curtas mesmo com chaves sequenciais
+        if ((quantidade + 1) * 2 > chaves.length) {
+            redimensionarTabela(chaves.length * 2);
+        }
+        quantidade++;
+        int mascara = chaves.length - 1;
+        int slot = espalhar(id) & mascara;
+        while (perfis[slot] != LIVRE) {
+            slot = (slot + 1) & mascara;
+        }
+        chaves[slot] = id;
+        return slot;
+    }
+
+    private void redimensionarTabela(int novaCapacidade) {
+        long[] novasChaves = new long[novaCapacidade];
+        int[] novasDatas = new int[novaCapacidade];
+        byte[] novosPerfis = new byte[novaCapacidade];
+        int mascara = novaCapacidade - 1;
+        for (int slot = 0; slot < chaves.length; slot++) {
+            if (perfis[slot] != LIVRE) {
+                int destino = espalhar(chaves[slot]) & mascara;
+                while (novosPerfis[destino] != LIVRE) {
+                    destino = (destino + 1) & mascara;
+                }
+                novasChaves[destino] = chaves[slot];
+                novasDatas[destino] = datas[slot];
+                novosPerfis[destino] = perfis[slot];
+            }
+        }
+        chaves = novasChaves;
+        datas = novasDatas;
+        perfis = novosPerfis;
+    }
+
+    /**
+     * Libera o slot e puxa para trás os clientes seguintes da mesma sequência
+     * de sondagem (sem lápides). Exige lock de escrita.
+     */
+    private void apagar(int slot) {
+        int mascara = chaves.length - 1;
+        int livre = slot;
+        int atual = (slot + 1) & mascara;
+        while (perfis[atual] != LIVRE) {
+            int ideal = espalhar(chaves[atual]) & mascara;
+            // Só pode ocupar o slot livre se ele estiver no seu caminho de sondagem
+            if (((atual - ideal) & mascara) >= ((atual - livre) & mascara)) {
+                chaves[livre] = chaves[atual];
+                datas[livre] = datas[atual];
+                perfis[livre] = perfis[atual];
+                livre = atual;
+            }
+            atual = (atual + 1) & mascara;
+        }
+        perfis[livre] = LIVRE;
+        quantidade--;
+    }
+
+    /** Finalizador do MurmurHash3 (fmix64): espalha ids sequenciais pela tabela. */
+    private static int espalhar(long id) {
+        long h = id;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    // ========== ANIVERSARIANTES ==========
+
+    /** Exige lock de escrita. */
+    private int reclassificarGrupo(int dia, LocalDate hoje) {
+        long[] grupo = grupos[dia];
+        int promovidos = 0;
+        for (int i = 0; i < tamanhoGrupos[dia]; i++) {
+            int slot = localizar(grupo[i]);
+            PerfilCliente atual = PERFIS[perfis[slot] - 1];
+            PerfilCliente novoPerfil = classificar(LocalDate.ofEpochDay(datas[slot]), hoje);
+            if (novoPerfil != atual) {
+                contagemPorPerfil[atual.ordinal()]--;
+                contagemPorPerfil[novoPerfil.ordinal()]++;
+                perfis[slot] = codigo(novoPerfil);
+                promovidos++;
+            }
+        }
+        return promovidos;
+    }
+
+    private void adicionarAoGrupo(int dia, long id) {
+        long[] grupo = grupos[dia];
+        int tamanho = tamanhoGrupos[dia];
+        if (grupo == null) {
+            grupo = grupos[dia] = new long[CAPACIDADE_INICIAL_GRUPO];
+        } else if (tamanho == grupo.length) {
+            grupo = grupos[dia] = Arrays.copyOf(grupo, tamanho + (tamanho >> 1));
+        }
+        grupo[tamanho] = id;
+        tamanhoGrupos[dia] = tamanho + 1;
+    }
+
+    /** Troca o id pelo último do grupo: a ordem dos aniversariantes não importa. */
+    private void removerDoGrupo(int dia, long id) {
+        long[] grupo = grupos[dia];
+        int ultimo = tamanhoGrupos[dia] - 1;
+        for (int i = ultimo; i >= 0; i--) {
+            if (grupo[i] == id) {
+                grupo[i] = grupo[ultimo];
+                tamanhoGrupos[dia] = ultimo;
+                return;
+            }
+        }
+    }
+
+    /** Grupo (0 a 365) dos aniversariantes de cadastro na data; 29/02 tem grupo próprio. */
+    static int diaDoAno(LocalDate data) {
+        return INICIO_DO_MES[data.getMonthValue() - 1] + data.getDayOfMonth() - 1;
+    }
+
+    /** Grupos que completam ano no aniversário informado: em 01/03 de ano não bissexto, também 29/02. */
+    static int[] diasDoAniversario(LocalDate aniversario) {
+        int dia = diaDoAno(aniversario);
+        if (!aniversario.isLeapYear() && aniversario.getMonth() == Month.MARCH && aniversario.getDayOfMonth() == 1) {
+            return new int[] {dia, VINTE_E_NOVE_DE_FEVEREIRO};
+        }
+        return new int[] {dia};
+    }
+
+    /** Perfil guardado em byte: ordinal + 1 (0 = sem perfil). */
+    static byte codigo(PerfilCliente perfil) {
+        return (byte) (perfil.ordinal() + 1);
+    }
+
+    static PerfilCliente perfilDoCodigo(byte codigo) {
+        return codigo == LIVRE ? null : PERFIS[codigo - 1];
+    }
+
+    static PerfilCliente classificar(LocalDate dataCadastro, LocalDate hoje) {
+        return PerfilCliente.paraAnosDeVinculo(ChronoUnit.YEARS.between(dataCadastro, hoje));
+    }
+}
@@ -0,0 +1,28 @@
+package br.edu.ifsp.bra.livraria.repository;
+
+import br.edu.ifsp.bra.livraria.entity.Pedido;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositório de pedidos.
+ *
+ * Ao salvar um pedido sem id, a implementação atribui o próximo id da sequência.
+ * Salvar novamente um pedido já existente (ex.: mudança de status RN03)
+ * substitui a versão anterior.
+ *
+ * reservarId consome um id da mesma sequência sem gravar nada; o pedido
+ * salvo depois com esse id ocupa a posição reservada.
+ *
+ * findAposId percorre os pedidos por cursor: devolve até limite pedidos com
+ * id maior que aposId, em ordem crescente de id. O último id da página é o
+ * cursor da próxima; o custo de cada página não cresce com a posição, ao
+ * contrário de paginação por deslocamento.
+ */
+public interface PedidoRepository {
+    long reservarId();
+    Optional<Pedido> findById(Long id);
+    Pedido save(Pedido pedido);
+    List<Pedido> findAposId(long aposId, int limite);
+}
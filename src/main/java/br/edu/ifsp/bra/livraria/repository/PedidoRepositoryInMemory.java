@@ -0,0 +1,58 @@
+package br.edu.ifsp.bra.livraria.repository;
+
+import br.edu.ifsp.bra.livraria.entity.Pedido;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementação em memória de PedidoRepository, sem durabilidade.
+ *
+ * Usada nos testes de unidade e quando o journal está desabilitado
+ * (livraria.pedidos.journal.habilitado=false).
+ */
+@Repository
+@ConditionalOnProperty(name = "livraria.pedidos.journal.habilitado", havingValue = "false")
+public class PedidoRepositoryInMemory implements PedidoRepository {
+
+    private final ConcurrentSkipListMap<Long, Pedido> banco = new ConcurrentSkipListMap<>();
+    private final AtomicLong sequencia = new AtomicLong();
+
+    @Override
+    public long reservarId() {
+        return sequencia.incrementAndGet();
+    }
+
+    @Override
+    public Optional<Pedido> findById(Long id) {
+        return Optional.ofNullable(banco.get(id));
+    }
+
+    @Override
+    public Pedido save(Pedido pedido) {
+        if (pedido.getId() == null) {
+            pedido.setId(sequencia.incrementAndGet());
+        } else {
+            sequencia.accumulateAndGet(pedido.getId(), Math::max);
+        }
+        banco.put(pedido.getId(), pedido);
+        return pedido;
+    }
+
+    @Override
+    public List<Pedido> findAposId(long aposId, int limite) {
+        List<Pedido> pagina = new ArrayList<>(Math.min(limite, 1024));
+        for (Pedido pedido : banco.tailMap(aposId, false).values()) {
+            if (pagina.size() == limite) {
+                break;
+            }
+            pagina.add(pedido);
+        }
+        return pagina;
+    }
+}
@@ -0,0 +1,47 @@
+package br.edu.ifsp.bra.livraria.repository;
+
+import br.edu.ifsp.bra.livraria.entity.PerfilCliente;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Perfil RN01 já classificado de cada cliente: consultado no cálculo de
+ * desconto (CalculadoraDescontoService), promovido pela rotina diária
+ * (ReclassificacaoPerfilJob) e resumido para relatórios (ClienteController).
+ *
+ * Com os repositórios em memória e JDBC, quem responde é o
+ * IndicePerfilCliente; ClienteRepositoryCompacto guarda o perfil junto dos
+ * seus próprios registros.
+ */
+public interface PerfisClientes {
+
+    /**
+     * Perfil classificado do cliente, ou null se o cliente não for conhecido
+     * (ou não tiver data de cadastro).
+     */
+    PerfilCliente perfil(Long clienteId);
+
+    /**
+     * Reclassifica os aniversariantes de cadastro do dia informado.
+     *
+     * @return quantidade de clientes que mudaram de perfil
+     */
+    default int reclassificarAniversariantes(LocalDate hoje) {
+        return reclassificarAniversariantes(hoje, hoje);
+    }
+
+    /**
+     * Reclassifica, na data de referência hoje, os aniversariantes de outro
+     * dia (recuperação de execuções diárias perdidas). Em anos não bissextos,
+     * quem foi cadastrado em 29/02 completa o ano em 01/03.
+     *
+     * @return quantidade de clientes que mudaram de perfil
+     */
+    int reclassificarAniversariantes(LocalDate aniversario, LocalDate hoje);
+
+    /**
+     * Quantidade de clientes por perfil, para relatórios.
+     */
+    Map<PerfilCliente, Long> distribuicao();
+}
@@ -0,0 +1,445 @@
+package br.edu.ifsp.bra.livraria.repository.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Journal append-only de registros binários, dividido em arquivos de segmento.
+ *
+ * Formato de cada registro no segmento:
+ *
+ *   [int tamanho][int crc32 dos dados][dados...]
+ *
+ * Escrita: os chamadores apenas enfileiram o registro (anexar); uma única thread
+ * escritora drena a fila, grava os registros com FileChannel e faz o fsync
+ * conforme o ModoDurabilidade. No modo LOTE, todos os registros drenados juntos
+ * são confirmados por um único fsync (group commit).
+ *
+ * Recuperação: na abertura, os segmentos são lidos em ordem via memória mapeada
+ * e cada registro válido é entregue ao consumidor de replay. Um registro
+ * incompleto ou com CRC inválido no fim do último segmento (escrita interrompida
+ * por queda) é descartado e o arquivo é truncado nesse ponto.
+ *
+ * Falha de E/S na escrita: as escritas ainda não confirmadas falham, o segmento
+ * é truncado de volta ao último registro completo (sem deixar registro pela
+ * metade para a recuperação) e o journal fica em falha: novos anexar são
+ * recusados até a aplicação ser reiniciada.
+ */
+public class JournalPedidos implements Closeable {
+
+    static final String PREFIXO_SEGMENTO = "pedidos-";
+    static final String SUFIXO_SEGMENTO = ".log";
+
+    private static final int CABECALHO = 8;
+    private static final int TAMANHO_MAXIMO_REGISTRO = 16 * 1024 * 1024;
+    private static final long TAMANHO_MAXIMO_SEGMENTO = 1024L * 1024 * 1024;
+    private static final int CAPACIDADE_FILA = 65_536;
+    private static final int LOTE_MAXIMO = 4_096;
+    private static final long ESPERA_OCIOSA_MS = 100;
+
+    /** Registro aguardando a thread escritora. */
+    private static final class Escrita {
+        final byte[] dados;
+        final int crc;
+        final CompletableFuture<Void> confirmacao = new CompletableFuture<>();
+
+        Escrita(byte[] dados, int crc) {
+            this.dados = dados;
+            this.crc = crc;
+        }
+    }
+
+    /** Abertura dos arquivos de segmento (substituível nos testes, para injetar falhas). */
+    interface AberturaCanal {
+        FileChannel abrir(Path arquivo, OpenOption... opcoes) throws IOException;
+    }
+
+    private final Path diretorio;
+    private final ModoDurabilidade modo;
+    private final long tamanhoSegmento;
+    private final long intervaloFsyncNanos;
+    private final AberturaCanal aberturaCanal;
+
+    private final BlockingQueue<Escrita> fila = new ArrayBlockingQueue<>(CAPACIDADE_FILA);
+    private final Thread escritor;
+    private volatile boolean aberto = true;
+    private volatile IOException falha;
+
+    // Estado abaixo é acessado apenas pela thread escritora (após a abertura)
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(1024 * 1024);
+    private FileChannel canal;
+    private long numeroSegmento;
+    private long posicao;
+    private long posicaoSegura; // fim do último registro completo no segmento atual
+    private boolean fsyncPendente;
+    private long ultimoFsync;
+
+    /**
+     * Abre (ou cria) o journal no diretório, reproduzindo os registros existentes.
+     *
+     * @param diretorio         diretório dos arquivos de segmento
+     * @param modo              garantia de durabilidade das escritas
+     * @param tamanhoSegmento   tamanho a partir do qual um novo segmento é iniciado (bytes)
+     * @param intervaloFsyncMs  intervalo máximo entre fsyncs no modo ASSINCRONO
+     * @param replay            recebe, em ordem, os dados de cada registro recuperado
+     */
+    public JournalPedidos(Path diretorio,
+                          ModoDurabilidade modo,
+                          long tamanhoSegmento,
+                          long intervaloFsyncMs,
+                          Consumer<byte[]> replay) throws IOException {
+        this(diretorio, modo, tamanhoSegmento, intervaloFsyncMs, replay, FileChannel::open);
+    }
+
+    JournalPedidos(Path diretorio,
+                   ModoDurabilidade modo,
+                   long tamanhoSegmento,
+                   long intervaloFsyncMs,
+                   Consumer<byte[]> replay,
+                   AberturaCanal aberturaCanal) throws IOException {
+        if (tamanhoSegmento <= CABECALHO || tamanhoSegmento > TAMANHO_MAXIMO_SEGMENTO) {
+            throw new IllegalArgumentException("Tamanho de segmento inválido: " + tamanhoSegmento);
+        }
+        this.diretorio = diretorio;
+        this.modo = modo;
+        this.tamanhoSegmento = tamanhoSegmento;
+        this.intervaloFsyncNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, intervaloFsyncMs));
+        this.aberturaCanal = aberturaCanal;
+
+        Files.createDirectories(diretorio);
+        recuperar(replay);
+
+        this.ultimoFsync = System.nanoTime();
+        this.escritor = new Thread(this::executar, "journal-pedidos");
+        this.escritor.setDaemon(true);
+        this.escritor.start();
+    }
+
+    /**
+     * Enfileira um registro para gravação. Bloqueia apenas se a fila estiver cheia.
+     *
+     * @return futuro concluído quando o registro atingir a durabilidade do modo
+     *         configurado (no modo ASSINCRONO, quando for gravado no arquivo)
+     * @throws IllegalStateException se o journal foi fechado ou está em falha de E/S
+     */
+    public CompletableFuture<Void> anexar(byte[] dados) {
+        if (dados.length == 0 || dados.length > TAMANHO_MAXIMO_REGISTRO) {
+            throw new IllegalArgumentException("Tamanho de registro inválido: " + dados.length);
+        }
+        verificarDisponivel();
+        CRC32 crc = new CRC32();
+        crc.update(dados);
+        Escrita escrita = new Escrita(dados, (int) crc.getValue());
+        try {
+            fila.put(escrita);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido ao gravar no journal de pedidos.", e);
+        }
+        if (falha != null || (!aberto && !escritor.isAlive())) {
+            // Fechado ou em falha entre a verificação acima e o put: ninguém mais vai drenar a fila
+            falharPendentes();
+        }
+        return escrita.confirmacao;
+    }
+
+    private void verificarDisponivel() {
+        IOException causa = falha;
+        if (causa != null) {
+            throw new IllegalStateException("Journal de pedidos em falha de E/S; reinicie a aplicação.", causa);
+        }
+        if (!aberto) {
+            throw new IllegalStateException("Journal de pedidos já foi fechado.");
+        }
+    }
+
+    public ModoDurabilidade getModo() {
+        return modo;
+    }
+
+    /**
+     * Grava o que ainda estiver na fila, faz o fsync final e fecha o segmento atual.
+     */
+    @Override
+    public void close() throws IOException {
+        aberto = false;
+        try {
+            escritor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ========== RECUPERAÇÃO ==========
+
+    private void recuperar(Consumer<byte[]> replay) throws IOException {
+        List<Path> segmentos = listarSegmentos();
+        long validoNoUltimo = 0;
+        for (int i = 0; i < segmentos.size(); i++) {
+            boolean ultimo = i == segmentos.size() - 1;
+            long valido = reproduzirSegmento(segmentos.get(i), replay);
+            if (!ultimo && valido < Files.size(segmentos.get(i))) {
+                throw new IllegalStateException("Segmento do journal corrompido: " + segmentos.get(i));
+            }
+            validoNoUltimo = valido;
+        }
+
+        if (segmentos.isEmpty()) {
+            abrirSegmento(1);
+        } else {
+            Path ultimo = segmentos.get(segmentos.size() - 1);
+            numeroSegmento = numeroDoSegmento(ultimo);
+            canal = aberturaCanal.abrir(ultimo, StandardOpenOption.WRITE);
+            // Descarta um registro final incompleto (escrita interrompida)
+            canal.truncate(validoNoUltimo);
+            canal.position(validoNoUltimo);
+            posicao = validoNoUltimo;
+            posicaoSegura = validoNoUltimo;
+        }
+    }
+
+    private long reproduzirSegmento(Path arquivo, Consumer<byte[]> replay) throws IOException {
+        try (FileChannel leitura = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            long tamanho = leitura.size();
+            if (tamanho == 0) {
+                return 0;
+            }
+            MappedByteBuffer mapa = leitura.map(FileChannel.MapMode.READ_ONLY, 0, tamanho);
+            CRC32 crc = new CRC32();
+            while (mapa.remaining() >= CABECALHO) {
+                int inicio = mapa.position();
+                int tamanhoRegistro = mapa.getInt();
+                int crcEsperado = mapa.getInt();
+                if (tamanhoRegistro <= 0 || tamanhoRegistro > mapa.remaining()) {
+                    mapa.position(inicio);
+                    break;
+                }
+                byte[] dados = new byte[tamanhoRegistro];
+                mapa.get(dados);
+                crc.reset();
+                crc.update(dados);
+                if ((int) crc.getValue() != crcEsperado) {
+                    mapa.position(inicio);
+                    break;
+                }
+                replay.accept(dados);
+            }
+            return mapa.position();
+        }
+    }
+
+    private List<Path> listarSegmentos() throws IOException {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos
+                    .filter(p -> {
+                        String nome = p.getFileName().toString();
+                        return nome.startsWith(PREFIXO_SEGMENTO) && nome.endsWith(SUFIXO_SEGMENTO);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long numeroDoSegmento(Path arquivo) {
+        String nome = arquivo.getFileName().toString();
+        return Long.parseLong(nome.substring(PREFIXO_SEGMENTO.length(), nome.length() - SUFIXO_SEGMENTO.length()));
+    }
+
+    // ========== ESCRITA (thread escritora) ==========
+
+    private void executar() {
+        List<Escrita> lote = new ArrayList<>(LOTE_MAXIMO);
+        long espera = modo == ModoDurabilidade.ASSINCRONO
+                ? TimeUnit.NANOSECONDS.toMillis(intervaloFsyncNanos)
+                : ESPERA_OCIOSA_MS;
+        try {
+            while ((aberto || !fila.isEmpty()) && falha == null) {
+                Escrita primeira = fila.poll(espera, TimeUnit.MILLISECONDS);
+                if (primeira == null) {
+                    sincronizarSePendente();
+                    continue;
+                }
+                lote.add(primeira);
+                fila.drainTo(lote, LOTE_MAXIMO - 1);
+                gravarLote(lote);
+                lote.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            try {
+                if (falha == null) {
+                    descarregarBuffer();
+                    canal.force(false);
+                }
+                canal.close();
+            } catch (IOException e) {
+                // Nada a confirmar: os lotes já gravados foram confirmados individualmente
+            }
+            falharPendentes();
+        }
+    }
+
+    private void gravarLote(List<Escrita> lote) {
+        int confirmadas = 0;
+        try {
+            if (modo == ModoDurabilidade.SINCRONO) {
+                for (Escrita escrita : lote) {
+                    gravar(escrita);
+                    descarregarBuffer();
+                    canal.force(false);
+                    posicaoSegura = posicao;
+                    escrita.confirmacao.complete(null);
+                    confirmadas++;
+                }
+                return;
+            }
+
+            for (int i = 0; i < lote.size(); i++) {
+                if (precisaNovoSegmento(lote.get(i))) {
+                    // O novo segmento só começa depois do fsync do atual: o que
+                    // já foi gravado deste lote está durável
+                    iniciarNovoSegmento();
+                    confirmar(lote, confirmadas, i);
+                    confirmadas = i;
+                }
+                gravar(lote.get(i));
+            }
+            descarregarBuffer();
+            posicaoSegura = posicao;
+
+            if (modo == ModoDurabilidade.LOTE) {
+                canal.force(false);
+                ultimoFsync = System.nanoTime();
+            } else {
+                fsyncPendente = true;
+                if (System.nanoTime() - ultimoFsync >= intervaloFsyncNanos) {
+                    sincronizarSePendente();
+                }
+            }
+            confirmar(lote, confirmadas, lote.size());
+
+        } catch (IOException e) {
+            entrarEmFalha(e);
+            UncheckedIOException erro = new UncheckedIOException("Falha ao gravar no journal de pedidos.", e);
+            for (int i = confirmadas; i < lote.size(); i++) {
+                lote.get(i).confirmacao.completeExceptionally(erro);
+            }
+        }
+    }
+
+    private static void confirmar(List<Escrita> lote, int de, int ate) {
+        for (int i = de; i < ate; i++) {
+            lote.get(i).confirmacao.complete(null);
+        }
+    }
+
+    /**
+     * Depois de uma falha de E/S, o buffer e o arquivo podem ter parte de um
+     * registro: descarta o buffer e trunca o segmento no último registro
+     * completo, para que a recuperação não pare (nem falhe) nesse ponto. O
+     * journal fica em falha e a thread escritora termina.
+     */
+    private void entrarEmFalha(IOException causa) {
+        falha = causa;
+        buffer.clear();
+        try {
+            canal.truncate(posicaoSegura);
+            canal.position(posicaoSegura);
+            posicao = posicaoSegura;
+        } catch (IOException | RuntimeException e) {
+            causa.addSuppressed(e);
+        }
+    }
+
+    private void gravar(Escrita escrita) throws IOException {
+        int tamanhoRegistro = CABECALHO + escrita.dados.length;
+        if (precisaNovoSegmento(escrita)) {
+            iniciarNovoSegmento();
+        }
+        if (tamanhoRegistro > buffer.remaining()) {
+            descarregarBuffer();
+        }
+        if (tamanhoRegistro > buffer.capacity()) {
+            ByteBuffer cabecalho = ByteBuffer.allocate(CABECALHO).putInt(escrita.dados.length).putInt(escrita.crc).flip();
+            ByteBuffer[] partes = {cabecalho, ByteBuffer.wrap(escrita.dados)};
+            while (partes[1].hasRemaining()) {
+                canal.write(partes);
+            }
+        } else {
+            buffer.putInt(escrita.dados.length).putInt(escrita.crc).put(escrita.dados);
+        }
+        posicao += tamanhoRegistro;
+    }
+
+    private boolean precisaNovoSegmento(Escrita escrita) {
+        return posicao > 0 && posicao + CABECALHO + escrita.dados.length > tamanhoSegmento;
+    }
+
+    private void descarregarBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void sincronizarSePendente() {
+        if (!fsyncPendente) {
+            return;
+        }
+        try {
+            canal.force(false);
+            fsyncPendente = false;
+            ultimoFsync = System.nanoTime();
+        } catch (IOException e) {
+            // No modo ASSINCRONO as escritas já foram confirmadas; tenta de novo no próximo ciclo
+        }
+    }
+
+    private void iniciarNovoSegmento() throws IOException {
+        descarregarBuffer();
+        canal.force(false);
+        canal.close();
+        abrirSegmento(numeroSegmento + 1);
+    }
+
+    private void abrirSegmento(long numero) throws IOException {
+        Path arquivo = diretorio.resolve(String.format("%s%010d%s", PREFIXO_SEGMENTO, numero, SUFIXO_SEGMENTO));
+        canal = aberturaCanal.abrir(arquivo, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        numeroSegmento = numero;
+        posicao = 0;
+        posicaoSegura = 0;
+    }
+
+    /**
+     * Falha as escritas que ficaram na fila depois que a thread escritora terminou
+     * (fechamento ou falha de E/S).
+     */
+    private void falharPendentes() {
+        IllegalStateException erro = falha != null
+                ? new IllegalStateException("Journal de pedidos em falha de E/S; reinicie a aplicação.", falha)
+                : new IllegalStateException("Journal de pedidos já foi fechado.");
+        Escrita escrita;
+        while ((escrita = fila.poll()) != null) {
+            escrita.confirmacao.completeExceptionally(erro);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package br.edu.ifsp.bra.livraria.repository.journal;
+
+/**
+ * Garantia de durabilidade oferecida pelo journal de pedidos.
+ */
+public enum ModoDurabilidade {
+
+    /** Cada registro é gravado e sincronizado em disco (fsync) individualmente antes de confirmar. */
+    SINCRONO,
+
+    /**
+     * Group commit: os registros que chegam concorrentemente são gravados juntos
+     * e confirmados por um único fsync. Nenhuma escrita é confirmada antes do fsync.
+     */
+    LOTE,
+
+    /**
+     * A escrita é confirmada assim que enfileirada; o fsync ocorre periodicamente.
+     * Uma queda do processo pode perder os registros do último intervalo.
+     */
+    ASSINCRONO
+}
@@ -0,0 +1,162 @@
+package br.edu.ifsp.bra.livraria.repository.journal;
+
+import br.edu.ifsp.bra.livraria.entity.Pedido;
+import br.edu.ifsp.bra.livraria.repository.PedidoRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * PedidoRepository durável, apoiado em JournalPedidos.
+ *
+ * Cada save grava a versão completa do pedido (JSON) como um novo registro do
+ * journal; a versão mais recente de cada pedido fica em memória para consulta.
+ * Na inicialização, o journal é reproduzido em ordem e o último registro de cada
+ * id prevalece (exceto se regredir o status RN03, ver maisAvancado),
+ * reconstruindo o estado e a sequência de ids.
+ *
+ * Habilitado por padrão; desabilite com livraria.pedidos.journal.habilitado=false
+ * para usar PedidoRepositoryInMemory.
+ */
+@Repository
+@ConditionalOnProperty(name = "livraria.pedidos.journal.habilitado", havingValue = "true", matchIfMissing = true)
+public class PedidoRepositoryJournal implements PedidoRepository, Closeable {
+
+    private final ConcurrentSkipListMap<Long, Pedido> pedidos = new ConcurrentSkipListMap<>();
+    private final AtomicLong sequencia = new AtomicLong();
+
+    private final ObjectWriter escritor;
+    private final ObjectReader leitor;
+    private final JournalPedidos journal;
+
+    public PedidoRepositoryJournal(
+            @Value("${livraria.pedidos.journal.diretorio:data/journal}") String diretorio,
+            @Value("${livraria.pedidos.journal.durabilidade:LOTE}") ModoDurabilidade modo,
+            @Value("${livraria.pedidos.journal.tamanho-segmento:67108864}") long tamanhoSegmento,
+            @Value("${livraria.pedidos.journal.intervalo-fsync-ms:10}") long intervaloFsyncMs) throws IOException {
+
+        ObjectMapper mapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+        this.escritor = mapper.writerFor(Pedido.class);
+        this.leitor = mapper.readerFor(Pedido.class);
+
+        this.journal = new JournalPedidos(Path.of(diretorio), modo, tamanhoSegmento, intervaloFsyncMs, this::reproduzir);
+    }
+
+    @Override
+    public long reservarId() {
+        return sequencia.incrementAndGet();
+    }
+
+    @Override
+    public Optional<Pedido> findById(Long id) {
+        return Optional.ofNullable(pedidos.get(id));
+    }
+
+    /**
+     * Página do índice em memória (ConcurrentSkipListMap, ordenado por id);
+     * não lê o journal.
+     */
+    @Override
+    public List<Pedido> findAposId(long aposId, int limite) {
+        List<Pedido> pagina = new ArrayList<>(Math.min(limite, 1024));
+        for (Pedido pedido : pedidos.tailMap(aposId, false).values()) {
+            if (pagina.size() == limite) {
+                break;
+            }
+            pagina.add(pedido);
+        }
+        return pagina;
+    }
+
+    /**
+     * Grava o pedido no journal e, conforme o modo de durabilidade,
+     * aguarda o fsync antes de torná-lo visível em findById.
+     */
+    @Override
+    public Pedido save(Pedido pedido) {
+        if (pedido.getId() == null) {
+            pedido.setId(sequencia.incrementAndGet());
+        } else {
+            sequencia.accumulateAndGet(pedido.getId(), Math::max);
+        }
+
+        byte[] registro;
+        try {
+            registro = escritor.writeValueAsBytes(pedido);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Falha ao serializar pedido " + pedido.getId(), e);
+        }
+
+        CompletableFuture<Void> gravacao = journal.anexar(registro);
+        if (journal.getModo() != ModoDurabilidade.ASSINCRONO) {
+            aguardar(gravacao);
+        }
+        pedidos.put(pedido.getId(), pedido);
+        return pedido;
+    }
+
+    @PreDestroy
+    @Override
+    public void close() throws IOException {
+        journal.close();
+    }
+
+    private void reproduzir(byte[] registro) {
+        try {
+            Pedido pedido = leitor.readValue(registro);
+            pedidos.merge(pedido.getId(), pedido, PedidoRepositoryJournal::maisAvancado);
+            sequencia.accumulateAndGet(pedido.getId(), Math::max);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Registro inválido no journal de pedidos.", e);
+        }
+    }
+
+    /**
+     * Transições concorrentes do mesmo pedido (RN03) podem chegar ao journal
+     * fora de ordem (ex.: ENTREGUE gravado antes de CONFIRMADO); na reprodução
+     * prevalece a versão com o status mais avançado no ciclo de vida e, entre
+     * versões da mesma etapa, a última gravada.
+     */
+    private static Pedido maisAvancado(Pedido anterior, Pedido lido) {
+        return etapa(lido) >= etapa(anterior) ? lido : anterior;
+    }
+
+    private static int etapa(Pedido pedido) {
+        return pedido.getStatusPedido() != null ? pedido.getStatusPedido().getEtapa() : -1;
+    }
+
+    private static void aguardar(CompletableFuture<Void> gravacao) {
+        try {
+            gravacao.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package br.edu.ifsp.bra.livraria.service;
 
 import br.edu.ifsp.bra.livraria.entity.Cliente;
+import br.edu.ifsp.bra.livraria.entity.Dinheiro;
+import br.edu.ifsp.bra.livraria.entity.PerfilCliente;
+import br.edu.ifsp.bra.livraria.repository.PerfisClientes;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 /**
@@ -16,33 +20,58 @@ import org.springframework.stereotype.Service;
  *
  * Essa regra é aplicada durante o fluxo do caso de uso "Efetuar Pedido de Livro",
  * sendo chamada por PedidoService.
+ *
+ * Quando há PerfisClientes disponível (IndicePerfilCliente ou
+ * ClienteRepositoryCompacto), o perfil já classificado do cliente é lido de
+ * lá; o cálculo pelo tempo de vínculo fica apenas para clientes sem perfil
+ * classificado.
  */
 
 @Service
 public class CalculadoraDescontoService {
 
+    private final PerfisClientes perfisClientes;
+
+    public CalculadoraDescontoService() {
+        this(null);
+    }
+
+    @Autowired
+    public CalculadoraDescontoService(PerfisClientes perfisClientes) {
+        this.perfisClientes = perfisClientes;
+    }
+
     /**
      * Executa o cálculo do valor do desconto a partir do perfil do cliente.
      *
-     * O método consulta o tempo de vínculo (anos completos) e aplica
-     * a porcentagem correspondente à RN01.
+     * O método obtém o perfil (já classificado ou tempo de vínculo em anos completos)
+     * e aplica a porcentagem correspondente à RN01.
      *
      * @param cliente      cliente cujo perfil deve ser avaliado
      * @param valorPedido  valor bruto do pedido antes da aplicação de desconto
-     * @return o valor numérico do desconto calculado
+     * @return o valor numérico do desconto calculado (arredondado ao centavo)
      */
     public double calcularDesconto(Cliente cliente, double valorPedido) {
-        long anosVinculo = cliente.getTempoVinculoEmAnos();
+        return Dinheiro.paraReais(calcularDescontoCentavos(cliente, Dinheiro.deReais(valorPedido)));
+    }
 
-        if (anosVinculo < 1) {
-            return 0.0; // Perfil básico
-        } else if (anosVinculo >= 1 && anosVinculo < 3) {
-            return valorPedido * 0.03; // Bronze
-        } else if (anosVinculo >= 3 && anosVinculo < 5) {
-            return valorPedido * 0.05; // Prata
-        } else {
-            return valorPedido * 0.10; // Ouro
-        }
+    /**
+     * Versão em ponto fixo de calcularDesconto, usada por PedidoService:
+     * o desconto é arredondado ao centavo (meio centavo para cima).
+     *
+     * @param cliente              cliente cujo perfil deve ser avaliado
+     * @param valorPedidoCentavos  valor bruto do pedido, em centavos
+     * @return o desconto, em centavos
+     */
+    public long calcularDescontoCentavos(Cliente cliente, long valorPedidoCentavos) {
+        return calcularDescontoCentavos(identificarPerfilCliente(cliente), valorPedidoCentavos);
+    }
+
+    /**
+     * Variante para quando o perfil já foi identificado (ver identificarPerfilCliente).
+     */
+    public long calcularDescontoCentavos(PerfilCliente perfil, long valorPedidoCentavos) {
+        return Dinheiro.aplicarPercentual(valorPedidoCentavos, perfil.getPontosBaseDesconto());
     }
 
     /**
@@ -56,11 +85,20 @@ public class CalculadoraDescontoService {
      * @return string representando o perfil definido pela RN01
      */
     public String identificarPerfil(Cliente cliente) {
-        long anosVinculo = cliente.getTempoVinculoEmAnos();
+        return identificarPerfilCliente(cliente).name();
+    }
 
-        if (anosVinculo < 1) return "BASICO";
-        else if (anosVinculo >= 1 && anosVinculo < 3) return "BRONZE";
-        else if (anosVinculo >= 3 && anosVinculo < 5) return "PRATA";
-        else return "OURO";
+    /**
+     * Perfil RN01 do cliente: consulta o perfil já classificado e, se o
+     * cliente não tiver um, classifica pelo tempo de vínculo.
+     */
+    public PerfilCliente identificarPerfilCliente(Cliente cliente) {
+        if (perfisClientes != null && cliente.getId() != null) {
+            PerfilCliente classificado = perfisClientes.perfil(cliente.getId());
+            if (classificado != null) {
+                return classificado;
+            }
+        }
+        return PerfilCliente.paraAnosDeVinculo(cliente.getTempoVinculoEmAnos());
     }
 }
\ No newline at end of file
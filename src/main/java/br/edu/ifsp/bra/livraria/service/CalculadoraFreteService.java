@@ -1,71 +1,161 @@
 package br.edu.ifsp.bra.livraria.service;
 
+import br.edu.ifsp.bra.livraria.entity.Dinheiro;
 import br.edu.ifsp.bra.livraria.entity.Endereco;
+import br.edu.ifsp.bra.livraria.entity.RegiaoFrete;
+import br.edu.ifsp.bra.livraria.entity.UF;
+import br.edu.ifsp.bra.livraria.service.frete.CotacaoFreteExterna;
+import br.edu.ifsp.bra.livraria.service.frete.IndiceZonasCep;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.atomic.AtomicReference;
+
 /**
  * Implementação da Regra de Negócio RN02:
  * - SP: frete isento (0%)
  * - Outros estados do Sudeste: 5%
  * - Outras regiões do Brasil: 8%
+ *
+ * Os percentuais vêm de uma TabelaFrete (frete.properties), indexada pelo
+ * ordinal da UF. A tabela vigente pode ser trocada em tempo de execução
+ * por atualizarTabela, sem reiniciar a aplicação.
+ *
+ * Com o serviço de frete externo habilitado (CotacaoFreteExterna), o frete
+ * dos pedidos usa a cotação por UF e faixa de CEP; sem cotação a tempo
+ * (timeout, erro, circuito aberto), vale a RN02 acima.
+ *
+ * Com zonas de CEP configuradas (IndiceZonasCep: capital, interior, áreas
+ * remotas), o CEP do endereço define o percentual antes da RN02; CEP fora
+ * das faixas, inválido ou de outra UF fica com a RN02.
  */
 
 @Service
 public class CalculadoraFreteService {
 
+    private final AtomicReference<TabelaFrete> tabela;
+    private final CotacaoFreteExterna cotacaoExterna;
+    private final IndiceZonasCep zonasCep;
+
+    public CalculadoraFreteService() {
+        this(TabelaFrete.carregarPadrao());
+    }
+
+    public CalculadoraFreteService(TabelaFrete tabelaInicial) {
+        this(tabelaInicial, CotacaoFreteExterna.desabilitada());
+    }
+
+    /**
+     * @param arquivoZonasCep arquivo de zonas de CEP (ou classpath:recurso); vazio → só RN02
+     */
+    @Autowired
+    public CalculadoraFreteService(CotacaoFreteExterna cotacaoExterna,
+                                   @Value("${livraria.frete.zonas-cep.arquivo:}") String arquivoZonasCep) {
+        this(TabelaFrete.carregarPadrao(), cotacaoExterna,
+                arquivoZonasCep.isBlank() ? IndiceZonasCep.vazio() : IndiceZonasCep.carregar(arquivoZonasCep.trim()));
+    }
+
+    public CalculadoraFreteService(TabelaFrete tabelaInicial, CotacaoFreteExterna cotacaoExterna) {
+        this(tabelaInicial, cotacaoExterna, IndiceZonasCep.vazio());
+    }
+
+    public CalculadoraFreteService(TabelaFrete tabelaInicial, CotacaoFreteExterna cotacaoExterna, IndiceZonasCep zonasCep) {
+        this.tabela = new AtomicReference<>(tabelaInicial);
+        this.cotacaoExterna = cotacaoExterna;
+        this.zonasCep = zonasCep;
+    }
+
     public double calcularFrete(Endereco endereco, double valorPedido) {
-        String estado = endereco.getEstado().toUpperCase();
-        String regiao = identificarRegiao(estado);
-
-        if (regiao.equals("SP")) {
-            return 0.0;
-        } else if (regiao.equals("SUDESTE")) {
-            return valorPedido * 0.05;
-        } else if (regiao.equals("OUTRAS_REGIOES")) {
-            return valorPedido * 0.08;
-        }
-        throw new IllegalArgumentException("Estado não reconhecido: " + estado);
+        return Dinheiro.paraReais(calcularFreteCentavos(endereco, Dinheiro.deReais(valorPedido)));
     }
 
     /**
-     * Stub/Mock interno para simular serviço de frete externo.
-     * Em produção, isso seria uma chamada HTTP a um Sistema de Frete.
+     * Versão em ponto fixo de calcularFrete, usada por PedidoService:
+     * o frete é arredondado ao centavo (meio centavo para cima).
+     *
+     * @param endereco             endereço de entrega (UF define a região)
+     * @param valorPedidoCentavos  valor do pedido já com desconto, em centavos
+     * @return o frete, em centavos
      */
-    private String identificarRegiao(String estado) {
-
-        // Lista oficial de estados brasileiros
-        String[] estadosBrasil = {
-                "AC","AL","AP","AM","BA","CE","DF","ES","GO","MA","MT","MS","MG",
-                "PA","PB","PR","PE","PI","RJ","RN","RS","RO","RR","SC","SP","SE","TO"
-        };
-
-        // Verifica se é um estado válido do Brasil
-        boolean estadoValido = false;
-        for (String uf : estadosBrasil) {
-            if (uf.equals(estado)) {
-                estadoValido = true;
-                break;
-            }
-        }
+    public long calcularFreteCentavos(Endereco endereco, long valorPedidoCentavos) {
+        return calcularFreteCentavos(identificarUf(endereco.getEstado()), valorPedidoCentavos);
+    }
 
-        if (!estadoValido) {
-            throw new IllegalArgumentException("Estado não reconhecido como brasileiro: " + estado);
-        }
+    /**
+     * Variante para quando a UF já foi identificada (ver identificarUf).
+     */
+    public long calcularFreteCentavos(UF uf, long valorPedidoCentavos) {
+        return Dinheiro.aplicarPercentual(valorPedidoCentavos, tabela.get().pontosBase(uf));
+    }
 
-        // SP → frete isento
-        if (estado.equals("SP")) {
-            return "SP";
+    /**
+     * Frete do pedido (usado por PedidoService): cotação do serviço externo
+     * para a UF e a faixa do CEP, quando habilitado e respondido dentro do
+     * timeout; senão, o percentual da zona do CEP; por fim, a RN02.
+     */
+    public long calcularFreteCentavos(UF uf, String cep, long valorPedidoCentavos) {
+        return Dinheiro.aplicarPercentual(valorPedidoCentavos, pontosBaseFrete(uf, cep));
+    }
+
+    /**
+     * Percentual de frete, em pontos-base, que calcularFreteCentavos(uf, cep, valor)
+     * aplicaria: cotação externa, zona do CEP ou RN02, nessa ordem.
+     */
+    public int pontosBaseFrete(UF uf, String cep) {
+        int pontosBase = cotacaoExterna.pontosBase(uf, cep);
+        if (pontosBase == CotacaoFreteExterna.SEM_COTACAO) {
+            pontosBase = zonasCep.pontosBase(uf, cep);
         }
+        if (pontosBase == IndiceZonasCep.SEM_ZONA) {
+            pontosBase = tabela.get().pontosBase(uf);
+        }
+        return pontosBase;
+    }
+
+    /**
+     * Região de frete (RN02) correspondente ao estado informado.
+     */
+    public RegiaoFrete identificarRegiao(String estado) {
+        return identificarUf(estado).getRegiao();
+    }
+
+    /**
+     * Zonas de frete por faixa de CEP (vazio se não configuradas).
+     */
+    public IndiceZonasCep getZonasCep() {
+        return zonasCep;
+    }
+
+    /**
+     * Tabela de percentuais vigente.
+     */
+    public TabelaFrete getTabela() {
+        return tabela.get();
+    }
 
-        // Estados do Sudeste (exceto SP)
-        String[] sudeste = {"RJ", "MG", "ES"};
-        for (String sigla : sudeste) {
-            if (estado.equals(sigla)) {
-                return "SUDESTE";
-            }
+    /**
+     * Publica uma nova tabela de percentuais. Cálculos já em andamento
+     * terminam com a tabela anterior; os seguintes usam a nova.
+     */
+    public void atualizarTabela(TabelaFrete novaTabela) {
+        if (novaTabela == null) {
+            throw new IllegalArgumentException("Tabela de frete não pode ser nula.");
         }
+        tabela.set(novaTabela);
+    }
 
-        // Demais regiões do Brasil
-        return "OUTRAS_REGIOES";
+    /**
+     * Converte a sigla do endereço de entrega na UF usada pela RN02,
+     * validando-a contra a lista oficial de estados brasileiros (enum UF).
+     *
+     * @throws IllegalArgumentException se a sigla não for de um estado brasileiro
+     */
+    public UF identificarUf(String estado) {
+        UF uf = UF.fromSigla(estado);
+        if (uf == null) {
+            throw new IllegalArgumentException("Estado não reconhecido como brasileiro: " + estado);
+        }
+        return uf;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,290 @@
+package br.edu.ifsp.bra.livraria.service;
+
+import br.edu.ifsp.bra.livraria.api.dto.CarrinhoAlteracaoDTO;
+import br.edu.ifsp.bra.livraria.api.dto.CarrinhoDTO;
+import br.edu.ifsp.bra.livraria.entity.Cliente;
+import br.edu.ifsp.bra.livraria.entity.Endereco;
+import br.edu.ifsp.bra.livraria.entity.ItemCarrinho;
+import br.edu.ifsp.bra.livraria.entity.Livro;
+import br.edu.ifsp.bra.livraria.entity.Pedido;
+import br.edu.ifsp.bra.livraria.entity.UF;
+import br.edu.ifsp.bra.livraria.repository.ClienteRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Sessões de carrinho no servidor (/api/carrinhos): a loja adiciona, remove
+ * e altera itens um a um e recebe os totais correntes (itens, desconto RN01,
+ * frete RN02) sem reenviar o carrinho inteiro.
+ *
+ * As alterações devolvem só a linha alterada e os totais
+ * (CarrinhoAlteracaoDTO); a lista completa de itens sai apenas de consultar.
+ *
+ *  - Totais incrementais, O(1) por alteração (ver SessaoCarrinho). Perfil do
+ *    cliente e percentual de frete são resolvidos só na abertura e na troca
+ *    de endereço; itens com ISBN são precificados pelo CatalogoLivros ao
+ *    entrar no carrinho.
+ *  - Sessões em cache Caffeine, como as respostas de Idempotency-Key:
+ *    expiram após ttl sem uso e são limitadas pela soma da memória estimada
+ *    de cada sessão (as mais frias saem primeiro). Cada alteração regrava a
+ *    sessão no cache, atualizando seu peso. Estatísticas no Micrometer
+ *    (cache="carrinhos").
+ *  - fecharPedido retira a sessão do cache e a entrega a PedidoService, que
+ *    recalcula e grava o pedido como em POST /api/pedidos; se o pedido for
+ *    recusado, a sessão volta ao cache intacta. Duas requisições de fechamento
+ *    simultâneas geram um único pedido.
+ *
+ * Sessão inexistente ou expirada → Optional vazio.
+ */
+@Service
+public class CarrinhoService {
+
+    private final PedidoService pedidoService;
+    private final ClienteRepository clienteRepository;
+    private final CalculadoraDescontoService calculadoraDesconto;
+    private final CalculadoraFreteService calculadoraFrete;
+    private final CatalogoLivros catalogo;
+    private final int maximoLinhas;
+    private final Cache<String, SessaoCarrinho> sessoes;
+
+    /**
+     * @param ttlInativoMinutos   tempo sem uso após o qual a sessão é descartada
+     * @param memoriaMaximaBytes  soma máxima da memória estimada das sessões
+     * @param maximoLinhas        itens distintos por carrinho
+     */
+    @Autowired
+    public CarrinhoService(PedidoService pedidoService,
+                           ClienteRepository clienteRepository,
+                           CalculadoraDescontoService calculadoraDesconto,
+                           CalculadoraFreteService calculadoraFrete,
+                           CatalogoLivros catalogo,
+                           MeterRegistry registry,
+                           @Value("${livraria.carrinho.ttl-inativo-minutos:30}") long ttlInativoMinutos,
+                           @Value("${livraria.carrinho.memoria-maxima-bytes:67108864}") long memoriaMaximaBytes,
+                           @Value("${livraria.carrinho.maximo-linhas:100}") int maximoLinhas) {
+        this(pedidoService, clienteRepository, calculadoraDesconto, calculadoraFrete, catalogo,
+                Duration.ofMinutes(ttlInativoMinutos), memoriaMaximaBytes, maximoLinhas, Ticker.systemTicker());
+        CaffeineCacheMetrics.monitor(registry, sessoes, "carrinhos");
+    }
+
+    /**
+     * Construtor usado nos testes de unidade e benchmarks: relógio controlável, sem métricas.
+     */
+    public CarrinhoService(PedidoService pedidoService,
+                           ClienteRepository clienteRepository,
+                           CalculadoraDescontoService calculadoraDesconto,
+                           CalculadoraFreteService calculadoraFrete,
+                           CatalogoLivros catalogo,
+                           Duration ttlInativo,
+                           long memoriaMaximaBytes,
+                           int maximoLinhas,
+                           Ticker relogio) {
+        if (maximoLinhas <= 0) {
+            throw new IllegalArgumentException("livraria.carrinho.maximo-linhas deve ser positivo.");
+        }
+        this.pedidoService = pedidoService;
+        this.clienteRepository = clienteRepository;
+        this.calculadoraDesconto = calculadoraDesconto;
+        this.calculadoraFrete = calculadoraFrete;
+        this.catalogo = catalogo;
+        this.maximoLinhas = maximoLinhas;
+        this.sessoes = Caffeine.newBuilder()
+                .expireAfterAccess(ttlInativo)
+                .maximumWeight(memoriaMaximaBytes)
+                .weigher((String id, SessaoCarrinho sessao) -> sessao.bytesEstimados())
+                .ticker(relogio)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Abre um carrinho vazio para o cliente.
+     *
+     * @param enderecoEntrega  opcional; sem ele o frete fica 0 até definirEndereco
+     * @throws IllegalArgumentException se o cliente não existir ou a UF for inválida
+     */
+    public CarrinhoDTO abrir(Long clienteId, Endereco enderecoEntrega) {
+        Cliente cliente = clienteRepository.findById(clienteId)
+                .orElseThrow(() -> new IllegalArgumentException("Cliente não encontrado: " + clienteId));
+        SessaoCarrinho sessao = new SessaoCarrinho(UUID.randomUUID().toString(), cliente.getId(),
+                calculadoraDesconto.identificarPerfilCliente(cliente));
+        if (enderecoEntrega != null) {
+            sessao.definirEndereco(enderecoEntrega, pontosBaseFrete(enderecoEntrega));
+        }
+        sessoes.put(sessao.getId(), sessao);
+        return sessao.resumo();
+    }
+
+    public Optional<CarrinhoDTO> consultar(String id) {
+        SessaoCarrinho sessao = sessoes.getIfPresent(id);
+        return sessao != null ? Optional.of(sessao.resumo()) : Optional.empty();
+    }
+
+    /**
+     * Adiciona o item, ou soma sua quantidade à linha do mesmo livro.
+     *
+     * @throws IllegalArgumentException se a quantidade não for positiva, o livro
+     *                                  não estiver no catálogo ou o carrinho estiver cheio
+     */
+    public Optional<CarrinhoAlteracaoDTO> adicionarItem(String id, ItemCarrinho item) {
+        if (item == null || item.getQuantidade() <= 0) {
+            throw new IllegalArgumentException("Quantidade deve ser positiva.");
+        }
+        ItemCarrinho precificado = precificar(item);
+        String chave = chave(precificado);
+        return alterar(id, sessao -> {
+            sessao.adicionar(chave, precificado, maximoLinhas);
+            return chave;
+        });
+    }
+
+    /**
+     * Altera a quantidade da linha (0 remove). Linha inexistente → IllegalArgumentException.
+     */
+    public Optional<CarrinhoAlteracaoDTO> alterarQuantidade(String id, String chave, int quantidade) {
+        if (quantidade < 0) {
+            throw new IllegalArgumentException("Quantidade não pode ser negativa: " + quantidade);
+        }
+        String chaveNormalizada = normalizarChave(chave);
+        return alterar(id, sessao -> {
+            if (!sessao.alterarQuantidade(chaveNormalizada, quantidade)) {
+                throw new IllegalArgumentException("Item não está no carrinho: " + chave);
+            }
+            return chaveNormalizada;
+        });
+    }
+
+    /**
+     * Remove a linha. Linha inexistente → IllegalArgumentException.
+     */
+    public Optional<CarrinhoAlteracaoDTO> removerItem(String id, String chave) {
+        String chaveNormalizada = normalizarChave(chave);
+        return alterar(id, sessao -> {
+            if (!sessao.remover(chaveNormalizada)) {
+                throw new IllegalArgumentException("Item não está no carrinho: " + chave);
+            }
+            return chaveNormalizada;
+        });
+    }
+
+    /**
+     * Define o endereço de entrega e recalcula o frete (RN02).
+     *
+     * @throws IllegalArgumentException se a UF for inválida
+     */
+    public Optional<CarrinhoAlteracaoDTO> definirEndereco(String id, Endereco enderecoEntrega) {
+        if (enderecoEntrega == null) {
+            throw new IllegalArgumentException("Endereço de entrega não informado.");
+        }
+        int pontosBaseFrete = pontosBaseFrete(enderecoEntrega);
+        return alterar(id, sessao -> {
+            sessao.definirEndereco(enderecoEntrega, pontosBaseFrete);
+            return null;
+        });
+    }
+
+    /**
+     * Descarta a sessão. false se ela não existir.
+     */
+    public boolean descartar(String id) {
+        return sessoes.asMap().remove(id) != null;
+    }
+
+    /**
+     * Transforma o carrinho em pedido (PedidoService.processarPedido) e encerra a sessão.
+     *
+     * @throws IllegalArgumentException se o carrinho estiver sem endereço ou
+     *                                  PedidoService recusar o pedido (a sessão é mantida)
+     * @throws EstoqueInsuficienteException se faltar estoque (a sessão é mantida)
+     */
+    public Optional<Pedido> fecharPedido(String id, String formaPagamento) {
+        SessaoCarrinho sessao = sessoes.asMap().remove(id);
+        if (sessao == null) {
+            return Optional.empty();
+        }
+        try {
+            if (sessao.getEnderecoEntrega() == null) {
+                throw new IllegalArgumentException("Informe o endereço de entrega antes de fechar o pedido.");
+            }
+            return Optional.of(pedidoService.processarPedido(
+                    sessao.getClienteId(), sessao.getEnderecoEntrega(), sessao.copiarItens(), formaPagamento));
+        } catch (RuntimeException ex) {
+            sessoes.asMap().putIfAbsent(id, sessao);
+            throw ex;
+        }
+    }
+
+    /**
+     * Quantidade de sessões abertas, após descartar as expiradas e as que
+     * excedem o limite de memória.
+     */
+    public long quantidadeSessoes() {
+        sessoes.cleanUp();
+        return sessoes.estimatedSize();
+    }
+
+    /**
+     * Aplica a alteração e regrava a sessão no cache (peso atualizado). A
+     * alteração devolve a chave da linha alterada (null se nenhuma), a única
+     * copiada para a resposta.
+     */
+    private Optional<CarrinhoAlteracaoDTO> alterar(String id, Function<SessaoCarrinho, String> alteracao) {
+        CarrinhoAlteracaoDTO[] resultado = new CarrinhoAlteracaoDTO[1];
+        sessoes.asMap().computeIfPresent(id, (chave, sessao) -> {
+            resultado[0] = sessao.alteracao(alteracao.apply(sessao));
+            return sessao;
+        });
+        return Optional.ofNullable(resultado[0]);
+    }
+
+    private int pontosBaseFrete(Endereco endereco) {
+        UF uf = calculadoraFrete.identificarUf(endereco.getEstado());
+        return calculadoraFrete.pontosBaseFrete(uf, endereco.getCep());
+    }
+
+    /** Cópia do item com título e preço do catálogo, como em PedidoService. */
+    private ItemCarrinho precificar(ItemCarrinho item) {
+        ItemCarrinho precificado = new ItemCarrinho();
+        precificado.setQuantidade(item.getQuantidade());
+        if (item.getIsbn() == null) {
+            if (catalogo.isExigirIsbn()) {
+                throw new IllegalArgumentException("Item sem ISBN: o preço deve vir do catálogo (" + item.getLivroTitulo() + ").");
+            }
+            if (item.getLivroTitulo() == null || item.getLivroTitulo().isBlank()) {
+                throw new IllegalArgumentException("Item sem ISBN deve ter título.");
+            }
+            precificado.setLivroTitulo(item.getLivroTitulo());
+            precificado.setPrecoUnitarioCentavos(item.getPrecoUnitarioCentavos());
+            return precificado;
+        }
+        Livro livro = catalogo.buscar(item.getIsbn());
+        if (livro == null) {
+            throw new IllegalArgumentException("Livro não encontrado no catálogo: " + item.getIsbn());
+        }
+        precificado.setIsbn(livro.getIsbn());
+        precificado.setLivroTitulo(livro.getTitulo());
+        precificado.setPrecoUnitarioCentavos(livro.getPrecoCentavos());
+        return precificado;
+    }
+
+    private static String chave(ItemCarrinho item) {
+        return item.getIsbn() != null ? item.getIsbn() : item.getLivroTitulo();
+    }
+
+    // A chave de uma linha com ISBN é o ISBN normalizado; aceita também com hífens
+    private String normalizarChave(String chave) {
+        Livro livro = catalogo.buscar(chave);
+        return livro != null ? livro.getIsbn() : chave;
+    }
+}
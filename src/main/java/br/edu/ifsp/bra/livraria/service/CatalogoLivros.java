@@ -0,0 +1,218 @@
+package br.edu.ifsp.bra.livraria.service;
+
+import br.edu.ifsp.bra.livraria.entity.Livro;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Catálogo de livros, fonte oficial de título e preço dos itens do carrinho.
+ *
+ *  - Índice primário por ISBN/SKU normalizado (ver Livro.normalizarIsbn e
+ *    Versao); a busca aceita o ISBN com ou sem hífens.
+ *  - O catálogo vigente é uma Versao imutável; recarregar monta uma nova
+ *    versão por inteiro e a publica com uma única troca atômica. Leitores
+ *    nunca bloqueiam e sempre enxergam uma versão completa (a antiga ou a nova).
+ *  - Títulos repetidos (ex.: edições diferentes) compartilham a mesma String,
+ *    e livros que não mudaram entre recargas mantêm a mesma instância.
+ *
+ * Com exigirIsbn=false, itens sem ISBN continuam aceitos com o preço
+ * informado pelo cliente (compatibilidade); com true, são recusados.
+ */
+@Service
+public class CatalogoLivros {
+
+    private final AtomicReference<Versao> vigente = new AtomicReference<>(new Versao(0, Map.of()));
+    private final boolean exigirIsbn;
+
+    @Autowired
+    public CatalogoLivros(@Value("${livraria.catalogo.exigir-isbn:false}") boolean exigirIsbn) {
+        this(exigirIsbn, livrosDeExemplo());
+    }
+
+    public CatalogoLivros(boolean exigirIsbn, Collection<Livro> livros) {
+        this.exigirIsbn = exigirIsbn;
+        recarregar(livros);
+    }
+
+    /**
+     * Catálogo vazio que aceita itens sem ISBN, para testes de unidade e uso fora do Spring.
+     */
+    public static CatalogoLivros vazio() {
+        return new CatalogoLivros(false, List.of());
+    }
+
+    public boolean isExigirIsbn() {
+        return exigirIsbn;
+    }
+
+    public Versao getVersao() {
+        return vigente.get();
+    }
+
+    /**
+     * Livro pelo ISBN/SKU (com ou sem hífens), ou null se não catalogado.
+     */
+    public Livro buscar(String isbn) {
+        return isbn != null ? vigente.get().buscar(isbn) : null;
+    }
+
+    /**
+     * Substitui o catálogo inteiro. ISBN vazio ou repetido, título vazio ou
+     * preço não positivo → IllegalArgumentException, e a versão vigente não muda.
+     *
+     * Recargas são serializadas entre si; leituras não são afetadas.
+     */
+    public synchronized Versao recarregar(Collection<Livro> livros) {
+        Versao anterior = vigente.get();
+        Map<String, Livro> porIsbn = new HashMap<>((int) (livros.size() / 0.75f) + 1);
+        Map<String, String> titulos = new HashMap<>();
+
+        for (Livro livro : livros) {
+            String isbn = Livro.normalizarIsbn(livro.getIsbn());
+            if (isbn == null || isbn.isEmpty()) {
+                throw new IllegalArgumentException("Livro sem ISBN/SKU: " + livro.getTitulo());
+            }
+            if (livro.getTitulo() == null || livro.getTitulo().isBlank()) {
+                throw new IllegalArgumentException("Livro sem título: " + isbn);
+            }
+            if (livro.getPrecoCentavos() <= 0) {
+                throw new IllegalArgumentException("Preço inválido para o livro " + isbn + ": " + livro.getPreco());
+            }
+
+            Livro atual = anterior.buscar(isbn);
+            // Uma única String por título, de preferência a da versão anterior
+            String titulo = titulos.computeIfAbsent(livro.getTitulo(),
+                    t -> atual != null && atual.getTitulo().equals(t) ? atual.getTitulo() : t);
+            Livro publicado = atual != null && atual.getTitulo().equals(titulo) && atual.getPrecoCentavos() == livro.getPrecoCentavos()
+                    ? atual // inalterado: reaproveita a instância da versão anterior
+                    : new Livro(isbn, titulo, livro.getPrecoCentavos());
+
+            if (porIsbn.putIfAbsent(isbn, publicado) != null) {
+                throw new IllegalArgumentException("ISBN/SKU repetido no catálogo: " + isbn);
+            }
+        }
+
+        Versao nova = new Versao(anterior.numero + 1, porIsbn);
+        vigente.set(nova);
+        return nova;
+    }
+
+    /**
+     * Versão publicada do catálogo, nunca alterada depois de montada.
+     *
+     * ISBNs numéricos (até 17 dígitos, ignorando hífens e espaços) ficam numa
+     * tabela hash de endereçamento aberto com chaves long, como em
+     * ClienteRepositoryCompacto: a busca converte a String em long durante a
+     * leitura, sem alocar nem normalizar, e não compara Strings. Demais
+     * SKUs ficam num HashMap pela forma normalizada.
+     */
+    public static final class Versao {
+        private static final long SEM_CHAVE = -1;
+        private static final int MAXIMO_DIGITOS = 17;
+
+        private final long numero;
+        private final int quantidade;
+        private final long[] chaves;
+        private final Livro[] livros;
+        private final Map<String, Livro> outros;
+
+        private Versao(long numero, Map<String, Livro> porIsbn) {
+            this.numero = numero;
+            this.quantidade = porIsbn.size();
+
+            int capacidade = Integer.highestOneBit(Math.max(2, porIsbn.size()) * 2 - 1) << 1; // carga <= 50%
+            long[] novasChaves = new long[capacidade];
+            Livro[] novosLivros = new Livro[capacidade];
+            Map<String, Livro> novosOutros = new HashMap<>();
+            for (Map.Entry<String, Livro> entrada : porIsbn.entrySet()) {
+                long chave = chave(entrada.getKey());
+                if (chave == SEM_CHAVE) {
+                    novosOutros.put(entrada.getKey(), entrada.getValue());
+                    continue;
+                }
+                int slot = espalhar(chave) & (capacidade - 1);
+                while (novosLivros[slot] != null) {
+                    slot = (slot + 1) & (capacidade - 1);
+                }
+                novasChaves[slot] = chave;
+                novosLivros[slot] = entrada.getValue();
+            }
+            this.chaves = novasChaves;
+            this.livros = novosLivros;
+            this.outros = novosOutros;
+        }
+
+        public long getNumero() {
+            return numero;
+        }
+
+        public int getLivros() {
+            return quantidade;
+        }
+
+        private Livro buscar(String isbn) {
+            long chave = chave(isbn);
+            if (chave == SEM_CHAVE) {
+                return outros.isEmpty() ? null : outros.get(Livro.normalizarIsbn(isbn));
+            }
+            int mascara = chaves.length - 1;
+            int slot = espalhar(chave) & mascara;
+            Livro livro;
+            while ((livro = livros[slot]) != null) {
+                if (chaves[slot] == chave) {
+                    return livro;
+                }
+                slot = (slot + 1) & mascara;
+            }
+            return null;
+        }
+
+        /**
+         * Dígitos do ISBN como long, com a quantidade de dígitos nos 5 bits
+         * baixos (zeros à esquerda contam), ou SEM_CHAVE se não for numérico.
+         */
+        private static long chave(String isbn) {
+            long valor = 0;
+            int digitos = 0;
+            for (int i = 0; i < isbn.length(); i++) {
+                char c = isbn.charAt(i);
+                if (c >= '0' && c <= '9') {
+                    if (++digitos > MAXIMO_DIGITOS) {
+                        return SEM_CHAVE;
+                    }
+                    valor = valor * 10 + (c - '0');
+                } else if (c != '-' && c != ' ') {
+                    return SEM_CHAVE;
+                }
+            }
+            return digitos == 0 ? SEM_CHAVE : (valor << 5) | digitos;
+        }
+
+        /** Finalizador do MurmurHash3 (fmix64). */
+        private static int espalhar(long chave) {
+            long h = chave;
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return (int) h;
+        }
+    }
+
+    // Catálogo de exemplo (os títulos usados em test.http)
+    static List<Livro> livrosDeExemplo() {
+        return List.of(
+                new Livro("9788535226348", "Teste de Software", 12000),
+                new Livro("9788543024974", "Engenharia de Software", 8990),
+                new Livro("9788550800608", "Arquitetura de Software", 9990),
+                new Livro("9788575224250", "Padrões de Projeto", 11500));
+    }
+}
@@ -0,0 +1,11 @@
+package br.edu.ifsp.bra.livraria.service;
+
+/**
+ * Idempotency-Key reutilizada pelo mesmo cliente com um corpo de pedido diferente.
+ */
+public class ConflitoIdempotenciaException extends RuntimeException {
+
+    public ConflitoIdempotenciaException(String mensagem) {
+        super(mensagem);
+    }
+}
@@ -0,0 +1,31 @@
+package br.edu.ifsp.bra.livraria.service;
+
+/**
+ * Uma das linhas do carrinho pede mais exemplares do que há disponíveis no
+ * EstoqueLivros. Nenhuma linha do carrinho fica reservada.
+ */
+public class EstoqueInsuficienteException extends RuntimeException {
+
+    private final String isbn;
+    private final long solicitado;
+    private final long disponivel;
+
+    public EstoqueInsuficienteException(String isbn, long solicitado, long disponivel) {
+        super("Estoque insuficiente para o livro " + isbn + ": solicitado " + solicitado + ", disponível " + disponivel);
+        this.isbn = isbn;
+        this.solicitado = solicitado;
+        this.disponivel = disponivel;
+    }
+
+    public String getIsbn() {
+        return isbn;
+    }
+
+    public long getSolicitado() {
+        return solicitado;
+    }
+
+    public long getDisponivel() {
+        return disponivel;
+    }
+}
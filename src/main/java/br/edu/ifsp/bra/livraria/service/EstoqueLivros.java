@@ -0,0 +1,245 @@
+package br.edu.ifsp.bra.livraria.service;
+
+import br.edu.ifsp.bra.livraria.api.dto.EstoqueDTO;
+import br.edu.ifsp.bra.livraria.entity.ItemCarrinho;
+import br.edu.ifsp.bra.livraria.entity.Livro;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Estoque de livros por ISBN/SKU normalizado (a mesma chave do CatalogoLivros).
+ *
+ * Cada livro tem o seu próprio Saldo, protegido por um lock próprio: pedidos
+ * de livros diferentes nunca disputam o mesmo lock, e só carrinhos que
+ * compartilham um título se serializam nele.
+ *
+ * reservar(itens) é tudo-ou-nada: trava os saldos de todas as linhas, confere
+ * a disponibilidade de cada uma e só então desconta. As linhas são travadas
+ * sempre na ordem do ISBN (linhas repetidas somadas antes), então dois
+ * carrinhos com livros em comum não entram em deadlock.
+ *
+ * Ciclo de um exemplar (RN03):
+ *  - pedido criado (EM_PROCESSAMENTO) → reservar: disponivel → reservado;
+ *  - CANCELADO → liberar: reservado → disponivel;
+ *  - ENTREGUE  → baixar: sai de reservado.
+ *
+ * Itens sem ISBN (aceitos quando o catálogo não exige ISBN) não têm controle
+ * de estoque. ISBN sem saldo cadastrado conta como estoque zero.
+ */
+@Service
+public class EstoqueLivros {
+
+    private static final EstoqueLivros DESABILITADO = new EstoqueLivros(false);
+    private static final Comparator<Linha> POR_ISBN = Comparator.comparing(l -> l.isbn);
+
+    private final ConcurrentHashMap<String, Saldo> saldos = new ConcurrentHashMap<>();
+    private final boolean ativo;
+
+    /**
+     * @param inicialExemplo exemplares disponíveis de cada livro do catálogo de exemplo
+     */
+    @Autowired
+    public EstoqueLivros(@Value("${livraria.estoque.inicial-exemplo:100}") long inicialExemplo) {
+        this(true);
+        for (Livro livro : CatalogoLivros.livrosDeExemplo()) {
+            definirDisponivel(livro.getIsbn(), inicialExemplo);
+        }
+    }
+
+    /**
+     * Estoque vazio: todo item com ISBN precisa de saldo cadastrado por definirDisponivel.
+     */
+    public EstoqueLivros() {
+        this(true);
+    }
+
+    private EstoqueLivros(boolean ativo) {
+        this.ativo = ativo;
+    }
+
+    /**
+     * Estoque sem controle (reservas sempre aceitas), para testes de unidade e uso fora do Spring.
+     */
+    public static EstoqueLivros desabilitado() {
+        return DESABILITADO;
+    }
+
+    /**
+     * Define os exemplares disponíveis do livro (reposição/inventário). As
+     * reservas em andamento não são alteradas.
+     */
+    public EstoqueDTO definirDisponivel(String isbn, long disponivel) {
+        String chave = Livro.normalizarIsbn(isbn);
+        if (chave == null || chave.isEmpty()) {
+            throw new IllegalArgumentException("ISBN/SKU não informado.");
+        }
+        if (disponivel < 0) {
+            throw new IllegalArgumentException("Estoque disponível não pode ser negativo: " + disponivel);
+        }
+        Saldo saldo = saldos.computeIfAbsent(chave, k -> new Saldo());
+        saldo.lock.lock();
+        try {
+            saldo.disponivel = disponivel;
+            return new EstoqueDTO(chave, saldo.disponivel, saldo.reservado);
+        } finally {
+            saldo.lock.unlock();
+        }
+    }
+
+    /**
+     * Saldo do livro (com ou sem hífens), ou null se não houver saldo cadastrado.
+     */
+    public EstoqueDTO consultar(String isbn) {
+        String chave = Livro.normalizarIsbn(isbn);
+        Saldo saldo = chave != null ? saldos.get(chave) : null;
+        if (saldo == null) {
+            return null;
+        }
+        saldo.lock.lock();
+        try {
+            return new EstoqueDTO(chave, saldo.disponivel, saldo.reservado);
+        } finally {
+            saldo.lock.unlock();
+        }
+    }
+
+    /**
+     * Reserva todas as linhas do carrinho, ou nenhuma.
+     *
+     * Os ISBNs devem estar normalizados (PedidoService reserva depois de
+     * precificar os itens pelo catálogo).
+     *
+     * @throws EstoqueInsuficienteException se alguma linha não couber no disponível
+     * @throws IllegalArgumentException     se alguma linha com ISBN tiver quantidade não positiva
+     */
+    public void reservar(List<ItemCarrinho> itens) {
+        if (!ativo) {
+            return;
+        }
+        Linha[] linhas = linhas(itens);
+        int travadas = 0;
+        try {
+            for (Linha linha : linhas) {
+                linha.saldo.lock.lock();
+                travadas++;
+            }
+            for (Linha linha : linhas) {
+                if (linha.saldo.disponivel < linha.quantidade) {
+                    throw new EstoqueInsuficienteException(linha.isbn, linha.quantidade, linha.saldo.disponivel);
+                }
+            }
+            for (Linha linha : linhas) {
+                linha.saldo.disponivel -= linha.quantidade;
+                linha.saldo.reservado += linha.quantidade;
+            }
+        } finally {
+            for (int i = travadas - 1; i >= 0; i--) {
+                linhas[i].saldo.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Devolve ao disponível os exemplares reservados pelos itens (pedido
+     * CANCELADO, ou pedido que não chegou a ser gravado).
+     */
+    public void liberar(List<ItemCarrinho> itens) {
+        devolver(itens, true);
+    }
+
+    /**
+     * Dá baixa definitiva nos exemplares reservados pelos itens (pedido ENTREGUE).
+     */
+    public void baixar(List<ItemCarrinho> itens) {
+        devolver(itens, false);
+    }
+
+    // Cada linha é devolvida de forma independente: não há o que conferir,
+    // então basta travar um saldo por vez.
+    private void devolver(List<ItemCarrinho> itens, boolean paraDisponivel) {
+        if (!ativo || itens == null) {
+            return;
+        }
+        for (ItemCarrinho item : itens) {
+            if (item.getIsbn() == null || item.getQuantidade() <= 0) {
+                continue;
+            }
+            Saldo saldo = saldos.get(item.getIsbn());
+            if (saldo == null) {
+                continue;
+            }
+            saldo.lock.lock();
+            try {
+                long quantidade = Math.min(item.getQuantidade(), saldo.reservado);
+                saldo.reservado -= quantidade;
+                if (paraDisponivel) {
+                    saldo.disponivel += quantidade;
+                }
+            } finally {
+                saldo.lock.unlock();
+            }
+        }
+    }
+
+    /** Linhas com ISBN, ordenadas por ISBN e com ISBNs repetidos somados. */
+    private Linha[] linhas(List<ItemCarrinho> itens) {
+        Linha[] linhas = new Linha[itens.size()];
+        int quantidade = 0;
+        for (ItemCarrinho item : itens) {
+            if (item.getIsbn() == null) {
+                continue;
+            }
+            if (item.getQuantidade() <= 0) {
+                throw new IllegalArgumentException("Quantidade inválida para o livro " + item.getIsbn() + ": " + item.getQuantidade());
+            }
+            linhas[quantidade++] = new Linha(item.getIsbn(), item.getQuantidade());
+        }
+        if (quantidade > 1) {
+            Arrays.sort(linhas, 0, quantidade, POR_ISBN);
+        }
+
+        int distintas = 0;
+        for (int i = 0; i < quantidade; i++) {
+            Linha linha = linhas[i];
+            if (distintas > 0 && linhas[distintas - 1].isbn.equals(linha.isbn)) {
+                linhas[distintas - 1].quantidade += linha.quantidade;
+            } else {
+                linhas[distintas++] = linha;
+            }
+        }
+
+        Linha[] resultado = distintas == linhas.length ? linhas : Arrays.copyOf(linhas, distintas);
+        for (Linha linha : resultado) {
+            linha.saldo = saldos.get(linha.isbn);
+            if (linha.saldo == null) {
+                throw new EstoqueInsuficienteException(linha.isbn, linha.quantidade, 0);
+            }
+        }
+        return resultado;
+    }
+
+    /** Saldo de um livro. Campos protegidos por lock. */
+    private static final class Saldo {
+        final ReentrantLock lock = new ReentrantLock();
+        long disponivel;
+        long reservado;
+    }
+
+    private static final class Linha {
+        final String isbn;
+        long quantidade;
+        Saldo saldo;
+
+        Linha(String isbn, long quantidade) {
+            this.isbn = isbn;
+            this.quantidade = quantidade;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package br.edu.ifsp.bra.livraria.service;
+
+/**
+ * Formatos aceitos por GET /api/pedidos/exportacao.
+ */
+public enum FormatoExportacao {
+    NDJSON("application/x-ndjson", "pedidos.ndjson"),
+    CSV("text/csv", "pedidos.csv");
+
+    private final String tipoConteudo;
+    private final String nomeArquivo;
+
+    FormatoExportacao(String tipoConteudo, String nomeArquivo) {
+        this.tipoConteudo = tipoConteudo;
+        this.nomeArquivo = nomeArquivo;
+    }
+
+    public String getTipoConteudo() {
+        return tipoConteudo;
+    }
+
+    public String getNomeArquivo() {
+        return nomeArquivo;
+    }
+
+    /**
+     * Formato pelo nome, sem diferenciar maiúsculas (ex.: "csv").
+     */
+    public static FormatoExportacao deNome(String nome) {
+        for (FormatoExportacao formato : values()) {
+            if (formato.name().equalsIgnoreCase(nome)) {
+                return formato;
+            }
+        }
+        throw new IllegalArgumentException("Formato de exportação não suportado: " + nome);
+    }
+}
@@ -0,0 +1,206 @@
+package br.edu.ifsp.bra.livraria.service;
+
+import br.edu.ifsp.bra.livraria.api.dto.PedidoRequestDTO;
+import br.edu.ifsp.bra.livraria.entity.Pedido;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Suporte ao cabeçalho Idempotency-Key em POST /api/pedidos.
+ *
+ * Clientes em redes instáveis repetem o POST; com a mesma chave, a repetição
+ * devolve o pedido criado no primeiro processamento em vez de criar um
+ * pedido duplicado.
+ *
+ *  - Guarda o Pedido, não a resposta serializada: o controller o serializa a
+ *    cada requisição pelos conversores normais, respeitando Accept (JSON,
+ *    Smile, CBOR) e a visão pedida na repetição.
+ *  - Cache Caffeine (W-TinyLFU), limitado por tempo (ttl) e por memória
+ *    (soma da memória estimada de cada pedido), com estatísticas de acerto,
+ *    falta e remoção publicadas no Micrometer (cache="idempotencia").
+ *  - Requisições simultâneas com a mesma chave são coalescidas: a primeira
+ *    processa e as demais aguardam o mesmo resultado
+ *    (livraria.idempotencia.coalescidas).
+ *  - Falhas (exceções e Errors) não ficam no cache: uma nova tentativa
+ *    processa de novo.
+ *  - A chave vale por cliente e por conteúdo: reutilizá-la com outro corpo de
+ *    requisição gera ConflitoIdempotenciaException.
+ */
+@Service
+public class IdempotenciaPedidoService {
+
+    static final int TAMANHO_MAXIMO_CHAVE = 255;
+
+    // Estimativa de memória de um pedido guardado, para o limite do cache
+    private static final int BYTES_PEDIDO = 512;
+    private static final int BYTES_ITEM = 160;
+
+    private final ObjectMapper mapper;
+    private final AsyncCache<String, RespostaIdempotente> respostas;
+    private final LongAdder coalescidas = new LongAdder();
+
+    @Autowired
+    public IdempotenciaPedidoService(ObjectMapper mapper,
+                                     MeterRegistry registry,
+                                     @Value("${livraria.idempotencia.ttl-segundos:86400}") long ttlSegundos,
+                                     @Value("${livraria.idempotencia.memoria-maxima-bytes:67108864}") long memoriaMaximaBytes) {
+        this.mapper = mapper;
+        this.respostas = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSegundos))
+                .maximumWeight(memoriaMaximaBytes)
+                .weigher((String chave, RespostaIdempotente resposta) -> 2 * chave.length()
+                        + resposta.getImpressao().length + bytesEstimados(resposta.getPedido()))
+                .recordStats()
+                .buildAsync();
+
+        CaffeineCacheMetrics.monitor(registry, respostas, "idempotencia");
+        FunctionCounter.builder("livraria.idempotencia.coalescidas", coalescidas, LongAdder::sum)
+                .description("Requisições que aguardaram o processamento simultâneo da mesma chave")
+                .register(registry);
+    }
+
+    /**
+     * Processa o pedido uma única vez por (cliente, chave).
+     *
+     * @param chave          valor do cabeçalho Idempotency-Key
+     * @param dto            corpo da requisição
+     * @param processamento  execução de processarPedido, chamada só na primeira vez
+     * @return pedido criado na primeira vez; repetida=true se veio do cache
+     * @throws IllegalArgumentException     se a chave for vazia ou longa demais
+     * @throws ConflitoIdempotenciaException se a chave já foi usada com outro corpo
+     */
+    public RespostaIdempotente executar(String chave, PedidoRequestDTO dto, Supplier<Pedido> processamento) {
+        if (chave == null || chave.isBlank() || chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            throw new IllegalArgumentException(
+                    "Idempotency-Key deve ter entre 1 e " + TAMANHO_MAXIMO_CHAVE + " caracteres.");
+        }
+        byte[] impressao = impressao(dto);
+        String chaveCache = dto.getClienteId() + ":" + chave;
+
+        CompletableFuture<RespostaIdempotente> nova = new CompletableFuture<>();
+        CompletableFuture<RespostaIdempotente> atual = respostas.get(chaveCache, (k, executor) -> nova);
+
+        if (atual == nova) {
+            try {
+                Pedido pedido = processamento.get();
+                RespostaIdempotente resposta = new RespostaIdempotente(impressao, pedido, false);
+                nova.complete(resposta);
+                return resposta;
+            } catch (Throwable ex) {
+                // Também Error (OutOfMemoryError, StackOverflowError...): um futuro nunca
+                // completado prenderia todas as repetições da chave até o fim do ttl
+                nova.completeExceptionally(ex); // o Caffeine descarta entradas com falha
+                throw ex;
+            }
+        }
+
+        if (!atual.isDone()) {
+            coalescidas.increment();
+        }
+        RespostaIdempotente anterior = aguardar(atual);
+        if (!MessageDigest.isEqual(anterior.getImpressao(), impressao)) {
+            throw new ConflitoIdempotenciaException(
+                    "Idempotency-Key já utilizada com outro conteúdo de pedido: " + chave);
+        }
+        return anterior.repeticao();
+    }
+
+    /**
+     * Quantidade aproximada de respostas em cache.
+     */
+    public long tamanho() {
+        return respostas.synchronous().estimatedSize();
+    }
+
+    /**
+     * Impressão digital do corpo da requisição: SHA-256 do DTO serializado
+     * (os campos saem sempre na mesma ordem). Um hash de 32 ou 64 bits dos
+     * campos colide fácil demais ("Aa" e "BB" têm o mesmo hashCode) e faria
+     * uma repetição com outro corpo devolver o pedido errado em vez de 422.
+     */
+    byte[] impressao(PedidoRequestDTO dto) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(serializar(dto));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível na JVM.", e); // obrigatório em toda JVM
+        }
+    }
+
+    private static int bytesEstimados(Pedido pedido) {
+        return BYTES_PEDIDO + (pedido.getItens() != null ? pedido.getItens().size() * BYTES_ITEM : 0);
+    }
+
+    private byte[] serializar(Object valor) {
+        try {
+            return mapper.writeValueAsBytes(valor);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Falha ao serializar " + valor.getClass().getSimpleName(), e);
+        }
+    }
+
+    private static RespostaIdempotente aguardar(CompletableFuture<RespostaIdempotente> resposta) {
+        try {
+            return resposta.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (e.getCause() instanceof Error causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Pedido criado para a chave; serializado pelo controller em cada resposta.
+     */
+    public static final class RespostaIdempotente {
+        private final byte[] impressao;
+        private final Pedido pedido;
+        private final boolean repetida;
+
+        RespostaIdempotente(byte[] impressao, Pedido pedido, boolean repetida) {
+            this.impressao = impressao;
+            this.pedido = pedido;
+            this.repetida = repetida;
+        }
+
+        RespostaIdempotente repeticao() {
+            return new RespostaIdempotente(impressao, pedido, true);
+        }
+
+        byte[] getImpressao() {
+            return impressao;
+        }
+
+        public Pedido getPedido() {
+            return pedido;
+        }
+
+        public Long getPedidoId() {
+            return pedido.getId();
+        }
+
+        public boolean isRepetida() {
+            return repetida;
+        }
+    }
+}
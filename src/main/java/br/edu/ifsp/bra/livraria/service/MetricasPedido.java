@@ -0,0 +1,187 @@
+package br.edu.ifsp.bra.livraria.service;
+
+import br.edu.ifsp.bra.livraria.entity.PerfilCliente;
+import br.edu.ifsp.bra.livraria.entity.UF;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas do caso de uso "Efetuar Pedido de Livro", expostas pelo Actuator
+ * em /actuator/prometheus.
+ *
+ * Para custar menos de 1% da vazão de processarPedido (ver MetricasBenchmark):
+ *  - todos os medidores são registrados na construção: no caminho quente não
+ *    há busca por nome/tags nem alocação;
+ *  - contadores (por UF, por perfil RN01 e por tipo de erro) são LongAdder
+ *    lidos apenas no scrape (FunctionCounter), e contam todos os pedidos.
+ *    UF e perfil compartilham uma tabela UF × perfil: um único incremento por
+ *    pedido, somado por linha/coluna no scrape;
+ *  - os timers por etapa são amostrados: apenas 1 a cada "amostragem" pedidos
+ *    chama System.nanoTime e registra as durações. O count desses timers é,
+ *    portanto, o número de amostras, não de pedidos.
+ *
+ * Métricas:
+ *  - livraria.pedido.etapa{etapa}          duração de busca_cliente, valor_itens, desconto, frete
+ *  - livraria.pedidos.por.uf{uf}           pedidos registrados por UF de entrega
+ *  - livraria.pedidos.por.perfil{perfil}   pedidos registrados por perfil RN01
+ *  - livraria.pedidos.erros{tipo}          pedidos recusados por tipo de erro
+ */
+@Component
+public class MetricasPedido {
+
+    public enum Etapa {
+        BUSCA_CLIENTE("busca_cliente"),
+        VALOR_ITENS("valor_itens"),
+        DESCONTO("desconto"),
+        FRETE("frete");
+
+        private final String tag;
+
+        Etapa(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    public enum Erro {
+        CARRINHO_VAZIO("carrinho_vazio"),
+        CLIENTE_NAO_ENCONTRADO("cliente_nao_encontrado"),
+        UF_INVALIDA("uf_invalida"),
+        LIVRO_NAO_CATALOGADO("livro_nao_catalogado"),
+        ESTOQUE_INSUFICIENTE("estoque_insuficiente");
+
+        private final String tag;
+
+        Erro(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private static final int PERFIS = PerfilCliente.values().length;
+    private static final MetricasPedido DESABILITADAS = new MetricasPedido();
+
+    private final boolean ativo;
+    private final int mascaraAmostragem;
+    private final Timer[] timers = new Timer[Etapa.values().length];
+    private final LongAdder[] porUfEPerfil = adders(UF.quantidade() * PERFIS);
+    private final LongAdder[] porErro = adders(Erro.values().length);
+
+    /**
+     * @param amostragem registra as durações de 1 a cada N pedidos
+     *                   (arredondado para potência de 2; 1 = todos)
+     */
+    @Autowired
+    public MetricasPedido(MeterRegistry registry,
+                          @Value("${livraria.metricas.amostragem:256}") int amostragem) {
+        this.ativo = true;
+        this.mascaraAmostragem = Integer.highestOneBit(Math.max(1, amostragem)) - 1;
+
+        for (Etapa etapa : Etapa.values()) {
+            timers[etapa.ordinal()] = Timer.builder("livraria.pedido.etapa")
+                    .description("Duração de cada etapa de processarPedido (amostrada)")
+                    .tag("etapa", etapa.tag)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+        for (UF uf : UF.values()) {
+            FunctionCounter.builder("livraria.pedidos.por.uf", this, m -> m.somaPorUf(uf))
+                    .description("Pedidos registrados por UF de entrega")
+                    .tag("uf", uf.name())
+                    .register(registry);
+        }
+        for (PerfilCliente perfil : PerfilCliente.values()) {
+            FunctionCounter.builder("livraria.pedidos.por.perfil", this, m -> m.somaPorPerfil(perfil))
+                    .description("Pedidos registrados por perfil de cliente (RN01)")
+                    .tag("perfil", perfil.name())
+                    .register(registry);
+        }
+        for (Erro erro : Erro.values()) {
+            FunctionCounter.builder("livraria.pedidos.erros", porErro[erro.ordinal()], LongAdder::sum)
+                    .description("Pedidos recusados por tipo de erro")
+                    .tag("tipo", erro.tag)
+                    .register(registry);
+        }
+    }
+
+    private MetricasPedido() {
+        this.ativo = false;
+        this.mascaraAmostragem = 0;
+    }
+
+    /**
+     * Instância sem registro nem custo, para testes de unidade e uso fora do Spring.
+     */
+    public static MetricasPedido desabilitadas() {
+        return DESABILITADAS;
+    }
+
+    /**
+     * Decide se o pedido corrente terá as etapas cronometradas.
+     */
+    public boolean amostrar() {
+        return ativo && (ThreadLocalRandom.current().nextInt() & mascaraAmostragem) == 0;
+    }
+
+    /**
+     * Marca de tempo inicial (0 se o pedido não é amostrado).
+     */
+    public long iniciar(boolean amostrado) {
+        return amostrado ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Registra a duração da etapa iniciada em "inicio" e devolve a marca de
+     * tempo atual, que serve de início para a etapa seguinte.
+     */
+    public long registrarEtapa(boolean amostrado, Etapa etapa, long inicio) {
+        if (!amostrado) {
+            return 0L;
+        }
+        long agora = System.nanoTime();
+        timers[etapa.ordinal()].record(agora - inicio, TimeUnit.NANOSECONDS);
+        return agora;
+    }
+
+    public void pedidoRegistrado(UF uf, PerfilCliente perfil) {
+        if (ativo) {
+            porUfEPerfil[uf.ordinal() * PERFIS + perfil.ordinal()].increment();
+        }
+    }
+
+    public void erro(Erro erro) {
+        if (ativo) {
+            porErro[erro.ordinal()].increment();
+        }
+    }
+
+    private double somaPorUf(UF uf) {
+        long soma = 0;
+        for (int p = 0; p < PERFIS; p++) {
+            soma += porUfEPerfil[uf.ordinal() * PERFIS + p].sum();
+        }
+        return soma;
+    }
+
+    private double somaPorPerfil(PerfilCliente perfil) {
+        long soma = 0;
+        for (int u = 0; u < UF.quantidade(); u++) {
+            soma += porUfEPerfil[u * PERFIS + perfil.ordinal()].sum();
+        }
+        return soma;
+    }
+
+    private static LongAdder[] adders(int quantidade) {
+        LongAdder[] adders = new LongAdder[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
@@ -0,0 +1,289 @@
+package br.edu.ifsp.bra.livraria.service;
+
+import br.edu.ifsp.bra.livraria.api.dto.PedidoRequestDTO;
+import br.edu.ifsp.bra.livraria.api.dto.PedidoStatusDTO;
+import br.edu.ifsp.bra.livraria.api.dto.SituacaoSubmissao;
+import br.edu.ifsp.bra.livraria.entity.Pedido;
+import br.edu.ifsp.bra.livraria.repository.PedidoRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Submissão assíncrona do caso de uso "Efetuar Pedido de Livro".
+ *
+ * submeter reserva o id do pedido, enfileira o processamento e retorna
+ * imediatamente; o cliente acompanha a situação por consultarStatus (polling)
+ * ou acompanhar (stream). Assim processarPedido roda fora da thread da
+ * requisição HTTP e picos de carga viram fila, em vez de esgotar o pool do Tomcat.
+ *
+ * Execução:
+ *  - spring.threads.virtual.enabled=true (Java 21+): uma virtual thread por pedido;
+ *  - caso contrário: pool de threads de plataforma de tamanho fixo.
+ * Em ambos os casos, no máximo "capacidade" pedidos ficam em fila ou em
+ * processamento; acima disso submeter lança RejectedExecutionException.
+ *
+ * Submissões concluídas com sucesso saem do registro (o pedido passa a ser
+ * consultado no PedidoRepository); as com erro ficam disponíveis por
+ * retencaoErrosSegundos.
+ */
+@Service
+public class PedidoAssincronoService {
+
+    private static final Logger log = LoggerFactory.getLogger(PedidoAssincronoService.class);
+
+    private final PedidoService pedidoService;
+    private final PedidoRepository pedidoRepository;
+    private final TaskExecutor executor;
+    private final boolean threadsVirtuais;
+    private final Semaphore vagas;
+    private final long retencaoErrosMs;
+    private final Map<Long, Submissao> submissoes = new ConcurrentHashMap<>();
+
+    public PedidoAssincronoService(PedidoService pedidoService,
+                                   PedidoRepository pedidoRepository,
+                                   @Value("${spring.threads.virtual.enabled:false}") boolean threadsVirtuais,
+                                   @Value("${livraria.pedidos.assincrono.threads:0}") int threads,
+                                   @Value("${livraria.pedidos.assincrono.capacidade:10000}") int capacidade,
+                                   @Value("${livraria.pedidos.assincrono.retencao-erros-segundos:600}") long retencaoErrosSegundos) {
+        this.pedidoService = pedidoService;
+        this.pedidoRepository = pedidoRepository;
+        this.vagas = new Semaphore(capacidade);
+        this.retencaoErrosMs = retencaoErrosSegundos * 1000;
+
+        TaskExecutor virtual = threadsVirtuais ? criarExecutorVirtual() : null;
+        this.threadsVirtuais = virtual != null;
+        this.executor = virtual != null ? virtual : criarPool(threads, capacidade);
+    }
+
+    /**
+     * Reserva o id e enfileira o pedido.
+     *
+     * @return situação inicial (NA_FILA) com o id reservado
+     * @throws RejectedExecutionException se a capacidade de fila estiver esgotada
+     */
+    public PedidoStatusDTO submeter(PedidoRequestDTO dto) {
+        if (!vagas.tryAcquire()) {
+            throw new RejectedExecutionException("Fila de pedidos cheia. Tente novamente em instantes.");
+        }
+        Submissao submissao;
+        try {
+            submissao = new Submissao(pedidoRepository.reservarId());
+            submissoes.put(submissao.id, submissao);
+            executor.execute(() -> processar(submissao, dto));
+        } catch (RuntimeException ex) {
+            vagas.release();
+            throw ex;
+        }
+        return submissao.status();
+    }
+
+    /**
+     * Situação atual da submissão; pedidos já concluídos são buscados no repositório.
+     */
+    public Optional<PedidoStatusDTO> consultarStatus(Long id) {
+        Submissao submissao = submissoes.get(id);
+        if (submissao != null) {
+            return Optional.of(submissao.status());
+        }
+        return pedidoRepository.findById(id).map(PedidoAssincronoService::concluido);
+    }
+
+    /**
+     * Notifica o ouvinte com a situação atual e a cada mudança, até a situação
+     * final (CONCLUIDO ou ERRO), que é sempre a última notificação.
+     *
+     * @return false se o id não corresponde a nenhuma submissão ou pedido
+     */
+    public boolean acompanhar(Long id, Consumer<PedidoStatusDTO> ouvinte) {
+        Submissao submissao = submissoes.get(id);
+        if (submissao != null) {
+            submissao.inscrever(ouvinte);
+            return true;
+        }
+        Optional<Pedido> pedido = pedidoRepository.findById(id);
+        pedido.ifPresent(p -> ouvinte.accept(concluido(p)));
+        return pedido.isPresent();
+    }
+
+    /**
+     * Pedidos em fila ou em processamento.
+     */
+    public int emAndamento() {
+        return (int) submissoes.values().stream().filter(s -> !s.situacao.isFinal()).count();
+    }
+
+    public boolean isThreadsVirtuais() {
+        return threadsVirtuais;
+    }
+
+    /**
+     * Descarta submissões com erro mais antigas que a retenção.
+     */
+    @Scheduled(fixedDelayString = "${livraria.pedidos.assincrono.limpeza-ms:60000}")
+    public void descartarErrosExpirados() {
+        long limite = System.currentTimeMillis() - retencaoErrosMs;
+        submissoes.values().removeIf(s -> s.situacao == SituacaoSubmissao.ERRO && s.concluidaEm < limite);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        }
+    }
+
+    private void processar(Submissao submissao, PedidoRequestDTO dto) {
+        try {
+            submissao.mudar(SituacaoSubmissao.PROCESSANDO, null, null);
+            Pedido pedido = pedidoService.processarPedidoReservado(
+                    submissao.id,
+                    dto.getClienteId(),
+                    dto.getEnderecoEntrega(),
+                    dto.getItens(),
+                    dto.getFormaPagamento());
+            submissao.mudar(SituacaoSubmissao.CONCLUIDO, pedido.getStatus(), null);
+            submissoes.remove(submissao.id);
+        } catch (RuntimeException ex) {
+            submissao.mudar(SituacaoSubmissao.ERRO, null, ex.getMessage());
+        } finally {
+            vagas.release();
+        }
+    }
+
+    private static PedidoStatusDTO concluido(Pedido pedido) {
+        return new PedidoStatusDTO(pedido.getId(), SituacaoSubmissao.CONCLUIDO, pedido.getStatus(), null);
+    }
+
+    private static TaskExecutor criarExecutorVirtual() {
+        try {
+            return new VirtualThreadTaskExecutor("pedido-assincrono-");
+        } catch (UnsupportedOperationException ex) {
+            log.warn("spring.threads.virtual.enabled=true exige Java 21+ (JVM atual: {}). "
+                    + "Usando pool de threads de plataforma.", Runtime.version());
+            return null;
+        }
+    }
+
+    private static TaskExecutor criarPool(int threads, int capacidade) {
+        int tamanho = threads > 0 ? threads : Runtime.getRuntime().availableProcessors() * 4;
+        ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+        pool.setThreadNamePrefix("pedido-assincrono-");
+        pool.setCorePoolSize(tamanho);
+        pool.setMaxPoolSize(tamanho);
+        pool.setQueueCapacity(capacidade); // o semáforo já limita; a fila nunca rejeita
+        pool.initialize();
+        return pool;
+    }
+
+    /**
+     * Estado mutável de uma submissão. Mudanças e inscrições são serializadas
+     * no próprio objeto, para que nenhum ouvinte perca a notificação final;
+     * as notificações em si (envio SSE, bloqueante) saem fora do monitor, para
+     * que um cliente lento não segure a submissão (nem prenda a virtual thread
+     * do processamento à thread portadora).
+     */
+    private static final class Submissao {
+        private final Long id;
+        private final List<Inscricao> inscricoes = new ArrayList<>();
+        private volatile SituacaoSubmissao situacao = SituacaoSubmissao.NA_FILA;
+        private String statusPedido;
+        private String erro;
+        private long concluidaEm;
+        private long versao;
+
+        private Submissao(Long id) {
+            this.id = id;
+        }
+
+        synchronized PedidoStatusDTO status() {
+            return new PedidoStatusDTO(id, situacao, statusPedido, erro);
+        }
+
+        void inscrever(Consumer<PedidoStatusDTO> ouvinte) {
+            Inscricao inscricao = new Inscricao(ouvinte);
+            long versaoAtual;
+            PedidoStatusDTO atual;
+            synchronized (this) {
+                versaoAtual = versao;
+                atual = status();
+                if (!situacao.isFinal()) {
+                    inscricoes.add(inscricao);
+                }
+            }
+            inscricao.entregar(id, versaoAtual, atual);
+        }
+
+        void mudar(SituacaoSubmissao nova, String statusPedido, String erro) {
+            long versaoNova;
+            PedidoStatusDTO status;
+            List<Inscricao> destinatarios;
+            synchronized (this) {
+                this.situacao = nova;
+                this.statusPedido = statusPedido;
+                this.erro = erro;
+                if (nova.isFinal()) {
+                    this.concluidaEm = System.currentTimeMillis();
+                }
+                versaoNova = ++versao;
+                status = status();
+                destinatarios = List.copyOf(inscricoes);
+                if (nova.isFinal()) {
+                    inscricoes.clear();
+                }
+            }
+            for (Inscricao inscricao : destinatarios) {
+                inscricao.entregar(id, versaoNova, status);
+            }
+        }
+    }
+
+    /**
+     * Um ouvinte inscrito. Notificações entregues fora do monitor da submissão
+     * podem chegar fora de ordem (ex.: a situação inicial da inscrição e uma
+     * mudança simultânea): cada uma leva a versão da submissão e uma versão
+     * mais antiga que a última entregue é descartada, de modo que a situação
+     * final é sempre a última. ReentrantLock em vez de synchronized: o envio
+     * bloqueante não prende a virtual thread à portadora.
+     */
+    private static final class Inscricao {
+        private final Consumer<PedidoStatusDTO> ouvinte;
+        private final ReentrantLock envio = new ReentrantLock();
+        private long ultimaVersao = -1;
+
+        private Inscricao(Consumer<PedidoStatusDTO> ouvinte) {
+            this.ouvinte = ouvinte;
+        }
+
+        void entregar(Long submissaoId, long versao, PedidoStatusDTO status) {
+            envio.lock();
+            try {
+                if (versao <= ultimaVersao) {
+                    return;
+                }
+                ultimaVersao = versao;
+                ouvinte.accept(status);
+            } catch (RuntimeException ex) {
+                log.debug("Ouvinte da submissão {} falhou: {}", submissaoId, ex.getMessage());
+            } finally {
+                envio.unlock();
+            }
+        }
+    }
+}
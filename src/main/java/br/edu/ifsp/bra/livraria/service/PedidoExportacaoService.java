@@ -0,0 +1,265 @@
+package br.edu.ifsp.bra.livraria.service;
+
+import br.edu.ifsp.bra.livraria.entity.Dinheiro;
+import br.edu.ifsp.bra.livraria.entity.Pedido;
+import br.edu.ifsp.bra.livraria.entity.UF;
+import br.edu.ifsp.bra.livraria.repository.PedidoRepository;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Exportação de todos os pedidos (ex.: carga noturna do financeiro) em
+ * NDJSON ou CSV, escrita direto no OutputStream da resposta.
+ *
+ *  - Os pedidos são percorridos por cursor (PedidoRepository.findAposId),
+ *    uma página de tamanhoPagina pedidos por vez, sem montar a lista inteira.
+ *  - Cada página é escrita e enviada (flush) antes da próxima ser buscada:
+ *    se o cliente lê devagar, a escrita bloqueia e a leitura do repositório
+ *    espera junto, de modo que no máximo uma página fica em memória.
+ *  - aposId permite retomar uma exportação interrompida a partir do último
+ *    id recebido.
+ *
+ * Campos: id, clienteId, dataCriacao (ISO-8601, em segundos), uf, valorItens,
+ * desconto, frete, valorTotal e status. Valores monetários saem em reais com
+ * duas casas, convertidos dos centavos sem passar por double.
+ *
+ * Pedidos gravados durante a exportação com id acima do cursor também saem;
+ * mudanças de status de pedidos já exportados, não.
+ */
+@Service
+public class PedidoExportacaoService {
+
+    static final String CABECALHO_CSV = "id,clienteId,dataCriacao,uf,valorItens,desconto,frete,valorTotal,status";
+
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
+    private final PedidoRepository pedidoRepository;
+    private final JsonFactory fabricaJson;
+    private final int tamanhoPagina;
+
+    public PedidoExportacaoService(PedidoRepository pedidoRepository,
+                                   ObjectMapper mapper,
+                                   @Value("${livraria.exportacao.tamanho-pagina:1000}") int tamanhoPagina) {
+        if (tamanhoPagina <= 0) {
+            throw new IllegalArgumentException("livraria.exportacao.tamanho-pagina deve ser positivo.");
+        }
+        this.pedidoRepository = pedidoRepository;
+        this.fabricaJson = mapper.getFactory();
+        this.tamanhoPagina = tamanhoPagina;
+    }
+
+    /**
+     * Escreve em saida todos os pedidos com id maior que aposId, em ordem de id.
+     *
+     * @return quantidade de pedidos exportados
+     */
+    public long exportar(FormatoExportacao formato, long aposId, OutputStream saida) throws IOException {
+        try (EscritorPedidos escritor = formato == FormatoExportacao.CSV
+                ? new EscritorCsv(saida)
+                : new EscritorNdjson(fabricaJson.createGenerator(saida))) {
+
+            long cursor = aposId;
+            long total = 0;
+            List<Pedido> pagina;
+            while (!(pagina = pedidoRepository.findAposId(cursor, tamanhoPagina)).isEmpty()) {
+                for (Pedido pedido : pagina) {
+                    escritor.escrever(pedido);
+                }
+                escritor.flush();
+                cursor = pagina.get(pagina.size() - 1).getId();
+                total += pagina.size();
+            }
+            return total;
+        }
+    }
+
+    /** Sigla da UF de entrega, ou o estado como foi informado se não for uma sigla. */
+    private static String uf(Pedido pedido) {
+        String estado = pedido.getEnderecoEntrega() != null ? pedido.getEnderecoEntrega().getEstado() : null;
+        UF uf = UF.fromSigla(estado);
+        return uf != null ? uf.name() : estado;
+    }
+
+    /**
+     * ISO-8601 local truncado em segundos (ex.: 2026-01-02T03:04:05). Montado à
+     * mão: DateTimeFormatter aloca a cada chamada (inclusive para a fração de segundo).
+     */
+    private static void anexarData(StringBuilder destino, LocalDateTime data) {
+        destino.append(data.getYear()).append('-');
+        anexarDoisDigitos(destino, data.getMonthValue()).append('-');
+        anexarDoisDigitos(destino, data.getDayOfMonth()).append('T');
+        anexarDoisDigitos(destino, data.getHour()).append(':');
+        anexarDoisDigitos(destino, data.getMinute()).append(':');
+        anexarDoisDigitos(destino, data.getSecond());
+    }
+
+    private static StringBuilder anexarDoisDigitos(StringBuilder destino, int valor) {
+        return destino.append((char) ('0' + valor / 10)).append((char) ('0' + valor % 10));
+    }
+
+    private static Long clienteId(Pedido pedido) {
+        return pedido.getCliente() != null ? pedido.getCliente().getId() : null;
+    }
+
+    /**
+     * Base dos escritores: monta cada valor num StringBuilder reutilizado e
+     * o copia para um char[] também reutilizado, sem criar uma String por
+     * campo (valores monetários, datas, ids).
+     */
+    private abstract static class EscritorPedidos implements AutoCloseable {
+        protected final StringBuilder texto = new StringBuilder(256);
+        private char[] caracteres = new char[256];
+
+        abstract void escrever(Pedido pedido) throws IOException;
+
+        abstract void flush() throws IOException;
+
+        @Override
+        public abstract void close() throws IOException;
+
+        /** Copia texto para caracteres() e devolve o tamanho. */
+        protected int copiarTexto() {
+            int tamanho = texto.length();
+            if (tamanho > caracteres.length) {
+                caracteres = new char[Math.max(tamanho, caracteres.length * 2)];
+            }
+            texto.getChars(0, tamanho, caracteres, 0);
+            return tamanho;
+        }
+
+        protected char[] caracteres() {
+            return caracteres;
+        }
+    }
+
+    private static final class EscritorNdjson extends EscritorPedidos {
+        private final JsonGenerator gerador;
+
+        EscritorNdjson(JsonGenerator gerador) {
+            this.gerador = gerador;
+            gerador.setRootValueSeparator(null); // a quebra de linha é escrita à parte
+        }
+
+        @Override
+        void escrever(Pedido pedido) throws IOException {
+            gerador.writeStartObject();
+            gerador.writeNumberField("id", pedido.getId());
+            Long clienteId = clienteId(pedido);
+            if (clienteId != null) {
+                gerador.writeNumberField("clienteId", clienteId);
+            } else {
+                gerador.writeNullField("clienteId");
+            }
+            gerador.writeFieldName("dataCriacao");
+            if (pedido.getDataCriacao() != null) {
+                texto.setLength(0);
+                anexarData(texto, pedido.getDataCriacao());
+                gerador.writeString(caracteres(), 0, copiarTexto());
+            } else {
+                gerador.writeNull();
+            }
+            gerador.writeStringField("uf", uf(pedido));
+            escreverDinheiro("valorItens", pedido.getValorItensCentavos());
+            escreverDinheiro("desconto", pedido.getDescontoCentavos());
+            escreverDinheiro("frete", pedido.getFreteCentavos());
+            escreverDinheiro("valorTotal", pedido.getValorTotalCentavos());
+            gerador.writeStringField("status", pedido.getStatus());
+            gerador.writeEndObject();
+            gerador.writeRaw('\n');
+        }
+
+        private void escreverDinheiro(String campo, long centavos) throws IOException {
+            gerador.writeFieldName(campo);
+            texto.setLength(0);
+            Dinheiro.anexar(texto, centavos);
+            gerador.writeNumber(caracteres(), 0, copiarTexto());
+        }
+
+        @Override
+        void flush() throws IOException {
+            gerador.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            gerador.close();
+        }
+    }
+
+    /** Cada linha é montada inteira em texto e escrita de uma vez. */
+    private static final class EscritorCsv extends EscritorPedidos {
+        private final Writer escritor;
+
+        EscritorCsv(OutputStream saida) throws IOException {
+            this.escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), TAMANHO_BUFFER);
+            escritor.write(CABECALHO_CSV);
+            escritor.write('\n');
+        }
+
+        @Override
+        void escrever(Pedido pedido) throws IOException {
+            texto.setLength(0);
+            texto.append(pedido.getId()).append(',');
+            Long clienteId = clienteId(pedido);
+            if (clienteId != null) {
+                texto.append(clienteId.longValue());
+            }
+            texto.append(',');
+            if (pedido.getDataCriacao() != null) {
+                anexarData(texto, pedido.getDataCriacao());
+            }
+            texto.append(',');
+            anexarTexto(uf(pedido));
+            texto.append(',');
+            Dinheiro.anexar(texto, pedido.getValorItensCentavos()).append(',');
+            Dinheiro.anexar(texto, pedido.getDescontoCentavos()).append(',');
+            Dinheiro.anexar(texto, pedido.getFreteCentavos()).append(',');
+            Dinheiro.anexar(texto, pedido.getValorTotalCentavos()).append(',');
+            anexarTexto(pedido.getStatus());
+            texto.append('\n');
+            escritor.write(caracteres(), 0, copiarTexto());
+        }
+
+        /** Campo de texto livre, entre aspas apenas quando necessário (RFC 4180). */
+        private void anexarTexto(String valor) {
+            if (valor == null) {
+                return;
+            }
+            if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+                texto.append(valor);
+                return;
+            }
+            texto.append('"');
+            for (int i = 0; i < valor.length(); i++) {
+                char c = valor.charAt(i);
+                if (c == '"') {
+                    texto.append('"');
+                }
+                texto.append(c);
+            }
+            texto.append('"');
+        }
+
+        @Override
+        void flush() throws IOException {
+            escritor.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            escritor.close();
+        }
+    }
+}
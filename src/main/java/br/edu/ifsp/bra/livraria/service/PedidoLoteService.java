@@ -0,0 +1,125 @@
+package br.edu.ifsp.bra.livraria.service;
+
+import br.edu.ifsp.bra.livraria.api.dto.PedidoLoteResultadoDTO;
+import br.edu.ifsp.bra.livraria.api.dto.PedidoRequestDTO;
+import br.edu.ifsp.bra.livraria.entity.Cliente;
+import br.edu.ifsp.bra.livraria.entity.Pedido;
+import br.edu.ifsp.bra.livraria.repository.ClienteRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Processamento em lote do caso de uso "Efetuar Pedido de Livro".
+ *
+ * Cada carrinho do lote passa pelo mesmo fluxo de PedidoService (RN01, RN02, RN03),
+ * mas:
+ *  - os clientes do lote são buscados de uma vez (ClienteRepository.findAllById),
+ *    cada clienteId distinto uma única vez;
+ *  - os carrinhos são distribuídos entre os núcleos por um ForkJoinPool próprio,
+ *    de paralelismo limitado, para não disputar o pool comum da JVM;
+ *  - a falha de um carrinho (cliente inexistente, carrinho vazio, UF inválida)
+ *    gera um resultado de erro apenas para aquela posição do lote.
+ */
+@Service
+public class PedidoLoteService {
+
+    private final PedidoService pedidoService;
+    private final ClienteRepository clienteRepository;
+    private final ForkJoinPool pool;
+    private final int tamanhoMaximo;
+
+    public PedidoLoteService(PedidoService pedidoService,
+                             ClienteRepository clienteRepository,
+                             @Value("${livraria.lote.paralelismo:0}") int paralelismo,
+                             @Value("${livraria.lote.tamanho-maximo:10000}") int tamanhoMaximo) {
+        this.pedidoService = pedidoService;
+        this.clienteRepository = clienteRepository;
+        this.pool = new ForkJoinPool(paralelismo > 0
+                ? paralelismo
+                : Runtime.getRuntime().availableProcessors());
+        this.tamanhoMaximo = tamanhoMaximo;
+    }
+
+    /**
+     * Processa todos os carrinhos do lote e devolve um resultado por posição,
+     * na mesma ordem da lista recebida.
+     *
+     * @param requisicoes carrinhos a processar (não pode ser vazio nem exceder o tamanho máximo)
+     * @return resultados de sucesso ou erro, um por requisição
+     */
+    public List<PedidoLoteResultadoDTO> processarLote(List<PedidoRequestDTO> requisicoes) {
+        if (requisicoes == null || requisicoes.isEmpty()) {
+            throw new IllegalArgumentException("Lote vazio não permitido. Deve haver ao menos um pedido.");
+        }
+        if (requisicoes.size() > tamanhoMaximo) {
+            throw new IllegalArgumentException("Lote excede o tamanho máximo de " + tamanhoMaximo + " pedidos.");
+        }
+
+        Map<Long, Cliente> clientes = buscarClientes(requisicoes);
+
+        PedidoLoteResultadoDTO[] resultados = new PedidoLoteResultadoDTO[requisicoes.size()];
+        pool.submit(() -> IntStream.range(0, resultados.length)
+                        .parallel()
+                        .forEach(i -> resultados[i] = processarItem(i, requisicoes.get(i), clientes)))
+                .join();
+
+        return Arrays.asList(resultados);
+    }
+
+    /**
+     * Busca todos os clientes distintos do lote numa única chamada ao repositório.
+     * Clientes inexistentes simplesmente não entram no mapa.
+     */
+    private Map<Long, Cliente> buscarClientes(List<PedidoRequestDTO> requisicoes) {
+        Set<Long> ids = new HashSet<>();
+        for (PedidoRequestDTO dto : requisicoes) {
+            if (dto != null && dto.getClienteId() != null) {
+                ids.add(dto.getClienteId());
+            }
+        }
+        return clienteRepository.findAllById(ids);
+    }
+
+    private PedidoLoteResultadoDTO processarItem(int indice, PedidoRequestDTO dto, Map<Long, Cliente> clientes) {
+        if (dto == null) {
+            return PedidoLoteResultadoDTO.erro(indice, "Pedido nulo no lote.");
+        }
+        try {
+            // Fluxo de exceção (2) – mesma ordem de validação de processarPedido(Long, ...)
+            if (dto.getItens() == null || dto.getItens().isEmpty()) {
+                pedidoService.getMetricas().erro(MetricasPedido.Erro.CARRINHO_VAZIO);
+                throw new IllegalArgumentException("Carrinho vazio não permitido. Deve haver ao menos um item.");
+            }
+            Cliente cliente = clientes.get(dto.getClienteId());
+            if (cliente == null) {
+                pedidoService.getMetricas().erro(MetricasPedido.Erro.CLIENTE_NAO_ENCONTRADO);
+                throw new RuntimeException("Cliente não encontrado: " + dto.getClienteId());
+            }
+            Pedido pedido = pedidoService.processarPedido(
+                    cliente,
+                    dto.getEnderecoEntrega(),
+                    dto.getItens(),
+                    dto.getFormaPagamento()
+            );
+            return PedidoLoteResultadoDTO.sucesso(indice, pedido);
+
+        } catch (RuntimeException ex) {
+            String mensagem = ex.getMessage() != null ? ex.getMessage() : ex.getClass().getSimpleName();
+            return PedidoLoteResultadoDTO.erro(indice, mensagem);
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,211 @@
+package br.edu.ifsp.bra.livraria.service;
+
+import br.edu.ifsp.bra.livraria.api.dto.PedidoImportacaoResultadoDTO;
+import br.edu.ifsp.bra.livraria.api.dto.PedidoRequestDTO;
+import br.edu.ifsp.bra.livraria.entity.Pedido;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Importação em massa de pedidos em NDJSON (um PedidoRequestDTO por linha),
+ * com memória constante independentemente do tamanho da entrada.
+ *
+ *  - A entrada é lida em blocos e dividida em linhas num buffer reutilizado,
+ *    limitado a tamanhoMaximoLinha; uma linha maior vira erro e é descartada
+ *    até a próxima quebra de linha, sem ser acumulada.
+ *  - Cada linha é convertida e processada por PedidoService assim que chega,
+ *    e o resultado (PedidoImportacaoResultadoDTO) é escrito na saída logo em
+ *    seguida, também como NDJSON, na mesma ordem da entrada.
+ *  - Uma linha inválida (JSON malformado, carrinho vazio, cliente inexistente)
+ *    gera erro apenas para aquela linha.
+ *
+ * A saída é enviada ao cliente a cada intervaloFlush resultados.
+ */
+@Service
+public class PedidoNdjsonService {
+
+    private static final int TAMANHO_BLOCO = 64 * 1024;
+
+    private final PedidoService pedidoService;
+    private final ObjectReader leitor;
+    private final ObjectWriter escritor;
+    private final int tamanhoMaximoLinha;
+    private final int intervaloFlush;
+
+    @Autowired
+    public PedidoNdjsonService(PedidoService pedidoService,
+                               ObjectMapper mapper,
+                               @Value("${livraria.importacao.tamanho-maximo-linha:1048576}") int tamanhoMaximoLinha,
+                               @Value("${livraria.importacao.intervalo-flush:256}") int intervaloFlush) {
+        this.pedidoService = pedidoService;
+        this.leitor = mapper.readerFor(PedidoRequestDTO.class);
+        // Sem o separador padrão (espaço) entre valores raiz: a quebra de linha é escrita à parte.
+        // Sem FLUSH_AFTER_WRITE_VALUE (ligado por padrão): o flush é só a cada intervaloFlush resultados
+        this.escritor = mapper.writerFor(PedidoImportacaoResultadoDTO.class)
+                .withRootValueSeparator("")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.tamanhoMaximoLinha = tamanhoMaximoLinha;
+        this.intervaloFlush = Math.max(1, intervaloFlush);
+    }
+
+    /**
+     * Lê pedidos de entrada até o fim e escreve um resultado por linha não vazia em saida.
+     *
+     * @return quantidade de pedidos criados com sucesso
+     */
+    public long importar(InputStream entrada, OutputStream saida) throws IOException {
+        LeitorLinhas linhas = new LeitorLinhas(entrada, tamanhoMaximoLinha);
+        long criados = 0;
+        long pendentes = 0;
+
+        try (JsonGenerator gerador = escritor.getFactory().createGenerator(saida)) {
+            int tamanho;
+            while ((tamanho = linhas.proxima()) != LeitorLinhas.FIM) {
+                if (tamanho == 0) {
+                    continue; // linha em branco
+                }
+                PedidoImportacaoResultadoDTO resultado = tamanho == LeitorLinhas.EXCEDIDA
+                        ? PedidoImportacaoResultadoDTO.erro(linhas.numero(),
+                                "Linha excede o tamanho máximo de " + tamanhoMaximoLinha + " bytes.")
+                        : processar(linhas.numero(), linhas.buffer(), tamanho);
+                if (resultado.isSucesso()) {
+                    criados++;
+                }
+
+                escritor.writeValue(gerador, resultado);
+                gerador.writeRaw('\n');
+                if (++pendentes == intervaloFlush) {
+                    gerador.flush();
+                    pendentes = 0;
+                }
+            }
+        }
+        return criados;
+    }
+
+    private PedidoImportacaoResultadoDTO processar(long numero, byte[] linha, int tamanho) {
+        PedidoRequestDTO dto;
+        try {
+            dto = leitor.readValue(linha, 0, tamanho);
+        } catch (JsonProcessingException ex) {
+            return PedidoImportacaoResultadoDTO.erro(numero, "JSON inválido: " + ex.getOriginalMessage());
+        } catch (IOException ex) {
+            return PedidoImportacaoResultadoDTO.erro(numero, "JSON inválido: " + ex.getMessage());
+        }
+
+        try {
+            Pedido pedido = pedidoService.processarPedido(
+                    dto.getClienteId(),
+                    dto.getEnderecoEntrega(),
+                    dto.getItens(),
+                    dto.getFormaPagamento());
+            return PedidoImportacaoResultadoDTO.sucesso(numero, pedido.getId(), pedido.getValorTotal(), pedido.getStatus());
+
+        } catch (RuntimeException ex) {
+            String mensagem = ex.getMessage() != null ? ex.getMessage() : ex.getClass().getSimpleName();
+            return PedidoImportacaoResultadoDTO.erro(numero, mensagem);
+        }
+    }
+
+    /**
+     * Divide a entrada em linhas ('\n', com '\r' final opcional) usando um
+     * bloco de leitura fixo e um buffer de linha que cresce até o máximo.
+     */
+    static final class LeitorLinhas {
+        static final int FIM = -1;
+        static final int EXCEDIDA = -2;
+
+        private final InputStream entrada;
+        private final int maximo;
+        private final byte[] bloco = new byte[TAMANHO_BLOCO];
+        private int posicao;
+        private int limite;
+        private byte[] linha = new byte[1024];
+        private long numero;
+
+        LeitorLinhas(InputStream entrada, int maximo) {
+            this.entrada = entrada;
+            this.maximo = maximo;
+        }
+
+        /**
+         * Avança para a próxima linha.
+         *
+         * @return tamanho da linha em buffer(), FIM ou EXCEDIDA
+         */
+        int proxima() throws IOException {
+            int tamanho = 0;
+            boolean excedida = false;
+            boolean leuAlgo = false;
+            while (true) {
+                if (posicao == limite) {
+                    limite = entrada.read(bloco);
+                    posicao = 0;
+                    if (limite <= 0) {
+                        limite = 0;
+                        if (!leuAlgo) {
+                            return FIM;
+                        }
+                        break; // última linha sem '\n'
+                    }
+                }
+                leuAlgo = true;
+
+                int inicio = posicao;
+                while (posicao < limite && bloco[posicao] != '\n') {
+                    posicao++;
+                }
+                int trecho = posicao - inicio;
+                if (!excedida) {
+                    if (tamanho + trecho > maximo) {
+                        excedida = true;
+                    } else {
+                        garantirCapacidade(tamanho + trecho);
+                        System.arraycopy(bloco, inicio, linha, tamanho, trecho);
+                        tamanho += trecho;
+                    }
+                }
+                if (posicao < limite) {
+                    posicao++; // consome '\n'
+                    break;
+                }
+            }
+
+            numero++;
+            if (excedida) {
+                return EXCEDIDA;
+            }
+            if (tamanho > 0 && linha[tamanho - 1] == '\r') {
+                tamanho--;
+            }
+            return tamanho;
+        }
+
+        byte[] buffer() {
+            return linha;
+        }
+
+        /** Número (1-based) da linha devolvida pela última chamada de proxima. */
+        long numero() {
+            return numero;
+        }
+
+        private void garantirCapacidade(int necessario) {
+            if (necessario > linha.length) {
+                linha = Arrays.copyOf(linha, Math.min(maximo, Math.max(necessario, linha.length * 2)));
+            }
+        }
+    }
+}
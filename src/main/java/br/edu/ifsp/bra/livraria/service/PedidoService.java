@@ -2,9 +2,13 @@ package br.edu.ifsp.bra.livraria.service;
 
 import br.edu.ifsp.bra.livraria.entity.*;
 import br.edu.ifsp.bra.livraria.repository.ClienteRepository;
+import br.edu.ifsp.bra.livraria.repository.PedidoRepository;
+import br.edu.ifsp.bra.livraria.repository.PedidoRepositoryInMemory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Service que integra as regras de negócio RN01 (desconto) e RN02 (frete)
@@ -17,6 +21,16 @@ import java.util.List;
  *  - Estado inicial: EM_PROCESSAMENTO
  *  - Outras transições (CONFIRMADO, CANCELADO, ENTREGUE) podem ser aplicadas
  *    via métodos auxiliares deste serviço.
+ *
+ * Todo pedido criado, e cada mudança de status, é gravado no PedidoRepository.
+ *
+ * Cada etapa (busca do cliente, valor dos itens, RN01, RN02) e cada recusa
+ * é contabilizada em MetricasPedido; cada pedido registrado entra nos
+ * agregados por janela de tempo de VendasRecentes.
+ *
+ * Os itens com ISBN são reservados no EstoqueLivros antes de o pedido ser
+ * gravado (todas as linhas ou nenhuma); a reserva volta ao estoque quando o
+ * pedido é CANCELADO e sai definitivamente quando é ENTREGUE.
  */
 
 @Service
@@ -25,13 +39,32 @@ public class PedidoService {
     private final CalculadoraDescontoService calculadoraDesconto;
     private final CalculadoraFreteService calculadoraFrete;
     private final ClienteRepository clienteRepository;
+    private final PedidoRepository pedidoRepository;
+    private final MetricasPedido metricas;
+    private final VendasRecentes vendasRecentes;
+    private final CatalogoLivros catalogo;
+    private final EstoqueLivros estoque;
 
+    /**
+     * Construtor do Spring. Fora dele (testes, benchmarks), use PedidoService.Construtor.
+     */
+    @Autowired
     public PedidoService(CalculadoraDescontoService calculadoraDesconto,
                          CalculadoraFreteService calculadoraFrete,
-                         ClienteRepository clienteRepository) {
+                         ClienteRepository clienteRepository,
+                         PedidoRepository pedidoRepository,
+                         MetricasPedido metricas,
+                         VendasRecentes vendasRecentes,
+                         CatalogoLivros catalogo,
+                         EstoqueLivros estoque) {
         this.calculadoraDesconto = calculadoraDesconto;
         this.calculadoraFrete = calculadoraFrete;
         this.clienteRepository = clienteRepository;
+        this.pedidoRepository = pedidoRepository;
+        this.metricas = metricas;
+        this.vendasRecentes = vendasRecentes;
+        this.catalogo = catalogo;
+        this.estoque = estoque;
     }
 
     /**
@@ -54,68 +87,291 @@ public class PedidoService {
                                   List<ItemCarrinho> itens,
                                   String formaPagamento) {
 
+        return processarPedidoReservado(null, clienteId, enderecoEntrega, itens, formaPagamento);
+    }
+
+    /**
+     * Variante de processarPedido para a submissão assíncrona: o id do pedido
+     * já foi reservado (PedidoRepository.reservarId) e devolvido ao cliente
+     * antes do processamento.
+     *
+     * @param pedidoId  id reservado para o pedido (null → próximo id da sequência)
+     */
+    public Pedido processarPedidoReservado(Long pedidoId,
+                                           Long clienteId,
+                                           Endereco enderecoEntrega,
+                                           List<ItemCarrinho> itens,
+                                           String formaPagamento) {
+
+        boolean amostrado = metricas.amostrar();
+        long inicio = metricas.iniciar(amostrado);
+
+        Cliente cliente = buscarCliente(clienteId, itens);
+        inicio = metricas.registrarEtapa(amostrado, MetricasPedido.Etapa.BUSCA_CLIENTE, inicio);
+
+        return calcularERegistrar(amostrado, inicio, pedidoId, cliente, enderecoEntrega, itens, formaPagamento);
+    }
+
+    private Cliente buscarCliente(Long clienteId, List<ItemCarrinho> itens) {
         // Fluxo de exceção (2) – Carrinho vazio
         if (itens == null || itens.isEmpty()) {
+            metricas.erro(MetricasPedido.Erro.CARRINHO_VAZIO);
             throw new IllegalArgumentException("Carrinho vazio não permitido. Deve haver ao menos um item.");
         }
 
         // 1. Buscar cliente (simulação de banco de dados usando MOCK)
-        Cliente cliente = clienteRepository.findById(clienteId)
-                .orElseThrow(() -> new RuntimeException("Cliente não encontrado: " + clienteId));
+        Optional<Cliente> cliente = clienteRepository.findById(clienteId);
+        if (cliente.isEmpty()) {
+            metricas.erro(MetricasPedido.Erro.CLIENTE_NAO_ENCONTRADO);
+            throw new RuntimeException("Cliente não encontrado: " + clienteId);
+        }
+        return cliente.get();
+    }
+
+    /**
+     * Variante de processarPedido para quando o cliente já foi carregado
+     * (ex.: processamento em lote, que busca cada cliente uma única vez).
+     *
+     * Aplica os mesmos passos 2 a 7 do fluxo principal.
+     *
+     * @param cliente          cliente já recuperado do repositório
+     * @param enderecoEntrega  endereço informado pelo cliente
+     * @param itens            itens do carrinho (não pode ser vazio - Fluxo de Exceção 2)
+     * @param formaPagamento   forma de pagamento escolhida
+     * @return Pedido com todos os cálculos aplicados
+     */
+    public Pedido processarPedido(Cliente cliente,
+                                  Endereco enderecoEntrega,
+                                  List<ItemCarrinho> itens,
+                                  String formaPagamento) {
+
+        boolean amostrado = metricas.amostrar();
+        return calcularERegistrar(amostrado, metricas.iniciar(amostrado), null,
+                cliente, enderecoEntrega, itens, formaPagamento);
+    }
+
+    /**
+     * Passos 2 a 7. amostrado/inicio vêm de MetricasPedido: quando o pedido é
+     * amostrado, cada etapa registra sua duração a partir do fim da anterior.
+     */
+    private Pedido calcularERegistrar(boolean amostrado,
+                                      long inicio,
+                                      Long pedidoId,
+                                      Cliente cliente,
+                                      Endereco enderecoEntrega,
+                                      List<ItemCarrinho> itens,
+                                      String formaPagamento) {
+
+        // Valores em centavos (ver Dinheiro): desconto e frete são arredondados
+        // ao centavo, e o total é a soma exata das parcelas.
 
         // 2. Validar carrinho (Fluxo de Exceção 2: carrinho vazio)
-        double valorItens = calcularValorItens(itens); // lança exceção se vazio
+        long valorItens = calcularValorItens(itens); // lança exceção se vazio
+        inicio = metricas.registrarEtapa(amostrado, MetricasPedido.Etapa.VALOR_ITENS, inicio);
 
         // 3. Aplicar desconto (RN01)
-        double desconto = calculadoraDesconto.calcularDesconto(cliente, valorItens);
-        double valorComDesconto = valorItens - desconto;
+        PerfilCliente perfil = calculadoraDesconto.identificarPerfilCliente(cliente);
+        long desconto = calculadoraDesconto.calcularDescontoCentavos(perfil, valorItens);
+        long valorComDesconto = valorItens - desconto;
+        inicio = metricas.registrarEtapa(amostrado, MetricasPedido.Etapa.DESCONTO, inicio);
 
         // 4. Calcular frete (RN02)
-        double frete = calculadoraFrete.calcularFrete(enderecoEntrega, valorComDesconto);
+        UF uf;
+        try {
+            uf = calculadoraFrete.identificarUf(enderecoEntrega.getEstado());
+        } catch (IllegalArgumentException ex) {
+            metricas.erro(MetricasPedido.Erro.UF_INVALIDA);
+            throw ex;
+        }
+        long frete = calculadoraFrete.calcularFreteCentavos(uf, enderecoEntrega.getCep(), valorComDesconto);
+        metricas.registrarEtapa(amostrado, MetricasPedido.Etapa.FRETE, inicio);
 
         // 5. Calcular valor final
-        double valorFinal = valorComDesconto + frete;
+        long valorFinal = valorComDesconto + frete;
+
+        // 6. Reservar o estoque de todas as linhas (ou de nenhuma)
+        try {
+            estoque.reservar(itens);
+        } catch (EstoqueInsuficienteException ex) {
+            metricas.erro(MetricasPedido.Erro.ESTOQUE_INSUFICIENTE);
+            throw ex;
+        }
 
-        // 6. Criar e retornar pedido (estado inicial RN03)
+        // 7. Criar, registrar e retornar pedido (estado inicial RN03)
         Pedido pedido = new Pedido();
+        pedido.setId(pedidoId); // null → o repositório atribui o próximo id
         pedido.setCliente(cliente);
         pedido.setEnderecoEntrega(enderecoEntrega);
         pedido.setItens(itens);
-        pedido.setValorItens(valorItens);
-        pedido.setDesconto(desconto);
-        pedido.setFrete(frete);
-        pedido.setValorTotal(valorFinal);
+        pedido.setValorItensCentavos(valorItens);
+        pedido.setDescontoCentavos(desconto);
+        pedido.setFreteCentavos(frete);
+        pedido.setValorTotalCentavos(valorFinal);
         pedido.setFormaPagamento(formaPagamento);
-        pedido.setStatus("EM_PROCESSAMENTO"); // RN03 - status inicial
+        pedido.setStatusPedido(StatusPedido.EM_PROCESSAMENTO); // RN03 - status inicial
 
-        return pedido;
+        Pedido registrado;
+        try {
+            registrado = pedidoRepository.save(pedido);
+        } catch (RuntimeException ex) {
+            estoque.liberar(itens); // pedido não gravado: a reserva não tem dono
+            throw ex;
+        }
+        metricas.pedidoRegistrado(uf, perfil);
+        vendasRecentes.registrar(uf, perfil, formaPagamento, valorFinal, desconto, frete);
+        return registrado;
+    }
+
+    /**
+     * Consulta um pedido já registrado.
+     */
+    public Optional<Pedido> buscarPedido(Long pedidoId) {
+        return pedidoRepository.findById(pedidoId);
+    }
+
+    public MetricasPedido getMetricas() {
+        return metricas;
     }
 
     /**
      * Corresponde ao vértice (2→3) do GFC:
      * - Se o carrinho estiver vazio, o caso de uso segue para o fluxo de exceção.
+     *
+     * Itens com ISBN são precificados pelo CatalogoLivros: título e preço
+     * informados pelo cliente são substituídos pelos do catálogo.
      */
-    private double calcularValorItens(List<ItemCarrinho> itens) {
+    private long calcularValorItens(List<ItemCarrinho> itens) {
         if (itens == null || itens.isEmpty()) {
+            metricas.erro(MetricasPedido.Erro.CARRINHO_VAZIO);
             throw new IllegalArgumentException("Não é possível processar pedido com carrinho vazio.");
         }
-        return itens.stream()
-                .mapToDouble(ItemCarrinho::getSubtotal)
-                .sum();
+        long total = 0;
+        for (ItemCarrinho item : itens) {
+            precificar(item);
+            total = Math.addExact(total, item.getSubtotalCentavos());
+        }
+        return total;
+    }
+
+    private void precificar(ItemCarrinho item) {
+        if (item.getIsbn() == null) {
+            if (catalogo.isExigirIsbn()) {
+                metricas.erro(MetricasPedido.Erro.LIVRO_NAO_CATALOGADO);
+                throw new IllegalArgumentException("Item sem ISBN: o preço deve vir do catálogo (" + item.getLivroTitulo() + ").");
+            }
+            return;
+        }
+        Livro livro = catalogo.buscar(item.getIsbn());
+        if (livro == null) {
+            metricas.erro(MetricasPedido.Erro.LIVRO_NAO_CATALOGADO);
+            throw new IllegalArgumentException("Livro não encontrado no catálogo: " + item.getIsbn());
+        }
+        item.setIsbn(livro.getIsbn());
+        item.setLivroTitulo(livro.getTitulo());
+        item.setPrecoUnitarioCentavos(livro.getPrecoCentavos());
     }
 
     // Métodos auxiliares de RN03 (diagrama de estados / GE).
-    // Podem ser testados separadamente, mas não são o foco principal deste trabalho.
+    // As transições são validadas por StatusPedido e aplicadas com
+    // compare-and-set em Pedido: callbacks de pagamento e de entrega do mesmo
+    // pedido podem chegar concorrentemente, sem locks.
+    // Transição não permitida → TransicaoStatusInvalidaException.
+    // Como só uma thread vence o compare-and-set, a reserva de estoque é
+    // liberada (CANCELADO) ou baixada (ENTREGUE) uma única vez por pedido,
+    // inclusive quando a gravação do novo status falha: a transição já está
+    // visível no pedido, e o estoque a acompanha.
 
     public void confirmarPedido(Pedido pedido) {
-        pedido.setStatus("CONFIRMADO");
+        aplicarTransicao(pedido, StatusPedido.CONFIRMADO);
     }
 
     public void cancelarPorPagamentoNaoAutorizado(Pedido pedido) {
-        pedido.setStatus("CANCELADO");
+        aplicarTransicao(pedido, StatusPedido.CANCELADO);
     }
 
     public void marcarPedidoComoEntregue(Pedido pedido) {
-        pedido.setStatus("ENTREGUE");
+        aplicarTransicao(pedido, StatusPedido.ENTREGUE);
+    }
+
+    /**
+     * Aplica a transição ao pedido registrado com o id informado.
+     *
+     * @return o pedido atualizado, ou vazio se o id não existir
+     * @throws TransicaoStatusInvalidaException se o status atual não permite a transição
+     */
+    public Optional<Pedido> transitarPedido(Long pedidoId, StatusPedido destino) {
+        Optional<Pedido> pedido = pedidoRepository.findById(pedidoId);
+        pedido.ifPresent(p -> aplicarTransicao(p, destino));
+        return pedido;
+    }
+
+    private void aplicarTransicao(Pedido pedido, StatusPedido destino) {
+        pedido.transitar(destino);
+        try {
+            pedidoRepository.save(pedido);
+        } finally {
+            if (destino == StatusPedido.CANCELADO) {
+                estoque.liberar(pedido.getItens());
+            } else if (destino == StatusPedido.ENTREGUE) {
+                estoque.baixar(pedido.getItens());
+            }
+        }
+    }
+
+    /**
+     * Monta um PedidoService fora do Spring (testes de unidade e benchmarks).
+     * Só RN01, RN02 e o repositório de clientes são obrigatórios; o resto tem
+     * padrão: pedidos apenas em memória, sem métricas, sem agregados de vendas,
+     * catálogo vazio (itens com o preço informado) e sem controle de estoque.
+     */
+    public static final class Construtor {
+
+        private final CalculadoraDescontoService calculadoraDesconto;
+        private final CalculadoraFreteService calculadoraFrete;
+        private final ClienteRepository clienteRepository;
+        private PedidoRepository pedidoRepository;
+        private MetricasPedido metricas = MetricasPedido.desabilitadas();
+        private VendasRecentes vendasRecentes = VendasRecentes.desabilitadas();
+        private CatalogoLivros catalogo = CatalogoLivros.vazio();
+        private EstoqueLivros estoque = EstoqueLivros.desabilitado();
+
+        public Construtor(CalculadoraDescontoService calculadoraDesconto,
+                          CalculadoraFreteService calculadoraFrete,
+                          ClienteRepository clienteRepository) {
+            this.calculadoraDesconto = calculadoraDesconto;
+            this.calculadoraFrete = calculadoraFrete;
+            this.clienteRepository = clienteRepository;
+        }
+
+        public Construtor pedidoRepository(PedidoRepository pedidoRepository) {
+            this.pedidoRepository = pedidoRepository;
+            return this;
+        }
+
+        public Construtor metricas(MetricasPedido metricas) {
+            this.metricas = metricas;
+            return this;
+        }
+
+        public Construtor vendasRecentes(VendasRecentes vendasRecentes) {
+            this.vendasRecentes = vendasRecentes;
+            return this;
+        }
+
+        public Construtor catalogo(CatalogoLivros catalogo) {
+            this.catalogo = catalogo;
+            return this;
+        }
+
+        public Construtor estoque(EstoqueLivros estoque) {
+            this.estoque = estoque;
+            return this;
+        }
+
+        public PedidoService construir() {
+            return new PedidoService(calculadoraDesconto, calculadoraFrete, clienteRepository,
+                    pedidoRepository != null ? pedidoRepository : new PedidoRepositoryInMemory(),
+                    metricas, vendasRecentes, catalogo, estoque);
+        }
     }
 }
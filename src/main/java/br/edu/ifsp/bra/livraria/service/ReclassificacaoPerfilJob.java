@@ -0,0 +1,119 @@
+package br.edu.ifsp.bra.livraria.service;
+
+import br.edu.ifsp.bra.livraria.repository.PerfisClientes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Rotina noturna de reclassificação de perfis (RN01).
+ *
+ * O perfil de um cliente só muda no aniversário da data de cadastro, então
+ * a rotina promove apenas os aniversariantes do dia, via PerfisClientes
+ * (IndicePerfilCliente ou ClienteRepositoryCompacto).
+ *
+ * A data da última execução fica gravada em arquivo: se alguma execução
+ * diária for perdida (aplicação parada, cron atrasado), a próxima execução,
+ * ou a subida da aplicação, reclassifica também os aniversariantes dos dias
+ * perdidos. Sem arquivo (primeira execução), só o dia corrente.
+ */
+@Component
+public class ReclassificacaoPerfilJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ReclassificacaoPerfilJob.class);
+
+    // Os grupos de aniversariantes são por dia do ano: um ano cobre todos
+    private static final int DIAS_MAXIMOS_RECUPERACAO = 366;
+
+    private final PerfisClientes perfisClientes;
+    private final Path arquivoUltimaExecucao;
+
+    public ReclassificacaoPerfilJob(PerfisClientes perfisClientes,
+                                    @Value("${livraria.perfis.reclassificacao.arquivo-ultima-execucao:data/perfis/ultima-reclassificacao}")
+                                    Path arquivoUltimaExecucao) {
+        this.perfisClientes = perfisClientes;
+        this.arquivoUltimaExecucao = arquivoUltimaExecucao;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recuperarExecucoesPerdidas() {
+        reclassificarAte(LocalDate.now());
+    }
+
+    @Scheduled(cron = "${livraria.perfis.reclassificacao.cron:0 0 0 * * *}")
+    public void reclassificarAniversariantesDoDia() {
+        reclassificarAte(LocalDate.now());
+    }
+
+    /**
+     * Reclassifica os aniversariantes de cada dia após a última execução
+     * registrada, até hoje inclusive, e registra hoje como última execução.
+     *
+     * @return quantidade de clientes que mudaram de perfil
+     */
+    synchronized int reclassificarAte(LocalDate hoje) {
+        LocalDate ultima = lerUltimaExecucao();
+        if (ultima != null && !ultima.isBefore(hoje)) {
+            return 0;
+        }
+        LocalDate dia = ultima == null ? hoje : ultima.plusDays(1);
+        if (dia.isBefore(hoje.minusDays(DIAS_MAXIMOS_RECUPERACAO - 1))) {
+            dia = hoje.minusDays(DIAS_MAXIMOS_RECUPERACAO - 1);
+        }
+
+        int promovidos = 0;
+        LocalDate primeiro = dia;
+        for (; !dia.isAfter(hoje); dia = dia.plusDays(1)) {
+            // Reclassifica com a data de hoje: quem fez aniversário num dia perdido já tem o vínculo atual
+            promovidos += perfisClientes.reclassificarAniversariantes(dia, hoje);
+        }
+        gravarUltimaExecucao(hoje);
+
+        if (primeiro.isBefore(hoje)) {
+            log.info("Reclassificação RN01 de {} a {} (execuções perdidas): {} cliente(s) mudaram de perfil.",
+                    primeiro, hoje, promovidos);
+        } else {
+            log.info("Reclassificação RN01 de {}: {} cliente(s) mudaram de perfil.", hoje, promovidos);
+        }
+        return promovidos;
+    }
+
+    private LocalDate lerUltimaExecucao() {
+        if (!Files.exists(arquivoUltimaExecucao)) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(Files.readString(arquivoUltimaExecucao, StandardCharsets.UTF_8).trim());
+        } catch (IOException | DateTimeParseException e) {
+            log.warn("Data da última reclassificação ilegível em {}; reclassificando só o dia corrente.",
+                    arquivoUltimaExecucao, e);
+            return null;
+        }
+    }
+
+    // Grava em arquivo temporário e renomeia: uma queda no meio não deixa o arquivo truncado
+    private void gravarUltimaExecucao(LocalDate hoje) {
+        try {
+            Path diretorio = arquivoUltimaExecucao.toAbsolutePath().getParent();
+            Files.createDirectories(diretorio);
+            Path temporario = Files.createTempFile(diretorio, "reclassificacao", ".tmp");
+            Files.writeString(temporario, hoje.toString(), StandardCharsets.UTF_8);
+            Files.move(temporario, arquivoUltimaExecucao,
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Não foi possível gravar a data da reclassificação em {}.", arquivoUltimaExecucao, e);
+        }
+    }
+}
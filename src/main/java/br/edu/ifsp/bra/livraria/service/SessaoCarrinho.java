@@ -0,0 +1,175 @@
+package br.edu.ifsp.bra.livraria.service;
+
+import br.edu.ifsp.bra.livraria.api.dto.CarrinhoAlteracaoDTO;
+import br.edu.ifsp.bra.livraria.api.dto.CarrinhoDTO;
+import br.edu.ifsp.bra.livraria.entity.Dinheiro;
+import br.edu.ifsp.bra.livraria.entity.Endereco;
+import br.edu.ifsp.bra.livraria.entity.ItemCarrinho;
+import br.edu.ifsp.bra.livraria.entity.PerfilCliente;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Carrinho aberto de um cliente, mantido por CarrinhoService.
+ *
+ * Os totais são mantidos de forma incremental: cada alteração soma ao
+ * valor dos itens apenas a diferença de subtotal da linha alterada, e
+ * desconto e frete são os percentuais (RN01 do perfil, RN02 do endereço),
+ * já resolvidos na abertura ou na troca de endereço, aplicados sobre esse
+ * valor. Custo O(1) por alteração, qualquer que seja o tamanho do carrinho,
+ * inclusive a resposta (alteracao: só a linha alterada e os totais); a cópia
+ * de todos os itens fica para resumo (GET) e copiarItens (fechamento).
+ *
+ * Métodos sincronizados: alterações e leituras da mesma sessão podem chegar
+ * de requisições concorrentes (ex.: duas abas da loja).
+ */
+final class SessaoCarrinho {
+
+    // Estimativa de memória usada pelo limite de CarrinhoService
+    private static final int BYTES_SESSAO = 320;
+    private static final int BYTES_LINHA = 160;
+
+    private final String id;
+    private final Long clienteId;
+    private final PerfilCliente perfil;
+    private final LinkedHashMap<String, ItemCarrinho> linhas = new LinkedHashMap<>();
+
+    private Endereco enderecoEntrega;
+    private int pontosBaseFrete;
+    private long valorItensCentavos;
+    private long descontoCentavos;
+    private long freteCentavos;
+    private int bytesTexto;
+
+    SessaoCarrinho(String id, Long clienteId, PerfilCliente perfil) {
+        this.id = id;
+        this.clienteId = clienteId;
+        this.perfil = perfil;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    Long getClienteId() {
+        return clienteId;
+    }
+
+    synchronized Endereco getEnderecoEntrega() {
+        return enderecoEntrega;
+    }
+
+    synchronized int quantidadeLinhas() {
+        return linhas.size();
+    }
+
+    /**
+     * Soma quantidade à linha da chave (criando-a com o item, já precificado).
+     */
+    synchronized void adicionar(String chave, ItemCarrinho item, int maximoLinhas) {
+        ItemCarrinho atual = linhas.get(chave);
+        if (atual == null) {
+            if (linhas.size() >= maximoLinhas) {
+                throw new IllegalArgumentException("Carrinho já tem o máximo de " + maximoLinhas + " itens.");
+            }
+            ItemCarrinho novo = copiar(item);
+            linhas.put(chave, novo);
+            bytesTexto += 2 * (chave.length() + (novo.getLivroTitulo() != null ? novo.getLivroTitulo().length() : 0));
+            somar(novo.getSubtotalCentavos());
+            return;
+        }
+        long subtotalAnterior = atual.getSubtotalCentavos();
+        atual.setQuantidade(Math.addExact(atual.getQuantidade(), item.getQuantidade()));
+        atual.setPrecoUnitarioCentavos(item.getPrecoUnitarioCentavos());
+        somar(atual.getSubtotalCentavos() - subtotalAnterior);
+    }
+
+    /**
+     * Nova quantidade da linha (0 → remove). false se a linha não existir.
+     */
+    synchronized boolean alterarQuantidade(String chave, int quantidade) {
+        ItemCarrinho atual = linhas.get(chave);
+        if (atual == null) {
+            return false;
+        }
+        if (quantidade == 0) {
+            return remover(chave);
+        }
+        long subtotalAnterior = atual.getSubtotalCentavos();
+        atual.setQuantidade(quantidade);
+        somar(atual.getSubtotalCentavos() - subtotalAnterior);
+        return true;
+    }
+
+    /**
+     * Remove a linha. false se ela não existir.
+     */
+    synchronized boolean remover(String chave) {
+        ItemCarrinho removido = linhas.remove(chave);
+        if (removido == null) {
+            return false;
+        }
+        bytesTexto -= 2 * (chave.length() + (removido.getLivroTitulo() != null ? removido.getLivroTitulo().length() : 0));
+        somar(-removido.getSubtotalCentavos());
+        return true;
+    }
+
+    /**
+     * Troca o endereço de entrega e o percentual de frete correspondente.
+     */
+    synchronized void definirEndereco(Endereco endereco, int pontosBaseFrete) {
+        this.enderecoEntrega = endereco;
+        this.pontosBaseFrete = pontosBaseFrete;
+        recalcular();
+    }
+
+    /** Cópias dos itens, na ordem em que foram adicionados, para o pedido. */
+    synchronized List<ItemCarrinho> copiarItens() {
+        List<ItemCarrinho> itens = new ArrayList<>(linhas.size());
+        for (ItemCarrinho item : linhas.values()) {
+            itens.add(copiar(item));
+        }
+        return itens;
+    }
+
+    /** Linha da chave (null se não existir mais) e totais correntes. */
+    synchronized CarrinhoAlteracaoDTO alteracao(String chave) {
+        ItemCarrinho linha = chave != null ? linhas.get(chave) : null;
+        return new CarrinhoAlteracaoDTO(id, chave, linha != null ? copiar(linha) : null, linhas.size(),
+                valorItensCentavos, descontoCentavos, freteCentavos);
+    }
+
+    synchronized CarrinhoDTO resumo() {
+        return new CarrinhoDTO(id, clienteId, perfil.name(), enderecoEntrega, copiarItens(),
+                valorItensCentavos, descontoCentavos, freteCentavos);
+    }
+
+    /** Bytes aproximados ocupados pela sessão (peso no cache de CarrinhoService). */
+    synchronized int bytesEstimados() {
+        return BYTES_SESSAO + linhas.size() * BYTES_LINHA + bytesTexto;
+    }
+
+    private void somar(long diferencaCentavos) {
+        valorItensCentavos = Math.addExact(valorItensCentavos, diferencaCentavos);
+        recalcular();
+    }
+
+    // Mesmas fórmulas de PedidoService: desconto sobre os itens, frete sobre o valor com desconto
+    private void recalcular() {
+        descontoCentavos = Dinheiro.aplicarPercentual(valorItensCentavos, perfil.getPontosBaseDesconto());
+        freteCentavos = enderecoEntrega != null
+                ? Dinheiro.aplicarPercentual(valorItensCentavos - descontoCentavos, pontosBaseFrete)
+                : 0;
+    }
+
+    private static ItemCarrinho copiar(ItemCarrinho item) {
+        ItemCarrinho copia = new ItemCarrinho();
+        copia.setIsbn(item.getIsbn());
+        copia.setLivroTitulo(item.getLivroTitulo());
+        copia.setQuantidade(item.getQuantidade());
+        copia.setPrecoUnitarioCentavos(item.getPrecoUnitarioCentavos());
+        return copia;
+    }
+}
@@ -0,0 +1,101 @@
+package br.edu.ifsp.bra.livraria.service;
+
+import br.edu.ifsp.bra.livraria.entity.Dinheiro;
+import br.edu.ifsp.bra.livraria.entity.RegiaoFrete;
+import br.edu.ifsp.bra.livraria.entity.UF;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Tabela imutável de percentuais de frete da RN02.
+ *
+ * Os percentuais são configurados por região (SP, SUDESTE, OUTRAS_REGIOES)
+ * e expandidos, na construção, para um vetor de pontos-base (1% = 100)
+ * indexado pelo ordinal da UF.
+ * Assim, o cálculo do frete é um único acesso a vetor, sem alocação.
+ *
+ * Por ser imutável, uma nova tabela pode ser publicada a qualquer momento
+ * (troca atômica em CalculadoraFreteService) sem afetar cálculos em andamento.
+ */
+public final class TabelaFrete {
+
+    /** Arquivo padrão com as regras região → percentual. */
+    public static final String RECURSO_PADRAO = "frete.properties";
+
+    private final Map<RegiaoFrete, Double> percentuaisPorRegiao;
+    private final int[] pontosBasePorUf;
+
+    public TabelaFrete(Map<RegiaoFrete, Double> percentuaisPorRegiao) {
+        EnumMap<RegiaoFrete, Double> copia = new EnumMap<>(RegiaoFrete.class);
+        for (RegiaoFrete regiao : RegiaoFrete.values()) {
+            Double percentual = percentuaisPorRegiao.get(regiao);
+            if (percentual == null) {
+                throw new IllegalArgumentException("Percentual de frete ausente para a região: " + regiao);
+            }
+            if (percentual < 0 || percentual.isNaN() || percentual.isInfinite()) {
+                throw new IllegalArgumentException("Percentual de frete inválido para " + regiao + ": " + percentual);
+            }
+            copia.put(regiao, percentual);
+        }
+        this.percentuaisPorRegiao = copia;
+
+        this.pontosBasePorUf = new int[UF.quantidade()];
+        for (UF uf : UF.values()) {
+            pontosBasePorUf[uf.ordinal()] = Dinheiro.pontosBase(copia.get(uf.getRegiao()));
+        }
+    }
+
+    /**
+     * Carrega a tabela padrão do classpath (frete.properties).
+     */
+    public static TabelaFrete carregarPadrao() {
+        try (InputStream in = TabelaFrete.class.getClassLoader().getResourceAsStream(RECURSO_PADRAO)) {
+            if (in == null) {
+                throw new IllegalStateException("Arquivo de configuração de frete não encontrado: " + RECURSO_PADRAO);
+            }
+            return carregar(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Lê regras no formato de properties: REGIAO=percentual (ex.: SUDESTE=5).
+     */
+    public static TabelaFrete carregar(InputStream in) throws IOException {
+        Properties props = new Properties();
+        props.load(in);
+
+        Map<RegiaoFrete, Double> percentuais = new EnumMap<>(RegiaoFrete.class);
+        for (String chave : props.stringPropertyNames()) {
+            RegiaoFrete regiao;
+            try {
+                regiao = RegiaoFrete.valueOf(chave.trim());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Região de frete desconhecida: " + chave, e);
+            }
+            percentuais.put(regiao, Double.parseDouble(props.getProperty(chave).trim()));
+        }
+        return new TabelaFrete(percentuais);
+    }
+
+    /**
+     * Percentual de frete da UF em pontos-base (ex.: 500 para 5%).
+     */
+    public int pontosBase(UF uf) {
+        return pontosBasePorUf[uf.ordinal()];
+    }
+
+    /**
+     * Percentuais configurados, por região (cópia imutável).
+     */
+    public Map<RegiaoFrete, Double> getPercentuaisPorRegiao() {
+        return Collections.unmodifiableMap(percentuaisPorRegiao);
+    }
+}
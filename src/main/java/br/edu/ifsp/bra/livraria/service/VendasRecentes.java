@@ -0,0 +1,307 @@
+package br.edu.ifsp.bra.livraria.service;
+
+import br.edu.ifsp.bra.livraria.api.dto.AgregadoVendasDTO;
+import br.edu.ifsp.bra.livraria.api.dto.VendasRecentesDTO;
+import br.edu.ifsp.bra.livraria.entity.PerfilCliente;
+import br.edu.ifsp.bra.livraria.entity.UF;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Agregados de vendas em tempo real (últimos N minutos) por UF, perfil RN01
+ * e forma de pagamento, para os painéis de operação.
+ *
+ *  - O tempo é dividido em baldes de larguraBalde segundos, guardados num
+ *    anel que cobre a janela máxima. Cada pedido registrado soma pedidos,
+ *    receita (valorTotal), desconto e frete no balde corrente, em LongAdder
+ *    (sem disputa entre threads escritoras), para as três dimensões.
+ *  - A consulta soma apenas os baldes da janela: custo O(baldes), sem
+ *    percorrer pedidos.
+ *  - Um balde que ficou dois períodos para trás é congelado: os LongAdder
+ *    viram um long[] com os totais, e apenas os baldes recentes guardam
+ *    as células de LongAdder.
+ *
+ * A janela tem a granularidade do balde: "últimos 5 minutos" soma o balde
+ * corrente (parcial) e os anteriores até completar 5 minutos.
+ *
+ * formaPagamento é texto livre: as primeiras MAXIMO_FORMAS_PAGAMENTO formas
+ * distintas ganham linha própria; as demais são somadas em "OUTRAS".
+ *
+ * Valores somados em centavos; a resposta é convertida para reais.
+ */
+@Component
+public class VendasRecentes {
+
+    static final int MAXIMO_FORMAS_PAGAMENTO = 16;
+    static final String OUTRAS_FORMAS = "OUTRAS";
+
+    // Métricas de cada chave
+    private static final int PEDIDOS = 0;
+    private static final int RECEITA = 1;
+    private static final int DESCONTO = 2;
+    private static final int FRETE = 3;
+    private static final int METRICAS = 4;
+
+    // Chaves: UFs, depois perfis, depois formas de pagamento (a última é OUTRAS)
+    private static final int PERFIS = PerfilCliente.values().length;
+    private static final int BASE_PERFIL = UF.quantidade();
+    private static final int BASE_FORMA = BASE_PERFIL + PERFIS;
+    private static final int INDICE_OUTRAS = MAXIMO_FORMAS_PAGAMENTO;
+    private static final int CHAVES = BASE_FORMA + MAXIMO_FORMAS_PAGAMENTO + 1;
+
+    private static final VendasRecentes DESABILITADAS = new VendasRecentes();
+
+    private final boolean ativo;
+    private final Clock relogio;
+    private final long larguraMs;
+    private final int janelaMaximaMinutos;
+    private final AtomicReferenceArray<Balde> anel;
+
+    private final Map<String, Integer> indicesFormas = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<String> nomesFormas = new AtomicReferenceArray<>(MAXIMO_FORMAS_PAGAMENTO);
+
+    @Autowired
+    public VendasRecentes(@Value("${livraria.vendas.largura-balde-segundos:10}") int larguraBaldeSegundos,
+                          @Value("${livraria.vendas.janela-maxima-minutos:60}") int janelaMaximaMinutos) {
+        this(Clock.systemUTC(), larguraBaldeSegundos, janelaMaximaMinutos);
+    }
+
+    /**
+     * Relógio injetável, para testes e benchmarks.
+     */
+    public VendasRecentes(Clock relogio, int larguraBaldeSegundos, int janelaMaximaMinutos) {
+        if (larguraBaldeSegundos <= 0 || janelaMaximaMinutos <= 0
+                || (janelaMaximaMinutos * 60) % larguraBaldeSegundos != 0) {
+            throw new IllegalArgumentException(
+                    "A janela máxima deve ser positiva e múltipla da largura do balde.");
+        }
+        this.ativo = true;
+        this.relogio = relogio;
+        this.larguraMs = larguraBaldeSegundos * 1000L;
+        this.janelaMaximaMinutos = janelaMaximaMinutos;
+        // Janela completa + o balde corrente, ainda parcial
+        this.anel = new AtomicReferenceArray<>(janelaMaximaMinutos * 60 / larguraBaldeSegundos + 1);
+    }
+
+    private VendasRecentes() {
+        this.ativo = false;
+        this.relogio = null;
+        this.larguraMs = 1;
+        this.janelaMaximaMinutos = 0;
+        this.anel = null;
+    }
+
+    /**
+     * Instância sem custo, para testes de unidade e uso fora do Spring.
+     */
+    public static VendasRecentes desabilitadas() {
+        return DESABILITADAS;
+    }
+
+    public int getJanelaMaximaMinutos() {
+        return janelaMaximaMinutos;
+    }
+
+    /**
+     * Soma um pedido registrado ao balde corrente.
+     */
+    public void registrar(UF uf, PerfilCliente perfil, String formaPagamento,
+                          long valorTotalCentavos, long descontoCentavos, long freteCentavos) {
+        if (!ativo) {
+            return;
+        }
+        LongAdder[] contadores = baldeCorrente(relogio.millis() / larguraMs).contadores;
+        if (contadores == null) {
+            return; // balde congelado entre a leitura do anel e a escrita (relógio muito atrasado)
+        }
+        somar(contadores, uf.ordinal(), valorTotalCentavos, descontoCentavos, freteCentavos);
+        somar(contadores, BASE_PERFIL + perfil.ordinal(), valorTotalCentavos, descontoCentavos, freteCentavos);
+        somar(contadores, BASE_FORMA + indiceForma(formaPagamento), valorTotalCentavos, descontoCentavos, freteCentavos);
+    }
+
+    /**
+     * Agregados dos últimos "minutos" minutos (1 até a janela máxima).
+     */
+    public VendasRecentesDTO consultar(int minutos) {
+        if (minutos < 1 || minutos > janelaMaximaMinutos) {
+            throw new IllegalArgumentException(
+                    "Janela deve estar entre 1 e " + janelaMaximaMinutos + " minutos: " + minutos);
+        }
+        long atual = relogio.millis() / larguraMs;
+        long primeiro = atual - (minutos * 60_000L) / larguraMs + 1;
+
+        long[] soma = new long[CHAVES * METRICAS];
+        for (long periodo = primeiro; periodo <= atual; periodo++) {
+            Balde balde = anel.get(posicao(periodo));
+            if (balde != null && balde.periodo == periodo) {
+                balde.somarEm(soma);
+            }
+        }
+        return montar(minutos, soma);
+    }
+
+    // ========== BALDES ==========
+
+    private Balde baldeCorrente(long periodo) {
+        int posicao = posicao(periodo);
+        while (true) {
+            Balde balde = anel.get(posicao);
+            if (balde != null && balde.periodo >= periodo) {
+                return balde;
+            }
+            Balde novo = new Balde(periodo);
+            if (anel.compareAndSet(posicao, balde, novo)) {
+                congelarAnteriores(periodo);
+                return novo;
+            }
+        }
+    }
+
+    /**
+     * Congela o balde de dois períodos atrás: escritores que ainda tinham a
+     * referência do balde anterior continuam somando nele sem perda.
+     */
+    private void congelarAnteriores(long periodo) {
+        Balde antigo = anel.get(posicao(periodo - 2));
+        if (antigo != null && antigo.periodo <= periodo - 2) {
+            antigo.congelar();
+        }
+    }
+
+    private int posicao(long periodo) {
+        return (int) Math.floorMod(periodo, (long) anel.length());
+    }
+
+    private static void somar(LongAdder[] contadores, int chave, long receita, long desconto, long frete) {
+        int base = chave * METRICAS;
+        contadores[base + PEDIDOS].increment();
+        contadores[base + RECEITA].add(receita);
+        contadores[base + DESCONTO].add(desconto);
+        contadores[base + FRETE].add(frete);
+    }
+
+    private static final class Balde {
+        final long periodo;
+        volatile LongAdder[] contadores;
+        volatile long[] totais;
+
+        Balde(long periodo) {
+            this.periodo = periodo;
+            LongAdder[] novos = new LongAdder[CHAVES * METRICAS];
+            for (int i = 0; i < novos.length; i++) {
+                novos[i] = new LongAdder();
+            }
+            this.contadores = novos;
+        }
+
+        void somarEm(long[] soma) {
+            LongAdder[] vivos = contadores;
+            if (vivos != null) {
+                for (int i = 0; i < soma.length; i++) {
+                    soma[i] += vivos[i].sum();
+                }
+                return;
+            }
+            long[] congelados = totais;
+            for (int i = 0; i < soma.length; i++) {
+                soma[i] += congelados[i];
+            }
+        }
+
+        /** totais é publicado antes de contadores virar null (ver somarEm). */
+        synchronized void congelar() {
+            LongAdder[] vivos = contadores;
+            if (vivos == null) {
+                return;
+            }
+            long[] congelados = new long[vivos.length];
+            for (int i = 0; i < vivos.length; i++) {
+                congelados[i] = vivos[i].sum();
+            }
+            totais = congelados;
+            contadores = null;
+        }
+    }
+
+    // ========== FORMAS DE PAGAMENTO ==========
+
+    private int indiceForma(String formaPagamento) {
+        if (formaPagamento == null) {
+            return INDICE_OUTRAS;
+        }
+        Integer indice = indicesFormas.get(formaPagamento);
+        return indice != null ? indice : novaForma(formaPagamento);
+    }
+
+    private synchronized int novaForma(String formaPagamento) {
+        Integer indice = indicesFormas.get(formaPagamento);
+        if (indice != null) {
+            return indice;
+        }
+        int quantidade = indicesFormas.size();
+        if (quantidade == MAXIMO_FORMAS_PAGAMENTO) {
+            return INDICE_OUTRAS;
+        }
+        nomesFormas.set(quantidade, formaPagamento);
+        indicesFormas.put(formaPagamento, quantidade);
+        return quantidade;
+    }
+
+    // ========== RESPOSTA ==========
+
+    private VendasRecentesDTO montar(int minutos, long[] soma) {
+        Map<String, AgregadoVendasDTO> porUf = new LinkedHashMap<>();
+        for (UF uf : UF.values()) {
+            adicionar(porUf, uf.name(), soma, uf.ordinal());
+        }
+        Map<String, AgregadoVendasDTO> porPerfil = new LinkedHashMap<>();
+        for (PerfilCliente perfil : PerfilCliente.values()) {
+            adicionar(porPerfil, perfil.name(), soma, BASE_PERFIL + perfil.ordinal());
+        }
+        Map<String, AgregadoVendasDTO> porForma = new LinkedHashMap<>();
+        for (int i = 0; i < MAXIMO_FORMAS_PAGAMENTO; i++) {
+            String nome = nomesFormas.get(i);
+            if (nome != null) {
+                adicionar(porForma, nome, soma, BASE_FORMA + i);
+            }
+        }
+        adicionar(porForma, OUTRAS_FORMAS, soma, BASE_FORMA + INDICE_OUTRAS);
+
+        // Todo pedido tem exatamente um perfil: o total é a soma da dimensão perfil
+        long[] total = new long[METRICAS];
+        for (int p = 0; p < PERFIS; p++) {
+            for (int m = 0; m < METRICAS; m++) {
+                total[m] += soma[(BASE_PERFIL + p) * METRICAS + m];
+            }
+        }
+        return new VendasRecentesDTO(minutos, agregado(total, 0), porUf, porPerfil, porForma);
+    }
+
+    /** Inclui a chave apenas se houve pedidos na janela. */
+    private static void adicionar(Map<String, AgregadoVendasDTO> destino, String nome, long[] soma, int chave) {
+        if (soma[chave * METRICAS + PEDIDOS] > 0) {
+            destino.put(nome, agregado(soma, chave * METRICAS));
+        }
+    }
+
+    private static AgregadoVendasDTO agregado(long[] valores, int base) {
+        long pedidos = valores[base + PEDIDOS];
+        return new AgregadoVendasDTO(
+                pedidos,
+                valores[base + RECEITA],
+                media(valores[base + DESCONTO], pedidos),
+                media(valores[base + FRETE], pedidos));
+    }
+
+    private static long media(long centavos, long pedidos) {
+        return pedidos == 0 ? 0 : Math.round((double) centavos / pedidos);
+    }
+}
@@ -0,0 +1,216 @@
+package br.edu.ifsp.bra.livraria.service.frete;
+
+import br.edu.ifsp.bra.livraria.entity.UF;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Cotação de frete no serviço externo (CotadorFrete), com a latência de
+ * processarPedido limitada mesmo quando o serviço está lento ou fora do ar.
+ *
+ *  - Timeout por chamada: quem pede a cotação espera no máximo timeout; sem
+ *    resposta a tempo, devolve SEM_COTACAO e CalculadoraFreteService aplica
+ *    os percentuais da RN02.
+ *  - Circuit breaker (DisjuntorCircuito): após falhas seguidas, o serviço
+ *    deixa de ser chamado por um tempo e todos os pedidos usam a RN02 sem esperar.
+ *  - Coalescência e cache: as cotações ficam num AsyncCache do Caffeine por
+ *    (UF, faixa de CEP), com TTL. Pedidos simultâneos para a mesma chave
+ *    aguardam a mesma chamada; falhas e timeouts não ficam no cache.
+ *
+ * A faixa de CEP são os três primeiros dígitos (setor postal); sem CEP
+ * completo (8 dígitos), a cotação vale para a UF inteira.
+ *
+ * Métricas: livraria.frete.cotacoes{resultado}, livraria.frete.circuito
+ * (0 = fechado, 1 = aberto, 2 = meio aberto) e cache="frete".
+ */
+@Service
+public class CotacaoFreteExterna {
+
+    /** Sem cotação externa: o chamador usa a RN02. */
+    public static final int SEM_COTACAO = -1;
+
+    public enum Resultado {
+        COTADA("cotada"),
+        TIMEOUT("timeout"),
+        ERRO("erro"),
+        CIRCUITO_ABERTO("circuito_aberto");
+
+        private final String tag;
+
+        Resultado(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private static final CotacaoFreteExterna DESABILITADA = new CotacaoFreteExterna();
+
+    private final CotadorFrete cotador; // null → desabilitada
+    private final AsyncCache<Long, Integer> cotacoes;
+    private final DisjuntorCircuito disjuntor;
+    private final long timeoutNanos;
+    private final LongAdder[] porResultado = new LongAdder[Resultado.values().length];
+
+    @Autowired
+    public CotacaoFreteExterna(MeterRegistry registry,
+                               @Value("${livraria.frete.externo.habilitado:false}") boolean habilitado,
+                               @Value("${livraria.frete.externo.url:http://127.0.0.1:8090}") String url,
+                               @Value("${livraria.frete.externo.timeout-ms:200}") long timeoutMs,
+                               @Value("${livraria.frete.externo.cache.ttl-segundos:300}") long ttlSegundos,
+                               @Value("${livraria.frete.externo.cache.tamanho-maximo:10000}") long tamanhoMaximoCache,
+                               @Value("${livraria.frete.externo.circuito.limiar-falhas:5}") int limiarFalhas,
+                               @Value("${livraria.frete.externo.circuito.espera-ms:5000}") long esperaMs) {
+        this(habilitado ? new CotadorFreteHttp(url, Duration.ofMillis(timeoutMs)) : null,
+                Duration.ofMillis(timeoutMs), Duration.ofSeconds(ttlSegundos), tamanhoMaximoCache,
+                limiarFalhas, Duration.ofMillis(esperaMs), System::nanoTime);
+        if (habilitado) {
+            CaffeineCacheMetrics.monitor(registry, cotacoes, "frete");
+            for (Resultado resultado : Resultado.values()) {
+                FunctionCounter.builder("livraria.frete.cotacoes", porResultado[resultado.ordinal()], LongAdder::sum)
+                        .description("Cotações de frete por resultado (fora de cotada, o pedido usou a RN02)")
+                        .tag("resultado", resultado.tag)
+                        .register(registry);
+            }
+            Gauge.builder("livraria.frete.circuito", disjuntor, d -> d.getEstado().ordinal())
+                    .description("Circuito do serviço de frete: 0 = fechado, 1 = aberto, 2 = meio aberto")
+                    .register(registry);
+        }
+    }
+
+    /**
+     * @param cotador           cliente do serviço externo
+     * @param timeout           espera máxima por uma cotação
+     * @param ttl               validade de uma cotação no cache
+     * @param tamanhoMaximoCache cotações (UF, faixa) mantidas no cache
+     * @param limiarFalhas      falhas seguidas que abrem o circuito
+     * @param esperaCircuito    tempo com o circuito aberto antes de uma nova tentativa
+     * @param relogioNanos      relógio do circuito e do TTL (System::nanoTime)
+     */
+    public CotacaoFreteExterna(CotadorFrete cotador,
+                               Duration timeout,
+                               Duration ttl,
+                               long tamanhoMaximoCache,
+                               int limiarFalhas,
+                               Duration esperaCircuito,
+                               LongSupplier relogioNanos) {
+        this.cotador = cotador;
+        this.timeoutNanos = timeout.toNanos();
+        this.cotacoes = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximoCache)
+                .expireAfterWrite(ttl)
+                .ticker(relogioNanos::getAsLong)
+                .recordStats()
+                .buildAsync();
+        this.disjuntor = new DisjuntorCircuito(limiarFalhas, esperaCircuito.toNanos(), relogioNanos);
+        for (int i = 0; i < porResultado.length; i++) {
+            porResultado[i] = new LongAdder();
+        }
+    }
+
+    private CotacaoFreteExterna() {
+        this(null, Duration.ZERO, Duration.ZERO, 0, 1, Duration.ZERO, System::nanoTime);
+    }
+
+    /**
+     * Sem serviço externo (sempre SEM_COTACAO), para testes de unidade e uso fora do Spring.
+     */
+    public static CotacaoFreteExterna desabilitada() {
+        return DESABILITADA;
+    }
+
+    public boolean isHabilitada() {
+        return cotador != null;
+    }
+
+    /**
+     * Pontos-base de frete cotados para a UF e o CEP, ou SEM_COTACAO se o
+     * serviço estiver desabilitado, com o circuito aberto, com erro ou sem
+     * responder dentro do timeout.
+     */
+    public int pontosBase(UF uf, String cep) {
+        if (cotador == null) {
+            return SEM_COTACAO;
+        }
+        int faixa = faixaCep(cep);
+        Long chave = ((long) uf.ordinal() << 32) | (faixa & 0xffffffffL);
+
+        CompletableFuture<Integer> cotacao = cotacoes.getIfPresent(chave);
+        if (cotacao == null) {
+            if (!disjuntor.permitir()) {
+                contar(Resultado.CIRCUITO_ABERTO);
+                return SEM_COTACAO;
+            }
+            cotacao = cotacoes.get(chave, (k, executor) -> consultar(uf, faixa));
+        }
+
+        try {
+            int pontosBase = cotacao.get(timeoutNanos, TimeUnit.NANOSECONDS);
+            contar(Resultado.COTADA);
+            return pontosBase;
+        } catch (TimeoutException ex) {
+            contar(Resultado.TIMEOUT);
+        } catch (ExecutionException ex) {
+            contar(ex.getCause() instanceof TimeoutException ? Resultado.TIMEOUT : Resultado.ERRO);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            contar(Resultado.ERRO);
+        }
+        return SEM_COTACAO;
+    }
+
+    public DisjuntorCircuito.Estado getEstadoCircuito() {
+        return disjuntor.getEstado();
+    }
+
+    /** Cotações pedidas com o resultado informado desde a subida. */
+    public long contagem(Resultado resultado) {
+        return porResultado[resultado.ordinal()].sum();
+    }
+
+    // Uma chamada real por chave (as demais aguardam o mesmo future). O
+    // circuito contabiliza a chamada, não cada pedido que a aguardou.
+    private CompletableFuture<Integer> consultar(UF uf, int faixa) {
+        CompletableFuture<Integer> chamada;
+        try {
+            chamada = cotador.cotar(uf, faixa);
+        } catch (RuntimeException ex) {
+            chamada = CompletableFuture.failedFuture(ex);
+        }
+        return chamada
+                .orTimeout(timeoutNanos, TimeUnit.NANOSECONDS)
+                .whenComplete((pontosBase, erro) -> {
+                    if (erro == null) {
+                        disjuntor.registrarSucesso();
+                    } else {
+                        disjuntor.registrarFalha();
+                    }
+                });
+    }
+
+    private void contar(Resultado resultado) {
+        porResultado[resultado.ordinal()].increment();
+    }
+
+    /**
+     * Três primeiros dígitos do CEP (ignorando hífen, ponto e espaços), ou -1
+     * se o CEP não tiver exatamente 8 dígitos. Não aloca.
+     */
+    static int faixaCep(String cep) {
+        int numero = IndiceZonasCep.cepNumerico(cep);
+        return numero < 0 ? -1 : numero / 100_000;
+    }
+}
@@ -0,0 +1,22 @@
+package br.edu.ifsp.bra.livraria.service.frete;
+
+import br.edu.ifsp.bra.livraria.entity.UF;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Cliente de um serviço externo de cotação de frete (RN02).
+ *
+ * A cotação é o percentual de frete, em pontos-base (1% = 100), para entregas
+ * numa UF e faixa de CEP. As chamadas são assíncronas: timeouts, circuito,
+ * coalescência e cache ficam a cargo de CotacaoFreteExterna.
+ */
+public interface CotadorFrete {
+
+    /**
+     * @param uf        UF de entrega
+     * @param faixaCep  três primeiros dígitos do CEP (000 a 999), ou -1 se o CEP não foi informado
+     * @return future com os pontos-base, completado com exceção em caso de falha
+     */
+    CompletableFuture<Integer> cotar(UF uf, int faixaCep);
+}
@@ -0,0 +1,72 @@
+package br.edu.ifsp.bra.livraria.service.frete;
+
+import br.edu.ifsp.bra.livraria.entity.Dinheiro;
+import br.edu.ifsp.bra.livraria.entity.UF;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * CotadorFrete sobre HTTP (java.net.http, sem bloquear threads na espera).
+ *
+ * Protocolo: GET {url}/cotacao?uf=SP&amp;faixa=010 → 200 {"pontosBase": 500}.
+ * Faixa -1 (sem CEP) é enviada como faixa vazia. Qualquer outro status, ou
+ * pontos-base fora de 0 a 100%, completa o future com exceção.
+ */
+public class CotadorFreteHttp implements CotadorFrete {
+
+    private final HttpClient http;
+    private final String urlCotacao;
+    private final Duration timeout;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    /**
+     * @param url      endereço base do serviço de frete (ex.: http://frete.interno:8090)
+     * @param timeout  tempo máximo de conexão e de cada requisição
+     */
+    public CotadorFreteHttp(String url, Duration timeout) {
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+        this.urlCotacao = (url.endsWith("/") ? url : url + "/") + "cotacao";
+        this.timeout = timeout;
+    }
+
+    @Override
+    public CompletableFuture<Integer> cotar(UF uf, int faixaCep) {
+        String faixa = faixaCep < 0 ? "" : String.format("%03d", faixaCep);
+        HttpRequest requisicao = HttpRequest.newBuilder(URI.create(urlCotacao + "?uf=" + uf.name() + "&faixa=" + faixa))
+                .timeout(timeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        return http.sendAsync(requisicao, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(resposta -> lerPontosBase(uf, resposta));
+    }
+
+    private int lerPontosBase(UF uf, HttpResponse<byte[]> resposta) {
+        if (resposta.statusCode() != 200) {
+            throw new IllegalStateException("Serviço de frete respondeu " + resposta.statusCode() + " para " + uf);
+        }
+        JsonNode corpo;
+        try {
+            corpo = mapper.readTree(resposta.body());
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Resposta inválida do serviço de frete", ex);
+        }
+        int pontosBase = corpo.path("pontosBase").asInt(-1);
+        if (pontosBase < 0 || pontosBase > Dinheiro.pontosBase(100)) {
+            throw new IllegalStateException("Cotação de frete inválida para " + uf + ": " + corpo);
+        }
+        return pontosBase;
+    }
+}
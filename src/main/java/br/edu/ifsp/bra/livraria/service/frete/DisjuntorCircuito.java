@@ -0,0 +1,69 @@
+package br.edu.ifsp.bra.livraria.service.frete;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker das chamadas ao serviço de frete, sem locks.
+ *
+ *  - FECHADO: chamadas liberadas; limiarFalhas falhas seguidas abrem o circuito.
+ *  - ABERTO: nenhuma chamada durante espera; depois dela, a primeira
+ *    chamada (e só ela) passa como tentativa, em MEIO_ABERTO.
+ *  - MEIO_ABERTO: sucesso da tentativa fecha o circuito; falha o reabre.
+ */
+public class DisjuntorCircuito {
+
+    public enum Estado { FECHADO, ABERTO, MEIO_ABERTO }
+
+    private final int limiarFalhas;
+    private final long esperaNanos;
+    private final LongSupplier relogioNanos;
+
+    private final AtomicReference<Estado> estado = new AtomicReference<>(Estado.FECHADO);
+    private final AtomicInteger falhasSeguidas = new AtomicInteger();
+    private volatile long abertoDesde;
+
+    public DisjuntorCircuito(int limiarFalhas, long esperaNanos, LongSupplier relogioNanos) {
+        if (limiarFalhas <= 0) {
+            throw new IllegalArgumentException("Limiar de falhas deve ser positivo: " + limiarFalhas);
+        }
+        this.limiarFalhas = limiarFalhas;
+        this.esperaNanos = esperaNanos;
+        this.relogioNanos = relogioNanos;
+    }
+
+    /**
+     * true se a chamada pode ser feita. Em MEIO_ABERTO, apenas a tentativa recebe true.
+     */
+    public boolean permitir() {
+        Estado atual = estado.get();
+        if (atual == Estado.FECHADO) {
+            return true;
+        }
+        return atual == Estado.ABERTO
+                && relogioNanos.getAsLong() - abertoDesde >= esperaNanos
+                && estado.compareAndSet(Estado.ABERTO, Estado.MEIO_ABERTO);
+    }
+
+    public void registrarSucesso() {
+        falhasSeguidas.set(0);
+        estado.set(Estado.FECHADO);
+    }
+
+    public void registrarFalha() {
+        Estado atual = estado.get();
+        if (atual == Estado.ABERTO) {
+            return; // chamada iniciada antes da abertura
+        }
+        if (atual == Estado.MEIO_ABERTO || falhasSeguidas.incrementAndGet() >= limiarFalhas) {
+            abertoDesde = relogioNanos.getAsLong();
+            falhasSeguidas.set(0);
+            estado.set(Estado.ABERTO);
+        }
+    }
+
+    public Estado getEstado() {
+        return estado.get();
+    }
+}
@@ -0,0 +1,285 @@
+package br.edu.ifsp.bra.livraria.service.frete;
+
+import br.edu.ifsp.bra.livraria.entity.Dinheiro;
+import br.edu.ifsp.bra.livraria.entity.UF;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Índice imutável de zonas de frete por faixa de CEP (capital, interior,
+ * áreas remotas...), com o percentual cobrado pela transportadora em cada zona.
+ *
+ * As faixas ficam em vetores primitivos paralelos, ordenados pelo CEP
+ * inicial (inicios, fins, uf, zona). Resolver um CEP é uma busca binária em
+ * inicios seguida de uma comparação com o fim da faixa: O(log n), sem
+ * alocação (o CEP também é lido sem criar Strings, ver cepNumerico).
+ *
+ * Cada faixa pertence a uma UF; um CEP de faixa de outra UF que não a do
+ * endereço não é considerado (o endereço é inconsistente, e vale a RN02).
+ *
+ * Formato do arquivo (uma faixa por linha, # para comentários):
+ *
+ *   cepInicial;cepFinal;UF;zona;percentual
+ *   01000-000;05999-999;SP;CAPITAL_SP;0
+ *   69100-000;69299-999;AM;INTERIOR_AM;12
+ *
+ * Faixas não podem se sobrepor, e uma zona tem um único percentual.
+ */
+public final class IndiceZonasCep {
+
+    /** Devolvido por pontosBase quando o CEP não pertence a nenhuma zona. */
+    public static final int SEM_ZONA = -1;
+
+    private static final String PREFIXO_CLASSPATH = "classpath:";
+    private static final IndiceZonasCep VAZIO =
+            new IndiceZonasCep(new int[0], new int[0], new byte[0], new short[0], new String[0], new int[0]);
+
+    private final int[] inicios;
+    private final int[] fins;
+    private final byte[] ufs;
+    private final short[] zonas;
+    private final String[] nomesZonas;
+    private final int[] pontosBasePorZona;
+
+    private IndiceZonasCep(int[] inicios, int[] fins, byte[] ufs, short[] zonas,
+                           String[] nomesZonas, int[] pontosBasePorZona) {
+        this.inicios = inicios;
+        this.fins = fins;
+        this.ufs = ufs;
+        this.zonas = zonas;
+        this.nomesZonas = nomesZonas;
+        this.pontosBasePorZona = pontosBasePorZona;
+    }
+
+    /**
+     * Índice sem faixas: todo CEP cai na regra por UF (RN02).
+     */
+    public static IndiceZonasCep vazio() {
+        return VAZIO;
+    }
+
+    /**
+     * Carrega as faixas de um arquivo, ou de um recurso do classpath com o
+     * prefixo "classpath:" (ex.: classpath:zonas-cep-exemplo.csv).
+     */
+    public static IndiceZonasCep carregar(String local) {
+        try {
+            if (local.startsWith(PREFIXO_CLASSPATH)) {
+                String recurso = local.substring(PREFIXO_CLASSPATH.length());
+                InputStream in = IndiceZonasCep.class.getClassLoader().getResourceAsStream(recurso);
+                if (in == null) {
+                    throw new IllegalStateException("Arquivo de zonas de CEP não encontrado no classpath: " + recurso);
+                }
+                try (Reader leitor = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                    return carregar(leitor);
+                }
+            }
+            try (Reader leitor = Files.newBufferedReader(Path.of(local), StandardCharsets.UTF_8)) {
+                return carregar(leitor);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Não foi possível ler as zonas de CEP de " + local, ex);
+        }
+    }
+
+    /**
+     * Lê faixas no formato cepInicial;cepFinal;UF;zona;percentual.
+     *
+     * @throws IllegalArgumentException se alguma linha for inválida, se faixas
+     *                                  se sobrepuserem ou se uma zona tiver dois percentuais
+     */
+    public static IndiceZonasCep carregar(Reader leitor) throws IOException {
+        BufferedReader linhas = leitor instanceof BufferedReader b ? b : new BufferedReader(leitor);
+
+        int[] inicios = new int[1024];
+        int[] fins = new int[1024];
+        byte[] ufs = new byte[1024];
+        short[] zonas = new short[1024];
+        Map<String, Short> indiceZonas = new HashMap<>();
+        List<String> nomesZonas = new ArrayList<>();
+        List<Integer> pontosBaseZonas = new ArrayList<>();
+
+        int quantidade = 0;
+        int numeroLinha = 0;
+        String linha;
+        while ((linha = linhas.readLine()) != null) {
+            numeroLinha++;
+            linha = linha.trim();
+            if (linha.isEmpty() || linha.charAt(0) == '#') {
+                continue;
+            }
+            String[] campos = linha.split(";");
+            if (campos.length != 5) {
+                throw new IllegalArgumentException("Linha " + numeroLinha + " de zonas de CEP deve ter 5 campos: " + linha);
+            }
+            int inicio = cepNumerico(campos[0].trim());
+            int fim = cepNumerico(campos[1].trim());
+            if (inicio < 0 || fim < 0 || inicio > fim) {
+                throw new IllegalArgumentException("Linha " + numeroLinha + " de zonas de CEP tem faixa inválida: " + linha);
+            }
+            UF uf = UF.fromSigla(campos[2].trim());
+            if (uf == null) {
+                throw new IllegalArgumentException("Linha " + numeroLinha + " de zonas de CEP tem UF inválida: " + linha);
+            }
+            String nomeZona = campos[3].trim();
+            int pontosBase = pontosBase(campos[4].trim(), numeroLinha);
+
+            Short zona = indiceZonas.get(nomeZona);
+            if (zona == null) {
+                if (nomesZonas.size() > Short.MAX_VALUE) {
+                    throw new IllegalArgumentException("Zonas de CEP demais (máximo " + (Short.MAX_VALUE + 1) + ").");
+                }
+                zona = (short) nomesZonas.size();
+                indiceZonas.put(nomeZona, zona);
+                nomesZonas.add(nomeZona);
+                pontosBaseZonas.add(pontosBase);
+            } else if (pontosBaseZonas.get(zona) != pontosBase) {
+                throw new IllegalArgumentException("Linha " + numeroLinha + ": zona " + nomeZona
+                        + " já tem outro percentual (" + pontosBaseZonas.get(zona) / 100.0 + "%).");
+            }
+
+            if (quantidade == inicios.length) {
+                int novaCapacidade = quantidade * 2;
+                inicios = Arrays.copyOf(inicios, novaCapacidade);
+                fins = Arrays.copyOf(fins, novaCapacidade);
+                ufs = Arrays.copyOf(ufs, novaCapacidade);
+                zonas = Arrays.copyOf(zonas, novaCapacidade);
+            }
+            inicios[quantidade] = inicio;
+            fins[quantidade] = fim;
+            ufs[quantidade] = (byte) uf.ordinal();
+            zonas[quantidade] = zona;
+            quantidade++;
+        }
+
+        int[] pontosBasePorZona = new int[pontosBaseZonas.size()];
+        for (int i = 0; i < pontosBasePorZona.length; i++) {
+            pontosBasePorZona[i] = pontosBaseZonas.get(i);
+        }
+        return ordenar(inicios, fins, ufs, zonas, quantidade, nomesZonas.toArray(new String[0]), pontosBasePorZona);
+    }
+
+    /**
+     * Percentual da zona do CEP em pontos-base, ou SEM_ZONA se o CEP for
+     * inválido, não estiver em nenhuma faixa ou estiver em faixa de outra UF.
+     */
+    public int pontosBase(UF uf, CharSequence cep) {
+        int faixa = localizar(cep);
+        if (faixa < 0 || ufs[faixa] != uf.ordinal()) {
+            return SEM_ZONA;
+        }
+        return pontosBasePorZona[zonas[faixa]];
+    }
+
+    /**
+     * Nome da zona do CEP (de qualquer UF), ou null se o CEP não estiver em nenhuma faixa.
+     */
+    public String zona(CharSequence cep) {
+        int faixa = localizar(cep);
+        return faixa < 0 ? null : nomesZonas[zonas[faixa]];
+    }
+
+    public int quantidadeFaixas() {
+        return inicios.length;
+    }
+
+    public int quantidadeZonas() {
+        return nomesZonas.length;
+    }
+
+    /**
+     * Os 8 dígitos do CEP como número (01310-100 → 1310100), ignorando
+     * '-', '.' e espaços; -1 se o CEP for nulo, tiver outro caractere ou não
+     * tiver exatamente 8 dígitos. Não aloca.
+     */
+    public static int cepNumerico(CharSequence cep) {
+        if (cep == null) {
+            return -1;
+        }
+        int digitos = 0;
+        int numero = 0;
+        for (int i = 0; i < cep.length(); i++) {
+            char c = cep.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++digitos > 8) {
+                    return -1;
+                }
+                numero = numero * 10 + (c - '0');
+            } else if (c != '-' && c != '.' && c != ' ') {
+                return -1;
+            }
+        }
+        return digitos == 8 ? numero : -1;
+    }
+
+    /** Índice da faixa que contém o CEP, ou -1. */
+    private int localizar(CharSequence cep) {
+        int numero = cepNumerico(cep);
+        if (numero < 0) {
+            return -1;
+        }
+        // Última faixa com início <= CEP; como não há sobreposição, só ela pode contê-lo
+        int posicao = Arrays.binarySearch(inicios, numero);
+        int faixa = posicao >= 0 ? posicao : -posicao - 2;
+        return faixa >= 0 && numero <= fins[faixa] ? faixa : -1;
+    }
+
+    private static IndiceZonasCep ordenar(int[] inicios, int[] fins, byte[] ufs, short[] zonas, int quantidade,
+                                          String[] nomesZonas, int[] pontosBasePorZona) {
+        // Ordena (início, posição original) empacotados em long: sem objetos por faixa
+        long[] ordem = new long[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            ordem[i] = ((long) inicios[i] << 32) | i;
+        }
+        Arrays.sort(ordem);
+
+        int[] iniciosOrdenados = new int[quantidade];
+        int[] finsOrdenados = new int[quantidade];
+        byte[] ufsOrdenadas = new byte[quantidade];
+        short[] zonasOrdenadas = new short[quantidade];
+        for (int k = 0; k < quantidade; k++) {
+            int i = (int) ordem[k];
+            iniciosOrdenados[k] = inicios[i];
+            finsOrdenados[k] = fins[i];
+            ufsOrdenadas[k] = ufs[i];
+            zonasOrdenadas[k] = zonas[i];
+            if (k > 0 && iniciosOrdenados[k] <= finsOrdenados[k - 1]) {
+                throw new IllegalArgumentException("Faixas de CEP sobrepostas: "
+                        + formatar(iniciosOrdenados[k - 1]) + "-" + formatar(finsOrdenados[k - 1]) + " e "
+                        + formatar(iniciosOrdenados[k]) + "-" + formatar(finsOrdenados[k]));
+            }
+        }
+        return new IndiceZonasCep(iniciosOrdenados, finsOrdenados, ufsOrdenadas, zonasOrdenadas,
+                nomesZonas, pontosBasePorZona);
+    }
+
+    private static int pontosBase(String percentual, int numeroLinha) {
+        double valor;
+        try {
+            valor = Double.parseDouble(percentual);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Linha " + numeroLinha + " de zonas de CEP tem percentual inválido: " + percentual, ex);
+        }
+        if (!(valor >= 0 && valor <= 100)) {
+            throw new IllegalArgumentException("Linha " + numeroLinha + " de zonas de CEP tem percentual fora de 0 a 100: " + percentual);
+        }
+        return Dinheiro.pontosBase(valor);
+    }
+
+    private static String formatar(int cep) {
+        return String.format("%05d-%03d", cep / 1000, cep % 1000);
+    }
+}
@@ -0,0 +1,137 @@
+package br.edu.ifsp.bra.livraria.service.simulacao;
+
+import br.edu.ifsp.bra.livraria.entity.Cliente;
+import br.edu.ifsp.bra.livraria.entity.Pedido;
+import br.edu.ifsp.bra.livraria.entity.StatusPedido;
+import br.edu.ifsp.bra.livraria.entity.UF;
+import br.edu.ifsp.bra.livraria.repository.PedidoRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Representação compacta e imutável do histórico de pedidos, com apenas o que
+ * a RN01 e a RN02 usam: valor dos itens, UF de entrega e anos de vínculo do
+ * cliente na data do pedido.
+ *
+ * Os pedidos ficam em três vetores primitivos paralelos (long, byte, byte):
+ * 10 bytes por pedido, sem objetos, de modo que dez milhões de pedidos cabem
+ * em ~100 MB e são percorridos sequencialmente pela memória.
+ *
+ * Pedidos cancelados (sem receita) e pedidos sem cliente ou com UF inválida
+ * ficam de fora e são apenas contados (getIgnorados).
+ */
+public final class HistoricoPedidos {
+
+    private final long[] valoresItens;
+    private final byte[] ufs;
+    private final byte[] anosVinculo;
+    private final int quantidade;
+    private final long ignorados;
+
+    private HistoricoPedidos(long[] valoresItens, byte[] ufs, byte[] anosVinculo, int quantidade, long ignorados) {
+        this.valoresItens = valoresItens;
+        this.ufs = ufs;
+        this.anosVinculo = anosVinculo;
+        this.quantidade = quantidade;
+        this.ignorados = ignorados;
+    }
+
+    /**
+     * Lê todos os pedidos do repositório por cursor (findAposId), uma página por vez.
+     */
+    public static HistoricoPedidos carregar(PedidoRepository repositorio, int tamanhoPagina) {
+        Construtor construtor = new Construtor(tamanhoPagina);
+        long cursor = 0;
+        List<Pedido> pagina;
+        while (!(pagina = repositorio.findAposId(cursor, tamanhoPagina)).isEmpty()) {
+            for (Pedido pedido : pagina) {
+                construtor.adicionar(pedido);
+            }
+            cursor = pagina.get(pagina.size() - 1).getId();
+        }
+        return construtor.construir();
+    }
+
+    /**
+     * Anos completos de vínculo do cliente na data do pedido (0 sem data de cadastro).
+     */
+    public static long anosVinculo(Cliente cliente, LocalDateTime dataPedido) {
+        if (cliente.getDataCadastro() == null || dataPedido == null) {
+            return 0;
+        }
+        return Math.max(0, ChronoUnit.YEARS.between(cliente.getDataCadastro(), dataPedido.toLocalDate()));
+    }
+
+    public int quantidade() {
+        return quantidade;
+    }
+
+    public long getIgnorados() {
+        return ignorados;
+    }
+
+    long valorItensCentavos(int i) {
+        return valoresItens[i];
+    }
+
+    int uf(int i) {
+        return ufs[i];
+    }
+
+    int anosVinculo(int i) {
+        return anosVinculo[i];
+    }
+
+    /**
+     * Monta um histórico pedido a pedido (carga do repositório, testes e benchmarks).
+     */
+    public static final class Construtor {
+
+        private long[] valoresItens;
+        private byte[] ufs;
+        private byte[] anosVinculo;
+        private int quantidade;
+        private long ignorados;
+
+        public Construtor(int capacidadeInicial) {
+            int capacidade = Math.max(16, capacidadeInicial);
+            valoresItens = new long[capacidade];
+            ufs = new byte[capacidade];
+            anosVinculo = new byte[capacidade];
+        }
+
+        /**
+         * Adiciona o pedido, ou apenas o conta como ignorado (ver HistoricoPedidos).
+         */
+        public Construtor adicionar(Pedido pedido) {
+            UF uf = pedido.getEnderecoEntrega() != null ? UF.fromSigla(pedido.getEnderecoEntrega().getEstado()) : null;
+            if (pedido.getStatusPedido() == StatusPedido.CANCELADO || pedido.getCliente() == null || uf == null) {
+                ignorados++;
+                return this;
+            }
+            return adicionar(uf, anosVinculo(pedido.getCliente(), pedido.getDataCriacao()), pedido.getValorItensCentavos());
+        }
+
+        public Construtor adicionar(UF uf, long anosVinculo, long valorItensCentavos) {
+            if (quantidade == valoresItens.length) {
+                int novaCapacidade = Math.multiplyExact(quantidade, 2);
+                valoresItens = Arrays.copyOf(valoresItens, novaCapacidade);
+                ufs = Arrays.copyOf(ufs, novaCapacidade);
+                this.anosVinculo = Arrays.copyOf(this.anosVinculo, novaCapacidade);
+            }
+            valoresItens[quantidade] = valorItensCentavos;
+            ufs[quantidade] = (byte) uf.ordinal();
+            this.anosVinculo[quantidade] = (byte) Math.max(0, Math.min(anosVinculo, RegrasDesconto.ANOS_MAXIMOS));
+            quantidade++;
+            return this;
+        }
+
+        public HistoricoPedidos construir() {
+            return new HistoricoPedidos(Arrays.copyOf(valoresItens, quantidade), Arrays.copyOf(ufs, quantidade),
+                    Arrays.copyOf(anosVinculo, quantidade), quantidade, ignorados);
+        }
+    }
+}
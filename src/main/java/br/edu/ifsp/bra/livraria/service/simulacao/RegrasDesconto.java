@@ -0,0 +1,96 @@
+package br.edu.ifsp.bra.livraria.service.simulacao;
+
+import br.edu.ifsp.bra.livraria.entity.Dinheiro;
+import br.edu.ifsp.bra.livraria.entity.PerfilCliente;
+
+import java.util.Map;
+
+/**
+ * Conjunto imutável de regras de desconto (RN01) candidatas: anos mínimos de
+ * vínculo e percentual de cada perfil. Perfis não informados mantêm os
+ * valores atuais de PerfilCliente.
+ *
+ * Na construção, as regras são expandidas para vetores indexados pelos anos
+ * de vínculo (0 a ANOS_MAXIMOS): classificar um pedido e achar seu percentual
+ * são dois acessos a vetor, sem laço sobre os perfis.
+ */
+public final class RegrasDesconto {
+
+    /** Anos de vínculo acima deste valor contam como ANOS_MAXIMOS. */
+    public static final int ANOS_MAXIMOS = 127;
+
+    private static final PerfilCliente[] PERFIS = PerfilCliente.values();
+    private static final RegrasDesconto ATUAIS = new RegrasDesconto(Map.of(), Map.of());
+
+    private final int[] anosMinimos = new int[PERFIS.length];
+    private final int[] pontosBase = new int[PERFIS.length];
+    private final byte[] perfilPorAnos = new byte[ANOS_MAXIMOS + 1];
+    private final int[] pontosBasePorAnos = new int[ANOS_MAXIMOS + 1];
+
+    /**
+     * @param percentuais  percentual de desconto por perfil (ex.: OURO → 12.5)
+     * @param anosMinimos  anos de vínculo a partir dos quais o perfil vale
+     * @throws IllegalArgumentException se um percentual estiver fora de 0 a 100,
+     *                                  BASICO não começar em 0 anos ou os anos
+     *                                  mínimos não forem crescentes
+     */
+    public RegrasDesconto(Map<PerfilCliente, Double> percentuais, Map<PerfilCliente, Integer> anosMinimos) {
+        for (PerfilCliente perfil : PERFIS) {
+            Double percentual = percentuais != null ? percentuais.get(perfil) : null;
+            Integer anos = anosMinimos != null ? anosMinimos.get(perfil) : null;
+            if (percentual != null && !(percentual >= 0 && percentual <= 100)) {
+                throw new IllegalArgumentException("Percentual de desconto inválido para " + perfil + ": " + percentual);
+            }
+            this.pontosBase[perfil.ordinal()] = percentual != null
+                    ? Dinheiro.pontosBase(percentual) : perfil.getPontosBaseDesconto();
+            this.anosMinimos[perfil.ordinal()] = anos != null ? anos : perfil.getAnosMinimos();
+        }
+        if (this.anosMinimos[0] != 0) {
+            throw new IllegalArgumentException("O perfil " + PERFIS[0] + " deve começar em 0 anos de vínculo.");
+        }
+        for (int i = 1; i < PERFIS.length; i++) {
+            if (this.anosMinimos[i] <= this.anosMinimos[i - 1] || this.anosMinimos[i] > ANOS_MAXIMOS) {
+                throw new IllegalArgumentException("Anos mínimos de " + PERFIS[i] + " devem ser maiores que os de "
+                        + PERFIS[i - 1] + " e no máximo " + ANOS_MAXIMOS + ": " + this.anosMinimos[i]);
+            }
+        }
+
+        int perfil = 0;
+        for (int anos = 0; anos <= ANOS_MAXIMOS; anos++) {
+            while (perfil + 1 < PERFIS.length && anos >= this.anosMinimos[perfil + 1]) {
+                perfil++;
+            }
+            perfilPorAnos[anos] = (byte) perfil;
+            pontosBasePorAnos[anos] = this.pontosBase[perfil];
+        }
+    }
+
+    /**
+     * RN01 vigente (PerfilCliente).
+     */
+    public static RegrasDesconto atuais() {
+        return ATUAIS;
+    }
+
+    /**
+     * Ordinal do perfil (PerfilCliente) de quem tem os anos de vínculo informados (0 a ANOS_MAXIMOS).
+     */
+    public int perfil(int anosVinculo) {
+        return perfilPorAnos[anosVinculo];
+    }
+
+    /**
+     * Percentual de desconto, em pontos-base, para os anos de vínculo informados (0 a ANOS_MAXIMOS).
+     */
+    public int pontosBase(int anosVinculo) {
+        return pontosBasePorAnos[anosVinculo];
+    }
+
+    public int getAnosMinimos(PerfilCliente perfil) {
+        return anosMinimos[perfil.ordinal()];
+    }
+
+    public double getPercentual(PerfilCliente perfil) {
+        return pontosBase[perfil.ordinal()] / 100.0;
+    }
+}
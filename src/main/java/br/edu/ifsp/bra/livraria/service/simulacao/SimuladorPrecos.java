@@ -0,0 +1,227 @@
+package br.edu.ifsp.bra.livraria.service.simulacao;
+
+import br.edu.ifsp.bra.livraria.api.dto.ImpactoPrecosDTO;
+import br.edu.ifsp.bra.livraria.api.dto.SimulacaoPrecosDTO;
+import br.edu.ifsp.bra.livraria.entity.Dinheiro;
+import br.edu.ifsp.bra.livraria.entity.PerfilCliente;
+import br.edu.ifsp.bra.livraria.entity.RegiaoFrete;
+import br.edu.ifsp.bra.livraria.entity.UF;
+import br.edu.ifsp.bra.livraria.repository.PedidoRepository;
+import br.edu.ifsp.bra.livraria.service.CalculadoraFreteService;
+import br.edu.ifsp.bra.livraria.service.TabelaFrete;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Simulação "e se" de preços: recalcula todo o histórico de pedidos com
+ * regras candidatas de desconto (RN01) e frete (RN02) e compara a receita
+ * com a das regras vigentes, no total, por UF e por perfil.
+ *
+ *  - O histórico é lido por cursor para um HistoricoPedidos (vetores
+ *    primitivos, 10 bytes por pedido).
+ *  - Os pedidos são divididos em fatias de até TAMANHO_FATIA e recalculados
+ *    em paralelo (fork/join) num ForkJoinPool próprio, como em
+ *    PedidoLoteService. Cada fatia soma seus resultados num vetor de
+ *    contadores (UF × perfil × campo), e os vetores são somados na junção:
+ *    nada é compartilhado entre threads durante o cálculo.
+ *  - As regras são expandidas antes em vetores (percentual por UF e por anos
+ *    de vínculo), e o recálculo de cada pedido usa as mesmas fórmulas de
+ *    PedidoService: desconto sobre os itens, frete sobre o valor com desconto.
+ *
+ * A simulação usa a RN02 por UF; cotação externa e zonas de CEP, que dependem
+ * do momento do pedido, não são reproduzidas.
+ */
+@Service
+public class SimuladorPrecos {
+
+    static final int TAMANHO_FATIA = 1 << 16;
+
+    private static final PerfilCliente[] PERFIS = PerfilCliente.values();
+    private static final UF[] UFS = UF.values();
+
+    // Campos do vetor de contadores, por célula (UF × perfil)
+    private static final int PEDIDOS = 0;
+    private static final int VALOR_ITENS = 1;
+    private static final int DESCONTO_ATUAL = 2;
+    private static final int DESCONTO_SIMULADO = 3;
+    private static final int FRETE_ATUAL = 4;
+    private static final int FRETE_SIMULADO = 5;
+    private static final int CAMPOS = 6;
+
+    private final PedidoRepository pedidoRepository;
+    private final CalculadoraFreteService calculadoraFrete;
+    private final ForkJoinPool pool;
+    private final int tamanhoPagina;
+
+    /**
+     * @param paralelismo    threads do pool da simulação (0 → núcleos disponíveis)
+     * @param tamanhoPagina  pedidos lidos do repositório por vez
+     */
+    public SimuladorPrecos(PedidoRepository pedidoRepository,
+                           CalculadoraFreteService calculadoraFrete,
+                           @Value("${livraria.simulacao.paralelismo:0}") int paralelismo,
+                           @Value("${livraria.simulacao.tamanho-pagina:10000}") int tamanhoPagina) {
+        if (tamanhoPagina <= 0) {
+            throw new IllegalArgumentException("livraria.simulacao.tamanho-pagina deve ser positivo.");
+        }
+        this.pedidoRepository = pedidoRepository;
+        this.calculadoraFrete = calculadoraFrete;
+        this.pool = new ForkJoinPool(paralelismo > 0
+                ? paralelismo
+                : Runtime.getRuntime().availableProcessors());
+        this.tamanhoPagina = tamanhoPagina;
+    }
+
+    /**
+     * Simula sobre todos os pedidos gravados. Perfis e regiões ausentes dos
+     * mapas mantêm os valores vigentes.
+     *
+     * @throws IllegalArgumentException se alguma regra candidata for inválida
+     */
+    public SimulacaoPrecosDTO simular(Map<PerfilCliente, Double> percentuaisDesconto,
+                                      Map<PerfilCliente, Integer> anosMinimos,
+                                      Map<RegiaoFrete, Double> percentuaisFrete) {
+        RegrasDesconto desconto = new RegrasDesconto(percentuaisDesconto, anosMinimos);
+        Map<RegiaoFrete, Double> frete = new EnumMap<>(calculadoraFrete.getTabela().getPercentuaisPorRegiao());
+        if (percentuaisFrete != null) {
+            frete.putAll(percentuaisFrete);
+        }
+        long inicio = System.nanoTime();
+        HistoricoPedidos historico = HistoricoPedidos.carregar(pedidoRepository, tamanhoPagina);
+        return simular(historico, desconto, new TabelaFrete(frete), inicio);
+    }
+
+    /**
+     * Simula sobre um histórico já carregado, contra a RN01 atual e a tabela de frete vigente.
+     */
+    public SimulacaoPrecosDTO simular(HistoricoPedidos historico, RegrasDesconto desconto, TabelaFrete frete) {
+        return simular(historico, desconto, frete, System.nanoTime());
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        pool.shutdown();
+    }
+
+    private SimulacaoPrecosDTO simular(HistoricoPedidos historico, RegrasDesconto desconto, TabelaFrete frete,
+                                       long inicioNanos) {
+        TabelaFrete freteAtual = calculadoraFrete.getTabela();
+        int[] pontosBaseFreteAtual = new int[UFS.length];
+        int[] pontosBaseFreteSimulado = new int[UFS.length];
+        for (UF uf : UFS) {
+            pontosBaseFreteAtual[uf.ordinal()] = freteAtual.pontosBase(uf);
+            pontosBaseFreteSimulado[uf.ordinal()] = frete.pontosBase(uf);
+        }
+
+        long[] contadores = pool.invoke(new Fatia(historico, 0, historico.quantidade(), RegrasDesconto.atuais(),
+                desconto, pontosBaseFreteAtual, pontosBaseFreteSimulado));
+        return resultado(contadores, historico, (System.nanoTime() - inicioNanos) / 1_000_000);
+    }
+
+    private static SimulacaoPrecosDTO resultado(long[] contadores, HistoricoPedidos historico, long duracaoMs) {
+        long[] total = new long[CAMPOS];
+        long[][] porUf = new long[UFS.length][CAMPOS];
+        long[][] porPerfil = new long[PERFIS.length][CAMPOS];
+        for (int uf = 0; uf < UFS.length; uf++) {
+            for (int perfil = 0; perfil < PERFIS.length; perfil++) {
+                int base = (uf * PERFIS.length + perfil) * CAMPOS;
+                for (int campo = 0; campo < CAMPOS; campo++) {
+                    long valor = contadores[base + campo];
+                    total[campo] += valor;
+                    porUf[uf][campo] += valor;
+                    porPerfil[perfil][campo] += valor;
+                }
+            }
+        }
+
+        Map<String, ImpactoPrecosDTO> impactosPorUf = new LinkedHashMap<>();
+        for (UF uf : UFS) {
+            if (porUf[uf.ordinal()][PEDIDOS] > 0) {
+                impactosPorUf.put(uf.name(), impacto(porUf[uf.ordinal()]));
+            }
+        }
+        Map<String, ImpactoPrecosDTO> impactosPorPerfil = new LinkedHashMap<>();
+        for (PerfilCliente perfil : PERFIS) {
+            impactosPorPerfil.put(perfil.name(), impacto(porPerfil[perfil.ordinal()]));
+        }
+        return new SimulacaoPrecosDTO(historico.quantidade(), historico.getIgnorados(), duracaoMs,
+                impacto(total), impactosPorUf, impactosPorPerfil);
+    }
+
+    private static ImpactoPrecosDTO impacto(long[] campos) {
+        return new ImpactoPrecosDTO(campos[PEDIDOS], campos[VALOR_ITENS],
+                campos[DESCONTO_ATUAL], campos[DESCONTO_SIMULADO],
+                campos[FRETE_ATUAL], campos[FRETE_SIMULADO]);
+    }
+
+    /** Recalcula os pedidos [inicio, fim) e devolve os contadores da fatia. */
+    private static final class Fatia extends RecursiveTask<long[]> {
+
+        private final HistoricoPedidos historico;
+        private final int inicio;
+        private final int fim;
+        private final RegrasDesconto descontoAtual;
+        private final RegrasDesconto descontoSimulado;
+        private final int[] freteAtual;
+        private final int[] freteSimulado;
+
+        Fatia(HistoricoPedidos historico, int inicio, int fim,
+              RegrasDesconto descontoAtual, RegrasDesconto descontoSimulado,
+              int[] freteAtual, int[] freteSimulado) {
+            this.historico = historico;
+            this.inicio = inicio;
+            this.fim = fim;
+            this.descontoAtual = descontoAtual;
+            this.descontoSimulado = descontoSimulado;
+            this.freteAtual = freteAtual;
+            this.freteSimulado = freteSimulado;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (fim - inicio <= TAMANHO_FATIA) {
+                return calcular();
+            }
+            int meio = (inicio + fim) >>> 1;
+            Fatia esquerda = new Fatia(historico, inicio, meio, descontoAtual, descontoSimulado, freteAtual, freteSimulado);
+            Fatia direita = new Fatia(historico, meio, fim, descontoAtual, descontoSimulado, freteAtual, freteSimulado);
+            esquerda.fork();
+            long[] contadores = direita.compute();
+            long[] outros = esquerda.join();
+            for (int i = 0; i < contadores.length; i++) {
+                contadores[i] += outros[i];
+            }
+            return contadores;
+        }
+
+        private long[] calcular() {
+            long[] contadores = new long[UFS.length * PERFIS.length * CAMPOS];
+            for (int i = inicio; i < fim; i++) {
+                long valorItens = historico.valorItensCentavos(i);
+                int uf = historico.uf(i);
+                int anos = historico.anosVinculo(i);
+
+                long descontoAtualCentavos = Dinheiro.aplicarPercentual(valorItens, descontoAtual.pontosBase(anos));
+                long descontoSimuladoCentavos = Dinheiro.aplicarPercentual(valorItens, descontoSimulado.pontosBase(anos));
+                long freteAtualCentavos = Dinheiro.aplicarPercentual(valorItens - descontoAtualCentavos, freteAtual[uf]);
+                long freteSimuladoCentavos = Dinheiro.aplicarPercentual(valorItens - descontoSimuladoCentavos, freteSimulado[uf]);
+
+                int base = (uf * PERFIS.length + descontoAtual.perfil(anos)) * CAMPOS;
+                contadores[base + PEDIDOS]++;
+                contadores[base + VALOR_ITENS] += valorItens;
+                contadores[base + DESCONTO_ATUAL] += descontoAtualCentavos;
+                contadores[base + DESCONTO_SIMULADO] += descontoSimuladoCentavos;
+                contadores[base + FRETE_ATUAL] += freteAtualCentavos;
+                contadores[base + FRETE_SIMULADO] += freteSimuladoCentavos;
+            }
+            return contadores;
+        }
+    }
+}
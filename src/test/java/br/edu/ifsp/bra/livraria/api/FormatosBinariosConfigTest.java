@@ -0,0 +1,88 @@
+package br.edu.ifsp.bra.livraria.api;
+
+import br.edu.ifsp.bra.livraria.api.dto.PedidoRequestDTO;
+import br.edu.ifsp.bra.livraria.api.dto.PedidoResumoDTO;
+import br.edu.ifsp.bra.livraria.entity.Cliente;
+import br.edu.ifsp.bra.livraria.entity.Endereco;
+import br.edu.ifsp.bra.livraria.entity.ItemCarrinho;
+import br.edu.ifsp.bra.livraria.entity.Pedido;
+import br.edu.ifsp.bra.livraria.entity.StatusPedido;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes dos conversores Smile e CBOR de FormatosBinariosConfig, a partir de
+ * um Jackson2ObjectMapperBuilder configurado como o do Spring Boot.
+ *
+ * Cenários:
+ *  - requisição de pedido lida do formato binário igual à do JSON, em menos bytes;
+ *  - resposta com datas em ISO-8601 (não como vetores) e visão RESUMO legível.
+ */
+class FormatosBinariosConfigTest {
+
+    private final FormatosBinariosConfig config = new FormatosBinariosConfig();
+
+    private static Jackson2ObjectMapperBuilder builderComoSpringBoot() {
+        return Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private static PedidoRequestDTO requisicao() {
+        PedidoRequestDTO dto = new PedidoRequestDTO();
+        dto.setClienteId(3L);
+        dto.setEnderecoEntrega(new Endereco("Rua A", "100", "Centro", "Vitória", "ES", "29000-000"));
+        dto.setItens(List.of(new ItemCarrinho("Engenharia de Software", 2, 100.0)));
+        dto.setFormaPagamento("PIX");
+        return dto;
+    }
+
+    @Test
+    void deveLerRequisicaoDePedidoEmSmileECbor() throws IOException {
+        byte[] json = builderComoSpringBoot().build().writeValueAsBytes(requisicao());
+        for (AbstractJackson2HttpMessageConverter conversor : List.of(
+                config.conversorSmile(builderComoSpringBoot()), config.conversorCbor(builderComoSpringBoot()))) {
+            ObjectMapper mapper = conversor.getObjectMapper();
+            byte[] binario = mapper.writeValueAsBytes(requisicao());
+            PedidoRequestDTO lido = mapper.readValue(binario, PedidoRequestDTO.class);
+
+            assertTrue(binario.length < json.length, conversor.getClass().getSimpleName());
+            assertEquals(3L, lido.getClienteId());
+            assertEquals("29000-000", lido.getEnderecoEntrega().getCep());
+            assertEquals(2, lido.getItens().get(0).getQuantidade());
+            assertEquals(100.0, lido.getItens().get(0).getPrecoUnitario());
+        }
+    }
+
+    @Test
+    void deveEscreverRespostaComAConfiguracaoDoJson() throws IOException {
+        Pedido pedido = new Pedido();
+        pedido.setId(7L);
+        pedido.setCliente(new Cliente(3L, "Cliente Prata", "prata@email.com", LocalDate.of(2020, 1, 2)));
+        pedido.setItens(List.of(new ItemCarrinho("Engenharia de Software", 2, 100.0)));
+        pedido.setValorItensCentavos(20_000);
+        pedido.setValorTotalCentavos(19_950);
+        pedido.setStatusPedido(StatusPedido.EM_PROCESSAMENTO);
+
+        for (AbstractJackson2HttpMessageConverter conversor : List.of(
+                config.conversorSmile(builderComoSpringBoot()), config.conversorCbor(builderComoSpringBoot()))) {
+            ObjectMapper mapper = conversor.getObjectMapper();
+            JsonNode completo = mapper.readTree(mapper.writeValueAsBytes(pedido));
+            JsonNode resumo = mapper.readTree(mapper.writeValueAsBytes(new PedidoResumoDTO(pedido)));
+
+            assertEquals("2020-01-02", completo.path("cliente").path("dataCadastro").asText());
+            assertEquals(7L, resumo.path("id").asLong());
+            assertEquals("EM_PROCESSAMENTO", resumo.path("status").asText());
+            assertEquals(199.5, resumo.path("valorTotal").asDouble());
+            assertEquals(1, resumo.path("quantidadeItens").asInt());
+        }
+    }
+}
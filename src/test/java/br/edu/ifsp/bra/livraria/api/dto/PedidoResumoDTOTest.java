@@ -0,0 +1,79 @@
+package br.edu.ifsp.bra.livraria.api.dto;
+
+import br.edu.ifsp.bra.livraria.entity.Cliente;
+import br.edu.ifsp.bra.livraria.entity.Dinheiro;
+import br.edu.ifsp.bra.livraria.entity.Endereco;
+import br.edu.ifsp.bra.livraria.entity.ItemCarrinho;
+import br.edu.ifsp.bra.livraria.entity.Pedido;
+import br.edu.ifsp.bra.livraria.entity.StatusPedido;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da visão RESUMO do pedido (PedidoResumoDTO e seu serializador).
+ *
+ * Cenários:
+ *  - JSON exato, com os totais em reais e duas casas;
+ *  - mesmos valores da visão completa, em bem menos bytes;
+ *  - escrita dos centavos em char[] igual à de Dinheiro.formatar.
+ */
+class PedidoResumoDTOTest {
+
+    private final ObjectMapper mapper = JsonMapper.builder().findAndAddModules().build();
+
+    private Pedido pedido() {
+        Pedido pedido = new Pedido();
+        pedido.setId(42L);
+        pedido.setCliente(new Cliente(3L, "Cliente Prata", "prata@email.com", LocalDate.of(2020, 1, 1)));
+        pedido.setEnderecoEntrega(new Endereco("Rua A", "100", "Centro", "Vitória", "ES", "29000-000"));
+        pedido.setItens(List.of(
+                new ItemCarrinho("Engenharia de Software", 2, 100.0),
+                new ItemCarrinho("Padrões de Projeto", 1, 99.9)));
+        pedido.setValorItensCentavos(29_990);
+        pedido.setDescontoCentavos(1_500);
+        pedido.setFreteCentavos(1_425);
+        pedido.setValorTotalCentavos(29_915);
+        pedido.setFormaPagamento("PIX");
+        pedido.setStatusPedido(StatusPedido.EM_PROCESSAMENTO);
+        return pedido;
+    }
+
+    @Test
+    void deveSerializarSomenteIdStatusTotaisEQuantidadeDeItens() throws Exception {
+        String json = mapper.writeValueAsString(new PedidoResumoDTO(pedido()));
+
+        assertEquals("{\"id\":42,\"status\":\"EM_PROCESSAMENTO\",\"valorItens\":299.90,\"desconto\":15.00,"
+                + "\"frete\":14.25,\"valorTotal\":299.15,\"quantidadeItens\":2}", json);
+    }
+
+    @Test
+    void deveTrazerOsMesmosValoresDaVisaoCompletaEmMenosBytes() throws Exception {
+        Pedido pedido = pedido();
+        byte[] completo = mapper.writeValueAsBytes(pedido);
+        byte[] resumo = mapper.writeValueAsBytes(new PedidoResumoDTO(pedido));
+
+        JsonNode noCompleto = mapper.readTree(completo);
+        JsonNode noResumo = mapper.readTree(resumo);
+        for (String campo : List.of("id", "status", "valorItens", "desconto", "frete", "valorTotal")) {
+            assertEquals(noCompleto.get(campo), noResumo.get(campo), campo);
+        }
+        assertEquals(noCompleto.get("itens").size(), noResumo.get("quantidadeItens").asInt());
+        assertTrue(resumo.length * 3 < completo.length, resumo.length + " bytes x " + completo.length + " bytes");
+    }
+
+    @Test
+    void deveEscreverCentavosComoDinheiroFormatar() {
+        char[] destino = new char[24];
+        for (long centavos : new long[] {0, 5, -5, 99, 100, 1_990, -12_345, 10_000_000_00L, Long.MAX_VALUE}) {
+            int inicio = Dinheiro.escrever(centavos, destino);
+            assertEquals(Dinheiro.formatar(centavos), new String(destino, inicio, destino.length - inicio));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package br.edu.ifsp.bra.livraria.repository;
+
+import br.edu.ifsp.bra.livraria.entity.Cliente;
+import br.edu.ifsp.bra.livraria.entity.PerfilCliente;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do ClienteRepositoryCompacto, nas variantes dentro e fora do heap.
+ * O repositório já começa com os clientes de exemplo 1 a 4.
+ */
+class ClienteRepositoryCompactoTest {
+
+    @ParameterizedTest(name = "offHeap = {0}")
+    @ValueSource(booleans = {false, true})
+    void deveGravarEMaterializarCliente(boolean offHeap) {
+        ClienteRepositoryCompacto repositorio = new ClienteRepositoryCompacto(offHeap);
+        LocalDate cadastro = LocalDate.of(2019, 3, 15);
+
+        repositorio.save(new Cliente(10L, "João Conceição", "joao@email.com", cadastro));
+        repositorio.save(new Cliente(11L, null, null, null));
+
+        Cliente joao = repositorio.findById(10L).orElseThrow();
+        assertEquals(10L, joao.getId());
+        assertEquals("João Conceição", joao.getNome());
+        assertEquals("joao@email.com", joao.getEmail());
+        assertEquals(cadastro, joao.getDataCadastro());
+
+        Cliente semDados = repositorio.findById(11L).orElseThrow();
+        assertNull(semDados.getNome());
+        assertNull(semDados.getEmail());
+        assertNull(semDados.getDataCadastro());
+
+        assertTrue(repositorio.findById(12L).isEmpty());
+        assertTrue(repositorio.findById(null).isEmpty());
+    }
+
+    @ParameterizedTest(name = "offHeap = {0}")
+    @ValueSource(booleans = {false, true})
+    void deveComecarComOsClientesDeExemplo(boolean offHeap) {
+        ClienteRepositoryCompacto repositorio = new ClienteRepositoryCompacto(offHeap);
+
+        assertEquals(4, repositorio.quantidade());
+        assertEquals("Cliente Básico", repositorio.findById(1L).orElseThrow().getNome());
+        assertEquals("Cliente Ouro", repositorio.findById(4L).orElseThrow().getNome());
+        assertEquals(PerfilCliente.OURO, repositorio.perfil(4L));
+        assertEquals(5L, repositorio.save(new Cliente(null, "Novo", null, LocalDate.now())).getId());
+    }
+
+    /**
+     * Muitos clientes forçam o crescimento da tabela hash, dos registros e da arena.
+     */
+    @ParameterizedTest(name = "offHeap = {0}")
+    @ValueSource(booleans = {false, true})
+    void deveManterTodosOsClientesAposCrescimento(boolean offHeap) {
+        ClienteRepositoryCompacto repositorio = new ClienteRepositoryCompacto(offHeap);
+        int total = 50_000;
+        LocalDate base = LocalDate.of(2015, 1, 1);
+        for (int i = 1; i <= total; i++) {
+            repositorio.save(new Cliente((long) i * 7919, "Cliente " + i, "c" + i + "@email.com", base.plusDays(i % 3000)));
+        }
+
+        assertEquals(total + 4, repositorio.quantidade()); // + clientes de exemplo
+        for (int i = 1; i <= total; i += 997) {
+            Cliente cliente = repositorio.findById((long) i * 7919).orElseThrow();
+            assertEquals("Cliente " + i, cliente.getNome());
+            assertEquals(base.plusDays(i % 3000), cliente.getDataCadastro());
+        }
+        assertTrue(repositorio.bytesPorCliente() > 0);
+    }
+
+    @ParameterizedTest(name = "offHeap = {0}")
+    @ValueSource(booleans = {false, true})
+    void deveAtualizarClienteExistenteEGerarIds(boolean offHeap) {
+        ClienteRepositoryCompacto repositorio = new ClienteRepositoryCompacto(offHeap);
+
+        repositorio.save(new Cliente(5L, "Antigo", "antigo@email.com", LocalDate.now().minusMonths(2)));
+        repositorio.save(new Cliente(5L, "Novo", "novo@email.com", LocalDate.now().minusYears(6)));
+        Cliente gerado = repositorio.save(new Cliente(null, "Sem id", "semid@email.com", LocalDate.now()));
+
+        assertEquals(2 + 4, repositorio.quantidade()); // + clientes de exemplo
+        assertEquals("Novo", repositorio.findById(5L).orElseThrow().getNome());
+        assertEquals(6L, gerado.getId());
+        assertEquals(PerfilCliente.OURO, repositorio.perfil(5L));
+    }
+
+    /**
+     * O perfil RN01 fica no próprio repositório: recadastro com outra data
+     * troca o cliente de grupo de aniversariantes, e a reclassificação só
+     * alcança os aniversariantes do dia. O cadastro fica longe do dia/mês dos
+     * clientes de exemplo (hoje e hoje - 6 meses), que não podem ser afetados.
+     */
+    @ParameterizedTest(name = "offHeap = {0}")
+    @ValueSource(booleans = {false, true})
+    void deveClassificarEReclassificarPerfis(boolean offHeap) {
+        ClienteRepositoryCompacto repositorio = new ClienteRepositoryCompacto(offHeap);
+        LocalDate cadastro = LocalDate.now().plusDays(100).minusYears(6); // 5 anos e ~9 meses → OURO
+        LocalDate terceiroAniversario = cadastro.plusYears(3);
+
+        repositorio.save(new Cliente(10L, "Ana", null, cadastro));
+        repositorio.save(new Cliente(11L, "Bia", null, LocalDate.now().minusMonths(1)));
+        repositorio.save(new Cliente(11L, "Bia", null, cadastro));
+        repositorio.save(new Cliente(12L, "Caio", null, null));
+
+        assertEquals(PerfilCliente.OURO, repositorio.perfil(10L));
+        assertEquals(PerfilCliente.OURO, repositorio.perfil(11L));
+        assertNull(repositorio.perfil(12L));
+        assertNull(repositorio.perfil(99L));
+
+        Map<PerfilCliente, Long> distribuicao = repositorio.distribuicao();
+        assertEquals(3L, distribuicao.get(PerfilCliente.OURO));   // Ana, Bia e exemplo 4
+        assertEquals(1L, distribuicao.get(PerfilCliente.BASICO)); // só o exemplo 1: Bia mudou de perfil
+
+        assertEquals(0, repositorio.reclassificarAniversariantes(terceiroAniversario.minusDays(1)));
+        assertEquals(2, repositorio.reclassificarAniversariantes(terceiroAniversario)); // 3 anos → PRATA
+        assertEquals(PerfilCliente.PRATA, repositorio.perfil(10L));
+        assertEquals(PerfilCliente.PRATA, repositorio.perfil(11L));
+        assertEquals(1L, repositorio.distribuicao().get(PerfilCliente.OURO));
+    }
+}
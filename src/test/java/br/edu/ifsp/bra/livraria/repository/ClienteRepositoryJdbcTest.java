@@ -0,0 +1,171 @@
+package br.edu.ifsp.bra.livraria.repository;
+
+import br.edu.ifsp.bra.livraria.entity.Cliente;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do ClienteRepositoryJdbc contra H2 embarcado (em memória).
+ *
+ * Cenários:
+ *  - gravação, atualização e leitura, inclusive por uma nova instância
+ *    (simulando um reinício);
+ *  - findAllById com uma consulta IN por bloco de ids;
+ *  - cache: acerto, invalidação no save e expiração por TTL;
+ *  - save durante a carga em lote de findAllById não deixa a versão antiga no cache.
+ */
+class ClienteRepositoryJdbcTest {
+
+    private JdbcTemplateContador jdbc;
+    private AtomicLong relogio;
+
+    @BeforeEach
+    void setup() {
+        String url = "jdbc:h2:mem:clientes-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        jdbc = new JdbcTemplateContador(new DriverManagerDataSource(url, "sa", ""));
+        relogio = new AtomicLong();
+    }
+
+    private ClienteRepositoryJdbc repositorio(long tamanhoCache, int tamanhoLoteIn) {
+        return new ClienteRepositoryJdbc(jdbc, new IndicePerfilCliente(), tamanhoCache,
+                Duration.ofSeconds(60), tamanhoLoteIn, relogio::get);
+    }
+
+    @Test
+    void deveGravarELerClientesAposReinicio() {
+        ClienteRepositoryJdbc repositorio = repositorio(0, 500);
+        // Clientes de exemplo inseridos na primeira subida
+        assertEquals("Cliente Ouro", repositorio.findById(4L).orElseThrow().getNome());
+
+        LocalDate cadastro = LocalDate.of(2019, 3, 15);
+        Cliente novo = repositorio.save(new Cliente(null, "João Conceição", "joao@email.com", cadastro));
+        assertEquals(5L, novo.getId());
+        repositorio.save(new Cliente(20L, null, null, null));
+
+        ClienteRepositoryJdbc reiniciado = repositorio(0, 500);
+        Cliente joao = reiniciado.findById(5L).orElseThrow();
+        assertEquals("João Conceição", joao.getNome());
+        assertEquals("joao@email.com", joao.getEmail());
+        assertEquals(cadastro, joao.getDataCadastro());
+        assertNull(reiniciado.findById(20L).orElseThrow().getDataCadastro());
+        assertTrue(reiniciado.findById(21L).isEmpty());
+        assertTrue(reiniciado.findById(null).isEmpty());
+
+        // A sequência continua depois do maior id gravado
+        assertEquals(21L, reiniciado.save(new Cliente(null, "Maria", "maria@email.com", cadastro)).getId());
+    }
+
+    @Test
+    void deveBuscarVariosClientesComUmaConsultaPorBloco() {
+        ClienteRepositoryJdbc repositorio = repositorio(0, 3);
+        for (long id = 10; id < 20; id++) {
+            repositorio.save(new Cliente(id, "Cliente " + id, null, LocalDate.of(2020, 1, 1)));
+        }
+        jdbc.consultas.clear();
+
+        Map<Long, Cliente> clientes = repositorio.findAllById(List.of(1L, 10L, 11L, 11L, 12L, 99L));
+
+        assertEquals(4, clientes.size()); // 99 não existe; 11 repetido
+        assertEquals("Cliente 12", clientes.get(12L).getNome());
+        assertFalse(clientes.containsKey(99L));
+        // 5 ids distintos em blocos de 3 → 2 consultas IN
+        assertEquals(2, jdbc.consultas.size());
+        assertTrue(jdbc.consultas.stream().allMatch(sql -> sql.contains(" IN (")));
+    }
+
+    @Test
+    void deveServirDoCacheEInvalidarNoSave() {
+        ClienteRepositoryJdbc repositorio = repositorio(100, 500);
+        jdbc.consultas.clear();
+
+        repositorio.findById(1L);
+        repositorio.findById(1L);
+        assertEquals(1, jdbc.consultas.size());
+
+        // findAllById consulta apenas quem não está no cache
+        Map<Long, Cliente> clientes = repositorio.findAllById(List.of(1L, 2L, 3L));
+        assertEquals(3, clientes.size());
+        assertEquals(2, jdbc.consultas.size());
+        assertEquals(3, repositorio.findAllById(List.of(1L, 2L, 3L)).size());
+        assertEquals(2, jdbc.consultas.size());
+
+        repositorio.save(new Cliente(1L, "Cliente Renomeado", "basico@email.com", LocalDate.now().minusMonths(6)));
+        assertEquals("Cliente Renomeado", repositorio.findById(1L).orElseThrow().getNome());
+        assertEquals(3, jdbc.consultas.size());
+
+        // Inexistentes não ficam no cache
+        repositorio.findById(99L);
+        repositorio.findById(99L);
+        assertEquals(5, jdbc.consultas.size());
+    }
+
+    @Test
+    void deveExpirarEntradasDoCachePorTtl() {
+        ClienteRepositoryJdbc repositorio = repositorio(100, 500);
+        repositorio.findById(2L);
+        jdbc.update("UPDATE cliente SET nome = 'Alterado por fora' WHERE id = 2");
+
+        relogio.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        assertEquals("Cliente Bronze", repositorio.findById(2L).orElseThrow().getNome());
+
+        relogio.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertEquals("Alterado por fora", repositorio.findById(2L).orElseThrow().getNome());
+        assertEquals(1, repositorio.estatisticasCache().hitCount());
+    }
+
+    @Test
+    void naoDeveGuardarVersaoAntigaQuandoSaveOcorreDuranteCargaEmLote() {
+        ClienteRepositoryJdbc repositorio = repositorio(100, 500);
+        // O save roda depois que a consulta IN leu a versão antiga e antes de o resultado entrar no cache
+        jdbc.aposConsulta = () -> repositorio.save(
+                new Cliente(2L, "Cliente Renomeado", "bronze@email.com", LocalDate.now().minusYears(2)));
+
+        Map<Long, Cliente> clientes = repositorio.findAllById(List.of(2L, 3L));
+        assertEquals("Cliente Bronze", clientes.get(2L).getNome()); // leitura iniciada antes do save
+
+        assertEquals("Cliente Renomeado", repositorio.findById(2L).orElseThrow().getNome());
+        assertEquals("Cliente Renomeado", repositorio.findAllById(List.of(2L, 3L)).get(2L).getNome());
+    }
+
+    /** JdbcTemplate que registra as consultas de leitura de clientes. */
+    private static final class JdbcTemplateContador extends JdbcTemplate {
+        final List<String> consultas = new ArrayList<>();
+        Runnable aposConsulta; // executado uma vez, logo depois da próxima consulta IN
+
+        JdbcTemplateContador(DriverManagerDataSource dataSource) {
+            super(dataSource);
+        }
+
+        @Override
+        public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+            consultas.add(sql);
+            return super.query(sql, rowMapper, args);
+        }
+
+        @Override
+        public void query(String sql, RowCallbackHandler rch, Object... args) {
+            consultas.add(sql);
+            super.query(sql, rch, args);
+            Runnable acao = aposConsulta;
+            if (acao != null && sql.contains(" IN (")) {
+                aposConsulta = null;
+                acao.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package br.edu.ifsp.bra.livraria.repository;
+
+import br.edu.ifsp.bra.livraria.entity.Cliente;
+import br.edu.ifsp.bra.livraria.entity.PerfilCliente;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de unidade para IndicePerfilCliente (RN01 pré-calculada).
+ *
+ * Todas as datas de referência são fixas, para que os limites de
+ * aniversário (1, 3 e 5 anos) sejam exercitados de forma determinística.
+ */
+class IndicePerfilClienteTest {
+
+    private IndicePerfilCliente indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndicePerfilCliente();
+    }
+
+    private Cliente cliente(long id, LocalDate dataCadastro) {
+        return new Cliente(id, "Cliente " + id, "c" + id + "@email.com", dataCadastro);
+    }
+
+    @Test
+    void deveClassificarClienteNoRegistro() {
+        LocalDate hoje = LocalDate.of(2024, 6, 10);
+        indice.registrar(cliente(1L, hoje.minusMonths(6)), hoje);
+        indice.registrar(cliente(2L, hoje.minusYears(2)), hoje);
+        indice.registrar(cliente(3L, hoje.minusYears(4)), hoje);
+        indice.registrar(cliente(4L, hoje.minusYears(7)), hoje);
+
+        assertEquals(PerfilCliente.BASICO, indice.perfil(1L));
+        assertEquals(PerfilCliente.BRONZE, indice.perfil(2L));
+        assertEquals(PerfilCliente.PRATA, indice.perfil(3L));
+        assertEquals(PerfilCliente.OURO, indice.perfil(4L));
+        assertNull(indice.perfil(99L));
+    }
+
+    /**
+     * AVL – a promoção acontece exatamente no dia do aniversário de cadastro,
+     * e só os aniversariantes do dia são reclassificados.
+     */
+    @Test
+    void devePromoverClienteNoAniversarioDeCadastro() {
+        LocalDate cadastro = LocalDate.of(2021, 6, 11);
+        LocalDate vespera = LocalDate.of(2024, 6, 10);
+        indice.registrar(cliente(1L, cadastro), vespera); // 2 anos e 364 dias → BRONZE
+
+        assertEquals(0, indice.reclassificarAniversariantes(vespera));
+        assertEquals(PerfilCliente.BRONZE, indice.perfil(1L));
+
+        assertEquals(1, indice.reclassificarAniversariantes(LocalDate.of(2024, 6, 11)));
+        assertEquals(PerfilCliente.PRATA, indice.perfil(1L));
+    }
+
+    /**
+     * Cadastro em 29/02: em ano não bissexto, o aniversário é tratado em 01/03.
+     */
+    @Test
+    void devePromoverCadastroEm29DeFevereiroEm1DeMarco() {
+        LocalDate cadastro = LocalDate.of(2020, 2, 29);
+        indice.registrar(cliente(1L, cadastro), LocalDate.of(2021, 2, 28));
+        assertEquals(PerfilCliente.BASICO, indice.perfil(1L));
+
+        assertEquals(1, indice.reclassificarAniversariantes(LocalDate.of(2021, 3, 1)));
+        assertEquals(PerfilCliente.BRONZE, indice.perfil(1L));
+    }
+
+    /**
+     * Cliente sem data de cadastro fica fora do índice (sem exceção), e um
+     * recadastro sem a data retira o cliente que já estava indexado.
+     */
+    @Test
+    void deveIgnorarClienteSemDataDeCadastro() {
+        LocalDate hoje = LocalDate.of(2024, 6, 10);
+        indice.registrar(cliente(1L, null), hoje);
+        assertNull(indice.perfil(1L));
+
+        indice.registrar(cliente(2L, hoje.minusYears(4)), hoje);
+        indice.registrar(cliente(2L, null), hoje);
+        assertNull(indice.perfil(2L));
+        assertEquals(0L, indice.distribuicao().get(PerfilCliente.PRATA));
+    }
+
+    @Test
+    void deveManterDistribuicaoPorPerfil() {
+        LocalDate hoje = LocalDate.of(2024, 6, 10);
+        indice.registrar(cliente(1L, hoje.minusMonths(1)), hoje);
+        indice.registrar(cliente(2L, hoje.minusMonths(2)), hoje);
+        indice.registrar(cliente(3L, hoje.minusYears(6)), hoje);
+
+        // Recadastro muda o perfil do cliente 2 sem duplicar a contagem
+        indice.registrar(cliente(2L, hoje.minusYears(3)), hoje);
+
+        Map<PerfilCliente, Long> distribuicao = indice.distribuicao();
+        assertEquals(1L, distribuicao.get(PerfilCliente.BASICO));
+        assertEquals(0L, distribuicao.get(PerfilCliente.BRONZE));
+        assertEquals(1L, distribuicao.get(PerfilCliente.PRATA));
+        assertEquals(1L, distribuicao.get(PerfilCliente.OURO));
+    }
+
+    /**
+     * Remoções no meio das sequências de sondagem não podem esconder os
+     * clientes seguintes, nem deixá-los no grupo de aniversariantes.
+     */
+    @Test
+    void deveManterClientesRestantesAposRemocoes() {
+        LocalDate hoje = LocalDate.of(2024, 6, 10);
+        int total = 20_000;
+        for (int i = 1; i <= total; i++) {
+            indice.registrar(cliente(i, LocalDate.of(2021, 6, 11).minusDays((i + 1) % 2)), hoje);
+        }
+        for (int i = 2; i <= total; i += 2) {
+            indice.remover((long) i);
+        }
+
+        assertEquals(total / 2, indice.quantidade());
+        for (int i = 1; i <= total; i++) {
+            assertEquals(i % 2 == 1 ? PerfilCliente.BRONZE : null, indice.perfil((long) i));
+        }
+        // Só os ímpares (cadastro em 11/06) restam; o grupo de 10/06 ficou vazio
+        assertEquals(0, indice.reclassificarAniversariantes(LocalDate.of(2024, 6, 10)));
+        assertEquals(total / 2, indice.reclassificarAniversariantes(LocalDate.of(2024, 6, 11)));
+        assertEquals((long) total / 2, indice.distribuicao().get(PerfilCliente.PRATA));
+    }
+
+    /**
+     * Estruturas primitivas: bem menos que os ~150 bytes por cliente de um
+     * ConcurrentHashMap&lt;Long, ...&gt; com grupos em Set&lt;Long&gt;.
+     */
+    @Test
+    void deveOcuparPoucosBytesPorCliente() {
+        LocalDate hoje = LocalDate.of(2024, 6, 10);
+        int total = 100_000;
+        for (int i = 1; i <= total; i++) {
+            indice.registrar(cliente(i, hoje.minusDays(i % 4000)), hoje);
+        }
+
+        assertEquals(total, indice.quantidade());
+        assertTrue(indice.bytesReservados() / total < 64,
+                () -> indice.bytesReservados() / total + " bytes por cliente");
+    }
+}
@@ -0,0 +1,192 @@
+package br.edu.ifsp.bra.livraria.repository.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de JournalPedidos com falha de E/S injetada no canal do segmento.
+ *
+ * O canal de teste grava metade do buffer e lança IOException, como um disco
+ * cheio no meio de um registro: o journal deve falhar as escritas pendentes,
+ * recusar as próximas (em vez de travar quem espera a confirmação) e não
+ * deixar registro pela metade para a recuperação.
+ */
+class JournalPedidosTest {
+
+    private static final long SEGMENTO = 64L * 1024 * 1024;
+
+    @TempDir
+    Path diretorio;
+
+    private static byte[] registro(String texto) {
+        return texto.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void deveEntrarEmFalhaSemDeixarRegistroIncompleto() throws IOException {
+        AtomicBoolean falhar = new AtomicBoolean();
+        JournalPedidos journal = new JournalPedidos(diretorio, ModoDurabilidade.LOTE, SEGMENTO, 5, r -> { },
+                (arquivo, opcoes) -> new CanalComFalha(FileChannel.open(arquivo, opcoes), falhar));
+        try {
+            journal.anexar(registro("pedido-1")).join();
+            journal.anexar(registro("pedido-2")).join();
+
+            falhar.set(true);
+            CompletableFuture<Void> perdida = journal.anexar(registro("pedido-3"));
+            CompletionException erro = assertThrows(CompletionException.class, perdida::join);
+            assertInstanceOf(IOException.class, erro.getCause().getCause());
+
+            // Em falha, novas escritas são recusadas na hora, mesmo com o disco de volta
+            falhar.set(false);
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                IllegalStateException recusa = assertThrows(IllegalStateException.class,
+                        () -> journal.anexar(registro("pedido-4")));
+                assertTrue(recusa.getMessage().contains("falha"));
+            });
+        } finally {
+            journal.close();
+        }
+
+        List<String> recuperados = new ArrayList<>();
+        try (JournalPedidos reaberto = new JournalPedidos(diretorio, ModoDurabilidade.LOTE, SEGMENTO, 5,
+                r -> recuperados.add(new String(r, StandardCharsets.UTF_8)))) {
+            assertEquals(List.of("pedido-1", "pedido-2"), recuperados);
+
+            // O segmento foi truncado no último registro completo: o próximo é gravado e recuperado
+            reaberto.anexar(registro("pedido-5")).join();
+        }
+        recuperados.clear();
+        try (JournalPedidos reaberto = new JournalPedidos(diretorio, ModoDurabilidade.LOTE, SEGMENTO, 5,
+                r -> recuperados.add(new String(r, StandardCharsets.UTF_8)))) {
+            assertEquals(List.of("pedido-1", "pedido-2", "pedido-5"), recuperados);
+        }
+    }
+
+    /**
+     * FileChannel que delega ao canal real e, com a falha ligada, grava só
+     * metade do buffer antes de lançar IOException.
+     */
+    private static final class CanalComFalha extends FileChannel {
+
+        private final FileChannel canal;
+        private final AtomicBoolean falhar;
+
+        CanalComFalha(FileChannel canal, AtomicBoolean falhar) {
+            this.canal = canal;
+            this.falhar = falhar;
+        }
+
+        @Override
+        public int write(ByteBuffer origem) throws IOException {
+            if (falhar.get()) {
+                ByteBuffer metade = origem.slice().limit(Math.max(1, origem.remaining() / 2));
+                canal.write(metade);
+                throw new IOException("Sem espaço no dispositivo (simulado)");
+            }
+            return canal.write(origem);
+        }
+
+        @Override
+        public long write(ByteBuffer[] origens, int inicio, int quantidade) throws IOException {
+            if (falhar.get()) {
+                throw new IOException("Sem espaço no dispositivo (simulado)");
+            }
+            return canal.write(origens, inicio, quantidade);
+        }
+
+        @Override
+        public int read(ByteBuffer destino) throws IOException {
+            return canal.read(destino);
+        }
+
+        @Override
+        public long read(ByteBuffer[] destinos, int inicio, int quantidade) throws IOException {
+            return canal.read(destinos, inicio, quantidade);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return canal.position();
+        }
+
+        @Override
+        public FileChannel position(long novaPosicao) throws IOException {
+            canal.position(novaPosicao);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return canal.size();
+        }
+
+        @Override
+        public FileChannel truncate(long tamanho) throws IOException {
+            canal.truncate(tamanho);
+            return this;
+        }
+
+        @Override
+        public void force(boolean metadados) throws IOException {
+            canal.force(metadados);
+        }
+
+        @Override
+        public long transferTo(long posicao, long quantidade, WritableByteChannel destino) throws IOException {
+            return canal.transferTo(posicao, quantidade, destino);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel origem, long posicao, long quantidade) throws IOException {
+            return canal.transferFrom(origem, posicao, quantidade);
+        }
+
+        @Override
+        public int read(ByteBuffer destino, long posicao) throws IOException {
+            return canal.read(destino, posicao);
+        }
+
+        @Override
+        public int write(ByteBuffer origem, long posicao) throws IOException {
+            return canal.write(origem, posicao);
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode modo, long posicao, long tamanho) throws IOException {
+            return canal.map(modo, posicao, tamanho);
+        }
+
+        @Override
+        public FileLock lock(long posicao, long tamanho, boolean compartilhado) throws IOException {
+            return canal.lock(posicao, tamanho, compartilhado);
+        }
+
+        @Override
+        public FileLock tryLock(long posicao, long tamanho, boolean compartilhado) throws IOException {
+            return canal.tryLock(posicao, tamanho, compartilhado);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            canal.close();
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package br.edu.ifsp.bra.livraria.repository.journal;
+
+import br.edu.ifsp.bra.livraria.entity.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do PedidoRepositoryJournal (journal durável de pedidos).
+ *
+ * Cada teste usa um diretório temporário e simula reinicializações
+ * fechando o repositório e abrindo outro sobre os mesmos segmentos.
+ */
+class PedidoRepositoryJournalTest {
+
+    private static final long SEGMENTO_PADRAO = 64L * 1024 * 1024;
+
+    @TempDir
+    Path diretorio;
+
+    private PedidoRepositoryJournal abrir(ModoDurabilidade modo, long tamanhoSegmento) throws IOException {
+        return new PedidoRepositoryJournal(diretorio.toString(), modo, tamanhoSegmento, 5);
+    }
+
+    private Pedido novoPedido(double valor) {
+        Pedido pedido = new Pedido();
+        pedido.setCliente(new Cliente(1L, "Ana", "ana@email.com", LocalDate.of(2020, 1, 1)));
+        pedido.setEnderecoEntrega(new Endereco("Rua A", "1", "Centro", "São Paulo", "SP", "01000-000"));
+        pedido.setItens(new ArrayList<>(Arrays.asList(new ItemCarrinho("Livro", 1, valor))));
+        pedido.setValorItens(valor);
+        pedido.setValorTotal(valor);
+        pedido.setFormaPagamento("PIX");
+        pedido.setStatus("EM_PROCESSAMENTO");
+        return pedido;
+    }
+
+    private List<Path> segmentos() throws IOException {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos.sorted().toList();
+        }
+    }
+
+    @Test
+    void deveRecuperarPedidosAposReinicio() throws IOException {
+        try (PedidoRepositoryJournal repositorio = abrir(ModoDurabilidade.LOTE, SEGMENTO_PADRAO)) {
+            repositorio.save(novoPedido(100.0));
+            Pedido segundo = repositorio.save(novoPedido(200.0));
+            segundo.setStatus("CONFIRMADO");
+            repositorio.save(segundo);
+        }
+
+        try (PedidoRepositoryJournal reaberto = abrir(ModoDurabilidade.LOTE, SEGMENTO_PADRAO)) {
+            assertEquals(100.0, reaberto.findById(1L).orElseThrow().getValorTotal(), 0.0001);
+            // A última versão gravada de cada pedido prevalece
+            assertEquals("CONFIRMADO", reaberto.findById(2L).orElseThrow().getStatus());
+            assertEquals("São Paulo", reaberto.findById(2L).orElseThrow().getEnderecoEntrega().getCidade());
+
+            // A sequência de ids continua de onde parou
+            assertEquals(3L, reaberto.save(novoPedido(300.0)).getId());
+        }
+    }
+
+    @Test
+    void devePercorrerPedidosPorCursorAposReinicio() throws IOException {
+        try (PedidoRepositoryJournal repositorio = abrir(ModoDurabilidade.LOTE, SEGMENTO_PADRAO)) {
+            for (int i = 1; i <= 5; i++) {
+                repositorio.save(novoPedido(i * 10.0));
+            }
+        }
+
+        try (PedidoRepositoryJournal reaberto = abrir(ModoDurabilidade.LOTE, SEGMENTO_PADRAO)) {
+            List<Long> ids = new ArrayList<>();
+            long cursor = 0;
+            List<Pedido> pagina;
+            while (!(pagina = reaberto.findAposId(cursor, 2)).isEmpty()) {
+                assertTrue(pagina.size() <= 2);
+                pagina.forEach(p -> ids.add(p.getId()));
+                cursor = pagina.get(pagina.size() - 1).getId();
+            }
+            assertEquals(List.of(1L, 2L, 3L, 4L, 5L), ids);
+            assertEquals(List.of(5L), reaberto.findAposId(4L, 10).stream().map(Pedido::getId).toList());
+        }
+    }
+
+    @Test
+    void deveManterStatusMaisAvancadoNaReproducao() throws IOException {
+        try (PedidoRepositoryJournal repositorio = abrir(ModoDurabilidade.LOTE, SEGMENTO_PADRAO)) {
+            Pedido pedido = repositorio.save(novoPedido(100.0));
+
+            // Gravações de transições concorrentes chegando fora de ordem
+            Pedido entregue = novoPedido(100.0);
+            entregue.setId(pedido.getId());
+            entregue.setStatus("ENTREGUE");
+            repositorio.save(entregue);
+
+            Pedido confirmado = novoPedido(100.0);
+            confirmado.setId(pedido.getId());
+            confirmado.setStatus("CONFIRMADO");
+            repositorio.save(confirmado);
+        }
+
+        try (PedidoRepositoryJournal reaberto = abrir(ModoDurabilidade.LOTE, SEGMENTO_PADRAO)) {
+            assertEquals("ENTREGUE", reaberto.findById(1L).orElseThrow().getStatus());
+        }
+    }
+
+    @Test
+    void deveGravarEscritasConcorrentesEmTodosOsModos() throws Exception {
+        for (ModoDurabilidade modo : ModoDurabilidade.values()) {
+            Path dirModo = diretorio.resolve(modo.name());
+            int threads = 8;
+            int porThread = 250;
+
+            try (PedidoRepositoryJournal repositorio =
+                         new PedidoRepositoryJournal(dirModo.toString(), modo, SEGMENTO_PADRAO, 5)) {
+                ExecutorService executor = Executors.newFixedThreadPool(threads);
+                List<Future<?>> tarefas = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    tarefas.add(executor.submit(() -> {
+                        for (int i = 0; i < porThread; i++) {
+                            repositorio.save(novoPedido(10.0));
+                        }
+                    }));
+                }
+                for (Future<?> tarefa : tarefas) {
+                    tarefa.get();
+                }
+                executor.shutdown();
+            }
+
+            try (PedidoRepositoryJournal reaberto =
+                         new PedidoRepositoryJournal(dirModo.toString(), modo, SEGMENTO_PADRAO, 5)) {
+                for (long id = 1; id <= threads * porThread; id++) {
+                    assertTrue(reaberto.findById(id).isPresent(), modo + ": pedido " + id + " não recuperado");
+                }
+            }
+        }
+    }
+
+    @Test
+    void deveIniciarNovoSegmentoAoAtingirOTamanhoMaximo() throws IOException {
+        try (PedidoRepositoryJournal repositorio = abrir(ModoDurabilidade.LOTE, 2048)) {
+            for (int i = 0; i < 20; i++) {
+                repositorio.save(novoPedido(i));
+            }
+        }
+        assertTrue(segmentos().size() > 1, "Esperados vários segmentos com tamanho máximo de 2 KB");
+
+        try (PedidoRepositoryJournal reaberto = abrir(ModoDurabilidade.LOTE, 2048)) {
+            for (long id = 1; id <= 20; id++) {
+                assertTrue(reaberto.findById(id).isPresent());
+            }
+        }
+    }
+
+    /**
+     * Queda no meio de uma escrita: o registro incompleto no fim do último
+     * segmento é descartado e o journal continua gravando a partir dali.
+     */
+    @Test
+    void deveDescartarRegistroIncompletoNoFimDoJournal() throws IOException {
+        try (PedidoRepositoryJournal repositorio = abrir(ModoDurabilidade.SINCRONO, SEGMENTO_PADRAO)) {
+            repositorio.save(novoPedido(100.0));
+        }
+        Path ultimo = segmentos().get(segmentos().size() - 1);
+        long tamanhoValido = Files.size(ultimo);
+        Files.write(ultimo, new byte[]{0, 0, 1, 0, 7, 7, 7}, StandardOpenOption.APPEND);
+
+        try (PedidoRepositoryJournal reaberto = abrir(ModoDurabilidade.SINCRONO, SEGMENTO_PADRAO)) {
+            assertTrue(reaberto.findById(1L).isPresent());
+            assertEquals(tamanhoValido, Files.size(ultimo), "Cauda inválida deve ser truncada");
+            reaberto.save(novoPedido(200.0));
+        }
+
+        try (PedidoRepositoryJournal reaberto = abrir(ModoDurabilidade.SINCRONO, SEGMENTO_PADRAO)) {
+            assertEquals(200.0, reaberto.findById(2L).orElseThrow().getValorTotal(), 0.0001);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package br.edu.ifsp.bra.livraria.service;
 
 import br.edu.ifsp.bra.livraria.entity.Cliente;
+import br.edu.ifsp.bra.livraria.repository.IndicePerfilCliente;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -166,4 +167,24 @@ class CalculadoraDescontoServiceTest {
         assertEquals(100.0, desconto, 0.001, "5 anos exato: deve ser 10% (100.00)");
         assertEquals("OURO", perfil, "Deve ser identificado como OURO");
     }
+
+    // ========== ÍNDICE DE PERFIS ==========
+
+    /**
+     * Com índice disponível, o perfil indexado é usado no cálculo
+     * (sem recalcular o tempo de vínculo do cliente).
+     */
+    @Test
+    @DisplayName("RN01 - Perfil lido do índice de perfis")
+    void testDescontoUsandoIndiceDePerfis() {
+        IndicePerfilCliente indice = new IndicePerfilCliente();
+        Cliente cliente = new Cliente(8L, "Indexado", "indexado@email.com",
+                LocalDate.now().minusYears(4)); // PRATA
+        indice.registrar(cliente);
+
+        CalculadoraDescontoService comIndice = new CalculadoraDescontoService(indice);
+
+        assertEquals(50.0, comIndice.calcularDesconto(cliente, 1000.0), 0.001);
+        assertEquals("PRATA", comIndice.identificarPerfil(cliente));
+    }
 }
\ No newline at end of file
@@ -1,8 +1,16 @@
 package br.edu.ifsp.bra.livraria.service;
 
 import br.edu.ifsp.bra.livraria.entity.Endereco;
+import br.edu.ifsp.bra.livraria.entity.RegiaoFrete;
+import br.edu.ifsp.bra.livraria.entity.UF;
+import br.edu.ifsp.bra.livraria.service.frete.CotacaoFreteExterna;
+import br.edu.ifsp.bra.livraria.service.frete.IndiceZonasCep;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -96,4 +104,86 @@ public class CalculadoraFreteServiceTest {
                     "Mensagem da exceção deve indicar estado não reconhecido.");
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * CT-RN02-05
+     * Sigla em minúsculas é aceita (mesma região de "rj" e "RJ").
+     */
+    @Test
+    public void deveAceitarSiglaEmMinusculas() {
+        double freteCalculado = service.calcularFrete(criarEnderecoComEstado("rj"), 100.0);
+
+        assertEquals(5.0, freteCalculado, 0.0001,
+                "A sigla deve ser reconhecida independentemente de maiúsculas/minúsculas.");
+    }
+
+    /**
+     * CT-RN02-06
+     * Troca da tabela em tempo de execução: os cálculos seguintes
+     * passam a usar os novos percentuais.
+     */
+    @Test
+    public void deveUsarNovaTabelaAposAtualizacao() {
+        CalculadoraFreteService calculadora = new CalculadoraFreteService();
+        Endereco endereco = criarEnderecoComEstado("MG");
+
+        assertEquals(5.0, calculadora.calcularFrete(endereco, 100.0), 0.0001);
+
+        calculadora.atualizarTabela(new TabelaFrete(Map.of(
+                RegiaoFrete.SP, 1.0,
+                RegiaoFrete.SUDESTE, 6.0,
+                RegiaoFrete.OUTRAS_REGIOES, 9.0)));
+
+        assertEquals(6.0, calculadora.calcularFrete(endereco, 100.0), 0.0001,
+                "Após a troca, o Sudeste deve usar o novo percentual de 6%.");
+        assertEquals(1.0, calculadora.calcularFrete(criarEnderecoComEstado("SP"), 100.0), 0.0001);
+    }
+
+    /**
+     * CT-RN02-07
+     * Tabela sem todas as regiões é rejeitada.
+     */
+    @Test
+    public void deveRejeitarTabelaIncompleta() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new TabelaFrete(Map.of(RegiaoFrete.SP, 0.0)));
+    }
+
+    /**
+     * CT-RN02-08
+     * Com o serviço externo, o frete do pedido usa a cotação; sem cotação
+     * (aqui, falha do serviço), volta à RN02.
+     */
+    @Test
+    public void deveUsarCotacaoExternaComFallbackParaRN02() {
+        CotacaoFreteExterna cotacao = new CotacaoFreteExterna(
+                (uf, faixa) -> uf == UF.MG
+                        ? CompletableFuture.completedFuture(700)
+                        : CompletableFuture.failedFuture(new IllegalStateException("fora do ar")),
+                Duration.ofSeconds(1), Duration.ofMinutes(5), 100, 100, Duration.ofSeconds(5), System::nanoTime);
+        CalculadoraFreteService calculadora = new CalculadoraFreteService(TabelaFrete.carregarPadrao(), cotacao);
+
+        assertEquals(700, calculadora.calcularFreteCentavos(UF.MG, "30130-000", 10_000)); // 7% cotado
+        assertEquals(800, calculadora.calcularFreteCentavos(UF.BA, "40000-000", 10_000)); // 8% da RN02
+        // A RN02 pura não consulta o serviço externo
+        assertEquals(500, calculadora.calcularFreteCentavos(UF.MG, 10_000));
+    }
+
+    /**
+     * CT-RN02-09
+     * Com zonas de CEP, o CEP define o percentual (capital x interior x área
+     * remota); CEP fora das faixas, inválido ou de outra UF fica com a RN02.
+     */
+    @Test
+    public void deveUsarZonaDoCepComFallbackParaRN02() {
+        CalculadoraFreteService calculadora = new CalculadoraFreteService(TabelaFrete.carregarPadrao(),
+                CotacaoFreteExterna.desabilitada(), IndiceZonasCep.carregar("classpath:zonas-cep-exemplo.csv"));
+
+        assertEquals(500, calculadora.calcularFreteCentavos(UF.RJ, "20040-020", 10_000));  // CAPITAL_RJ 5%
+        assertEquals(600, calculadora.calcularFreteCentavos(UF.RJ, "24020-000", 10_000));  // INTERIOR_RJ 6%
+        assertEquals(1500, calculadora.calcularFreteCentavos(UF.PE, "53990-000", 10_000)); // REMOTA_NORONHA 15%
+        assertEquals(800, calculadora.calcularFreteCentavos(UF.PE, "50010-000", 10_000));  // sem zona: RN02
+        assertEquals(500, calculadora.calcularFreteCentavos(UF.RJ, "01310-100", 10_000));  // CEP de SP: RN02
+        assertEquals(500, calculadora.calcularFreteCentavos(UF.RJ, "2404", 10_000));       // CEP inválido: RN02
+    }
+}
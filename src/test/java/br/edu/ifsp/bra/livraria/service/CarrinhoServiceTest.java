@@ -0,0 +1,198 @@
+package br.edu.ifsp.bra.livraria.service;
+
+import br.edu.ifsp.bra.livraria.api.dto.CarrinhoAlteracaoDTO;
+import br.edu.ifsp.bra.livraria.api.dto.CarrinhoDTO;
+import br.edu.ifsp.bra.livraria.entity.Cliente;
+import br.edu.ifsp.bra.livraria.entity.Dinheiro;
+import br.edu.ifsp.bra.livraria.entity.Endereco;
+import br.edu.ifsp.bra.livraria.entity.ItemCarrinho;
+import br.edu.ifsp.bra.livraria.entity.Livro;
+import br.edu.ifsp.bra.livraria.entity.Pedido;
+import br.edu.ifsp.bra.livraria.repository.ClienteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes de unidade para CarrinhoService.
+ *
+ * Cenários:
+ *  - totais incrementais iguais aos do pedido gerado por PedidoService;
+ *  - alteração de quantidade e remoção de itens;
+ *  - alterações devolvem só a linha alterada; a lista completa só em consultar;
+ *  - expiração por inatividade e limite de memória;
+ *  - pedido recusado mantém o carrinho.
+ */
+public class CarrinhoServiceTest {
+
+    private static final String ISBN_A = "978-85-0000-001-1";
+    private static final String ISBN_B = "978-85-0000-002-2";
+
+    private final AtomicLong agoraNanos = new AtomicLong();
+    private EstoqueLivros estoque;
+    private CarrinhoService carrinhos;
+
+    @BeforeEach
+    public void setup() {
+        ClienteRepository clienteRepositoryMock = Mockito.mock(ClienteRepository.class);
+        Cliente prata = new Cliente(3L, "Cliente Prata", "prata@email.com", LocalDate.now().minusYears(4));
+        when(clienteRepositoryMock.findById(3L)).thenReturn(Optional.of(prata));
+
+        CalculadoraDescontoService descontoService = new CalculadoraDescontoService();
+        CalculadoraFreteService freteService = new CalculadoraFreteService();
+        CatalogoLivros catalogo = new CatalogoLivros(false,
+                List.of(new Livro(ISBN_A, "Livro A", 4990), new Livro(ISBN_B, "Livro B", 3000)));
+        estoque = new EstoqueLivros();
+        estoque.definirDisponivel(ISBN_A, 10);
+        estoque.definirDisponivel(ISBN_B, 10);
+
+        PedidoService pedidoService = new PedidoService.Construtor(descontoService, freteService, clienteRepositoryMock)
+                .catalogo(catalogo)
+                .estoque(estoque)
+                .construir();
+        carrinhos = new CarrinhoService(pedidoService, clienteRepositoryMock, descontoService, freteService, catalogo,
+                Duration.ofMinutes(30), 1024 * 1024, 100, agoraNanos::get);
+    }
+
+    private static Endereco enderecoEstado(String uf) {
+        Endereco e = new Endereco();
+        e.setEstado(uf);
+        return e;
+    }
+
+    private void avancarMinutos(long minutos) {
+        agoraNanos.addAndGet(TimeUnit.MINUTES.toNanos(minutos));
+    }
+
+    @Test
+    public void deveManterTotaisIguaisAosDoPedido() {
+        String id = carrinhos.abrir(3L, enderecoEstado("MG")).getId();
+        carrinhos.adicionarItem(id, new ItemCarrinho(ISBN_A, 2));
+        carrinhos.adicionarItem(id, new ItemCarrinho("978850000002-2", 1)); // mesmo livro B, outra grafia
+        carrinhos.adicionarItem(id, new ItemCarrinho(ISBN_B, 2));
+        CarrinhoDTO carrinho = carrinhos.consultar(id).orElseThrow();
+
+        // Prata (5%) + Sudeste (5%): itens 99,80 + 90,00
+        assertEquals("PRATA", carrinho.getPerfil());
+        assertEquals(2, carrinho.getItens().size());
+        assertEquals(18980, carrinho.getValorItensCentavos());
+        assertEquals(949, carrinho.getDescontoCentavos());
+        assertEquals(902, carrinho.getFreteCentavos());
+
+        Pedido pedido = carrinhos.fecharPedido(id, "PIX").orElseThrow();
+        assertEquals(carrinho.getValorItensCentavos(), pedido.getValorItensCentavos());
+        assertEquals(carrinho.getDescontoCentavos(), pedido.getDescontoCentavos());
+        assertEquals(carrinho.getFreteCentavos(), pedido.getFreteCentavos());
+        assertEquals(carrinho.getValorTotalCentavos(), pedido.getValorTotalCentavos());
+        assertTrue(carrinhos.consultar(id).isEmpty());
+    }
+
+    @Test
+    public void deveAlterarQuantidadeRemoverItensETrocarEndereco() {
+        String id = carrinhos.abrir(3L, null).getId();
+        carrinhos.adicionarItem(id, new ItemCarrinho(ISBN_A, 1));
+        carrinhos.adicionarItem(id, new ItemCarrinho(ISBN_B, 1));
+        assertEquals(0, carrinhos.consultar(id).orElseThrow().getFreteCentavos());
+
+        CarrinhoAlteracaoDTO carrinho = carrinhos.alterarQuantidade(id, "978-8500000011", 3).orElseThrow();
+        assertEquals(3 * 4990 + 3000, carrinho.getValorItensCentavos());
+
+        carrinho = carrinhos.removerItem(id, ISBN_B).orElseThrow();
+        assertEquals(3 * 4990, carrinho.getValorItensCentavos());
+        assertEquals(749, carrinho.getDescontoCentavos());
+
+        carrinho = carrinhos.definirEndereco(id, enderecoEstado("BA")).orElseThrow();
+        assertEquals(Dinheiro.aplicarPercentual(3 * 4990 - 749, Dinheiro.pontosBase(8)), carrinho.getFreteCentavos());
+
+        carrinho = carrinhos.alterarQuantidade(id, ISBN_A, 0).orElseThrow();
+        assertEquals(0, carrinho.getQuantidadeItens());
+        assertEquals(0, carrinho.getValorTotalCentavos());
+        assertTrue(carrinhos.consultar(id).orElseThrow().getItens().isEmpty());
+
+        assertThrows(IllegalArgumentException.class, () -> carrinhos.removerItem(id, ISBN_A));
+        assertThrows(IllegalArgumentException.class, () -> carrinhos.adicionarItem(id, new ItemCarrinho("999", 1)));
+        assertTrue(carrinhos.adicionarItem("inexistente", new ItemCarrinho(ISBN_A, 1)).isEmpty());
+    }
+
+    @Test
+    public void alteracaoDeveDevolverSoALinhaAlterada() {
+        String id = carrinhos.abrir(3L, enderecoEstado("SP")).getId();
+        carrinhos.adicionarItem(id, new ItemCarrinho(ISBN_B, 1));
+        CarrinhoAlteracaoDTO alteracao = carrinhos.adicionarItem(id, new ItemCarrinho("978-8500000011", 2)).orElseThrow();
+
+        assertEquals("9788500000011", alteracao.getChave());
+        assertEquals("Livro A", alteracao.getItem().getLivroTitulo());
+        assertEquals(2, alteracao.getItem().getQuantidade());
+        assertEquals(2, alteracao.getQuantidadeItens());
+        assertEquals(2 * 4990 + 3000, alteracao.getValorItensCentavos());
+
+        // A linha devolvida é uma cópia: alterá-la não mexe no carrinho
+        alteracao.getItem().setQuantidade(50);
+        assertEquals(2 * 4990 + 3000, carrinhos.consultar(id).orElseThrow().getValorItensCentavos());
+
+        alteracao = carrinhos.removerItem(id, ISBN_B).orElseThrow();
+        assertNull(alteracao.getItem());
+        assertEquals(1, alteracao.getQuantidadeItens());
+
+        alteracao = carrinhos.definirEndereco(id, enderecoEstado("RJ")).orElseThrow();
+        assertNull(alteracao.getChave());
+        assertNull(alteracao.getItem());
+        CarrinhoDTO carrinho = carrinhos.consultar(id).orElseThrow();
+        assertTrue(alteracao.getFreteCentavos() > 0);
+        assertEquals(carrinho.getFreteCentavos(), alteracao.getFreteCentavos());
+        assertEquals(carrinho.getValorTotalCentavos(), alteracao.getValorTotalCentavos());
+    }
+
+    @Test
+    public void deveDescartarCarrinhoInativoAposTtl() {
+        String ativo = carrinhos.abrir(3L, null).getId();
+        String inativo = carrinhos.abrir(3L, null).getId();
+
+        avancarMinutos(20);
+        carrinhos.adicionarItem(ativo, new ItemCarrinho(ISBN_A, 1));
+        avancarMinutos(20);
+
+        assertTrue(carrinhos.consultar(ativo).isPresent());
+        assertTrue(carrinhos.consultar(inativo).isEmpty());
+        assertEquals(1, carrinhos.quantidadeSessoes());
+    }
+
+    @Test
+    public void deveRespeitarLimiteDeMemoria() {
+        ClienteRepository clientes = Mockito.mock(ClienteRepository.class);
+        when(clientes.findById(anyLong())).thenReturn(Optional.of(new Cliente(1L, "C", "c@email.com", LocalDate.now())));
+        CarrinhoService limitado = new CarrinhoService(null, clientes, new CalculadoraDescontoService(),
+                new CalculadoraFreteService(), CatalogoLivros.vazio(), Duration.ofMinutes(30), 4 * 1024, 100, agoraNanos::get);
+        for (int i = 0; i < 100; i++) {
+            limitado.abrir((long) i, null);
+        }
+        long sessoes = limitado.quantidadeSessoes();
+        assertTrue(sessoes > 0 && sessoes <= 4 * 1024 / 320, "sessões mantidas: " + sessoes);
+    }
+
+    @Test
+    public void deveManterCarrinhoQuandoPedidoForRecusado() {
+        String id = carrinhos.abrir(3L, null).getId();
+        carrinhos.adicionarItem(id, new ItemCarrinho(ISBN_A, 5));
+
+        assertThrows(IllegalArgumentException.class, () -> carrinhos.fecharPedido(id, "PIX"));
+        carrinhos.definirEndereco(id, enderecoEstado("SP"));
+        estoque.definirDisponivel(ISBN_A, 2);
+        assertThrows(EstoqueInsuficienteException.class, () -> carrinhos.fecharPedido(id, "PIX"));
+
+        assertEquals(5 * 4990, carrinhos.consultar(id).orElseThrow().getValorItensCentavos());
+        estoque.definirDisponivel(ISBN_A, 5);
+        assertTrue(carrinhos.fecharPedido(id, "PIX").isPresent());
+        assertTrue(carrinhos.fecharPedido(id, "PIX").isEmpty());
+    }
+}
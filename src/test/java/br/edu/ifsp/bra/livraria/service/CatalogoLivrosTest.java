@@ -0,0 +1,74 @@
+package br.edu.ifsp.bra.livraria.service;
+
+import br.edu.ifsp.bra.livraria.entity.Livro;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de unidade para CatalogoLivros.
+ *
+ * Cenários:
+ *  - busca por ISBN com e sem hífens;
+ *  - recarga publica uma nova versão, reaproveitando livros inalterados e
+ *    compartilhando títulos repetidos;
+ *  - recarga inválida não altera a versão vigente.
+ */
+public class CatalogoLivrosTest {
+
+    private CatalogoLivros catalogo;
+
+    @BeforeEach
+    public void setup() {
+        catalogo = new CatalogoLivros(false, List.of(
+                new Livro("978-85-352-2634-8", "Teste de Software", 12000),
+                new Livro("LIV-0001x", "Engenharia de Software", 8990)));
+    }
+
+    @Test
+    public void deveBuscarPorIsbnNormalizado() {
+        assertEquals("Teste de Software", catalogo.buscar("9788535226348").getTitulo());
+        assertEquals("9788535226348", catalogo.buscar("978-85-352-2634-8").getIsbn());
+        assertEquals(89.90, catalogo.buscar("liv-0001X").getPreco(), 0.0001);
+        assertNull(catalogo.buscar("0000000000000"));
+        assertNull(catalogo.buscar(null));
+    }
+
+    @Test
+    public void devePublicarNovaVersaoReaproveitandoLivrosInalterados() {
+        Livro inalterado = catalogo.buscar("9788535226348");
+        CatalogoLivros.Versao anterior = catalogo.getVersao();
+
+        String titulo = new String("Engenharia de Software");
+        CatalogoLivros.Versao nova = catalogo.recarregar(List.of(
+                new Livro("9788535226348", "Teste de Software", 12000),
+                new Livro("LIV0001X", titulo, 9990),
+                new Livro("LIV0002", new String("Engenharia de Software"), 15000)));
+
+        assertEquals(anterior.getNumero() + 1, nova.getNumero());
+        assertEquals(3, nova.getLivros());
+        assertSame(inalterado, catalogo.buscar("9788535226348"));
+        assertEquals(99.90, catalogo.buscar("LIV0001X").getPreco(), 0.0001);
+        // Mesmo título em duas edições: uma única String
+        assertSame(catalogo.buscar("LIV0001X").getTitulo(), catalogo.buscar("LIV0002").getTitulo());
+    }
+
+    @Test
+    public void naoDeveAlterarCatalogoComRecargaInvalida() {
+        CatalogoLivros.Versao vigente = catalogo.getVersao();
+
+        assertThrows(IllegalArgumentException.class, () -> catalogo.recarregar(List.of(
+                new Livro("1", "A", 100),
+                new Livro("1", "B", 200))));
+        assertThrows(IllegalArgumentException.class, () -> catalogo.recarregar(List.of(
+                new Livro("2", "C", 0))));
+        assertThrows(IllegalArgumentException.class, () -> catalogo.recarregar(List.of(
+                new Livro(" ", "D", 100))));
+
+        assertSame(vigente, catalogo.getVersao());
+        assertNotNull(catalogo.buscar("9788535226348"));
+    }
+}
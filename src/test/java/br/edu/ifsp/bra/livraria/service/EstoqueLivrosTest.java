@@ -0,0 +1,136 @@
+package br.edu.ifsp.bra.livraria.service;
+
+import br.edu.ifsp.bra.livraria.entity.ItemCarrinho;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de unidade para EstoqueLivros.
+ *
+ * Cenários:
+ *  - reserva tudo-ou-nada (uma linha sem estoque não reserva as demais);
+ *  - linhas repetidas do mesmo ISBN somadas;
+ *  - liberação (CANCELADO) e baixa (ENTREGUE);
+ *  - carrinhos concorrentes com os mesmos livros em ordens opostas: sem
+ *    deadlock e sem vender além do estoque.
+ */
+public class EstoqueLivrosTest {
+
+    private static final String A = "9788535226348";
+    private static final String B = "9788543024974";
+
+    private EstoqueLivros estoque;
+
+    @BeforeEach
+    public void setup() {
+        estoque = new EstoqueLivros();
+        estoque.definirDisponivel("978-85-352-2634-8", 5);
+        estoque.definirDisponivel(B, 1);
+    }
+
+    @Test
+    public void deveReservarTodasAsLinhasOuNenhuma() {
+        estoque.reservar(List.of(new ItemCarrinho(A, 2), new ItemCarrinho(B, 1)));
+        assertSaldo(A, 3, 2);
+        assertSaldo(B, 0, 1);
+
+        EstoqueInsuficienteException ex = assertThrows(EstoqueInsuficienteException.class,
+                () -> estoque.reservar(List.of(new ItemCarrinho(A, 1), new ItemCarrinho(B, 1))));
+        assertEquals(B, ex.getIsbn());
+        assertEquals(0, ex.getDisponivel());
+        assertSaldo(A, 3, 2); // a linha A não ficou reservada
+
+        // ISBN sem saldo cadastrado conta como estoque zero
+        assertThrows(EstoqueInsuficienteException.class,
+                () -> estoque.reservar(List.of(new ItemCarrinho("0000000000000", 1))));
+        // Itens sem ISBN não têm controle de estoque
+        estoque.reservar(List.of(new ItemCarrinho("Livro avulso", 10, 10.0)));
+    }
+
+    @Test
+    public void deveSomarLinhasDoMesmoIsbn() {
+        assertThrows(EstoqueInsuficienteException.class,
+                () -> estoque.reservar(List.of(new ItemCarrinho(A, 3), new ItemCarrinho(A, 3))));
+        assertSaldo(A, 5, 0);
+
+        estoque.reservar(List.of(new ItemCarrinho(A, 2), new ItemCarrinho(A, 3)));
+        assertSaldo(A, 0, 5);
+    }
+
+    @Test
+    public void deveLiberarEBaixarReservas() {
+        List<ItemCarrinho> itens = List.of(new ItemCarrinho(A, 2));
+        estoque.reservar(itens);
+        estoque.reservar(itens);
+
+        estoque.liberar(itens);
+        assertSaldo(A, 3, 2);
+
+        estoque.baixar(itens);
+        assertSaldo(A, 3, 0);
+
+        // Reposição não altera reservas
+        estoque.reservar(itens);
+        estoque.definirDisponivel(A, 10);
+        assertSaldo(A, 10, 2);
+    }
+
+    @Test
+    public void naoDeveEntrarEmDeadlockNemVenderAlemDoEstoque() throws Exception {
+        int threads = 8;
+        int tentativasPorThread = 2_000;
+        estoque.definirDisponivel(A, 3_000);
+        estoque.definirDisponivel(B, 3_000);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch largada = new CountDownLatch(1);
+            List<Future<Integer>> resultados = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                // Metade das threads monta o carrinho A,B e a outra metade B,A
+                List<ItemCarrinho> carrinho = t % 2 == 0
+                        ? List.of(new ItemCarrinho(A, 1), new ItemCarrinho(B, 1))
+                        : List.of(new ItemCarrinho(B, 1), new ItemCarrinho(A, 1));
+                resultados.add(executor.submit(() -> {
+                    largada.await();
+                    int reservados = 0;
+                    for (int i = 0; i < tentativasPorThread; i++) {
+                        try {
+                            estoque.reservar(carrinho);
+                            reservados++;
+                        } catch (EstoqueInsuficienteException ex) {
+                            // esgotado
+                        }
+                    }
+                    return reservados;
+                }));
+            }
+            largada.countDown();
+
+            int total = 0;
+            for (Future<Integer> resultado : resultados) {
+                total += resultado.get(30, TimeUnit.SECONDS);
+            }
+            assertEquals(3_000, total);
+            assertSaldo(A, 0, 3_000);
+            assertSaldo(B, 0, 3_000);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void assertSaldo(String isbn, long disponivel, long reservado) {
+        assertEquals(disponivel, estoque.consultar(isbn).getDisponivel(), "disponível de " + isbn);
+        assertEquals(reservado, estoque.consultar(isbn).getReservado(), "reservado de " + isbn);
+    }
+}
@@ -0,0 +1,167 @@
+package br.edu.ifsp.bra.livraria.service;
+
+import br.edu.ifsp.bra.livraria.api.dto.PedidoRequestDTO;
+import br.edu.ifsp.bra.livraria.entity.Endereco;
+import br.edu.ifsp.bra.livraria.entity.ItemCarrinho;
+import br.edu.ifsp.bra.livraria.entity.Pedido;
+import br.edu.ifsp.bra.livraria.service.IdempotenciaPedidoService.RespostaIdempotente;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de unidade para IdempotenciaPedidoService.
+ *
+ * Cenários:
+ *  - repetição com a mesma chave devolve a resposta original sem reprocessar;
+ *  - mesma chave com outro corpo é recusada, mesmo que os campos tenham o mesmo hashCode;
+ *  - requisições simultâneas com a mesma chave processam uma única vez;
+ *  - falhas não ficam no cache, nem quando são Errors.
+ */
+public class IdempotenciaPedidoServiceTest {
+
+    private SimpleMeterRegistry registry;
+    private IdempotenciaPedidoService idempotencia;
+    private AtomicInteger processamentos;
+
+    @BeforeEach
+    public void setup() {
+        registry = new SimpleMeterRegistry();
+        idempotencia = new IdempotenciaPedidoService(
+                JsonMapper.builder().findAndAddModules().build(), registry, 60, 1024 * 1024);
+        processamentos = new AtomicInteger();
+    }
+
+    private PedidoRequestDTO requisicao(double preco) {
+        Endereco endereco = new Endereco();
+        endereco.setEstado("SP");
+        PedidoRequestDTO dto = new PedidoRequestDTO();
+        dto.setClienteId(1L);
+        dto.setEnderecoEntrega(endereco);
+        dto.setItens(List.of(new ItemCarrinho("Livro", 1, preco)));
+        dto.setFormaPagamento("PIX");
+        return dto;
+    }
+
+    private Supplier<Pedido> processamento() {
+        return () -> {
+            Pedido pedido = new Pedido();
+            pedido.setId((long) processamentos.incrementAndGet());
+            pedido.setStatus("EM_PROCESSAMENTO");
+            return pedido;
+        };
+    }
+
+    @Test
+    public void deveDevolverRespostaOriginalNaRepeticao() {
+        RespostaIdempotente primeira = idempotencia.executar("chave-1", requisicao(10.0), processamento());
+        RespostaIdempotente repetida = idempotencia.executar("chave-1", requisicao(10.0), processamento());
+
+        assertEquals(1, processamentos.get());
+        assertFalse(primeira.isRepetida());
+        assertTrue(repetida.isRepetida());
+        assertSame(primeira.getPedido(), repetida.getPedido());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "idempotencia").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    public void deveRecusarChaveReutilizadaComOutroCorpo() {
+        idempotencia.executar("chave-1", requisicao(10.0), processamento());
+
+        assertThrows(ConflitoIdempotenciaException.class,
+                () -> idempotencia.executar("chave-1", requisicao(99.0), processamento()));
+        assertThrows(IllegalArgumentException.class,
+                () -> idempotencia.executar(" ", requisicao(10.0), processamento()));
+        assertEquals(1, processamentos.get());
+    }
+
+    @Test
+    public void deveRecusarCorpoComMesmoHashCode() {
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        PedidoRequestDTO original = requisicao(10.0);
+        original.getEnderecoEntrega().setLogradouro("Aa");
+        PedidoRequestDTO outro = requisicao(10.0);
+        outro.getEnderecoEntrega().setLogradouro("BB");
+
+        idempotencia.executar("chave-1", original, processamento());
+
+        assertThrows(ConflitoIdempotenciaException.class,
+                () -> idempotencia.executar("chave-1", outro, processamento()));
+        assertTrue(idempotencia.executar("chave-1", original, processamento()).isRepetida());
+        assertEquals(1, processamentos.get());
+    }
+
+    @Test
+    public void deveCoalescerRequisicoesSimultaneas() throws Exception {
+        int threads = 16;
+        CountDownLatch largada = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        Supplier<Pedido> lento = () -> {
+            try {
+                liberar.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return processamento().get();
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<RespostaIdempotente>> respostas = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                respostas.add(executor.submit(() -> {
+                    largada.await();
+                    return idempotencia.executar("tempestade", requisicao(10.0), lento);
+                }));
+            }
+            largada.countDown();
+            Thread.sleep(100);
+            liberar.countDown();
+
+            for (Future<RespostaIdempotente> resposta : respostas) {
+                assertEquals(1L, resposta.get(5, TimeUnit.SECONDS).getPedidoId());
+            }
+            assertEquals(1, processamentos.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void naoDeveGuardarFalhas() {
+        assertThrows(IllegalArgumentException.class, () -> idempotencia.executar("chave-1", requisicao(10.0), () -> {
+            throw new IllegalArgumentException("Cliente não encontrado: 1");
+        }));
+
+        RespostaIdempotente nova = idempotencia.executar("chave-1", requisicao(10.0), processamento());
+        assertFalse(nova.isRepetida());
+        assertEquals(1, processamentos.get());
+    }
+
+    @Test
+    public void naoDeveGuardarErrors() {
+        assertThrows(StackOverflowError.class, () -> idempotencia.executar("chave-1", requisicao(10.0), () -> {
+            throw new StackOverflowError();
+        }));
+
+        RespostaIdempotente nova = assertTimeoutPreemptively(Duration.ofSeconds(2),
+                () -> idempotencia.executar("chave-1", requisicao(10.0), processamento()));
+        assertFalse(nova.isRepetida());
+        assertEquals(1, processamentos.get());
+    }
+}
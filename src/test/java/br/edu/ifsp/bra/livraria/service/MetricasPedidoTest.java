@@ -0,0 +1,92 @@
+package br.edu.ifsp.bra.livraria.service;
+
+import br.edu.ifsp.bra.livraria.entity.*;
+import br.edu.ifsp.bra.livraria.repository.ClienteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes de unidade para MetricasPedido integrado a PedidoService.
+ *
+ * Amostragem 1: todas as chamadas registram as durações por etapa.
+ */
+public class MetricasPedidoTest {
+
+    private ClienteRepository clienteRepositoryMock;
+    private SimpleMeterRegistry registry;
+    private PedidoService pedidoService;
+
+    @BeforeEach
+    public void setup() {
+        clienteRepositoryMock = Mockito.mock(ClienteRepository.class);
+        registry = new SimpleMeterRegistry();
+
+        pedidoService = new PedidoService.Construtor(
+                        new CalculadoraDescontoService(),
+                        new CalculadoraFreteService(),
+                        clienteRepositoryMock)
+                .metricas(new MetricasPedido(registry, 1))
+                .construir();
+    }
+
+    private Endereco enderecoEstado(String uf) {
+        Endereco e = new Endereco();
+        e.setEstado(uf);
+        return e;
+    }
+
+    private List<ItemCarrinho> carrinho() {
+        return List.of(new ItemCarrinho("Livro", 1, 100.0));
+    }
+
+    private double contador(String nome, String tag, String valor) {
+        return registry.get(nome).tag(tag, valor).functionCounter().count();
+    }
+
+    @Test
+    public void deveContarPedidosPorUfEPerfilECronometrarEtapas() {
+        when(clienteRepositoryMock.findById(1L)).thenReturn(Optional.of(
+                new Cliente(1L, "Ouro", "ouro@email.com", LocalDate.now().minusYears(6))));
+
+        pedidoService.processarPedido(1L, enderecoEstado("SP"), carrinho(), "PIX");
+        pedidoService.processarPedido(1L, enderecoEstado("BA"), carrinho(), "PIX");
+
+        assertEquals(1.0, contador("livraria.pedidos.por.uf", "uf", "SP"));
+        assertEquals(1.0, contador("livraria.pedidos.por.uf", "uf", "BA"));
+        assertEquals(0.0, contador("livraria.pedidos.por.uf", "uf", "RJ"));
+        assertEquals(2.0, contador("livraria.pedidos.por.perfil", "perfil", "OURO"));
+
+        for (String etapa : List.of("busca_cliente", "valor_itens", "desconto", "frete")) {
+            assertEquals(2, registry.get("livraria.pedido.etapa").tag("etapa", etapa).timer().count(), etapa);
+        }
+    }
+
+    @Test
+    public void deveContarErrosPorTipo() {
+        when(clienteRepositoryMock.findById(1L)).thenReturn(Optional.of(
+                new Cliente(1L, "Básico", "basico@email.com", LocalDate.now())));
+        when(clienteRepositoryMock.findById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> pedidoService.processarPedido(1L, enderecoEstado("SP"), Collections.emptyList(), "PIX"));
+        assertThrows(RuntimeException.class,
+                () -> pedidoService.processarPedido(99L, enderecoEstado("SP"), carrinho(), "PIX"));
+        assertThrows(IllegalArgumentException.class,
+                () -> pedidoService.processarPedido(1L, enderecoEstado("XX"), carrinho(), "PIX"));
+
+        assertEquals(1.0, contador("livraria.pedidos.erros", "tipo", "carrinho_vazio"));
+        assertEquals(1.0, contador("livraria.pedidos.erros", "tipo", "cliente_nao_encontrado"));
+        assertEquals(1.0, contador("livraria.pedidos.erros", "tipo", "uf_invalida"));
+        assertEquals(0.0, contador("livraria.pedidos.por.perfil", "perfil", "BASICO"));
+    }
+}
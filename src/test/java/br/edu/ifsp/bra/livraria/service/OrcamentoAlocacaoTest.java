@@ -0,0 +1,130 @@
+package br.edu.ifsp.bra.livraria.service;
+
+import br.edu.ifsp.bra.livraria.entity.Cliente;
+import br.edu.ifsp.bra.livraria.entity.Endereco;
+import br.edu.ifsp.bra.livraria.entity.ItemCarrinho;
+import br.edu.ifsp.bra.livraria.repository.ClienteRepositoryInMemory;
+import br.edu.ifsp.bra.livraria.repository.IndicePerfilCliente;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Orçamento de alocação do caminho de um pedido: bytes alocados por chamada
+ * de calcularFrete, calcularDesconto e processarPedido, medidos com
+ * ThreadMXBean.getThreadAllocatedBytes depois do aquecimento (JIT).
+ *
+ * Os limites ficam em orcamento-alocacao.properties; passar do limite
+ * quebra o build. Assim, alocações por chamada que já foram removidas
+ * (toUpperCase da sigla, LocalDate.now() do tempo de vínculo, arrays de
+ * siglas em identificarRegiao) não voltam sem que alguém perceba.
+ *
+ * A medida é a média de muitas chamadas na thread do teste; alocações
+ * pontuais (ex.: na primeira chamada) não contam.
+ */
+public class OrcamentoAlocacaoTest {
+
+    private static final int AQUECIMENTO = 50_000;
+    private static final int CHAMADAS = 100_000;
+
+    private static com.sun.management.ThreadMXBean threads;
+    private static Properties orcamento;
+
+    private static volatile long sorvedouro;
+
+    private CalculadoraFreteService freteService;
+    private CalculadoraDescontoService descontoService;
+    private PedidoService pedidoService;
+    private Endereco endereco;
+    private List<ItemCarrinho> itens;
+
+    @BeforeAll
+    public static void carregarOrcamento() throws IOException {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+                "JVM sem com.sun.management.ThreadMXBean");
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "JVM não mede alocação por thread");
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        orcamento = new Properties();
+        try (InputStream entrada = OrcamentoAlocacaoTest.class.getResourceAsStream("/orcamento-alocacao.properties")) {
+            assertNotNull(entrada, "orcamento-alocacao.properties não encontrado");
+            orcamento.load(entrada);
+        }
+    }
+
+    @BeforeEach
+    public void setup() {
+        IndicePerfilCliente indice = new IndicePerfilCliente();
+        freteService = new CalculadoraFreteService();
+        descontoService = new CalculadoraDescontoService(indice);
+        pedidoService = new PedidoService.Construtor(
+                        descontoService,
+                        freteService,
+                        new ClienteRepositoryInMemory(indice))
+                .construir();
+
+        endereco = new Endereco();
+        endereco.setEstado("rj"); // minúsculas: fromSigla não pode copiar a sigla
+        endereco.setCep("20040-020");
+        itens = List.of(new ItemCarrinho("Livro A", 2, 59.90), new ItemCarrinho("Livro B", 1, 35.00));
+    }
+
+    @Test
+    public void calcularFreteDeveFicarNoOrcamento() {
+        verificar("calcular-frete", i -> (long) freteService.calcularFrete(endereco, 100.0 + i));
+    }
+
+    @Test
+    public void calcularDescontoDeveFicarNoOrcamento() {
+        Cliente naoIndexado = new Cliente(null, "Cliente", "c@email.com", LocalDate.now().minusYears(4));
+        Cliente indexado = new Cliente(4L, "Cliente Ouro", "ouro@email.com", LocalDate.now().minusYears(7));
+
+        verificar("calcular-desconto", i -> (long) descontoService.calcularDesconto(
+                (i & 1) == 0 ? naoIndexado : indexado, 100.0 + i));
+    }
+
+    @Test
+    public void processarPedidoDeveFicarNoOrcamento() {
+        verificar("processar-pedido",
+                i -> pedidoService.processarPedido(3L, endereco, itens, "PIX").getValorTotalCentavos());
+    }
+
+    private void verificar(String chave, Operacao operacao) {
+        long limite = Long.parseLong(System.getProperty("orcamento-alocacao." + chave, orcamento.getProperty(chave)).trim());
+        long bytesPorChamada = medir(operacao);
+        assertTrue(bytesPorChamada <= limite,
+                chave + ": " + bytesPorChamada + " bytes por chamada, orçamento de " + limite);
+    }
+
+    /** Média de bytes alocados por chamada, depois do aquecimento. */
+    private static long medir(Operacao operacao) {
+        long soma = 0;
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            soma += operacao.executar(i);
+        }
+        long id = Thread.currentThread().getId();
+        long antes = threads.getThreadAllocatedBytes(id);
+        for (int i = 0; i < CHAMADAS; i++) {
+            soma += operacao.executar(i);
+        }
+        long alocados = threads.getThreadAllocatedBytes(id) - antes;
+        sorvedouro = soma; // mantém o resultado vivo para o JIT não descartar as chamadas
+        return alocados / CHAMADAS;
+    }
+
+    @FunctionalInterface
+    private interface Operacao {
+        long executar(int i);
+    }
+}
@@ -0,0 +1,185 @@
+package br.edu.ifsp.bra.livraria.service;
+
+import br.edu.ifsp.bra.livraria.api.dto.PedidoRequestDTO;
+import br.edu.ifsp.bra.livraria.api.dto.PedidoStatusDTO;
+import br.edu.ifsp.bra.livraria.api.dto.SituacaoSubmissao;
+import br.edu.ifsp.bra.livraria.entity.*;
+import br.edu.ifsp.bra.livraria.repository.ClienteRepository;
+import br.edu.ifsp.bra.livraria.repository.PedidoRepository;
+import br.edu.ifsp.bra.livraria.repository.PedidoRepositoryInMemory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes de unidade para PedidoAssincronoService.
+ *
+ * Cenários:
+ *  - o id devolvido na submissão é o id do pedido registrado;
+ *  - erros de negócio aparecem na situação ERRO, com a mensagem;
+ *  - acima da capacidade, a submissão é rejeitada;
+ *  - um ouvinte lento (envio SSE bloqueado) não trava a submissão.
+ */
+public class PedidoAssincronoServiceTest {
+
+    private ClienteRepository clienteRepositoryMock;
+    private PedidoRepository pedidoRepository;
+    private PedidoAssincronoService assincronoService;
+
+    @BeforeEach
+    public void setup() {
+        clienteRepositoryMock = Mockito.mock(ClienteRepository.class);
+        pedidoRepository = new PedidoRepositoryInMemory();
+
+        PedidoService pedidoService = new PedidoService.Construtor(
+                        new CalculadoraDescontoService(),
+                        new CalculadoraFreteService(),
+                        clienteRepositoryMock)
+                .pedidoRepository(pedidoRepository)
+                .construir();
+
+        assincronoService = new PedidoAssincronoService(pedidoService, pedidoRepository, false, 2, 100, 600);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        assincronoService.encerrar();
+    }
+
+    private PedidoRequestDTO requisicao(Long clienteId) {
+        Endereco endereco = new Endereco();
+        endereco.setEstado("SP");
+        PedidoRequestDTO dto = new PedidoRequestDTO();
+        dto.setClienteId(clienteId);
+        dto.setEnderecoEntrega(endereco);
+        dto.setItens(List.of(new ItemCarrinho("Livro", 1, 100.0)));
+        dto.setFormaPagamento("PIX");
+        return dto;
+    }
+
+    private PedidoStatusDTO aguardarFinal(Long id) throws Exception {
+        CompletableFuture<PedidoStatusDTO> fim = new CompletableFuture<>();
+        assertTrue(assincronoService.acompanhar(id, status -> {
+            if (status.getSituacao().isFinal()) {
+                fim.complete(status);
+            }
+        }));
+        return fim.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void deveRegistrarPedidoComIdReservado() throws Exception {
+        when(clienteRepositoryMock.findById(1L)).thenReturn(Optional.of(
+                new Cliente(1L, "Ana", "ana@email.com", LocalDate.now())));
+
+        PedidoStatusDTO submetido = assincronoService.submeter(requisicao(1L));
+        assertNotNull(submetido.getId());
+
+        PedidoStatusDTO fim = aguardarFinal(submetido.getId());
+        assertEquals(SituacaoSubmissao.CONCLUIDO, fim.getSituacao());
+        assertEquals("EM_PROCESSAMENTO", fim.getStatusPedido());
+
+        Pedido pedido = pedidoRepository.findById(submetido.getId()).orElseThrow();
+        assertEquals(100.0, pedido.getValorTotal(), 0.0001);
+        assertEquals(SituacaoSubmissao.CONCLUIDO,
+                assincronoService.consultarStatus(submetido.getId()).orElseThrow().getSituacao());
+    }
+
+    @Test
+    public void deveExporErroDeNegocioNaSituacao() throws Exception {
+        when(clienteRepositoryMock.findById(99L)).thenReturn(Optional.empty());
+
+        PedidoStatusDTO submetido = assincronoService.submeter(requisicao(99L));
+
+        PedidoStatusDTO fim = aguardarFinal(submetido.getId());
+        assertEquals(SituacaoSubmissao.ERRO, fim.getSituacao());
+        assertEquals("Cliente não encontrado: 99", fim.getErro());
+        assertEquals(SituacaoSubmissao.ERRO,
+                assincronoService.consultarStatus(submetido.getId()).orElseThrow().getSituacao());
+    }
+
+    @Test
+    public void deveRejeitarAcimaDaCapacidade() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        PedidoService lento = Mockito.mock(PedidoService.class);
+        when(lento.processarPedidoReservado(any(), any(), any(), any(), any())).thenAnswer(inv -> {
+            liberar.await(5, TimeUnit.SECONDS);
+            Pedido pedido = new Pedido();
+            pedido.setId(inv.getArgument(0));
+            pedido.setStatus("EM_PROCESSAMENTO");
+            return pedidoRepository.save(pedido);
+        });
+        PedidoAssincronoService limitado = new PedidoAssincronoService(lento, pedidoRepository, false, 1, 1, 600);
+        try {
+            PedidoStatusDTO primeiro = limitado.submeter(requisicao(1L));
+            assertThrows(RejectedExecutionException.class, () -> limitado.submeter(requisicao(1L)));
+
+            liberar.countDown();
+            CompletableFuture<PedidoStatusDTO> fim = new CompletableFuture<>();
+            assertTrue(limitado.acompanhar(primeiro.getId(), s -> {
+                if (s.getSituacao().isFinal()) {
+                    fim.complete(s);
+                }
+            }));
+            assertEquals(SituacaoSubmissao.CONCLUIDO, fim.get(5, TimeUnit.SECONDS).getSituacao());
+        } finally {
+            limitado.encerrar();
+        }
+    }
+
+    @Test
+    public void ouvinteLentoNaoDeveTravarASubmissao() throws Exception {
+        CountDownLatch liberarProcessamento = new CountDownLatch(1);
+        CountDownLatch liberarEnvio = new CountDownLatch(1);
+        CountDownLatch envioTravado = new CountDownLatch(1);
+        PedidoService lento = Mockito.mock(PedidoService.class);
+        when(lento.processarPedidoReservado(any(), any(), any(), any(), any())).thenAnswer(inv -> {
+            liberarProcessamento.await(5, TimeUnit.SECONDS);
+            Pedido pedido = new Pedido();
+            pedido.setId(inv.getArgument(0));
+            pedido.setStatus("EM_PROCESSAMENTO");
+            return pedidoRepository.save(pedido);
+        });
+        PedidoAssincronoService servico = new PedidoAssincronoService(lento, pedidoRepository, false, 1, 10, 600);
+        try {
+            Long id = servico.submeter(requisicao(1L)).getId();
+            // Cliente SSE parado: o envio da situação final bloqueia a thread do processamento
+            assertTrue(servico.acompanhar(id, status -> {
+                if (status.getSituacao().isFinal()) {
+                    envioTravado.countDown();
+                    try {
+                        liberarEnvio.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }));
+            liberarProcessamento.countDown();
+            assertTrue(envioTravado.await(5, TimeUnit.SECONDS));
+
+            assertTimeoutPreemptively(Duration.ofSeconds(2), () -> {
+                assertEquals(SituacaoSubmissao.CONCLUIDO, servico.consultarStatus(id).orElseThrow().getSituacao());
+                CompletableFuture<PedidoStatusDTO> outro = new CompletableFuture<>();
+                assertTrue(servico.acompanhar(id, outro::complete));
+                assertEquals(SituacaoSubmissao.CONCLUIDO, outro.getNow(null).getSituacao());
+            });
+        } finally {
+            liberarEnvio.countDown();
+            servico.encerrar();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package br.edu.ifsp.bra.livraria.service;
+
+import br.edu.ifsp.bra.livraria.entity.Cliente;
+import br.edu.ifsp.bra.livraria.entity.Endereco;
+import br.edu.ifsp.bra.livraria.entity.Pedido;
+import br.edu.ifsp.bra.livraria.entity.StatusPedido;
+import br.edu.ifsp.bra.livraria.repository.PedidoRepository;
+import br.edu.ifsp.bra.livraria.repository.PedidoRepositoryInMemory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Testes de unidade para PedidoExportacaoService.
+ *
+ * - Usa PedidoRepositoryInMemory (com spy, para contar as páginas lidas).
+ * - Página de 2 pedidos, para exercitar o cursor entre páginas.
+ *
+ * Cenários:
+ *  - CSV com cabeçalho, valores exatos em reais e UF normalizada;
+ *  - NDJSON com os mesmos campos, um pedido por linha;
+ *  - retomada a partir de aposId.
+ */
+public class PedidoExportacaoServiceTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private PedidoRepository pedidoRepository;
+    private PedidoExportacaoService exportacaoService;
+
+    @BeforeEach
+    public void setup() {
+        pedidoRepository = Mockito.spy(new PedidoRepositoryInMemory());
+        exportacaoService = new PedidoExportacaoService(pedidoRepository, mapper, 2);
+
+        pedidoRepository.save(pedido("SP", 10000, 300, 0, StatusPedido.EM_PROCESSAMENTO));
+        pedidoRepository.save(pedido("RJ", 3990, 0, 399, StatusPedido.CONFIRMADO));
+        pedidoRepository.save(pedido("Bahia, BR", 1005, 50, 201, StatusPedido.CANCELADO));
+    }
+
+    private Pedido pedido(String estado, long valorItens, long desconto, long frete, StatusPedido status) {
+        Pedido pedido = new Pedido();
+        pedido.setCliente(new Cliente(7L, "Ana", "ana@email.com", LocalDate.of(2020, 1, 1)));
+        pedido.setEnderecoEntrega(new Endereco("Rua A", "1", "Centro", "Cidade", estado, "00000-000"));
+        pedido.setValorItensCentavos(valorItens);
+        pedido.setDescontoCentavos(desconto);
+        pedido.setFreteCentavos(frete);
+        pedido.setValorTotalCentavos(valorItens - desconto + frete);
+        pedido.setStatusPedido(status);
+        pedido.setDataCriacao(LocalDateTime.of(2026, 1, 2, 3, 4, 5));
+        return pedido;
+    }
+
+    private String exportar(FormatoExportacao formato, long aposId) throws Exception {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        exportacaoService.exportar(formato, aposId, saida);
+        return saida.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void deveExportarCsvPercorrendoTodasAsPaginas() throws Exception {
+        String[] linhas = exportar(FormatoExportacao.CSV, 0).split("\n");
+
+        assertEquals(4, linhas.length);
+        assertEquals(PedidoExportacaoService.CABECALHO_CSV, linhas[0]);
+        assertEquals("1,7,2026-01-02T03:04:05,SP,100.00,3.00,0.00,97.00,EM_PROCESSAMENTO", linhas[1]);
+        assertEquals("2,7,2026-01-02T03:04:05,RJ,39.90,0.00,3.99,43.89,CONFIRMADO", linhas[2]);
+        // Estado que não é sigla sai como informado, entre aspas por conter vírgula
+        assertEquals("3,7,2026-01-02T03:04:05,\"Bahia, BR\",10.05,0.50,2.01,11.56,CANCELADO", linhas[3]);
+
+        // 3 pedidos em páginas de 2: duas páginas com dados e uma vazia que encerra
+        verify(pedidoRepository, atLeast(3)).findAposId(anyLong(), anyInt());
+    }
+
+    @Test
+    public void deveExportarNdjsonComUmPedidoPorLinha() throws Exception {
+        String[] linhas = exportar(FormatoExportacao.NDJSON, 0).split("\n");
+
+        assertEquals(3, linhas.length);
+        JsonNode segundo = mapper.readTree(linhas[1]);
+        assertEquals(2, segundo.get("id").asLong());
+        assertEquals(7, segundo.get("clienteId").asLong());
+        assertEquals("RJ", segundo.get("uf").asText());
+        assertEquals("CONFIRMADO", segundo.get("status").asText());
+        // Valores exatos com duas casas, escritos a partir dos centavos
+        assertTrue(linhas[1].contains("\"valorItens\":39.90,\"desconto\":0.00,\"frete\":3.99,\"valorTotal\":43.89"));
+    }
+
+    @Test
+    public void deveRetomarAposOUltimoIdRecebido() throws Exception {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        assertEquals(1, exportacaoService.exportar(FormatoExportacao.NDJSON, 2, saida));
+        assertEquals(3, mapper.readTree(saida.toString(StandardCharsets.UTF_8)).get("id").asLong());
+    }
+}
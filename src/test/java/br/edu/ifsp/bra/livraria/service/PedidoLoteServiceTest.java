@@ -0,0 +1,152 @@
+package br.edu.ifsp.bra.livraria.service;
+
+import br.edu.ifsp.bra.livraria.api.dto.PedidoLoteResultadoDTO;
+import br.edu.ifsp.bra.livraria.api.dto.PedidoRequestDTO;
+import br.edu.ifsp.bra.livraria.entity.*;
+import br.edu.ifsp.bra.livraria.repository.ClienteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes de unidade para PedidoLoteService.
+ *
+ * - Usa MOCK de ClienteRepository (com o findAllById padrão) para contar as buscas por cliente.
+ * - Usa PedidoService real, com as calculadoras reais de RN01 e RN02.
+ *
+ * Cenários:
+ *  - cada clienteId distinto é buscado uma única vez por lote;
+ *  - a ordem dos resultados acompanha a ordem das requisições;
+ *  - um carrinho inválido gera erro apenas na sua posição.
+ */
+public class PedidoLoteServiceTest {
+
+    private ClienteRepository clienteRepositoryMock;
+    private PedidoLoteService loteService;
+
+    @BeforeEach
+    public void setup() {
+        clienteRepositoryMock = Mockito.mock(ClienteRepository.class);
+        when(clienteRepositoryMock.findAllById(any())).thenCallRealMethod();
+
+        PedidoService pedidoService = new PedidoService.Construtor(
+                        new CalculadoraDescontoService(),
+                        new CalculadoraFreteService(),
+                        clienteRepositoryMock)
+                .construir();
+
+        loteService = new PedidoLoteService(pedidoService, clienteRepositoryMock, 4, 1000);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        loteService.encerrar();
+    }
+
+    private Cliente cliente(long id, long anos) {
+        return new Cliente(id, "Cliente " + id, "c" + id + "@email.com", LocalDate.now().minusYears(anos));
+    }
+
+    private PedidoRequestDTO requisicao(Long clienteId, String uf, double preco) {
+        Endereco endereco = new Endereco();
+        endereco.setEstado(uf);
+
+        PedidoRequestDTO dto = new PedidoRequestDTO();
+        dto.setClienteId(clienteId);
+        dto.setEnderecoEntrega(endereco);
+        dto.setItens(preco > 0
+                ? Arrays.asList(new ItemCarrinho("Livro", 1, preco))
+                : Collections.emptyList());
+        dto.setFormaPagamento("PIX");
+        return dto;
+    }
+
+    /**
+     * Vários carrinhos do mesmo cliente: o repositório é consultado uma só vez.
+     */
+    @Test
+    public void deveBuscarCadaClienteUmaUnicaVezPorLote() {
+        when(clienteRepositoryMock.findById(1L)).thenReturn(Optional.of(cliente(1L, 0)));
+        when(clienteRepositoryMock.findById(4L)).thenReturn(Optional.of(cliente(4L, 7)));
+
+        List<PedidoRequestDTO> lote = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            lote.add(requisicao(i % 2 == 0 ? 1L : 4L, "SP", 100.0));
+        }
+
+        List<PedidoLoteResultadoDTO> resultados = loteService.processarLote(lote);
+
+        assertEquals(50, resultados.size());
+        assertTrue(resultados.stream().allMatch(PedidoLoteResultadoDTO::isSucesso));
+        verify(clienteRepositoryMock, times(1)).findAllById(any());
+        verify(clienteRepositoryMock, times(1)).findById(1L);
+        verify(clienteRepositoryMock, times(1)).findById(4L);
+    }
+
+    /**
+     * Resultados na mesma ordem do lote, com RN01/RN02 aplicadas a cada carrinho.
+     */
+    @Test
+    public void deveManterOrdemDoLoteNosResultados() {
+        when(clienteRepositoryMock.findById(4L)).thenReturn(Optional.of(cliente(4L, 7)));
+
+        List<PedidoLoteResultadoDTO> resultados = loteService.processarLote(Arrays.asList(
+                requisicao(4L, "SP", 100.0),
+                requisicao(4L, "ES", 200.0),
+                requisicao(4L, "SC", 300.0)));
+
+        for (int i = 0; i < resultados.size(); i++) {
+            assertEquals(i, resultados.get(i).getIndice());
+        }
+        // Ouro (10%) + outras regiões (8%): 300 - 30 = 270; frete = 21.60
+        Pedido ultimo = resultados.get(2).getPedido();
+        assertEquals(300.0, ultimo.getValorItens(), 0.0001);
+        assertEquals(30.0, ultimo.getDesconto(), 0.0001);
+        assertEquals(21.6, ultimo.getFrete(), 0.0001);
+    }
+
+    /**
+     * Carrinho vazio, cliente inexistente e UF inválida falham isoladamente.
+     */
+    @Test
+    public void deveIsolarErrosPorItemDoLote() {
+        when(clienteRepositoryMock.findById(1L)).thenReturn(Optional.of(cliente(1L, 0)));
+        when(clienteRepositoryMock.findById(99L)).thenReturn(Optional.empty());
+
+        List<PedidoLoteResultadoDTO> resultados = loteService.processarLote(Arrays.asList(
+                requisicao(1L, "SP", 100.0),
+                requisicao(1L, "SP", 0),
+                requisicao(99L, "SP", 100.0),
+                requisicao(1L, "FL", 100.0),
+                null));
+
+        assertTrue(resultados.get(0).isSucesso());
+        assertFalse(resultados.get(1).isSucesso());
+        assertTrue(resultados.get(1).getErro().contains("Carrinho vazio"));
+        assertFalse(resultados.get(2).isSucesso());
+        assertEquals("Cliente não encontrado: 99", resultados.get(2).getErro());
+        assertFalse(resultados.get(3).isSucesso());
+        assertTrue(resultados.get(3).getErro().contains("Estado não reconhecido"));
+        assertFalse(resultados.get(4).isSucesso());
+    }
+
+    /**
+     * Lote vazio é rejeitado por completo.
+     */
+    @Test
+    public void deveLancarExcecaoQuandoLoteEstiverVazio() {
+        assertThrows(IllegalArgumentException.class,
+                () -> loteService.processarLote(Collections.emptyList()));
+    }
+}
@@ -0,0 +1,177 @@
+package br.edu.ifsp.bra.livraria.service;
+
+import br.edu.ifsp.bra.livraria.entity.Cliente;
+import br.edu.ifsp.bra.livraria.entity.Pedido;
+import br.edu.ifsp.bra.livraria.repository.ClienteRepository;
+import br.edu.ifsp.bra.livraria.repository.PedidoRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes de unidade para PedidoNdjsonService.
+ *
+ * - Usa MOCK de ClienteRepository e de PedidoRepository.
+ * - Usa PedidoService real, com as calculadoras reais de RN01 e RN02.
+ *
+ * Cenários:
+ *  - um resultado por linha não vazia, na ordem da entrada;
+ *  - linha malformada, carrinho vazio e linha longa demais geram erro só na sua linha;
+ *  - entrada gerada sob demanda é consumida por completo, sem ser acumulada;
+ *  - a saída só é descarregada a cada intervaloFlush resultados.
+ */
+public class PedidoNdjsonServiceTest {
+
+    private static final String PEDIDO_SP =
+            "{\"clienteId\":1,\"enderecoEntrega\":{\"estado\":\"SP\"},"
+            + "\"itens\":[{\"livroTitulo\":\"Livro\",\"quantidade\":2,\"precoUnitario\":50.0}],"
+            + "\"formaPagamento\":\"PIX\"}";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private PedidoNdjsonService ndjsonService;
+
+    @BeforeEach
+    public void setup() {
+        ClienteRepository clienteRepositoryMock = Mockito.mock(ClienteRepository.class);
+        when(clienteRepositoryMock.findById(1L)).thenReturn(Optional.of(
+                new Cliente(1L, "Ana", "ana@email.com", LocalDate.now().minusYears(1))));
+
+        PedidoRepository pedidoRepositoryMock = Mockito.mock(PedidoRepository.class);
+        AtomicLong sequencia = new AtomicLong();
+        when(pedidoRepositoryMock.save(any(Pedido.class))).thenAnswer(inv -> {
+            Pedido pedido = inv.getArgument(0);
+            if (pedido.getId() == null) {
+                pedido.setId(sequencia.incrementAndGet());
+            }
+            return pedido;
+        });
+
+        PedidoService pedidoService = new PedidoService.Construtor(
+                        new CalculadoraDescontoService(),
+                        new CalculadoraFreteService(),
+                        clienteRepositoryMock)
+                .pedidoRepository(pedidoRepositoryMock)
+                .construir();
+
+        ndjsonService = new PedidoNdjsonService(pedidoService, mapper, 512, 2);
+    }
+
+    private List<JsonNode> importar(String entrada) throws Exception {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        ndjsonService.importar(new ByteArrayInputStream(entrada.getBytes(StandardCharsets.UTF_8)), saida);
+
+        List<JsonNode> resultados = new ArrayList<>();
+        for (String linha : saida.toString(StandardCharsets.UTF_8).split("\n")) {
+            assertTrue(linha.startsWith("{"), "linha NDJSON com prefixo: " + linha);
+            resultados.add(mapper.readTree(linha));
+        }
+        return resultados;
+    }
+
+    @Test
+    public void deveDevolverUmResultadoPorLinhaNaOrdemDaEntrada() throws Exception {
+        String longa = "{\"clienteId\":1,\"formaPagamento\":\"" + "x".repeat(600) + "\"}";
+        String entrada = PEDIDO_SP + "\n"
+                + "\n"
+                + "{nao e json}\n"
+                + "{\"clienteId\":1,\"itens\":[]}\r\n"
+                + longa + "\n"
+                + PEDIDO_SP; // última linha sem quebra
+
+        List<JsonNode> resultados = importar(entrada);
+
+        assertEquals(5, resultados.size());
+
+        assertEquals(1, resultados.get(0).get("linha").asLong());
+        assertTrue(resultados.get(0).get("sucesso").asBoolean());
+        assertEquals(1L, resultados.get(0).get("pedidoId").asLong());
+        assertEquals("EM_PROCESSAMENTO", resultados.get(0).get("status").asText());
+
+        assertEquals(3, resultados.get(1).get("linha").asLong());
+        assertFalse(resultados.get(1).get("sucesso").asBoolean());
+        assertTrue(resultados.get(1).get("erro").asText().startsWith("JSON inválido"));
+
+        assertEquals(4, resultados.get(2).get("linha").asLong());
+        assertFalse(resultados.get(2).get("sucesso").asBoolean());
+
+        assertEquals(5, resultados.get(3).get("linha").asLong());
+        assertTrue(resultados.get(3).get("erro").asText().contains("tamanho máximo"));
+
+        assertEquals(6, resultados.get(4).get("linha").asLong());
+        assertTrue(resultados.get(4).get("sucesso").asBoolean());
+        assertEquals(2L, resultados.get(4).get("pedidoId").asLong());
+        assertEquals(resultados.get(0).get("valorTotal").asDouble(), resultados.get(4).get("valorTotal").asDouble());
+    }
+
+    @Test
+    public void deveConsumirEntradaGeradaSobDemandaSemAcumular() throws Exception {
+        int total = 20_000;
+        byte[] linha = (PEDIDO_SP + "\n").getBytes(StandardCharsets.UTF_8);
+
+        // Gera as linhas conforme são lidas: nada da entrada existe inteira em memória
+        InputStream entrada = new InputStream() {
+            private int restantes = total;
+            private int posicao = linha.length;
+
+            @Override
+            public int read() {
+                if (posicao == linha.length) {
+                    if (restantes == 0) {
+                        return -1;
+                    }
+                    restantes--;
+                    posicao = 0;
+                }
+                return linha[posicao++];
+            }
+        };
+
+        AtomicLong quebras = new AtomicLong();
+        OutputStream saida = new OutputStream() {
+            @Override
+            public void write(int b) {
+                if (b == '\n') {
+                    quebras.incrementAndGet();
+                }
+            }
+        };
+
+        assertEquals(total, ndjsonService.importar(entrada, saida));
+        assertEquals(total, quebras.get());
+    }
+
+    @Test
+    public void deveDescarregarSaidaSoACadaIntervaloFlush() throws Exception {
+        String entrada = (PEDIDO_SP + "\n").repeat(10);
+        AtomicLong descargas = new AtomicLong();
+        ByteArrayOutputStream saida = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                descargas.incrementAndGet();
+            }
+        };
+
+        assertEquals(10, ndjsonService.importar(new ByteArrayInputStream(entrada.getBytes(StandardCharsets.UTF_8)), saida));
+
+        // intervaloFlush = 2: uma descarga a cada 2 resultados, não uma por linha
+        assertEquals(5, descargas.get());
+        assertEquals(10, saida.toString(StandardCharsets.UTF_8).split("\n").length);
+    }
+}
@@ -1,15 +1,23 @@
 package br.edu.ifsp.bra.livraria.service;
 
+import br.edu.ifsp.bra.livraria.api.dto.VendasRecentesDTO;
 import br.edu.ifsp.bra.livraria.entity.*;
 import br.edu.ifsp.bra.livraria.repository.ClienteRepository;
+import br.edu.ifsp.bra.livraria.repository.PedidoRepositoryInMemory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -40,7 +48,8 @@ public class PedidoServiceTest {
         descontoService = new CalculadoraDescontoService();
         freteService = new CalculadoraFreteService();
 
-        pedidoService = new PedidoService(descontoService, freteService, clienteRepositoryMock);
+        pedidoService = new PedidoService.Construtor(descontoService, freteService, clienteRepositoryMock)
+                .construir();
     }
 
     private Cliente criarClienteComAnosDeVinculo(long anos) {
@@ -174,6 +183,29 @@ public class PedidoServiceTest {
         assertEquals(valorComDesconto + freteEsperado, pedido.getValorTotal(), 0.0001);
     }
 
+    /**
+     * Valores em centavos: soma sem desvio de ponto flutuante (0.1 + 0.2 + 0.2)
+     * e desconto/frete arredondados ao centavo, meio centavo para cima.
+     */
+    @Test
+    public void deveArredondarDescontoEFreteAoCentavo() {
+        Cliente cliente = criarClienteComAnosDeVinculo(1); // bronze, 3%
+        when(clienteRepositoryMock.findById(1L)).thenReturn(Optional.of(cliente));
+
+        Pedido pedido = pedidoService.processarPedido(
+                1L,
+                enderecoEstado("MG"), // sudeste, 5%
+                Arrays.asList(item(0.1, 1), item(0.2, 1), item(0.2, 1)),
+                "PIX"
+        );
+
+        assertEquals(50, pedido.getValorItensCentavos());
+        assertEquals(2, pedido.getDescontoCentavos());   // 3% de 50 = 1,5 → 2
+        assertEquals(2, pedido.getFreteCentavos());      // 5% de 48 = 2,4 → 2
+        assertEquals(50, pedido.getValorTotalCentavos());
+        assertEquals(0.5, pedido.getValorTotal(), 0.0);
+    }
+
     /**
      * Fluxo de exceção (2): carrinho vazio deve lançar IllegalArgumentException.
      */
@@ -188,4 +220,175 @@ public class PedidoServiceTest {
                 () -> pedidoService.processarPedido(1L, endereco, Collections.emptyList(), "PIX"),
                 "Carrinho vazio deve impedir o processamento do pedido.");
     }
+
+    private Pedido pedidoRegistrado() {
+        Cliente cliente = criarClienteComAnosDeVinculo(0);
+        when(clienteRepositoryMock.findById(1L)).thenReturn(Optional.of(cliente));
+        return pedidoService.processarPedido(1L, enderecoEstado("SP"), Arrays.asList(item(10.0, 1)), "PIX");
+    }
+
+    /**
+     * RN03: EM_PROCESSAMENTO → CONFIRMADO → ENTREGUE.
+     */
+    @Test
+    public void deveSeguirCicloDeVidaDoPedido() {
+        Pedido pedido = pedidoRegistrado();
+
+        pedidoService.confirmarPedido(pedido);
+        assertEquals("CONFIRMADO", pedido.getStatus());
+
+        pedidoService.marcarPedidoComoEntregue(pedido);
+        assertEquals("ENTREGUE", pedidoService.buscarPedido(pedido.getId()).orElseThrow().getStatus());
+    }
+
+    /**
+     * RN03: estados finais não aceitam novas transições (ex.: CANCELADO → ENTREGUE).
+     */
+    @Test
+    public void deveRejeitarTransicaoInvalida() {
+        Pedido pedido = pedidoRegistrado();
+        pedidoService.cancelarPorPagamentoNaoAutorizado(pedido);
+
+        TransicaoStatusInvalidaException ex = assertThrows(TransicaoStatusInvalidaException.class,
+                () -> pedidoService.transitarPedido(pedido.getId(), StatusPedido.ENTREGUE));
+        assertEquals(StatusPedido.CANCELADO, ex.getAtual());
+        assertEquals("CANCELADO", pedido.getStatus());
+
+        assertTrue(pedidoService.transitarPedido(999L, StatusPedido.CONFIRMADO).isEmpty());
+    }
+
+    /**
+     * Callbacks de pagamento concorrentes (confirmar x cancelar) para o mesmo
+     * pedido: exatamente um vence, e o status final é o do vencedor.
+     */
+    @Test
+    public void deveAplicarApenasUmaTransicaoConcorrente() throws Exception {
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int rodada = 0; rodada < 50; rodada++) {
+                Pedido pedido = pedidoRegistrado();
+                CountDownLatch largada = new CountDownLatch(1);
+                List<Future<StatusPedido>> tentativas = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    StatusPedido destino = t % 2 == 0 ? StatusPedido.CONFIRMADO : StatusPedido.CANCELADO;
+                    tentativas.add(executor.submit(() -> {
+                        largada.await();
+                        return pedido.tentarTransitar(destino) ? destino : null;
+                    }));
+                }
+                largada.countDown();
+
+                List<StatusPedido> vencedores = new ArrayList<>();
+                for (Future<StatusPedido> tentativa : tentativas) {
+                    StatusPedido resultado = tentativa.get();
+                    if (resultado != null) {
+                        vencedores.add(resultado);
+                    }
+                }
+                assertEquals(1, vencedores.size());
+                assertEquals(vencedores.get(0), pedido.getStatusPedido());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Cada pedido registrado entra nos agregados de VendasRecentes.
+     */
+    @Test
+    public void deveRegistrarPedidoNasVendasRecentes() {
+        VendasRecentes vendas = new VendasRecentes(10, 60);
+        PedidoService servico = new PedidoService.Construtor(descontoService, freteService, clienteRepositoryMock)
+                .vendasRecentes(vendas)
+                .construir();
+        when(clienteRepositoryMock.findById(1L)).thenReturn(Optional.of(criarClienteComAnosDeVinculo(0)));
+
+        Pedido pedido = servico.processarPedido(1L, enderecoEstado("RJ"), Arrays.asList(item(100.0, 1)), "PIX");
+
+        VendasRecentesDTO resumo = vendas.consultar(1);
+        assertEquals(1, resumo.getPorUf().get("RJ").getPedidos());
+        assertEquals(pedido.getValorTotal(), resumo.getPorFormaPagamento().get("PIX").getReceita(), 0.0001);
+        assertEquals(pedido.getFrete(), resumo.getPorPerfil().get("BASICO").getFreteMedio(), 0.0001);
+    }
+
+    /**
+     * Itens com ISBN usam título e preço do catálogo, não os do cliente.
+     */
+    @Test
+    public void devePrecificarItensPeloCatalogo() {
+        CatalogoLivros catalogo = new CatalogoLivros(true, List.of(new Livro("9788535226348", "Teste de Software", 12000)));
+        PedidoService servico = new PedidoService.Construtor(descontoService, freteService, clienteRepositoryMock)
+                .catalogo(catalogo)
+                .construir();
+        when(clienteRepositoryMock.findById(1L)).thenReturn(Optional.of(criarClienteComAnosDeVinculo(0)));
+
+        ItemCarrinho item = new ItemCarrinho("978-85-352-2634-8", 2);
+        item.setPrecoUnitario(0.01); // ignorado
+        Pedido pedido = servico.processarPedido(1L, enderecoEstado("SP"), new ArrayList<>(List.of(item)), "PIX");
+
+        assertEquals(240.0, pedido.getValorItens(), 0.0001);
+        assertEquals("Teste de Software", pedido.getItens().get(0).getLivroTitulo());
+
+        // ISBN fora do catálogo, ou item sem ISBN com exigirIsbn=true
+        assertThrows(IllegalArgumentException.class, () -> servico.processarPedido(1L, enderecoEstado("SP"),
+                List.of(new ItemCarrinho("0000000000000", 1)), "PIX"));
+        assertThrows(IllegalArgumentException.class, () -> servico.processarPedido(1L, enderecoEstado("SP"),
+                List.of(item(10.0, 1)), "PIX"));
+    }
+
+    /**
+     * O pedido reserva o estoque dos itens; sem estoque é recusado, e o
+     * cancelamento (RN03) devolve os exemplares.
+     */
+    @Test
+    public void deveReservarEstoqueELiberarAoCancelar() {
+        CatalogoLivros catalogo = new CatalogoLivros(false, List.of(new Livro("9788535226348", "Teste de Software", 12000)));
+        EstoqueLivros estoque = new EstoqueLivros();
+        estoque.definirDisponivel("9788535226348", 3);
+        PedidoService servico = new PedidoService.Construtor(descontoService, freteService, clienteRepositoryMock)
+                .catalogo(catalogo)
+                .estoque(estoque)
+                .construir();
+        when(clienteRepositoryMock.findById(1L)).thenReturn(Optional.of(criarClienteComAnosDeVinculo(0)));
+
+        Pedido pedido = servico.processarPedido(1L, enderecoEstado("SP"),
+                List.of(new ItemCarrinho("978-85-352-2634-8", 2)), "PIX");
+        assertEquals(1, estoque.consultar("9788535226348").getDisponivel());
+
+        assertThrows(EstoqueInsuficienteException.class, () -> servico.processarPedido(1L, enderecoEstado("SP"),
+                List.of(new ItemCarrinho("9788535226348", 2)), "PIX"));
+
+        servico.cancelarPorPagamentoNaoAutorizado(pedido);
+        assertEquals(3, estoque.consultar("9788535226348").getDisponivel());
+        assertEquals(0, estoque.consultar("9788535226348").getReservado());
+    }
+
+    /**
+     * Falha ao gravar o novo status: o pedido já está CANCELADO em memória,
+     * e a reserva é devolvida mesmo assim (não fica presa).
+     */
+    @Test
+    public void deveLiberarEstoqueMesmoSeGravacaoDoCancelamentoFalhar() {
+        CatalogoLivros catalogo = new CatalogoLivros(false, List.of(new Livro("9788535226348", "Teste de Software", 12000)));
+        EstoqueLivros estoque = new EstoqueLivros();
+        estoque.definirDisponivel("9788535226348", 3);
+        PedidoRepositoryInMemory pedidos = spy(new PedidoRepositoryInMemory());
+        PedidoService servico = new PedidoService.Construtor(descontoService, freteService, clienteRepositoryMock)
+                .pedidoRepository(pedidos)
+                .catalogo(catalogo)
+                .estoque(estoque)
+                .construir();
+        when(clienteRepositoryMock.findById(1L)).thenReturn(Optional.of(criarClienteComAnosDeVinculo(0)));
+
+        Pedido pedido = servico.processarPedido(1L, enderecoEstado("SP"),
+                List.of(new ItemCarrinho("9788535226348", 2)), "PIX");
+        doThrow(new IllegalStateException("falha de E/S")).when(pedidos).save(any());
+
+        assertThrows(IllegalStateException.class, () -> servico.cancelarPorPagamentoNaoAutorizado(pedido));
+        assertEquals("CANCELADO", pedido.getStatus());
+        assertEquals(3, estoque.consultar("9788535226348").getDisponivel());
+        assertEquals(0, estoque.consultar("9788535226348").getReservado());
+    }
 }
@@ -0,0 +1,73 @@
+package br.edu.ifsp.bra.livraria.service;
+
+import br.edu.ifsp.bra.livraria.entity.Cliente;
+import br.edu.ifsp.bra.livraria.entity.PerfilCliente;
+import br.edu.ifsp.bra.livraria.repository.IndicePerfilCliente;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de unidade para ReclassificacaoPerfilJob.
+ *
+ * Cenários:
+ *  - dias sem execução são recuperados na execução seguinte;
+ *  - a data da última execução é gravada e a mesma data não é reprocessada;
+ *  - sem registro anterior, só o dia corrente.
+ */
+public class ReclassificacaoPerfilJobTest {
+
+    @TempDir
+    Path diretorio;
+
+    private IndicePerfilCliente indice;
+    private Path arquivo;
+    private ReclassificacaoPerfilJob job;
+
+    @BeforeEach
+    public void setup() {
+        indice = new IndicePerfilCliente();
+        arquivo = diretorio.resolve("perfis").resolve("ultima-reclassificacao");
+        job = new ReclassificacaoPerfilJob(indice, arquivo);
+    }
+
+    private void registrar(long id, LocalDate dataCadastro, LocalDate hoje) {
+        indice.registrar(new Cliente(id, "Cliente " + id, "c" + id + "@email.com", dataCadastro), hoje);
+    }
+
+    @Test
+    public void deveRecuperarDiasSemExecucao() throws IOException {
+        LocalDate ultimaExecucao = LocalDate.of(2024, 6, 8);
+        Files.createDirectories(arquivo.getParent());
+        Files.writeString(arquivo, ultimaExecucao.toString());
+        registrar(1L, LocalDate.of(2021, 6, 10), ultimaExecucao); // 3 anos em 10/06 → PRATA
+        registrar(2L, LocalDate.of(2023, 6, 9), ultimaExecucao);  // 1 ano em 09/06 → BRONZE
+
+        // Execuções de 09/06 a 11/06 perdidas
+        assertEquals(2, job.reclassificarAte(LocalDate.of(2024, 6, 12)));
+        assertEquals(PerfilCliente.PRATA, indice.perfil(1L));
+        assertEquals(PerfilCliente.BRONZE, indice.perfil(2L));
+        assertEquals("2024-06-12", Files.readString(arquivo));
+
+        assertEquals(0, job.reclassificarAte(LocalDate.of(2024, 6, 12)));
+    }
+
+    @Test
+    public void semRegistroAnteriorDeveReclassificarSoODiaCorrente() throws IOException {
+        LocalDate ontem = LocalDate.of(2024, 6, 9);
+        registrar(1L, LocalDate.of(2023, 6, 9), ontem.minusDays(1));  // aniversário ontem
+        registrar(2L, LocalDate.of(2023, 6, 10), ontem.minusDays(1)); // aniversário hoje
+
+        assertEquals(1, job.reclassificarAte(LocalDate.of(2024, 6, 10)));
+        assertEquals(PerfilCliente.BASICO, indice.perfil(1L));
+        assertEquals(PerfilCliente.BRONZE, indice.perfil(2L));
+        assertEquals("2024-06-10", Files.readString(arquivo));
+    }
+}
@@ -0,0 +1,166 @@
+package br.edu.ifsp.bra.livraria.service;
+
+import br.edu.ifsp.bra.livraria.api.dto.VendasRecentesDTO;
+import br.edu.ifsp.bra.livraria.entity.PerfilCliente;
+import br.edu.ifsp.bra.livraria.entity.UF;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de unidade para VendasRecentes.
+ *
+ * Usa um relógio manual e baldes de 10 s com janela máxima de 5 minutos
+ * (anel de 31 baldes), para exercitar a expiração e a reutilização do anel.
+ */
+public class VendasRecentesTest {
+
+    /** Relógio controlado pelo teste. */
+    private static final class RelogioManual extends Clock {
+        private volatile long millis = 1_000_000_000L;
+
+        void avancarSegundos(long segundos) {
+            millis += segundos * 1000;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+
+    private RelogioManual relogio;
+    private VendasRecentes vendas;
+
+    @BeforeEach
+    public void setup() {
+        relogio = new RelogioManual();
+        vendas = new VendasRecentes(relogio, 10, 5);
+    }
+
+    @Test
+    public void deveAgregarPorUfPerfilEFormaDePagamento() {
+        vendas.registrar(UF.SP, PerfilCliente.OURO, "PIX", 9000, 1000, 0);
+        vendas.registrar(UF.SP, PerfilCliente.BASICO, "CREDITO", 10599, 0, 599);
+        vendas.registrar(UF.RJ, PerfilCliente.OURO, "PIX", 5000, 500, 300);
+
+        VendasRecentesDTO resumo = vendas.consultar(1);
+
+        assertEquals(3, resumo.getTotal().getPedidos());
+        assertEquals(245.99, resumo.getTotal().getReceita(), 0.0001);
+
+        assertEquals(2, resumo.getPorUf().get("SP").getPedidos());
+        assertEquals(195.99, resumo.getPorUf().get("SP").getReceita(), 0.0001);
+        assertEquals(5.00, resumo.getPorUf().get("SP").getDescontoMedio(), 0.0001);
+        assertEquals(3.00, resumo.getPorUf().get("SP").getFreteMedio(), 0.0001); // 5,99 / 2 → 3,00 (HALF_UP)
+        assertFalse(resumo.getPorUf().containsKey("MG"));
+
+        assertEquals(2, resumo.getPorPerfil().get("OURO").getPedidos());
+        assertEquals(7.50, resumo.getPorPerfil().get("OURO").getDescontoMedio(), 0.0001);
+
+        assertEquals(2, resumo.getPorFormaPagamento().get("PIX").getPedidos());
+        assertEquals(1, resumo.getPorFormaPagamento().get("CREDITO").getPedidos());
+    }
+
+    @Test
+    public void deveConsiderarApenasOsBaldesDaJanela() {
+        vendas.registrar(UF.SP, PerfilCliente.BASICO, "PIX", 1000, 0, 0);
+        relogio.avancarSegundos(120);
+        vendas.registrar(UF.SP, PerfilCliente.BASICO, "PIX", 2000, 0, 0);
+
+        assertEquals(1, vendas.consultar(1).getTotal().getPedidos());
+        assertEquals(2, vendas.consultar(5).getTotal().getPedidos());
+
+        // Após dar a volta no anel, os baldes antigos não são somados nem reaproveitados
+        relogio.avancarSegundos(310);
+        vendas.registrar(UF.RJ, PerfilCliente.OURO, "PIX", 3000, 0, 0);
+        VendasRecentesDTO resumo = vendas.consultar(5);
+        assertEquals(1, resumo.getTotal().getPedidos());
+        assertEquals(30.0, resumo.getTotal().getReceita(), 0.0001);
+        assertFalse(resumo.getPorUf().containsKey("SP"));
+    }
+
+    @Test
+    public void deveManterTotaisDeBaldesCongelados() {
+        vendas.registrar(UF.SP, PerfilCliente.BASICO, "PIX", 1000, 0, 0);
+        // Três baldes à frente: o primeiro é congelado ao criar os seguintes
+        for (int i = 0; i < 3; i++) {
+            relogio.avancarSegundos(10);
+            vendas.registrar(UF.SP, PerfilCliente.BASICO, "PIX", 1000, 0, 0);
+        }
+        assertEquals(4, vendas.consultar(1).getTotal().getPedidos());
+        assertEquals(40.0, vendas.consultar(1).getPorFormaPagamento().get("PIX").getReceita(), 0.0001);
+    }
+
+    @Test
+    public void deveSomarFormasAlemDoLimiteEmOutras() {
+        for (int i = 0; i < VendasRecentes.MAXIMO_FORMAS_PAGAMENTO + 3; i++) {
+            vendas.registrar(UF.SP, PerfilCliente.BASICO, "FORMA_" + i, 100, 0, 0);
+        }
+        vendas.registrar(UF.SP, PerfilCliente.BASICO, null, 100, 0, 0);
+
+        VendasRecentesDTO resumo = vendas.consultar(1);
+        assertEquals(VendasRecentes.MAXIMO_FORMAS_PAGAMENTO + 1, resumo.getPorFormaPagamento().size());
+        assertEquals(4, resumo.getPorFormaPagamento().get(VendasRecentes.OUTRAS_FORMAS).getPedidos());
+    }
+
+    @Test
+    public void deveRecusarJanelaForaDoLimite() {
+        assertThrows(IllegalArgumentException.class, () -> vendas.consultar(0));
+        assertThrows(IllegalArgumentException.class, () -> vendas.consultar(6));
+    }
+
+    @Test
+    public void naoDevePerderRegistrosComEscritoresConcorrentes() throws Exception {
+        int threads = 8;
+        int porThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                UF uf = UF.values()[t];
+                tarefas.add(executor.submit(() -> {
+                    for (int i = 0; i < porThread; i++) {
+                        vendas.registrar(uf, PerfilCliente.PRATA, "PIX", 100, 5, 10);
+                    }
+                }));
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        VendasRecentesDTO resumo = vendas.consultar(5);
+        assertEquals((long) threads * porThread, resumo.getTotal().getPedidos());
+        assertEquals(threads * porThread * 100 / 100.0, resumo.getTotal().getReceita(), 0.0001);
+        assertEquals(porThread, resumo.getPorUf().get("AC").getPedidos());
+    }
+}
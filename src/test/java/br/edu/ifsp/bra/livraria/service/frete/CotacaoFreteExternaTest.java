@@ -0,0 +1,143 @@
+package br.edu.ifsp.bra.livraria.service.frete;
+
+import br.edu.ifsp.bra.livraria.entity.UF;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de CotacaoFreteExterna contra o ServidorFreteStub (HTTP local).
+ *
+ * Cenários:
+ *  - cotação usada e guardada no cache por (UF, faixa de CEP), até o TTL;
+ *  - pedidos simultâneos da mesma cotação geram uma única chamada;
+ *  - serviço lento: a espera é limitada ao timeout e o pedido usa a RN02;
+ *  - serviço fora do ar: o circuito abre, deixa de chamar o serviço e fecha
+ *    após uma tentativa bem-sucedida.
+ */
+class CotacaoFreteExternaTest {
+
+    private static final int SP_COTADO = 150; // RN02 de SP (0%) + acréscimo do stub
+
+    private ServidorFreteStub servidor;
+    private AtomicLong relogio;
+
+    @BeforeEach
+    void setup() {
+        servidor = ServidorFreteStub.iniciar(0);
+        servidor.setAcrescimoPontosBase(SP_COTADO);
+        relogio = new AtomicLong(System.nanoTime());
+    }
+
+    @AfterEach
+    void tearDown() {
+        servidor.close();
+    }
+
+    private CotacaoFreteExterna cotacao(long timeoutMs) {
+        return new CotacaoFreteExterna(new CotadorFreteHttp(servidor.getUrl(), Duration.ofMillis(timeoutMs)),
+                Duration.ofMillis(timeoutMs), Duration.ofMinutes(5), 1000, 3, Duration.ofSeconds(10), relogio::get);
+    }
+
+    @Test
+    void deveCotarEGuardarNoCachePorFaixaDeCep() {
+        CotacaoFreteExterna cotacao = cotacao(2000);
+
+        assertEquals(SP_COTADO, cotacao.pontosBase(UF.SP, "01310-100"));
+        assertEquals(SP_COTADO, cotacao.pontosBase(UF.SP, "01399999")); // mesma faixa 013
+        assertEquals(1, servidor.getRequisicoes());
+
+        assertEquals(SP_COTADO, cotacao.pontosBase(UF.SP, "04000-000")); // outra faixa
+        assertEquals(500 + SP_COTADO, cotacao.pontosBase(UF.MG, null));  // UF inteira
+        assertEquals(3, servidor.getRequisicoes());
+
+        relogio.addAndGet(TimeUnit.MINUTES.toNanos(6)); // TTL vencido
+        cotacao.pontosBase(UF.SP, "01310-100");
+        assertEquals(4, servidor.getRequisicoes());
+        assertEquals(5, cotacao.contagem(CotacaoFreteExterna.Resultado.COTADA));
+    }
+
+    @Test
+    void deveCoalescerCotacoesSimultaneas() throws Exception {
+        CotacaoFreteExterna cotacao = cotacao(5000);
+        servidor.setAtrasoMs(200);
+
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch largada = new CountDownLatch(1);
+            List<Future<Integer>> resultados = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                resultados.add(executor.submit(() -> {
+                    largada.await();
+                    return cotacao.pontosBase(UF.SP, "01310-100");
+                }));
+            }
+            largada.countDown();
+            for (Future<Integer> resultado : resultados) {
+                assertEquals(SP_COTADO, resultado.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, servidor.getRequisicoes());
+    }
+
+    @Test
+    void deveLimitarEsperaAoTimeoutQuandoServicoEstiverLento() {
+        CotacaoFreteExterna cotacao = cotacao(100);
+        servidor.setAtrasoMs(2000);
+
+        long inicio = System.nanoTime();
+        assertEquals(CotacaoFreteExterna.SEM_COTACAO, cotacao.pontosBase(UF.SP, "01310-100"));
+        long esperaMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+
+        assertTrue(esperaMs < 1000, "Espera de " + esperaMs + " ms, acima do timeout");
+        assertEquals(1, cotacao.contagem(CotacaoFreteExterna.Resultado.TIMEOUT));
+    }
+
+    @Test
+    void deveAbrirCircuitoEFecharAposTentativaBemSucedida() {
+        CotacaoFreteExterna cotacao = cotacao(2000);
+        servidor.setFalhar(true);
+
+        // Limiar de 3 falhas seguidas (faixas distintas: nada vem do cache)
+        for (int i = 0; i < 3; i++) {
+            assertEquals(CotacaoFreteExterna.SEM_COTACAO, cotacao.pontosBase(UF.SP, "0" + i + "000-000"));
+        }
+        assertEquals(DisjuntorCircuito.Estado.ABERTO, cotacao.getEstadoCircuito());
+
+        // Aberto: o serviço não é chamado
+        assertEquals(CotacaoFreteExterna.SEM_COTACAO, cotacao.pontosBase(UF.SP, "05000-000"));
+        assertEquals(3, servidor.getRequisicoes());
+        assertEquals(1, cotacao.contagem(CotacaoFreteExterna.Resultado.CIRCUITO_ABERTO));
+
+        // Após a espera, uma tentativa; com o serviço de volta, o circuito fecha
+        servidor.setFalhar(false);
+        relogio.addAndGet(TimeUnit.SECONDS.toNanos(11));
+        assertEquals(SP_COTADO, cotacao.pontosBase(UF.SP, "05000-000"));
+        assertEquals(DisjuntorCircuito.Estado.FECHADO, cotacao.getEstadoCircuito());
+        assertEquals(4, servidor.getRequisicoes());
+    }
+
+    @Test
+    void deveExtrairFaixaDoCep() {
+        assertEquals(13, CotacaoFreteExterna.faixaCep("01310-100"));
+        assertEquals(301, CotacaoFreteExterna.faixaCep("30130.000"));
+        assertEquals(-1, CotacaoFreteExterna.faixaCep("0131"));
+        assertEquals(-1, CotacaoFreteExterna.faixaCep("0131A-100"));
+        assertEquals(-1, CotacaoFreteExterna.faixaCep(null));
+    }
+}
@@ -0,0 +1,92 @@
+package br.edu.ifsp.bra.livraria.service.frete;
+
+import br.edu.ifsp.bra.livraria.entity.UF;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de IndiceZonasCep: busca nas faixas ordenadas (inclusive nos
+ * limites), validação do arquivo e leitura do CEP.
+ */
+class IndiceZonasCepTest {
+
+    @Test
+    void deveResolverZonaPelosLimitesDasFaixas() {
+        IndiceZonasCep indice = IndiceZonasCep.carregar("classpath:zonas-cep-exemplo.csv");
+
+        assertEquals("CAPITAL_AM", indice.zona("69000-000"));
+        assertEquals("CAPITAL_AM", indice.zona("69099-999"));
+        assertEquals("REMOTA_AM", indice.zona("69100-000"));
+        assertNull(indice.zona("69300-000"));   // entre faixas
+        assertNull(indice.zona("00999-999"));   // antes da primeira
+        assertNull(indice.zona("99999-999"));   // depois da última
+
+        assertEquals(1200, indice.pontosBase(UF.AM, "69100000"));
+        assertEquals(IndiceZonasCep.SEM_ZONA, indice.pontosBase(UF.RR, "69100-000")); // faixa de outra UF
+        assertEquals(IndiceZonasCep.SEM_ZONA, indice.pontosBase(UF.AM, null));
+    }
+
+    @Test
+    void deveResolverDezenasDeMilharesDeFaixasComoBuscaLinear() throws IOException {
+        // 40 mil faixas de tamanhos aleatórios, com buracos, embaralhadas no arquivo
+        Random aleatorio = new Random(19);
+        int quantidade = 40_000;
+        int[] inicios = new int[quantidade];
+        int[] fins = new int[quantidade];
+        int cep = 1_000_000;
+        for (int i = 0; i < quantidade; i++) {
+            cep += aleatorio.nextInt(500);
+            inicios[i] = cep;
+            cep += aleatorio.nextInt(1_500);
+            fins[i] = cep++;
+        }
+        StringBuilder arquivo = new StringBuilder();
+        for (int k = 0; k < quantidade; k++) {
+            int i = (int) ((k * 7_919L) % quantidade);
+            arquivo.append(String.format("%08d;%08d;SP;Z%d;%d%n", inicios[i], fins[i], i % 50, i % 50));
+        }
+        IndiceZonasCep indice = IndiceZonasCep.carregar(new StringReader(arquivo.toString()));
+        assertEquals(quantidade, indice.quantidadeFaixas());
+        assertEquals(50, indice.quantidadeZonas());
+
+        for (int n = 0; n < 100_000; n++) {
+            int consulta = 1_000_000 + aleatorio.nextInt(cep - 1_000_000 + 1_000);
+            int esperado = IndiceZonasCep.SEM_ZONA;
+            for (int i = 0; i < quantidade && inicios[i] <= consulta; i++) {
+                if (consulta <= fins[i]) {
+                    esperado = (i % 50) * 100;
+                }
+            }
+            assertEquals(esperado, indice.pontosBase(UF.SP, String.format("%08d", consulta)), "CEP " + consulta);
+        }
+    }
+
+    @Test
+    void deveRejeitarArquivoInconsistente() {
+        assertThrows(IllegalArgumentException.class, () -> IndiceZonasCep.carregar(new StringReader(
+                "01000-000;05999-999;SP;CAPITAL;0\n05000-000;06999-999;SP;GRANDE;0\n")));  // sobrepostas
+        assertThrows(IllegalArgumentException.class, () -> IndiceZonasCep.carregar(new StringReader(
+                "01000-000;05999-999;SP;CAPITAL;0\n08000-000;08499-999;SP;CAPITAL;3\n"))); // zona com dois percentuais
+        assertThrows(IllegalArgumentException.class, () -> IndiceZonasCep.carregar(new StringReader(
+                "05999-999;01000-000;SP;CAPITAL;0\n")));                                     // início > fim
+        assertThrows(IllegalArgumentException.class, () -> IndiceZonasCep.carregar(new StringReader(
+                "01000-000;05999-999;XX;CAPITAL;0\n")));                                     // UF inválida
+    }
+
+    @Test
+    void deveLerCepComOuSemSeparadores() {
+        assertEquals(1_310_100, IndiceZonasCep.cepNumerico("01310-100"));
+        assertEquals(1_310_100, IndiceZonasCep.cepNumerico("01.310-100"));
+        assertEquals(1_310_100, IndiceZonasCep.cepNumerico("01310100"));
+        assertEquals(99_999_999, IndiceZonasCep.cepNumerico("99999-999"));
+        assertEquals(-1, IndiceZonasCep.cepNumerico("1310-100"));
+        assertEquals(-1, IndiceZonasCep.cepNumerico("013101000"));
+        assertEquals(-1, IndiceZonasCep.cepNumerico("01310-10A"));
+        assertEquals(-1, IndiceZonasCep.cepNumerico(""));
+    }
+}
@@ -0,0 +1,133 @@
+package br.edu.ifsp.bra.livraria.service.frete;
+
+import br.edu.ifsp.bra.livraria.entity.UF;
+import br.edu.ifsp.bra.livraria.service.TabelaFrete;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Servidor HTTP local que imita o serviço de frete (protocolo de
+ * CotadorFreteHttp), para testes e benchmarks. Fica fora do jar da
+ * aplicação; o módulo benchmarks o recebe pelo test-jar do projeto.
+ *
+ * Cota os percentuais da TabelaFrete padrão mais acrescimoPontosBase (para
+ * distinguir a cotação externa da RN02), e pode ser deixado lento (atrasoMs)
+ * ou fora do ar (falhar → 503) em tempo de execução.
+ */
+public class ServidorFreteStub implements AutoCloseable {
+
+    static {
+        // O HttpServer do JDK grava cabeçalhos e corpo em escritas separadas;
+        // com Nagle ligado, cada resposta espera o ACK atrasado do cliente (~40 ms)
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final HttpServer servidor;
+    private final ExecutorService executor;
+    private final TabelaFrete tabela = TabelaFrete.carregarPadrao();
+    private final AtomicLong requisicoes = new AtomicLong();
+
+    private volatile long atrasoMs;
+    private volatile boolean falhar;
+    private volatile int acrescimoPontosBase;
+
+    private ServidorFreteStub(int porta) {
+        try {
+            servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", porta), 0);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Não foi possível abrir o servidor de frete na porta " + porta, ex);
+        }
+        executor = Executors.newCachedThreadPool(tarefa -> {
+            Thread thread = new Thread(tarefa, "frete-stub");
+            thread.setDaemon(true);
+            return thread;
+        });
+        servidor.setExecutor(executor);
+        servidor.createContext("/cotacao", this::cotar);
+        servidor.start();
+    }
+
+    /**
+     * @param porta porta local (0 → uma porta livre qualquer; ver getUrl)
+     */
+    public static ServidorFreteStub iniciar(int porta) {
+        return new ServidorFreteStub(porta);
+    }
+
+    public String getUrl() {
+        return "http://127.0.0.1:" + servidor.getAddress().getPort();
+    }
+
+    public void setAtrasoMs(long atrasoMs) {
+        this.atrasoMs = atrasoMs;
+    }
+
+    public void setFalhar(boolean falhar) {
+        this.falhar = falhar;
+    }
+
+    public void setAcrescimoPontosBase(int acrescimoPontosBase) {
+        this.acrescimoPontosBase = acrescimoPontosBase;
+    }
+
+    /** Requisições de cotação recebidas desde a subida. */
+    public long getRequisicoes() {
+        return requisicoes.get();
+    }
+
+    private void cotar(HttpExchange troca) throws IOException {
+        try (troca) {
+            requisicoes.incrementAndGet();
+            if (atrasoMs > 0) {
+                try {
+                    Thread.sleep(atrasoMs);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            UF uf = UF.fromSigla(parametro(troca.getRequestURI().getRawQuery(), "uf"));
+            if (falhar || uf == null) {
+                troca.sendResponseHeaders(falhar ? 503 : 400, -1);
+                return;
+            }
+            byte[] corpo = ("{\"pontosBase\":" + (tabela.pontosBase(uf) + acrescimoPontosBase) + "}")
+                    .getBytes(StandardCharsets.UTF_8);
+            troca.getResponseHeaders().set("Content-Type", "application/json");
+            troca.sendResponseHeaders(200, corpo.length);
+            try (OutputStream saida = troca.getResponseBody()) {
+                saida.write(corpo);
+            }
+        }
+    }
+
+    private static String parametro(String consulta, String nome) {
+        if (consulta == null) {
+            return null;
+        }
+        for (String par : consulta.split("&")) {
+            int igual = par.indexOf('=');
+            if (igual > 0 && par.substring(0, igual).equals(nome)) {
+                return par.substring(igual + 1);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() {
+        servidor.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,159 @@
+package br.edu.ifsp.bra.livraria.service.simulacao;
+
+import br.edu.ifsp.bra.livraria.api.dto.ImpactoPrecosDTO;
+import br.edu.ifsp.bra.livraria.api.dto.SimulacaoPrecosDTO;
+import br.edu.ifsp.bra.livraria.entity.Cliente;
+import br.edu.ifsp.bra.livraria.entity.Dinheiro;
+import br.edu.ifsp.bra.livraria.entity.Endereco;
+import br.edu.ifsp.bra.livraria.entity.ItemCarrinho;
+import br.edu.ifsp.bra.livraria.entity.Pedido;
+import br.edu.ifsp.bra.livraria.entity.PerfilCliente;
+import br.edu.ifsp.bra.livraria.entity.RegiaoFrete;
+import br.edu.ifsp.bra.livraria.entity.UF;
+import br.edu.ifsp.bra.livraria.repository.PedidoRepositoryInMemory;
+import br.edu.ifsp.bra.livraria.service.CalculadoraDescontoService;
+import br.edu.ifsp.bra.livraria.service.CalculadoraFreteService;
+import br.edu.ifsp.bra.livraria.service.PedidoService;
+import br.edu.ifsp.bra.livraria.service.TabelaFrete;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de unidade para SimuladorPrecos e RegrasDesconto.
+ *
+ * Cenários:
+ *  - com as regras vigentes, a receita simulada é a dos pedidos gravados;
+ *  - regras candidatas mudam só as UFs e perfis afetados;
+ *  - o resultado paralelo é igual ao sequencial;
+ *  - anos mínimos candidatos reclassificam os perfis, e regras inválidas são recusadas.
+ */
+public class SimuladorPrecosTest {
+
+    private PedidoRepositoryInMemory pedidos;
+    private PedidoService pedidoService;
+    private SimuladorPrecos simulador;
+
+    @BeforeEach
+    public void setup() {
+        CalculadoraFreteService freteService = new CalculadoraFreteService();
+        pedidos = new PedidoRepositoryInMemory();
+        pedidoService = new PedidoService.Construtor(new CalculadoraDescontoService(), freteService, null)
+                .pedidoRepository(pedidos)
+                .construir();
+        simulador = new SimuladorPrecos(pedidos, freteService, 4, 2);
+    }
+
+    @AfterEach
+    public void encerrar() {
+        simulador.encerrar();
+    }
+
+    private Pedido pedido(long anosVinculo, String uf, double preco) {
+        Cliente cliente = new Cliente(anosVinculo, "Cliente", "c@email.com", LocalDate.now().minusYears(anosVinculo));
+        Endereco endereco = new Endereco();
+        endereco.setEstado(uf);
+        return pedidoService.processarPedido(cliente, endereco, List.of(new ItemCarrinho("Livro", 1, preco)), "PIX");
+    }
+
+    @Test
+    public void deveReproduzirReceitaDosPedidosComRegrasVigentes() {
+        Pedido ouroSp = pedido(6, "SP", 200.0);
+        Pedido bronzeMg = pedido(2, "MG", 99.99);
+        Pedido basicoBa = pedido(0, "BA", 35.5);
+        pedidoService.cancelarPorPagamentoNaoAutorizado(pedido(4, "RS", 1000.0));
+
+        SimulacaoPrecosDTO resultado = simulador.simular(Map.of(), Map.of(), Map.of());
+
+        assertEquals(3, resultado.getPedidos());
+        assertEquals(1, resultado.getPedidosIgnorados());
+        long receita = ouroSp.getValorTotalCentavos() + bronzeMg.getValorTotalCentavos() + basicoBa.getValorTotalCentavos();
+        assertEquals(Dinheiro.paraReais(receita), resultado.getTotal().getReceitaAtual());
+        assertEquals(Dinheiro.paraReais(receita), resultado.getTotal().getReceitaSimulada());
+        assertEquals(0.0, resultado.getTotal().getDiferencaReceita());
+        assertEquals(bronzeMg.getFrete(), resultado.getPorUf().get("MG").getFreteAtual());
+        assertEquals(List.of("BA", "MG", "SP"), List.copyOf(resultado.getPorUf().keySet())); // ordem do enum UF
+        assertEquals(0, resultado.getPorPerfil().get("PRATA").getPedidos());
+    }
+
+    @Test
+    public void deveCalcularImpactoPorUfEPerfil() {
+        pedido(6, "SP", 200.0);   // OURO em SP: só o desconto muda
+        pedido(2, "RJ", 100.0);   // BRONZE no Sudeste: só o frete muda
+        pedido(0, "AM", 100.0);   // BASICO em outras regiões: nada muda
+
+        SimulacaoPrecosDTO resultado = simulador.simular(
+                Map.of(PerfilCliente.OURO, 12.0), Map.of(), Map.of(RegiaoFrete.SUDESTE, 4.0));
+
+        ImpactoPrecosDTO sp = resultado.getPorUf().get("SP");
+        assertEquals(20.0, sp.getDescontoAtual());
+        assertEquals(24.0, sp.getDescontoSimulado());
+        assertEquals(-4.0, sp.getDiferencaReceita());
+        assertEquals(-2.22, sp.getVariacaoPercentual());   // -4 / 180
+
+        ImpactoPrecosDTO rj = resultado.getPorUf().get("RJ");
+        assertEquals(4.85, rj.getFreteAtual());             // 5% de 97,00
+        assertEquals(3.88, rj.getFreteSimulado());          // 4% de 97,00
+        assertEquals(-0.97, rj.getDiferencaReceita());
+
+        assertEquals(0.0, resultado.getPorUf().get("AM").getDiferencaReceita());
+        assertEquals(-4.0, resultado.getPorPerfil().get("OURO").getDiferencaReceita());
+        assertEquals(-0.97, resultado.getPorPerfil().get("BRONZE").getDiferencaReceita());
+        assertEquals(-4.97, resultado.getTotal().getDiferencaReceita(), 1e-9);
+    }
+
+    @Test
+    public void deveTerMesmoResultadoEmParaleloESequencial() {
+        Random aleatorio = new Random(7);
+        HistoricoPedidos.Construtor construtor = new HistoricoPedidos.Construtor(16);
+        for (int i = 0; i < 5 * SimuladorPrecos.TAMANHO_FATIA + 123; i++) {
+            construtor.adicionar(UF.fromOrdinal(aleatorio.nextInt(UF.quantidade())), aleatorio.nextInt(12),
+                    1 + aleatorio.nextInt(500_000));
+        }
+        HistoricoPedidos historico = construtor.construir();
+        RegrasDesconto candidatas = new RegrasDesconto(Map.of(PerfilCliente.PRATA, 7.5), Map.of(PerfilCliente.OURO, 8));
+        TabelaFrete frete = new TabelaFrete(Map.of(RegiaoFrete.SP, 1.0, RegiaoFrete.SUDESTE, 5.0,
+                RegiaoFrete.OUTRAS_REGIOES, 9.0));
+
+        SimuladorPrecos sequencial = new SimuladorPrecos(pedidos, new CalculadoraFreteService(), 1, 100);
+        try {
+            SimulacaoPrecosDTO umaThread = sequencial.simular(historico, candidatas, frete);
+            SimulacaoPrecosDTO paralelo = simulador.simular(historico, candidatas, frete);
+
+            assertEquals(historico.quantidade(), paralelo.getPedidos());
+            assertEquals(umaThread.getTotal().getReceitaSimulada(), paralelo.getTotal().getReceitaSimulada());
+            assertEquals(umaThread.getTotal().getReceitaAtual(), paralelo.getTotal().getReceitaAtual());
+            for (String uf : umaThread.getPorUf().keySet()) {
+                assertEquals(umaThread.getPorUf().get(uf).getDiferencaReceita(),
+                        paralelo.getPorUf().get(uf).getDiferencaReceita(), uf);
+            }
+        } finally {
+            sequencial.encerrar();
+        }
+    }
+
+    @Test
+    public void deveReclassificarPerfisPelosAnosMinimosCandidatos() {
+        RegrasDesconto atuais = RegrasDesconto.atuais();
+        RegrasDesconto candidatas = new RegrasDesconto(Map.of(), Map.of(PerfilCliente.OURO, 7));
+
+        assertEquals(PerfilCliente.OURO.ordinal(), atuais.perfil(5));
+        assertEquals(PerfilCliente.PRATA.ordinal(), candidatas.perfil(5));
+        assertEquals(500, candidatas.pontosBase(6));
+        assertEquals(1000, candidatas.pontosBase(RegrasDesconto.ANOS_MAXIMOS));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new RegrasDesconto(Map.of(), Map.of(PerfilCliente.PRATA, 1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> new RegrasDesconto(Map.of(PerfilCliente.BRONZE, 101.0), Map.of()));
+        assertThrows(IllegalArgumentException.class,
+                () -> simulador.simular(Map.of(), Map.of(), Map.of(RegiaoFrete.SP, -1.0)));
+    }
+}